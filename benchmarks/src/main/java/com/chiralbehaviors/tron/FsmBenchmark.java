@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2013 ChiralBehaviors LLC, all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chiralbehaviors.tron;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transitions per second of the reflective and the precompiled transition dispatch of Fsm. Each operation fires two
+ * transitions, each with exit and entry actions, plus one transition falling through to the @Default transition.
+ * <p>
+ * Run FsmBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hhildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FsmBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    private Counter counter;
+    private Toggle  transitions;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FsmBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public int transitions() {
+        transitions.flip();
+        transitions.flip();
+        transitions.reset();
+        return counter.count;
+    }
+
+    @Setup
+    public void setup() {
+        counter = new Counter();
+        transitions = Fsm.construct(counter, Toggle.class, States.OFF, true, compiled).getTransitions();
+    }
+
+    public enum States implements Toggle {
+        OFF {
+            @Entry
+            public void enter(Counter counter) {
+                counter.count++;
+            }
+
+            @Override
+            public Toggle flip() {
+                return ON;
+            }
+        }, ON {
+            @Exit
+            public void exit() {
+            }
+
+            @Override
+            public Toggle flip() {
+                return OFF;
+            }
+        };
+
+        @Default
+        public Toggle fallback() {
+            return null;
+        }
+    }
+
+    public interface Toggle {
+        default Toggle flip() {
+            throw Fsm.thisFsm().invalidTransitionOn();
+        }
+
+        default Toggle reset() {
+            throw Fsm.thisFsm().invalidTransitionOn();
+        }
+    }
+
+    public static class Counter {
+        int count;
+    }
+}
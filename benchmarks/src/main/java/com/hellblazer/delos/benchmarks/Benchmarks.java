@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Delos benchmark suites, accepting the JMH command line. Unless otherwise specified, all the suites are run
+ * and the results are written as JSON to target/jmh-results.json, so that the results of releases may be compared.
+ * <p>
+ * Build with the benchmarks profile, e.g. <code>./mvnw -P benchmarks -pl benchmarks -am package -DskipTests</code>,
+ * then run <code>java -jar benchmarks/target/benchmarks.jar [JMH options]</code>
+ *
+ * @author hal.hildebrand
+ */
+public class Benchmarks {
+    public static final String RESULTS = "target/jmh-results.json";
+    public static final String SUITES  = "(com\\.hellblazer\\.delos|com\\.chiralbehaviors\\.tron)\\..*Benchmark";
+
+    public static void main(String[] args) throws Exception {
+        var cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        var options = new OptionsBuilder().parent(cli);
+        if (cli.getIncludes().isEmpty()) {
+            options.include(SUITES);
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(RESULTS);
+        }
+        var runner = new Runner(options.build());
+        if (cli.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
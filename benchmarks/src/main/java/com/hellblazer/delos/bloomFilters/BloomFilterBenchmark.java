@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.bloomFilters;
+
+import com.hellblazer.delos.bloomFilters.BloomFilter.DigestBloomFilter;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Digest bloom filters of gossip: building a filter of the population, membership tests of present
+ * and absent digests, and the wire form of the filter. Populations range from the units of an Ethereal epoch to the
+ * members of a large Context.
+ * <p>
+ * Run BloomFilterBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BloomFilterBenchmark {
+    private static final long SEED = 0x1638;
+
+    @Param({ "0.000125", "0.01" })
+    public double fpr;
+
+    @Param({ "1000", "10000", "100000" })
+    public int population;
+
+    private Digest[]            absent;
+    private BloomFilter<Digest> filter;
+    private Digest[]            present;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BloomFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public BloomFilter<Digest> build() {
+        var bff = new DigestBloomFilter(SEED, population, fpr);
+        for (var d : present) {
+            bff.add(d);
+        }
+        return bff;
+    }
+
+    @Benchmark
+    public void containsAbsent(Blackhole bh) {
+        for (var d : absent) {
+            bh.consume(filter.contains(d));
+        }
+    }
+
+    @Benchmark
+    public void containsPresent(Blackhole bh) {
+        for (var d : present) {
+            bh.consume(filter.contains(d));
+        }
+    }
+
+    @Benchmark
+    public BloomFilter<Digest> roundTrip() {
+        return BloomFilter.from(filter.toBff());
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(SEED);
+        present = new Digest[population];
+        absent = new Digest[population];
+        for (int i = 0; i < population; i++) {
+            present[i] = DigestAlgorithm.DEFAULT.random(entropy);
+            absent[i] = DigestAlgorithm.DEFAULT.random(entropy);
+        }
+        filter = build();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the BatchingQueue of the transaction data source: offering a stream of transactions and draining the
+ * batches, bounded by both the count and the byte size of a batch, as the producer assembles units.
+ * <p>
+ * Run BatchingQueueBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchingQueueBenchmark {
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+    private static final int MAX_BATCH_COUNT = 10_000;
+    private static final int TRANSACTIONS    = 10_000;
+
+    @Param({ "256", "4096" })
+    public int transactionSize;
+
+    private BatchingQueue<ByteString> queue;
+    private ByteString[]              transactions;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchingQueueBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSACTIONS)
+    public void offerAndTake(Blackhole bh) throws InterruptedException {
+        queue.clear();
+        for (var txn : transactions) {
+            bh.consume(queue.offer(txn));
+        }
+        for (var batch = queue.take(Duration.ZERO); batch != null; batch = queue.take(Duration.ZERO)) {
+            bh.consume(batch);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        transactions = new ByteString[TRANSACTIONS];
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            var bytes = new byte[transactionSize];
+            entropy.nextBytes(bytes);
+            transactions[i] = ByteString.copyFrom(bytes);
+        }
+        queue = new BatchingQueue<>(Integer.MAX_VALUE, MAX_BATCH_COUNT, ByteString::size, MAX_BATCH_BYTES);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.context;
+
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.membership.Member;
+import com.hellblazer.delos.membership.MockMember;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the ring lookups of Contexts: the successors of a key, and the bftSubset of a key - singly and in
+ * bulk - in both the dynamic and static views. The keys are drawn from a working set that fits in the routing caches
+ * of the views, modeling the hot keys - view ids, block hashes - of the protocols.
+ * <p>
+ * Run ContextBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextBenchmark {
+    private static final int BULK = 64;
+    private static final int KEYS = 1024;
+
+    @Param({ "dynamic", "static" })
+    public String view;
+
+    @Param({ "16", "128", "1024" })
+    public int members;
+
+    private Context<Member> context;
+    private int             i;
+    private Digest[]        keys;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContextBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public Object bftSubset() {
+        return context.bftSubset(next());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public Object bftSubsets() {
+        i = (i + BULK) % KEYS;
+        return context.bftSubsets(Arrays.asList(keys).subList(i, i + BULK));
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        var population = new ArrayList<Member>(members);
+        for (int m = 0; m < members; m++) {
+            population.add(new MockMember(DigestAlgorithm.DEFAULT.random(entropy)));
+        }
+        var id = DigestAlgorithm.DEFAULT.random(entropy);
+        DynamicContext<Member> dynamic = DynamicContext.<Member>newBuilder().setId(id).setCardinality(members).build();
+        dynamic.activate(population);
+        context = switch (view) {
+            case "static" -> new StaticContext<>(dynamic);
+            default -> dynamic;
+        };
+        keys = new Digest[KEYS];
+        for (int k = 0; k < KEYS; k++) {
+            keys[k] = DigestAlgorithm.DEFAULT.random(entropy);
+        }
+    }
+
+    @Benchmark
+    public List<Member> successors() {
+        return context.successors(next());
+    }
+
+    private Digest next() {
+        i = (i + 1) % KEYS;
+        return keys[i];
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing throughput of the digest algorithms over the sizes hashed on the hot paths: a unit or transaction (256
+ * bytes), a checkpoint segment (8KB) and a block (2MB), from a byte array, a heap ByteBuffer, a direct ByteBuffer and
+ * a ByteString.
+ * <p>
+ * Run DigestAlgorithmBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigestAlgorithmBenchmark {
+
+    @Param({ "BLAKE2B_256", "BLAKE2S_256", "BLAKE3_256", "SHA2_256", "SHA3_256" })
+    public DigestAlgorithm algorithm;
+
+    @Param({ "256", "8192", "2097152" })
+    public int size;
+
+    private byte[]     bytes;
+    private ByteString byteString;
+    private ByteBuffer direct;
+    private ByteBuffer heap;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DigestAlgorithmBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public byte[] byteArray() {
+        return algorithm.hashOf(bytes);
+    }
+
+    @Benchmark
+    public byte[] byteString() {
+        return algorithm.hashOf(byteString);
+    }
+
+    @Benchmark
+    public byte[] directBuffer() {
+        return algorithm.hashOf(direct);
+    }
+
+    @Benchmark
+    public byte[] heapBuffer() {
+        return algorithm.hashOf(heap);
+    }
+
+    @Setup
+    public void setup() {
+        bytes = new byte[size];
+        new Random(0x1638).nextBytes(bytes);
+        byteString = ByteString.copyFrom(bytes);
+        heap = ByteBuffer.wrap(bytes);
+        direct = ByteBuffer.allocateDirect(size).put(bytes).flip();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import com.hellblazer.delos.cryptography.proto.Digeste;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Digest operations on the hot paths of ring routing, gossip and the stores: comparison, equality and
+ * hashing, the ring prefix hash, xor and conversion to and from the Digeste wire format.
+ * <p>
+ * Run DigestBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigestBenchmark {
+    private static final int COUNT = 1024;
+
+    @Param({ "BLAKE2B_256", "SHA2_256", "SHA2_512" })
+    public DigestAlgorithm algorithm;
+
+    private Digest[]  digests;
+    private Digeste[] wire;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DigestBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void compareTo(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(digests[i].compareTo(digests[(i + 1) % COUNT]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void equalsAndHashCode(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(digests[i].hashCode());
+            bh.consume(digests[i].equals(digests[(i + 1) % COUNT]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void fromDigeste(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(Digest.from(wire[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void ringPrefix(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(digests[i].prefix(digests[(i + 1) % COUNT], i % 7));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        digests = new Digest[COUNT];
+        wire = new Digeste[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            digests[i] = algorithm.random(entropy);
+            wire[i] = digests[i].toDigeste();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void toDigeste(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(digests[i].toDigeste());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void xor(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(digests[i].xor(digests[(i + 1) % COUNT]));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Digest keyed indexes of the Ethereal dag and adder: lookup, population and iteration of the flat
+ * DigestMap and SortedDigestMap against the HashMap and TreeMap they replace. Run with the gc profiler,
+ * <code>-prof gc</code>, to compare the allocation per operation - the populate benchmark allocating the footprint of
+ * the map.
+ * <p>
+ * Run DigestMapBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigestMapBenchmark {
+    private static final int COUNT = 1024;
+
+    @Param({ "HashMap", "DigestMap", "TreeMap", "SortedDigestMap" })
+    public String implementation;
+    @Param({ "1024", "16384" })
+    public int    size;
+
+    private Digest[]             keys;
+    private Map<Digest, Integer> map;
+    private Digest[]             probes;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DigestMapBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void get(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(map.get(probes[i]));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (var value : map.values()) {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public Map<Digest, Integer> populate() {
+        var populated = newMap();
+        for (int i = 0; i < keys.length; i++) {
+            populated.put(keys[i], i);
+        }
+        return populated;
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        keys = new Digest[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = DigestAlgorithm.DEFAULT.random(entropy);
+        }
+        map = populate();
+        // Half of the probes hit, half miss
+        probes = new Digest[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            probes[i] = i % 2 == 0 ? keys[entropy.nextInt(size)] : DigestAlgorithm.DEFAULT.random(entropy);
+        }
+    }
+
+    private Map<Digest, Integer> newMap() {
+        return switch (implementation) {
+            case "HashMap" -> new HashMap<>();
+            case "DigestMap" -> new DigestMap<>();
+            case "TreeMap" -> new TreeMap<>();
+            case "SortedDigestMap" -> new SortedDigestMap<>();
+            default -> throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the HexBloom membership diadems of view changes: construction from the membership, construction of the
+ * next view from the current membership and the joining members, validation of a membership against the crowns, the
+ * compact wrapped crown and the wire round trip.
+ * <p>
+ * Run HexBloomBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HexBloomBenchmark {
+
+    @Param({ "3", "5" })
+    public int crowns;
+
+    @Param({ "64", "256", "1024" })
+    public int members;
+
+    private HexBloom     diadem;
+    private Digest       initial;
+    private List<Digest> joining;
+    private List<Digest> membership;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HexBloomBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public Digest compactWrapped() {
+        return diadem.compactWrapped();
+    }
+
+    @Benchmark
+    public HexBloom construct() {
+        return HexBloom.construct(members, membership.stream(), initial, crowns);
+    }
+
+    @Benchmark
+    public HexBloom nextView() {
+        return HexBloom.construct(members, membership.stream(), joining, initial, crowns);
+    }
+
+    @Benchmark
+    public HexBloom roundTrip() {
+        return HexBloom.from(diadem.toHexBloome());
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        initial = DigestAlgorithm.DEFAULT.random(entropy);
+        membership = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            membership.add(DigestAlgorithm.DEFAULT.random(entropy));
+        }
+        joining = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, members / 16); i++) {
+            joining.add(DigestAlgorithm.DEFAULT.random(entropy));
+        }
+        diadem = construct();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return diadem.validate(membership);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.ethereal;
+
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.cryptography.DigestMap;
+import com.hellblazer.delos.cryptography.SortedDigestMap;
+import com.hellblazer.delos.ethereal.Adder.Signed;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The signed prevote and commit indexes of the Adder over one epoch. Each of the epoch's units is prevoted and
+ * committed by every process, so the indexes fill with epochLength * nProc * nProc signature digests, arriving in
+ * random order, and every gossip round walks the index to build the have bloom filter and the missing update. The
+ * epoch benchmark reads the digests from the indexed values, as the Adder does, and the keys benchmark reads the keys
+ * of the index. Run with the gc profiler, <code>-prof gc</code>, to compare the allocation of the gossip rounds.
+ * <p>
+ * Run AdderIndexBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdderIndexBenchmark {
+    private static final int EPOCH_LENGTH = 11;
+
+    @Param({ "TreeMap", "SortedDigestMap", "HashMap", "DigestMap" })
+    public String implementation;
+    @Param({ "4", "16", "64" })
+    public int    nProc;
+
+    private Digest[] signatures;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AdderIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Fill the index over an epoch, with a gossip round after each unit's signatures arrive, reading the digests from
+     * the indexed values
+     */
+    @Benchmark
+    public Map<Digest, Signed<Integer>> epoch(Blackhole bh) {
+        var index = newIndex();
+        for (int i = 0; i < signatures.length; i++) {
+            index.put(signatures[i], new Signed<>(signatures[i], i));
+            if ((i + 1) % nProc == 0) {
+                for (var signed : index.values()) {
+                    bh.consume(signed.hash());
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Fill the index over an epoch, with a gossip round after each unit's signatures arrive, reading the keys of the
+     * index
+     */
+    @Benchmark
+    public Map<Digest, Signed<Integer>> keys(Blackhole bh) {
+        var index = newIndex();
+        for (int i = 0; i < signatures.length; i++) {
+            index.put(signatures[i], new Signed<>(signatures[i], i));
+            if ((i + 1) % nProc == 0) {
+                for (var digest : index.keySet()) {
+                    bh.consume(digest);
+                }
+            }
+        }
+        return index;
+    }
+
+    @Setup
+    public void setup() {
+        var entropy = new Random(0x1638);
+        signatures = new Digest[EPOCH_LENGTH * nProc * nProc];
+        for (int i = 0; i < signatures.length; i++) {
+            signatures[i] = DigestAlgorithm.DEFAULT.random(entropy);
+        }
+    }
+
+    private Map<Digest, Signed<Integer>> newIndex() {
+        return switch (implementation) {
+            case "TreeMap" -> new TreeMap<>();
+            case "SortedDigestMap" -> new SortedDigestMap<>();
+            case "HashMap" -> new HashMap<>();
+            case "DigestMap" -> new DigestMap<>();
+            default -> throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.ethereal;
+
+import com.google.protobuf.ByteString;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.cryptography.SignatureAlgorithm;
+import com.hellblazer.delos.cryptography.Signer.SignerImpl;
+import com.hellblazer.delos.ethereal.Dag.DagImpl;
+import com.hellblazer.delos.ethereal.linear.Extender;
+import com.hellblazer.delos.ethereal.linear.TimingRound;
+import org.joou.ULong;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Ethereal DAG over a regular epoch, in which every unit of a level has every unit of the prior level
+ * as parents: decoding, building and inserting the units into the Dag, and ordering the epoch - choosing the timing
+ * units of each round by the UnanimousVoter - with the Extender.
+ * <p>
+ * Run DagBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DagBenchmark {
+    private static final int LEVELS       = 12;
+    private static final int PAYLOAD_SIZE = 1024;
+
+    @Param({ "4", "16", "64" })
+    public short nProc;
+
+    private Config        config;
+    private Dag           dag;
+    private List<PreUnit> units;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DagBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static Unit add(Dag dag, PreUnit pu) {
+        var decoded = dag.decodeParents(pu);
+        if (decoded.inError()) {
+            throw new IllegalStateException("Cannot decode: " + pu + " : " + decoded.classification());
+        }
+        var unit = dag.build(pu, decoded.parents());
+        dag.insert(unit);
+        return unit;
+    }
+
+    @Benchmark
+    public Dag insert() {
+        var fresh = new DagImpl(config, 0);
+        for (var pu : units) {
+            add(fresh, pu);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    public TimingRound order() {
+        var extender = new Extender(dag, config);
+        TimingRound current = null;
+        while (true) {
+            var next = extender.nextRound(current);
+            if (next == null || next.equals(current)) {
+                return current;
+            }
+            current = next;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        config = Config.newBuilder().setnProc(nProc).build();
+        dag = new DagImpl(config, 0);
+        units = new ArrayList<>();
+        var signer = new SignerImpl(SignatureAlgorithm.DEFAULT.generateKeyPair().getPrivate(), ULong.MIN);
+        var entropy = new Random(0x1638);
+        var parents = new Unit[nProc];
+        for (int level = 0; level < LEVELS; level++) {
+            var next = new Unit[nProc];
+            for (short creator = 0; creator < nProc; creator++) {
+                var payload = new byte[PAYLOAD_SIZE];
+                entropy.nextBytes(payload);
+                var pu = PreUnit.newFreeUnit(creator, 0, parents, level, ByteString.copyFrom(payload),
+                                             DigestAlgorithm.DEFAULT, signer).toPreUnit();
+                units.add(pu);
+                next[creator] = add(dag, pu);
+            }
+            parents = next;
+        }
+    }
+}
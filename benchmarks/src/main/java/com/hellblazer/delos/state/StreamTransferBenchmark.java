@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.protobuf.ByteString;
+
+import deterministic.org.h2.engine.Session;
+import deterministic.org.h2.jdbc.JdbcConnection;
+import deterministic.org.h2.value.Value;
+import deterministic.org.h2.value.ValueBigint;
+import deterministic.org.h2.value.ValueBoolean;
+import deterministic.org.h2.value.ValueDouble;
+import deterministic.org.h2.value.ValueInteger;
+import deterministic.org.h2.value.ValueNull;
+import deterministic.org.h2.value.ValueNumeric;
+import deterministic.org.h2.value.ValueTimestamp;
+import deterministic.org.h2.value.ValueVarbinary;
+import deterministic.org.h2.value.ValueVarchar;
+
+/**
+ * Encoding and decoding throughput of StreamTransfer over a typical mix of statement argument values: integers,
+ * bigints, varchars, doubles, numerics, booleans, timestamps, short binaries and nulls.
+ * <p>
+ * Run StreamTransferBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamTransferBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int rows;
+
+    private JdbcConnection connection;
+    private ByteString     encoded;
+    private StreamTransfer transfer;
+    private List<Value>    values;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StreamTransferBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public Value[] read() {
+        return transfer.read(encoded);
+    }
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = new JdbcConnection("jdbc:h2:mem:stream_transfer_benchmark", new Properties(), "", "", false);
+        transfer = new StreamTransfer((Session) connection.getSession());
+        values = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            values.add(ValueInteger.get(i));
+            values.add(ValueBigint.get(i * 1_000_000_007L));
+            values.add(ValueVarchar.get("Customer #" + i));
+            values.add(ValueDouble.get(i / 3.0));
+            values.add(ValueNumeric.get(BigDecimal.valueOf(i * 100 + 99, 2)));
+            values.add(ValueBoolean.get(i % 2 == 0));
+            values.add(ValueTimestamp.fromDateValueAndNanos(20210101, i * 1_000_000L));
+            values.add(ValueVarbinary.get(new byte[] { (byte) i, 1, 2, 3, 4, 5, 6, 7 }));
+            values.add(ValueNull.INSTANCE);
+        }
+        encoded = transfer.write(values);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public ByteString write() {
+        return transfer.write(values);
+    }
+}
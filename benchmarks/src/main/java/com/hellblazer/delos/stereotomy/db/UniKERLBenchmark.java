@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.stereotomy.db;
+
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.stereotomy.EventCoordinates;
+import com.hellblazer.delos.stereotomy.KERL.EventWithAttachments;
+import com.hellblazer.delos.stereotomy.KeyState;
+import com.hellblazer.delos.stereotomy.StereotomyImpl;
+import com.hellblazer.delos.stereotomy.identifier.Identifier;
+import com.hellblazer.delos.stereotomy.identifier.spec.InteractionSpecification;
+import com.hellblazer.delos.stereotomy.mem.MemKeyStore;
+import liquibase.Liquibase;
+import liquibase.database.core.H2Database;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.h2.jdbc.JdbcConnection;
+import org.joou.ULong;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the retrieval of key event logs from the H2 UniKERL: the current key state of an identifier, the key
+ * state of an event, the full KERL and the suffix of the KERL a validator is missing. The identifier's log alternates
+ * rotations and interactions.
+ * <p>
+ * Run UniKERLBenchmark.main() from the benchmarks classpath, or with the Benchmarks suite.
+ *
+ * @author hal.hildebrand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniKERLBenchmark {
+    private static final int SUFFIX = 8;
+
+    @Param({ "16", "128" })
+    public int events;
+
+    private JdbcConnection   connection;
+    private EventCoordinates coordinates;
+    private Identifier       identifier;
+    private UniKERLDirect    kerl;
+    private ULong            since;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UniKERLBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public List<EventWithAttachments> kerl() {
+        return kerl.kerl(identifier);
+    }
+
+    @Benchmark
+    public List<EventWithAttachments> kerlSince() {
+        return kerl.kerlSince(identifier, since);
+    }
+
+    @Benchmark
+    public KeyState keyStateOf() {
+        return kerl.getKeyState(coordinates);
+    }
+
+    @Benchmark
+    public KeyState keyState() {
+        return kerl.getKeyState(identifier);
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        final var url = String.format("jdbc:h2:mem:unikerl_benchmark-%s;DB_CLOSE_DELAY=-1", Math.random());
+        var initialize = new JdbcConnection(url, new Properties(), "", "", false);
+        var database = new H2Database();
+        database.setConnection(new liquibase.database.jvm.JdbcConnection(initialize));
+        try (Liquibase liquibase = new Liquibase("/stereotomy/initialize.xml", new ClassLoaderResourceAccessor(),
+                                                 database)) {
+            liquibase.update((String) null);
+        }
+        connection = new JdbcConnection(url, new Properties(), "", "", false);
+        kerl = new UniKERLDirect(connection, DigestAlgorithm.DEFAULT);
+
+        var entropy = SecureRandom.getInstance("SHA1PRNG");
+        entropy.setSeed(new byte[] { 6, 6, 6 });
+        var controller = new StereotomyImpl(new MemKeyStore(), kerl, entropy);
+        var controlled = controller.newIdentifier();
+        for (int i = 1; i < events; i++) {
+            if (i == events / 2) {
+                coordinates = controlled.getCoordinates();
+            }
+            if (i % 2 == 0) {
+                controlled.rotate();
+            } else {
+                controlled.seal(InteractionSpecification.newBuilder());
+            }
+        }
+        identifier = controlled.getIdentifier();
+        since = ULong.valueOf(Math.max(0, events - 1 - SUFFIX));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+}
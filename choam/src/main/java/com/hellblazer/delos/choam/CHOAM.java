@@ -142,7 +142,7 @@ public class CHOAM {
                                                                 params.metrics(), r),
                                        TxnSubmitClient.getCreate(params.metrics()),
                                        TxnSubmission.getLocalLoopback(params.member(), txnSubmission));
-        var fsm = Fsm.construct(new Combiner(), Combine.Transitions.class, Mercantile.INITIAL, true);
+        var fsm = Fsm.construct(new Combiner(), Combine.Transitions.class, Mercantile.INITIAL, true, true);
         fsm.setName("CHOAM%s on: %s".formatted(params.context().getId(), params.member().getId()));
         transitions = fsm.getTransitions();
         roundScheduler = new RoundScheduler("CHOAM" + params.member().getId() + params.context().getId(),
@@ -202,7 +202,11 @@ public class CHOAM {
     }
 
     public static Digest hashOf(Transaction transaction, DigestAlgorithm digestAlgorithm) {
-        return JohnHancock.from(transaction.getSignature()).toDigest(digestAlgorithm);
+        return TransactionEnvelope.hashOf(transaction, digestAlgorithm);
+    }
+
+    public static List<Digest> hashesOf(List<Transaction> transactions, DigestAlgorithm digestAlgorithm) {
+        return transactions.stream().map(t -> hashOf(t, digestAlgorithm)).toList();
     }
 
     public static String print(Join join, DigestAlgorithm da) {
@@ -376,8 +380,26 @@ public class CHOAM {
     }
 
     private void accept(HashedCertifiedBlock next) {
+        final var metrics = params.metrics();
+        final var hashes = metrics == null || !next.block.hasExecutions() ? null : next.transactionHashes(
+        params.digestAlgorithm());
+        if (hashes != null) {
+            metrics.transactionStage(TransactionStage.CERTIFIED, hashes);
+        }
+        var event = new ChoamEvents.BlockPersist();
+        event.begin();
         head.set(next);
         store.put(next);
+        if (hashes != null) {
+            metrics.transactionStage(TransactionStage.PERSISTED, hashes);
+        }
+        if (event.shouldCommit()) {
+            event.body = next.block.getBodyCase().name();
+            event.hash = next.hash.shortString();
+            event.height = ChoamEvents.height(next.height());
+            event.member = params.member().getId().shortString();
+            event.commit();
+        }
         final Committee c = current.get();
         c.accept(next);
         log.info("Accepted block: {} hash: {} height: {} body: {} on: {}", next.block.getBodyCase(), next.hash,
@@ -401,6 +423,8 @@ public class CHOAM {
     }
 
     private Block checkpoint() {
+        var event = new ChoamEvents.CheckpointCreate();
+        event.begin();
         transitions.beginCheckpoint();
         HashedBlock lb = head.get();
         File state = params.checkpointer().apply(lb.height());
@@ -430,6 +454,12 @@ public class CHOAM {
         state.delete();
         cachedCheckpoints.put(hb.height(), new CheckpointState(cp, stored));
         log.info("Created checkpoint: {} height: {} on: {}", hb.hash, hb.height(), params.member().getId());
+        if (event.shouldCommit()) {
+            event.height = ChoamEvents.height(hb.height());
+            event.member = params.member().getId().shortString();
+            event.segments = cp.getCount();
+            event.commit();
+        }
         transitions.finishCheckpoint();
         return block;
     }
@@ -583,7 +613,7 @@ public class CHOAM {
             if (!h.hash.equals(next.getPrevious())) {
                 log.debug("Invalid previous: {} expecting: {} block: {} hash: {} height: {} on: {}", next.getPrevious(),
                           h.hash, next.block.getBodyCase(), next.hash, next.height(), params.member().getId());
-            } else if (current.get().validate(next)) {
+            } else if (validate(next)) {
                 log.trace("Accept: {} hash: {} height: {} on: {}", next.block.getBodyCase(), next.hash, next.height(),
                           params.member().getId());
                 accept(next);
@@ -626,22 +656,29 @@ public class CHOAM {
         }
     }
 
-    private void execute(List<Transaction> execs) {
+    private void execute(List<Transaction> execs, List<Digest> hashes) {
         final var h = head.get();
         log.info("Executing transactions for block: {} hash: {} height: {} txns: {} on: {}", h.block.getBodyCase(),
                  h.hash, h.height(), execs.size(), params.member().getId());
         for (int i = 0; i < execs.size(); i++) {
             var exec = execs.get(i);
-            Digest hash = hashOf(exec, params.digestAlgorithm());
+            Digest hash = hashes.get(i);
             var stxn = session.complete(hash);
+            var event = new ChoamEvents.TransactionExecute();
+            event.begin();
             try {
-                params.processor()
-                      .execute(i, CHOAM.hashOf(exec, params.digestAlgorithm()), exec,
-                               stxn == null ? null : stxn.onCompletion());
+                params.processor().execute(i, hash, exec, stxn == null ? null : stxn.onCompletion());
             } catch (Throwable t) {
                 log.error("Exception processing transaction: {} block: {} height: {} on: {}", hash, h.hash, h.height(),
                           params.member().getId());
             }
+            if (event.shouldCommit()) {
+                event.hash = hash.shortString();
+                event.height = ChoamEvents.height(h.height());
+                event.index = i;
+                event.member = params.member().getId().shortString();
+                event.commit();
+            }
         }
     }
 
@@ -654,6 +691,7 @@ public class CHOAM {
 
         return CheckpointSegments.newBuilder()
                                  .addAllSegments(state.fetchSegments(BloomFilter.from(request.getCheckpointSegments()),
+                                                                     request.getFrom(), request.getTo(),
                                                                      params.maxCheckpointSegments()))
                                  .build();
     }
@@ -710,6 +748,8 @@ public class CHOAM {
     }
 
     private void process() {
+        var event = new ChoamEvents.BlockExecute();
+        event.begin();
         final var c = current.get();
         final HashedCertifiedBlock h = head.get();
         log.info("Begin block: {} hash: {} height: {} committee: {} on: {}", h.block.getBodyCase(), h.hash, h.height(),
@@ -734,7 +774,7 @@ public class CHOAM {
         }
         case EXECUTIONS: {
             params.processor().beginBlock(h.height(), h.hash);
-            execute(h.block.getExecutions().getExecutionsList());
+            execute(h.block.getExecutions().getExecutionsList(), h.transactionHashes(params.digestAlgorithm()));
             break;
         }
         case CHECKPOINT: {
@@ -747,8 +787,20 @@ public class CHOAM {
             break;
         }
         params.processor().endBlock(h.height(), h.hash);
+        if (params.metrics() != null && h.block.hasExecutions()) {
+            // Concurrently executed transactions only complete with the end of the block
+            params.metrics().transactionStage(TransactionStage.EXECUTED, h.transactionHashes(params.digestAlgorithm()));
+        }
         log.info("End block: {} hash: {} height: {} on: {}", h.block.getBodyCase(), h.hash, h.height(),
                  params.member().getId());
+        if (event.shouldCommit()) {
+            event.body = h.block.getBodyCase().name();
+            event.hash = h.hash.shortString();
+            event.height = ChoamEvents.height(h.height());
+            event.member = params.member().getId().shortString();
+            event.transactions = h.block.getExecutions().getExecutionsCount();
+            event.commit();
+        }
     }
 
     private void reconfigure(Digest hash, Reconfigure reconfigure) {
@@ -882,7 +934,7 @@ public class CHOAM {
                 return SubmitResult.newBuilder().setResult(Result.NO_COMMITTEE).build();
             }
             try {
-                return c.submitTxn(stx.transaction());
+                return c.submitTxn(stx.envelope());
             } catch (StatusRuntimeException e) {
                 return SubmitResult.newBuilder()
                                    .setResult(Result.ERROR_SUBMITTING)
@@ -1034,8 +1086,7 @@ public class CHOAM {
                 params.member().getId(), previousBlock.hash, prev, prevHeight, hcb.height(), params.member().getId());
                 return;
             }
-            final var c = current.get();
-            if (!c.validate(hcb)) {
+            if (!validate(hcb)) {
                 log.error("Protocol violation. New block is not validated: {} hash: {} on: {}", hcb.block.getBodyCase(),
                           hcb.hash, params.member().getId());
                 return;
@@ -1058,6 +1109,21 @@ public class CHOAM {
         pending.add(hcb);
     }
 
+    private boolean validate(HashedCertifiedBlock hb) {
+        var event = new ChoamEvents.BlockValidate();
+        event.begin();
+        var valid = current.get().validate(hb);
+        if (event.shouldCommit()) {
+            event.certifications = hb.certifiedBlock.getCertificationsCount();
+            event.hash = hb.hash.shortString();
+            event.height = ChoamEvents.height(hb.height());
+            event.member = params.member().getId().shortString();
+            event.valid = valid;
+            event.commit();
+        }
+        return valid;
+    }
+
     public interface BlockProducer {
         Block checkpoint();
 
@@ -1331,6 +1397,7 @@ public class CHOAM {
     /** abstract class to maintain the common state */
     private abstract class Administration implements Committee {
         protected final Digest                viewId;
+        private final   CertificateValidator  certificates = new CertificateValidator();
         private final   GroupIterator         servers;
         private final   Map<Member, Verifier> validators;
 
@@ -1358,6 +1425,11 @@ public class CHOAM {
             join(view);
         }
 
+        @Override
+        public CertificateValidator certificates() {
+            return certificates;
+        }
+
         @Override
         public void complete() {
         }
@@ -1386,15 +1458,15 @@ public class CHOAM {
         }
 
         @Override
-        public SubmitResult submitTxn(Transaction transaction) {
+        public SubmitResult submitTxn(TransactionEnvelope transaction) {
             if (!started.get()) {
-                log.trace("Failed submitting txn: {} no servers available in: {} on: {}",
-                          hashOf(transaction, params.digestAlgorithm()), viewId, params.member().getId());
+                log.trace("Failed submitting txn: {} no servers available in: {} on: {}", transaction.hash(), viewId,
+                          params.member().getId());
                 return SubmitResult.newBuilder().setResult(Result.ERROR_SUBMITTING).setErrorMsg("Shutdown").build();
             }
             if (!servers.hasNext()) {
-                log.trace("Failed submitting txn: {} no servers available in: {} on: {}",
-                          hashOf(transaction, params.digestAlgorithm()), viewId, params.member().getId());
+                log.trace("Failed submitting txn: {} no servers available in: {} on: {}", transaction.hash(), viewId,
+                          params.member().getId());
                 return SubmitResult.newBuilder()
                                    .setResult(Result.ERROR_SUBMITTING)
                                    .setErrorMsg("no servers available")
@@ -1406,21 +1478,19 @@ public class CHOAM {
                     log.debug("No link for: {} for submitting txn on: {}", target.getId(), params.member().getId());
                     return SubmitResult.newBuilder().setResult(Result.UNAVAILABLE).build();
                 }
-                log.trace("Submitting txn: {} to: {} in view: {} on: {}", hashOf(transaction, params.digestAlgorithm()),
-                          link.getMember().getId(), viewId, params.member().getId());
-                return link.submit(transaction);
+                log.trace("Submitting txn: {} to: {} in view: {} on: {}", transaction.hash(), link.getMember().getId(),
+                          viewId, params.member().getId());
+                return link.submit(transaction.transaction());
             } catch (StatusRuntimeException e) {
-                log.trace("Failed submitting txn: {} status:{} to: {} in: {} on: {}",
-                          hashOf(transaction, params.digestAlgorithm()), e.getStatus(), target.getId(), viewId,
-                          params.member().getId());
+                log.trace("Failed submitting txn: {} status:{} to: {} in: {} on: {}", transaction.hash(),
+                          e.getStatus(), target.getId(), viewId, params.member().getId());
                 return SubmitResult.newBuilder()
                                    .setResult(Result.ERROR_SUBMITTING)
                                    .setErrorMsg(e.getStatus().toString())
                                    .build();
             } catch (Throwable e) {
-                log.debug("Failed submitting txn: {} to: {} in: {} on: {}",
-                          hashOf(transaction, params.digestAlgorithm()), target.getId(), viewId,
-                          params.member().getId(), e);
+                log.debug("Failed submitting txn: {} to: {} in: {} on: {}", transaction.hash(), target.getId(),
+                          viewId, params.member().getId(), e);
                 return SubmitResult.newBuilder().setResult(Result.ERROR_SUBMITTING).setErrorMsg(e.toString()).build();
             }
         }
@@ -1595,8 +1665,9 @@ public class CHOAM {
 
     /** The Genesis formation comittee */
     private class Formation implements Committee {
-        private final GenesisAssembly assembly;
-        private final Context<Member> formation;
+        private final GenesisAssembly      assembly;
+        private final CertificateValidator certificates = new CertificateValidator();
+        private final Context<Member>      formation;
 
         private Formation() {
             formation = Committee.viewFor(params.genesisViewId(), params.context());
@@ -1633,6 +1704,11 @@ public class CHOAM {
             process();
         }
 
+        @Override
+        public CertificateValidator certificates() {
+            return certificates;
+        }
+
         @Override
         public void complete() {
             if (assembly != null) {
@@ -1686,6 +1762,7 @@ public class CHOAM {
     /** a synchronizer of the current committee */
     private class Synchronizer implements Committee {
 
+        private final CertificateValidator  certificates = new CertificateValidator();
         private final Map<Member, Verifier> validators;
 
         public Synchronizer(Map<Member, Verifier> validators) {
@@ -1697,6 +1774,11 @@ public class CHOAM {
             process();
         }
 
+        @Override
+        public CertificateValidator certificates() {
+            return certificates;
+        }
+
         @Override
         public void complete() {
         }
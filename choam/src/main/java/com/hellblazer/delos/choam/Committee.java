@@ -6,9 +6,12 @@
  */
 package com.hellblazer.delos.choam;
 
+import com.google.protobuf.ByteString;
 import com.hellblazer.delos.choam.proto.*;
 import com.hellblazer.delos.choam.proto.SubmitResult.Result;
+import com.hellblazer.delos.choam.support.CertificateValidator;
 import com.hellblazer.delos.choam.support.HashedCertifiedBlock;
+import com.hellblazer.delos.choam.support.TransactionEnvelope;
 import com.hellblazer.delos.context.Context;
 import com.hellblazer.delos.context.StaticContext;
 import com.hellblazer.delos.cryptography.Digest;
@@ -75,6 +78,12 @@ public interface Committee {
     default void assemble(Assemble assemble) {
     }
 
+    /**
+     * @return the validator of the certifications of blocks, remembering the certifications verified by the validators
+     * of the receiver
+     */
+    CertificateValidator certificates();
+
     void complete();
 
     boolean isMember();
@@ -102,7 +111,7 @@ public interface Committee {
         return SubmitResult.newBuilder().setResult(Result.INACTIVE).build();
     }
 
-    default SubmitResult submitTxn(Transaction transaction) {
+    default SubmitResult submitTxn(TransactionEnvelope transaction) {
         log().debug("Cannot process txn, inactive committee: {} on: {}", getClass().getSimpleName(),
                     params().member().getId());
         return SubmitResult.newBuilder().setResult(Result.UNAVAILABLE).build();
@@ -111,6 +120,11 @@ public interface Committee {
     boolean validate(HashedCertifiedBlock hb);
 
     default boolean validate(HashedCertifiedBlock hb, Certification c, Map<Member, Verifier> validators) {
+        return validate(hb, c, hb.block.getHeader().toByteString(), validators);
+    }
+
+    default boolean validate(HashedCertifiedBlock hb, Certification c, ByteString header,
+                             Map<Member, Verifier> validators) {
         Parameters params = params();
         Digest wid = new Digest(c.getId());
         var witness = params.context().getMember(wid);
@@ -126,7 +140,7 @@ public interface Committee {
             return false;
         }
 
-        final boolean verified = verify.verify(new JohnHancock(c.getSignature()), hb.block.getHeader().toByteString());
+        final boolean verified = verify.verify(new JohnHancock(c.getSignature()), header);
         if (!verified) {
             log().debug("Failed verification: {} hash: {} height: {} using: {} : {} on: {}", hb.block.getBodyCase(),
                         hb.hash, hb.height(), witness.getId(), verify, params.member().getId());
@@ -143,19 +157,18 @@ public interface Committee {
                     hb.height(),
                     hb.certifiedBlock.getCertificationsList().stream().map(c -> new Digest(c.getId())).toList(),
                     params.member().getId());
-        int valid = 0;
-        for (var w : hb.certifiedBlock.getCertificationsList()) {
-            if (!validate(hb, w, validators)) {
+        final int toleranceLevel = params.context().toleranceLevel();
+        final boolean valid = certificates().validate(hb, toleranceLevel, (w, header) -> {
+            if (!validate(hb, w, header, validators)) {
                 log().debug("Failed to validate: {} height: {} by: {} on: {}}", hb.hash, hb.height(),
                             new Digest(w.getId()), params.member().getId());
-            } else {
-                valid++;
+                return false;
             }
-        }
-        final int toleranceLevel = params.context().toleranceLevel();
-        log().trace("Validate: {} height: {} count: {} needed: {} on: {}", hb.hash, hb.height(), valid, toleranceLevel,
-                    params.member().getId());
-        return valid > toleranceLevel;
+            return true;
+        });
+        log().trace("Validate: {} height: {} valid: {} needed: {} on: {}", hb.hash, hb.height(), valid,
+                    toleranceLevel + 1, params.member().getId());
+        return valid;
     }
 
     default boolean validateRegeneration(HashedCertifiedBlock hb) {
@@ -80,7 +80,7 @@ public class GenesisAssembly implements Genesis {
                                             view.context().getAllMembers(), view.context().getEpsilon(),
                                             view.context().size());
 
-        final Fsm<Genesis, Transitions> fsm = Fsm.construct(this, Transitions.class, BrickLayer.INITIAL, true);
+        final Fsm<Genesis, Transitions> fsm = Fsm.construct(this, Transitions.class, BrickLayer.INITIAL, true, true);
         this.transitions = fsm.getTransitions();
 
         fsm.setName("Genesis%s on: %s".formatted(view.context().getId(), params().member().getId()));
@@ -96,12 +96,11 @@ public class GenesisAssembly implements Genesis {
         }
         config.setEpochLength(33).setNumberOfEpochs(-1);
         config.setLabel("Genesis Assembly" + view.context().getId() + " on: " + params().member().getId());
+        var genesisMetrics = params().metrics() == null ? null : params().metrics().getGensisMetrics();
         controller = new Ethereal(config.build(), params().producer().maxBatchByteSize(), dataSource(),
-                                  transitions::process, transitions::nextEpoch, label);
+                                  transitions::process, transitions::nextEpoch, label, genesisMetrics);
         coordinator = new ChRbcGossip(reContext.getId(), params().member(), nextAssembly.values(),
-                                      controller.processor(), params().communications(),
-                                      params().metrics() == null ? null : params().metrics().getGensisMetrics(),
-                                      scheduler);
+                                      controller.processor(), params().communications(), genesisMetrics, scheduler);
         log.debug("Genesis Assembly: {} recontext: {} next assembly: {} on: {}", view.context().getId(),
                   reContext.getId(), nextAssembly.keySet(), params().member().getId());
     }
@@ -450,19 +450,34 @@ public record Parameters(Parameters.RuntimeParameters runtime, ReliableBroadcast
         }
     }
 
-    public record BootstrapParameters(Duration gossipDuration, int maxViewBlocks, int maxSyncBlocks) {
+    public record BootstrapParameters(Duration gossipDuration, int maxViewBlocks, int maxSyncBlocks,
+                                      int checkpointParallelism) {
 
         public static Builder newBuilder() {
             return new Builder();
         }
 
         public static class Builder {
-            private Duration gossipDuration = Duration.ofSeconds(1);
-            private int      maxSyncBlocks  = 100;
-            private int      maxViewBlocks  = 100;
+            private int      checkpointParallelism = 3;
+            private Duration gossipDuration        = Duration.ofSeconds(1);
+            private int      maxSyncBlocks         = 100;
+            private int      maxViewBlocks         = 100;
 
             public BootstrapParameters build() {
-                return new BootstrapParameters(gossipDuration, maxViewBlocks, maxSyncBlocks);
+                return new BootstrapParameters(gossipDuration, maxViewBlocks, maxSyncBlocks, checkpointParallelism);
+            }
+
+            public int getCheckpointParallelism() {
+                return checkpointParallelism;
+            }
+
+            /**
+             * The number of committee members concurrently fetching checkpoint segments, or 1 to gossip with one member
+             * per round
+             */
+            public Builder setCheckpointParallelism(int checkpointParallelism) {
+                this.checkpointParallelism = checkpointParallelism;
+                return this;
             }
 
             public Duration getGossipDuration() {
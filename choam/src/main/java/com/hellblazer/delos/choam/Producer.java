@@ -14,8 +14,11 @@ import com.hellblazer.delos.choam.fsm.Driven.Earner;
 import com.hellblazer.delos.choam.fsm.Driven.Transitions;
 import com.hellblazer.delos.choam.proto.*;
 import com.hellblazer.delos.choam.proto.SubmitResult.Result;
+import com.hellblazer.delos.choam.support.ChoamEvents;
 import com.hellblazer.delos.choam.support.HashedBlock;
 import com.hellblazer.delos.choam.support.HashedCertifiedBlock;
+import com.hellblazer.delos.choam.support.TransactionEnvelope;
+import com.hellblazer.delos.choam.support.TransactionStage;
 import com.hellblazer.delos.choam.support.TxDataSource;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
@@ -85,7 +88,7 @@ public class Producer {
         log.debug("Producer max elements: {} reconfiguration epoch: {} on: {}", blocks, maxEpoch,
                   params.member().getId());
 
-        var fsm = Fsm.construct(new DriveIn(), Transitions.class, Earner.INITIAL, true);
+        var fsm = Fsm.construct(new DriveIn(), Transitions.class, Earner.INITIAL, true, true);
         fsm.setName("Producer%s on: %s".formatted(getViewId(), params.member().getId()));
         transitions = fsm.getTransitions();
 
@@ -103,7 +106,7 @@ public class Producer {
         config.setLabel("Producer" + getViewId() + " on: " + params().member().getId());
         var producerMetrics = params().metrics() == null ? null : params().metrics().getProducerMetrics();
         controller = new Ethereal(config.build(), params().producer().maxBatchByteSize() + (8 * 1024), ds, this::serial,
-                                  this::newEpoch, label);
+                                  this::newEpoch, label, producerMetrics);
         coordinator = new ChRbcGossip(view.context().getId(), params().member(), view.membership(),
                                       controller.processor(), params().communications(), producerMetrics, scheduler);
         log.debug("Roster for: {} is: {} on: {}", getViewId(), view.roster(), params().member().getId());
@@ -170,7 +173,7 @@ public class Producer {
         if (!started.get()) {
             return SubmitResult.newBuilder().setResult(Result.NO_COMMITTEE).build();
         }
-        if (ds.offer(transaction)) {
+        if (ds.offer(TransactionEnvelope.of(transaction, params().digestAlgorithm()))) {
             return SubmitResult.newBuilder().setResult(Result.PUBLISHED).build();
         } else {
             return SubmitResult.newBuilder().setResult(Result.BUFFER_FULL).build();
@@ -276,15 +279,30 @@ public class Producer {
                    .ifPresentOrElse(pb -> publish(pb, true), () -> view.publish(initialBlock, true));
             return;
         }
-        log.trace("transactions: {} combined hash: {} height: {} on: {}", txns.size(),
-                  txns.stream().map(t -> CHOAM.hashOf(t, params().digestAlgorithm())).reduce(Digest::xor).orElse(null),
-                  lb.height().add(1), params().member().getId());
+        if (log.isTraceEnabled()) {
+            var combined = txns.stream()
+                               .map(t -> CHOAM.hashOf(t, params().digestAlgorithm()))
+                               .reduce(Digest::xor)
+                               .orElse(null);
+            log.trace("transactions: {} combined hash: {} height: {} on: {}", txns.size(), combined,
+                      lb.height().add(1), params().member().getId());
+        }
+        final var metrics = params().metrics();
+        final var hashes = metrics == null ? null : CHOAM.hashesOf(txns, params().digestAlgorithm());
+        if (metrics != null) {
+            metrics.transactionStage(TransactionStage.PREBLOCK, hashes);
+        }
+        var event = new ChoamEvents.BlockProduce();
+        event.begin();
         var builder = Executions.newBuilder();
         txns.forEach(builder::addExecutions);
 
         var next = new HashedBlock(params().digestAlgorithm(),
                                    view.produce(lb.height().add(1), lb.hash, builder.build(), checkpoint.get()));
         previousBlock.set(next);
+        if (metrics != null) {
+            metrics.transactionStage(TransactionStage.PRODUCED, hashes);
+        }
 
         final var validation = view.generateValidation(next);
         ds.offer(validation);
@@ -293,6 +311,14 @@ public class Producer {
         p.witnesses.put(params().member(), validation);
         log.debug("Produced block: {} hash: {} height: {} prev: {} last: {} on: {}", next.block.getBodyCase(),
                   next.hash, next.height(), lb.hash, last, params().member().getId());
+        if (event.shouldCommit()) {
+            event.epoch = epoch.get();
+            event.hash = next.hash.shortString();
+            event.height = ChoamEvents.height(next.height());
+            event.member = params().member().getId().shortString();
+            event.transactions = txns.size();
+            event.commit();
+        }
         processPendingValidations(next, p);
     }
 
@@ -12,10 +12,13 @@ import com.netflix.concurrency.limits.Limiter;
 import com.netflix.concurrency.limits.internal.EmptyMetricRegistry;
 import com.hellblazer.delos.choam.proto.SubmitResult;
 import com.hellblazer.delos.choam.proto.Transaction;
+import com.hellblazer.delos.choam.support.ChoamEvents;
 import com.hellblazer.delos.choam.support.HashedCertifiedBlock;
 import com.hellblazer.delos.choam.support.InvalidTransaction;
 import com.hellblazer.delos.choam.support.SubmittedTransaction;
+import com.hellblazer.delos.choam.support.TransactionEnvelope;
 import com.hellblazer.delos.choam.support.TransactionFailed;
+import com.hellblazer.delos.choam.support.TransactionStage;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.JohnHancock;
 import com.hellblazer.delos.cryptography.Signer;
@@ -142,6 +145,11 @@ public class Session {
         }
         var hash = CHOAM.hashOf(txn, params.digestAlgorithm());
         final var timer = params.metrics() == null ? null : params.metrics().transactionLatency().time();
+        if (params.metrics() != null) {
+            params.metrics().transactionStage(TransactionStage.CREATED, hash);
+        }
+        final var lifecycle = new ChoamEvents.TransactionLifecycle();
+        lifecycle.begin();
 
         var result = new CompletableFuture<T>().whenComplete((r, t) -> {
             if (params.metrics() != null) {
@@ -154,7 +162,8 @@ public class Session {
             timeout = params.submitTimeout();
         }
 
-        var stxn = new SubmittedTransaction(txnView.height(), hash, txn, result, timer);
+        var stxn = new SubmittedTransaction(txnView.height(), TransactionEnvelope.of(txn, params.digestAlgorithm(), hash),
+                                            result, timer);
         submitted.put(stxn.hash(), stxn);
 
         var backoff = params.submitPolicy().build();
@@ -168,13 +177,23 @@ public class Session {
                 }
             }
             log.trace("Submitting: {} retry: {} on: {}", stxn.hash(), i, params.member().getId());
+            var attempt = new ChoamEvents.TransactionSubmit();
+            attempt.begin();
             var submit = submit(stxn);
+            if (attempt.shouldCommit()) {
+                attempt.attempt = i;
+                attempt.hash = hash.shortString();
+                attempt.member = params.member().getId().shortString();
+                attempt.result = submit.result.getResult().name();
+                attempt.commit();
+            }
             switch (submit.result.getResult()) {
             case PUBLISHED -> {
                 submit.limiter.get().onSuccess();
                 log.trace("Transaction submitted: {} on: {}", stxn.hash(), params.member().getId());
                 if (params.metrics() != null) {
                     params.metrics().transactionSubmittedSuccess();
+                    params.metrics().transactionStage(TransactionStage.SUBMITTED, hash);
                 }
                 var futureTimeout = scheduler.schedule(() -> Thread.ofVirtual().start(Utils.wrapped(() -> {
                     if (result.isDone()) {
@@ -190,6 +209,13 @@ public class Session {
                 return result.whenComplete((r, t) -> {
                     futureTimeout.cancel(true);
                     complete(hash, timer, t);
+                    if (lifecycle.shouldCommit()) {
+                        lifecycle.hash = hash.shortString();
+                        lifecycle.member = params.member().getId().shortString();
+                        lifecycle.view = ChoamEvents.height(txnView.height());
+                        lifecycle.error = t == null ? null : t.getClass().getSimpleName();
+                        lifecycle.commit();
+                    }
                 });
             }
             case RATE_LIMITED -> {
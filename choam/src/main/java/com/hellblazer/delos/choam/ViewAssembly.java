@@ -69,7 +69,7 @@ public class ViewAssembly {
         this.onConsensus = onConsensus;
 
         final Fsm<Reconfiguration, Transitions> fsm = Fsm.construct(new Recon(), Transitions.class,
-                                                                    Reconfigure.AWAIT_ASSEMBLY, true);
+                                                                    Reconfigure.AWAIT_ASSEMBLY, true, true);
         this.transitions = fsm.getTransitions();
         fsm.setName("View Assembly%s on: %s".formatted(nextViewId, params().member().getId()));
         log.debug("View reconfiguration from: {} to: {} on: {}", view.context().getId(), nextViewId,
@@ -140,7 +140,8 @@ public class Bootstrapper {
         CheckpointAssembler assembler = new CheckpointAssembler(committee, params.gossipDuration(), checkpoint.height(),
                                                                 checkpoint.block.getCheckpoint(), params.member(),
                                                                 store, comms, params.context(), threshold,
-                                                                params.digestAlgorithm());
+                                                                params.digestAlgorithm(),
+                                                                params.bootstrap().checkpointParallelism());
 
         // assemble the checkpoint
         checkpointAssembled = assembler.assemble(scheduler, params.gossipDuration()).whenComplete((cps, t) -> {
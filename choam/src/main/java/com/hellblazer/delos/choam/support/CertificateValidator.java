@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.ByteString;
+import com.hellblazer.delos.choam.proto.Certification;
+import com.hellblazer.delos.cryptography.Digest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.function.BiPredicate;
+
+/**
+ * Validates the certifications of blocks. The header of the block is serialized once, the certifications are verified
+ * concurrently, and validation completes as soon as the threshold of verified witnesses is exceeded - or can no longer
+ * be exceeded. The digests of the verified certifications - witness and signature - are remembered per block, so the
+ * certifications of a block are not verified again when the block is revalidated, while a certification carrying any
+ * other signature is always verified.
+ * <p>
+ * The verifications remembered are only valid for the validators that performed them, so a CertificateValidator is
+ * scoped to a single validator set.
+ *
+ * @author hal.hildebrand
+ */
+public class CertificateValidator {
+    public static final int DEFAULT_CAPACITY = 1_024;
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateValidator.class);
+
+    private final Cache<Digest, Set<Digest>> verified;
+
+    public CertificateValidator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CertificateValidator(int capacity) {
+        verified = Caffeine.newBuilder().maximumSize(capacity).build();
+    }
+
+    /**
+     * Validate the certifications of the block
+     *
+     * @param hb        - the certified block
+     * @param threshold - the block is valid if more than the threshold of distinct witnesses are verified
+     * @param verifier  - verifies the certification of the serialized header of the block
+     * @return true if more than the threshold of the block's witnesses are verified
+     */
+    public boolean validate(HashedCertifiedBlock hb, int threshold, BiPredicate<Certification, ByteString> verifier) {
+        var certifications = verified.get(hb.hash, h -> ConcurrentHashMap.newKeySet());
+        var algorithm = hb.hash.getAlgorithm();
+        var witnesses = new HashSet<Digest>();
+        var unverified = new HashMap<Digest, Certification>();
+        for (var c : hb.certifiedBlock.getCertificationsList()) {
+            var digest = algorithm.digest(c.toByteString());
+            if (certifications.contains(digest)) {
+                witnesses.add(Digest.from(c.getId()));
+            } else {
+                unverified.putIfAbsent(digest, c);
+            }
+        }
+        if (witnesses.size() > threshold) {
+            log.trace("Previously verified: {} height: {} valid: {}", hb.hash, hb.height(), witnesses.size());
+            return true;
+        }
+        unverified.values().removeIf(c -> witnesses.contains(Digest.from(c.getId())));
+        if (witnesses.size() + unverified.size() <= threshold) {
+            return false;
+        }
+        final var header = hb.block.getHeader().toByteString();
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            var completion = new ExecutorCompletionService<Map.Entry<Digest, Certification>>(executor);
+            for (var entry : unverified.entrySet()) {
+                completion.submit(() -> verifier.test(entry.getValue(), header) ? entry : null);
+            }
+            int outstanding = unverified.size();
+            while (outstanding > 0) {
+                Map.Entry<Digest, Certification> entry;
+                try {
+                    entry = completion.take().get();
+                } catch (ExecutionException e) {
+                    log.debug("Error verifying: {} height: {}", hb.hash, hb.height(), e.getCause());
+                    entry = null;
+                }
+                outstanding--;
+                if (entry != null) {
+                    certifications.add(entry.getKey());
+                    if (witnesses.add(Digest.from(entry.getValue().getId())) && witnesses.size() > threshold) {
+                        return true;
+                    }
+                }
+                if (witnesses.size() + outstanding <= threshold) {
+                    return false;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -28,21 +28,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
+ * Assembles a checkpoint from the segments held by the committee. With a parallelism of 1, the assembler gossips with
+ * one committee member per round. Otherwise, the assembler swarms: each round requests disjoint ranges of the missing
+ * segments from up to parallelism committee members at once, verifying each segment against the diadem as it arrives.
+ * The number of segments requested from a member adapts to the throughput of that member.
+ *
  * @author hal.hildebrand
  */
 public class CheckpointAssembler {
-    private static final Logger log = LoggerFactory.getLogger(CheckpointAssembler.class);
+    private static final Executor VIRTUAL        = task -> Thread.ofVirtual().start(task);
+    private static final int      INITIAL_WINDOW = 4;
+    private static final int      MAX_WINDOW     = 1024;
+    private static final Logger   log            = LoggerFactory.getLogger(CheckpointAssembler.class);
 
     private final CompletableFuture<CheckpointState>        assembled = new CompletableFuture<>();
+    private final ChoamEvents.CheckpointAssembly            assembly  = new ChoamEvents.CheckpointAssembly();
     private final Checkpoint                                checkpoint;
     private final CommonCommunications<Terminal, Concierge> comms;
     private final Context<Member>                           context;
@@ -54,11 +63,25 @@ public class CheckpointAssembler {
     private final MVMap<Integer, byte[]>                    state;
     private final HexBloom                                  diadem;
     private final List<Member>                              committee;
+    private final int                                       parallelism;
+    private final Map<Digest, Window>                       windows   = new ConcurrentHashMap<>();
 
     public CheckpointAssembler(List<Member> committee, Duration frequency, ULong height, Checkpoint checkpoint,
                                SigningMember member, Store store, CommonCommunications<Terminal, Concierge> comms,
                                Context<Member> context, double falsePositiveRate, DigestAlgorithm digestAlgorithm) {
+        this(committee, frequency, height, checkpoint, member, store, comms, context, falsePositiveRate,
+             digestAlgorithm, 1);
+    }
+
+    public CheckpointAssembler(List<Member> committee, Duration frequency, ULong height, Checkpoint checkpoint,
+                               SigningMember member, Store store, CommonCommunications<Terminal, Concierge> comms,
+                               Context<Member> context, double falsePositiveRate, DigestAlgorithm digestAlgorithm,
+                               int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1: " + parallelism);
+        }
         this.committee = new ArrayList<>(committee);
+        this.parallelism = parallelism;
         this.height = height;
         this.member = member;
         this.checkpoint = checkpoint;
@@ -72,18 +95,31 @@ public class CheckpointAssembler {
     }
 
     public CompletableFuture<CheckpointState> assemble(ScheduledExecutorService scheduler, Duration duration) {
+        assembly.begin();
         if (checkpoint.getCount() == 0) {
             assembled(new CheckpointState(checkpoint, state));
-        } else {
+        } else if (parallelism == 1) {
             gossip(scheduler, duration);
+        } else {
+            log.info("Swarm assembly of checkpoint: {} segments: {} parallelism: {} crown: {} on: {}", height,
+                     checkpoint.getCount(), parallelism, diadem.compactWrapped(), member.getId());
+            swarm(scheduler, duration);
         }
         return assembled;
     }
 
     private void assembled(CheckpointState cs) {
-        log.info("Assembled checkpoint: {} segments: {} crown: {} on: {}", height, checkpoint.getCount(),
-                 diadem.compactWrapped(), member.getId());
-        assembled.complete(cs);
+        if (assembled.complete(cs)) {
+            log.info("Assembled checkpoint: {} segments: {} crown: {} on: {}", height, checkpoint.getCount(),
+                     diadem.compactWrapped(), member.getId());
+            if (assembly.shouldCommit()) {
+                assembly.height = height.longValue();
+                assembly.member = member.getId().shortString();
+                assembly.parallelism = parallelism;
+                assembly.segments = checkpoint.getCount();
+                assembly.commit();
+            }
+        }
     }
 
     private CheckpointReplication buildRequest() {
@@ -98,6 +134,39 @@ public class CheckpointAssembler {
                                     .build();
     }
 
+    private CheckpointReplication buildRequest(int from, int to) {
+        long seed = Entropy.nextBitsStreamLong();
+        BloomFilter<Integer> segmentsBff = new BloomFilter.IntBloomFilter(seed, to - from, fpr);
+        IntStream.range(from, to).filter(i -> state.containsKey(i)).forEach(segmentsBff::add);
+        return CheckpointReplication.newBuilder()
+                                    .setCheckpoint(height.longValue())
+                                    .setCheckpointSegments(segmentsBff.toBff())
+                                    .setFrom(from)
+                                    .setTo(to)
+                                    .build();
+    }
+
+    /**
+     * Fetch the range [from, to) of segments from the member, adapting the member's window to the result
+     */
+    private void fetch(Member peer, int from, int to, int requested, Window window) {
+        var start = System.nanoTime();
+        try (var link = comms.connect(peer)) {
+            if (link == null) {
+                window.failed();
+                return;
+            }
+            log.trace("Requesting segments: [{}, {}) from: {} on: {}", from, to, peer.getId(), member.getId());
+            var segments = link.fetch(buildRequest(from, to));
+            var received = segments == null ? 0 : store(segments);
+            window.update(requested, received, System.nanoTime() - start);
+        } catch (Throwable t) {
+            log.debug("Unable to fetch segments: [{}, {}) from: {} on: {}", from, to, peer.getId(), member.getId(),
+                      t);
+            window.failed();
+        }
+    }
+
     private boolean gossip(Optional<CheckpointSegments> futureSailor) {
         if (futureSailor.isEmpty()) {
             return true;
@@ -142,12 +211,103 @@ public class CheckpointAssembler {
     }
 
     private boolean process(CheckpointSegments segments) {
-        segments.getSegmentsList().forEach(segment -> {
+        store(segments);
+        return state.size() == checkpoint.getCount();
+    }
+
+    /**
+     * Store the segments verified against the diadem
+     *
+     * @return the number of verified segments
+     */
+    private int store(CheckpointSegments segments) {
+        int verified = 0;
+        for (var segment : segments.getSegmentsList()) {
+            if (segment.getIndex() < 0 || segment.getIndex() >= checkpoint.getCount()) {
+                continue;
+            }
             Digest hash = digestAlgorithm.digest(segment.getBlock());
             if (diadem.contains(hash)) {
                 state.computeIfAbsent(segment.getIndex(), i -> segment.getBlock().toByteArray());
+                verified++;
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * One round of swarm assembly: partition the missing segments into disjoint ranges sized by each member's window,
+     * fastest members first, and fetch the ranges concurrently. The next round starts immediately if the round made
+     * progress, otherwise after the duration.
+     */
+    private void swarm(ScheduledExecutorService scheduler, Duration duration) {
+        if (assembled.isDone()) {
+            return;
+        }
+        var missing = IntStream.range(0, checkpoint.getCount()).filter(i -> !state.containsKey(i)).toArray();
+        if (missing.length == 0) {
+            assembled(new CheckpointState(checkpoint, state));
+            return;
+        }
+        var peers = new ArrayList<>(committee);
+        peers.remove(member);
+        Collections.shuffle(peers);
+        peers.sort(Comparator.comparingDouble((Member m) -> window(m).throughput).reversed());
+
+        var fetches = new ArrayList<CompletableFuture<Void>>();
+        int next = 0;
+        for (var peer : peers.subList(0, Math.min(parallelism, peers.size()))) {
+            if (next >= missing.length) {
+                break;
+            }
+            var window = window(peer);
+            int end = Math.min(next + window.size, missing.length);
+            int from = missing[next];
+            int to = missing[end - 1] + 1;
+            int requested = end - next;
+            next = end;
+            fetches.add(CompletableFuture.runAsync(() -> fetch(peer, from, to, requested, window), VIRTUAL));
+        }
+        var held = checkpoint.getCount() - missing.length;
+        CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0])).whenComplete((_, _) -> {
+            if (state.size() == checkpoint.getCount()) {
+                assembled(new CheckpointState(checkpoint, state));
+            } else if (state.size() > held) {
+                VIRTUAL.execute(Utils.wrapped(() -> swarm(scheduler, duration), log));
+            } else if (!assembled.isDone()) {
+                scheduler.schedule(
+                () -> Thread.ofVirtual().start(Utils.wrapped(() -> swarm(scheduler, duration), log)),
+                duration.toMillis(), TimeUnit.MILLISECONDS);
             }
         });
-        return state.size() == checkpoint.getCount();
+    }
+
+    private Window window(Member peer) {
+        return windows.computeIfAbsent(peer.getId(), _ -> new Window());
+    }
+
+    /**
+     * The adaptive request window of a member. The window doubles while the member delivers all the segments
+     * requested, shrinks to what the member delivered when it delivers fewer, and halves on failure. The throughput is
+     * an exponentially weighted moving average of segments per millisecond, used to order the members.
+     */
+    private static class Window {
+        private volatile int    size       = INITIAL_WINDOW;
+        private volatile double throughput = 0.0;
+
+        private void failed() {
+            size = Math.max(1, size / 2);
+            throughput = throughput / 2.0;
+        }
+
+        private void update(int requested, int received, long elapsedNanos) {
+            if (received == 0) {
+                failed();
+                return;
+            }
+            size = received >= requested ? Math.min(MAX_WINDOW, size * 2) : received;
+            var rate = received / Math.max(1.0, elapsedNanos / 1_000_000.0);
+            throughput = throughput == 0.0 ? rate : 0.75 * throughput + 0.25 * rate;
+        }
     }
 }
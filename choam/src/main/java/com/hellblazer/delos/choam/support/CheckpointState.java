@@ -69,8 +69,17 @@ public class CheckpointState {
     }
 
     public List<Slice> fetchSegments(BloomFilter<Integer> bff, int maxSegments) {
+        return fetchSegments(bff, 0, checkpoint.getCount(), maxSegments);
+    }
+
+    /**
+     * Answer the segments in the range [from, to) not contained in the bloom filter, or in all the segments if to is
+     * 0
+     */
+    public List<Slice> fetchSegments(BloomFilter<Integer> bff, int from, int to, int maxSegments) {
+        int end = to <= 0 ? checkpoint.getCount() : Math.min(to, checkpoint.getCount());
         List<Slice> slices = new ArrayList<>();
-        for (int i = 0; i < checkpoint.getCount(); i++) {
+        for (int i = Math.max(0, from); i < end; i++) {
             if (!bff.contains(i)) {
                 slices.add(Slice.newBuilder().setIndex(i).setBlock(ByteString.copyFrom(state.get(i))).build());
                 if (slices.size() >= maxSegments) {
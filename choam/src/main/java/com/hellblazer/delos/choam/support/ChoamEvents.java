@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.hellblazer.delos.utils.DelosEvents;
+import jdk.jfr.*;
+import org.joou.ULong;
+
+import static com.hellblazer.delos.utils.DelosEvents.DELOS;
+
+/**
+ * The JDK Flight Recorder events of CHOAM, see {@link DelosEvents}. Transactions are correlated by their hash, blocks by
+ * their height and hash.
+ *
+ * @author hal.hildebrand
+ */
+public final class ChoamEvents {
+    public static final String CATEGORY = "CHOAM";
+
+    private ChoamEvents() {
+    }
+
+    /**
+     * @return the long value of the height, or -1 if the height is undefined
+     */
+    public static long height(ULong height) {
+        return height == null ? -1 : height.longValue();
+    }
+
+    @Name("com.hellblazer.delos.choam.BlockExecute")
+    @Label("Block Execute")
+    @Category({ DELOS, CATEGORY })
+    @Description("Execution of an accepted block")
+    public static final class BlockExecute extends Event {
+        @Label("Type")
+        public String body;
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public long   height;
+        @Label("Member")
+        public String member;
+        @Label("Transactions")
+        public int    transactions;
+    }
+
+    @Name("com.hellblazer.delos.choam.BlockPersist")
+    @Label("Block Persist")
+    @Category({ DELOS, CATEGORY })
+    @Description("Acceptance of a validated block, storing the block")
+    public static final class BlockPersist extends Event {
+        @Label("Type")
+        public String body;
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public long   height;
+        @Label("Member")
+        public String member;
+    }
+
+    @Name("com.hellblazer.delos.choam.BlockProduce")
+    @Label("Block Produce")
+    @Category({ DELOS, CATEGORY })
+    @Description("Production of a block of transactions by the committee")
+    public static final class BlockProduce extends Event {
+        @Label("Epoch")
+        public int    epoch;
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public long   height;
+        @Label("Member")
+        public String member;
+        @Label("Transactions")
+        public int    transactions;
+    }
+
+    @Name("com.hellblazer.delos.choam.BlockValidate")
+    @Label("Block Validate")
+    @Category({ DELOS, CATEGORY })
+    @Description("Validation of the certifications of a block")
+    public static final class BlockValidate extends Event {
+        @Label("Certifications")
+        public int     certifications;
+        @Label("Hash")
+        public String  hash;
+        @Label("Height")
+        public long    height;
+        @Label("Member")
+        public String  member;
+        @Label("Valid")
+        public boolean valid;
+    }
+
+    @Name("com.hellblazer.delos.choam.CheckpointAssembly")
+    @Label("Checkpoint Assembly")
+    @Category({ DELOS, CATEGORY })
+    @Description("Assembly of a checkpoint from the segments held by the committee")
+    public static final class CheckpointAssembly extends Event {
+        @Label("Height")
+        public long   height;
+        @Label("Member")
+        public String member;
+        @Label("Parallelism")
+        public int    parallelism;
+        @Label("Segments")
+        public int    segments;
+    }
+
+    @Name("com.hellblazer.delos.choam.CheckpointCreate")
+    @Label("Checkpoint Create")
+    @Category({ DELOS, CATEGORY })
+    @Description("Creation of a checkpoint of the state")
+    public static final class CheckpointCreate extends Event {
+        @Label("Height")
+        public long   height;
+        @Label("Member")
+        public String member;
+        @Label("Segments")
+        public int    segments;
+    }
+
+    @Name("com.hellblazer.delos.choam.Transaction")
+    @Label("Transaction")
+    @Category({ DELOS, CATEGORY })
+    @Description("The lifecycle of a submitted transaction, from submission to completion")
+    public static final class TransactionLifecycle extends Event {
+        @Label("Error")
+        public String error;
+        @Label("Hash")
+        public String hash;
+        @Label("Member")
+        public String member;
+        @Label("View Height")
+        public long   view;
+    }
+
+    @Name("com.hellblazer.delos.choam.TransactionExecute")
+    @Label("Transaction Execute")
+    @Category({ DELOS, CATEGORY })
+    @Description("Execution of a transaction of a block")
+    public static final class TransactionExecute extends Event {
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public long   height;
+        @Label("Index")
+        public int    index;
+        @Label("Member")
+        public String member;
+    }
+
+    @Name("com.hellblazer.delos.choam.TransactionSubmit")
+    @Label("Transaction Submit")
+    @Category({ DELOS, CATEGORY })
+    @Description("An attempt to publish a transaction to the committee")
+    public static final class TransactionSubmit extends Event {
+        @Label("Attempt")
+        public int    attempt;
+        @Label("Hash")
+        public String hash;
+        @Label("Member")
+        public String member;
+        @Label("Result")
+        public String result;
+    }
+}
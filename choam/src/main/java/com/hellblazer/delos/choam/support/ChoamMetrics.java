@@ -8,10 +8,13 @@ package com.hellblazer.delos.choam.support;
 
 import com.codahale.metrics.Timer;
 import com.netflix.concurrency.limits.MetricRegistry;
+import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetrics;
 import com.hellblazer.delos.membership.messaging.rbc.RbcMetrics;
 import com.hellblazer.delos.protocols.EndpointMetrics;
 
+import java.util.List;
+
 /**
  * @author hal.hildebrand
  */
@@ -35,6 +38,21 @@ public interface ChoamMetrics extends EndpointMetrics {
 
     Timer transactionLatency();
 
+    /**
+     * Record the transaction reaching the stage, timing the interval from the previous stage of the transaction
+     */
+    void transactionStage(TransactionStage stage, Digest hash);
+
+    /**
+     * Record the transactions reaching the stage, timing the interval from the previous stage of each transaction
+     */
+    void transactionStage(TransactionStage stage, List<Digest> hashes);
+
+    /**
+     * @return the timer of the latency of the stage, or null for the CREATED stage
+     */
+    Timer transactionStageLatency(TransactionStage stage);
+
     void transactionSubmissionError();
 
     void transactionSubmitRateLimited();
@@ -7,6 +7,8 @@
 package com.hellblazer.delos.choam.support;
 
 import com.codahale.metrics.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetrics;
 import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetricsImpl;
@@ -15,7 +17,11 @@ import com.hellblazer.delos.membership.messaging.rbc.RbcMetricsImpl;
 import com.hellblazer.delos.protocols.EndpointMetricsImpl;
 import com.hellblazer.delos.protocols.LimitsRegistry;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -24,6 +30,10 @@ import static com.codahale.metrics.MetricRegistry.name;
  * @author hal.hildebrand
  */
 public class ChoamMetricsImpl extends EndpointMetricsImpl implements ChoamMetrics {
+    /**
+     * The maximum number of transactions whose stages are tracked
+     */
+    public static final int MAX_TRACKED_TRANSACTIONS = 65_536;
 
     private final RbcMetrics      combineMetrics;
     private final Meter           cancelledTransactions;
@@ -53,6 +63,9 @@ public class ChoamMetricsImpl extends EndpointMetricsImpl implements ChoamMetric
     private final Meter           transactionSubmitRateLimited;
     private final Meter           transactionCancelled;
 
+    private final Map<TransactionStage, Timer> stageLatencies = new EnumMap<>(TransactionStage.class);
+    private final Cache<Digest, Stamp>         stages;
+
     public ChoamMetricsImpl(Digest context, MetricRegistry registry) {
         super(registry);
         this.registry = registry;
@@ -87,6 +100,13 @@ public class ChoamMetricsImpl extends EndpointMetricsImpl implements ChoamMetric
         name(context.shortString(), "transaction.submit.retries.exhausted"));
         transactionSubmitRateLimited = registry.meter(name(context.shortString(), "transaction.submit.rate.limited"));
         transactionCancelled = registry.meter(name(context.shortString(), "transaction.submit.cancelled"));
+        for (var stage : TransactionStage.values()) {
+            if (stage != TransactionStage.CREATED) {
+                stageLatencies.put(stage, registry.timer(
+                name(context.shortString(), "transaction.stage", stage.name().toLowerCase())));
+            }
+        }
+        stages = Caffeine.newBuilder().maximumSize(MAX_TRACKED_TRANSACTIONS).build();
     }
 
     @Override
@@ -149,6 +169,36 @@ public class ChoamMetricsImpl extends EndpointMetricsImpl implements ChoamMetric
         return transactionLatency;
     }
 
+    @Override
+    public void transactionStage(TransactionStage stage, Digest hash) {
+        var now = System.nanoTime();
+        stages.asMap().compute(hash, (h, previous) -> {
+            if (previous == null) {
+                return new Stamp(stage, now);
+            }
+            if (previous.stage.compareTo(stage) >= 0) {
+                return previous;
+            }
+            stageLatencies.get(stage).update(now - previous.nanos, TimeUnit.NANOSECONDS);
+            return new Stamp(stage, now);
+        });
+        if (stage == TransactionStage.EXECUTED) {
+            stages.invalidate(hash);
+        }
+    }
+
+    @Override
+    public void transactionStage(TransactionStage stage, List<Digest> hashes) {
+        for (var hash : hashes) {
+            transactionStage(stage, hash);
+        }
+    }
+
+    @Override
+    public Timer transactionStageLatency(TransactionStage stage) {
+        return stageLatencies.get(stage);
+    }
+
     @Override
     public void transactionSubmissionError() {
         transactionSubmissionError.mark();
@@ -203,4 +253,7 @@ public class ChoamMetricsImpl extends EndpointMetricsImpl implements ChoamMetric
     public void transactionTimeout() {
         transactionTimeout.mark();
     }
+
+    private record Stamp(TransactionStage stage, long nanos) {
+    }
 }
@@ -6,6 +6,7 @@
  */
 package com.hellblazer.delos.choam.support;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import com.hellblazer.delos.choam.proto.Block;
 import com.hellblazer.delos.choam.proto.CertifiedBlock;
@@ -15,10 +16,6 @@ import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import org.joou.ULong;
 import org.joou.Unsigned;
 
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
-
 public class HashedBlock implements Comparable<HashedBlock> {
     public final Block  block;
     public final Digest hash;
@@ -47,13 +44,13 @@ public class HashedBlock implements Comparable<HashedBlock> {
                      .setLastReconfigHash(lastReconfigHash.toDigeste())
                      .setHeight(height.longValue())
                      .setPrevious(previous.toDigeste())
-                     .setBodyHash(digestAlgorithm.digest(body.toByteString().asReadOnlyByteBufferList()).toDigeste())
+                     .setBodyHash(digestAlgorithm.digest(body.toByteString()).toDigeste())
                      .build();
     }
 
     /** Canonical hash of block */
     public static Digest hash(Block block, DigestAlgorithm algo) {
-        return algo.digest(block.toByteString().asReadOnlyByteBufferList());
+        return algo.digest(block.toByteString());
     }
 
     public static Digest hash(Header header, DigestAlgorithm algo) {
@@ -61,27 +58,14 @@ public class HashedBlock implements Comparable<HashedBlock> {
     }
 
     public static Digest hashBody(Block block, DigestAlgorithm algo) {
-        List<ByteBuffer> buffers = new ArrayList<>();
-        switch (block.getBodyCase()) {
-        case BODY_NOT_SET:
-            break;
-        case CHECKPOINT:
-            buffers.addAll(block.getCheckpoint().toByteString().asReadOnlyByteBufferList());
-            break;
-        case EXECUTIONS:
-            buffers.addAll(block.getExecutions().toByteString().asReadOnlyByteBufferList());
-            break;
-        case GENESIS:
-            buffers.addAll(block.getGenesis().toByteString().asReadOnlyByteBufferList());
-            break;
-        case RECONFIGURE:
-            buffers.addAll(block.getReconfigure().toByteString().asReadOnlyByteBufferList());
-            break;
-        default:
-            break;
-
-        }
-        return algo.digest(buffers);
+        var body = switch (block.getBodyCase()) {
+            case CHECKPOINT -> block.getCheckpoint().toByteString();
+            case EXECUTIONS -> block.getExecutions().toByteString();
+            case GENESIS -> block.getGenesis().toByteString();
+            case RECONFIGURE -> block.getReconfigure().toByteString();
+            default -> ByteString.EMPTY;
+        };
+        return algo.digest(body);
     }
 
     public static ULong height(Block block) {
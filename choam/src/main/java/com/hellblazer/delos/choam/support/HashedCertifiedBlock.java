@@ -11,11 +11,14 @@ import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import org.joou.ULong;
 
+import java.util.List;
+
 /**
  * @author hal.hildebrand
  */
 public class HashedCertifiedBlock extends HashedBlock {
-    public final CertifiedBlock certifiedBlock;
+    public final     CertifiedBlock certifiedBlock;
+    private volatile List<Digest>   transactionHashes;
 
     public HashedCertifiedBlock(DigestAlgorithm digestAlgorithm, CertifiedBlock block) {
         this(digestAlgorithm.digest(block.getBlock().toByteString()), block);
@@ -36,6 +39,22 @@ public class HashedCertifiedBlock extends HashedBlock {
         return "cb" + hash.toString() + " height: " + height();
     }
 
+    /**
+     * @return the hashes of the transactions executed by the block, computed once for the block
+     */
+    public List<Digest> transactionHashes(DigestAlgorithm digestAlgorithm) {
+        var hashes = transactionHashes;
+        if (hashes == null) {
+            hashes = block.getExecutions()
+                          .getExecutionsList()
+                          .stream()
+                          .map(t -> TransactionEnvelope.hashOf(t, digestAlgorithm))
+                          .toList();
+            transactionHashes = hashes;
+        }
+        return hashes;
+    }
+
     public static class NullBlock extends HashedCertifiedBlock {
 
         public NullBlock(DigestAlgorithm algo) {
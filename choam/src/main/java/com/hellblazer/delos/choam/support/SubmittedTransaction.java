@@ -17,6 +17,14 @@ import java.util.concurrent.CompletableFuture;
  * @author hal.hildebrand
  */
 @SuppressWarnings("rawtypes")
-public record SubmittedTransaction(ULong view, Digest hash, Transaction transaction, CompletableFuture onCompletion,
+public record SubmittedTransaction(ULong view, TransactionEnvelope envelope, CompletableFuture onCompletion,
                                    Timer.Context timer) {
+
+    public Digest hash() {
+        return envelope.hash();
+    }
+
+    public Transaction transaction() {
+        return envelope.transaction();
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.google.protobuf.ByteString;
+import com.hellblazer.delos.choam.proto.Transaction;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.cryptography.JohnHancock;
+
+/**
+ * A Transaction, together with its serialized bytes and its hash. The bytes and the hash are computed at most once, on
+ * first use. The Session envelopes its transactions with the hash it has already computed, so submission does not
+ * hash them again, and the Producer envelopes the transactions it receives, so batching them into unit data
+ * serializes each once. Envelopes do not cross the wire: the Producer's node serializes the transactions received
+ * through the submission service, and the transactions of a block are hashed again, once per block, where the block is
+ * executed.
+ *
+ * @author hal.hildebrand
+ */
+public final class TransactionEnvelope {
+    private final    DigestAlgorithm algorithm;
+    private final    Transaction     transaction;
+    private volatile ByteString      bytes;
+    private volatile Digest          hash;
+
+    private TransactionEnvelope(Transaction transaction, DigestAlgorithm algorithm, Digest hash) {
+        this.transaction = transaction;
+        this.algorithm = algorithm;
+        this.hash = hash;
+    }
+
+    /**
+     * @return the hash of the transaction, which is derived from the transaction's signature
+     */
+    public static Digest hashOf(Transaction transaction, DigestAlgorithm digestAlgorithm) {
+        return JohnHancock.from(transaction.getSignature()).toDigest(digestAlgorithm);
+    }
+
+    public static TransactionEnvelope of(Transaction transaction, DigestAlgorithm algorithm) {
+        return new TransactionEnvelope(transaction, algorithm, null);
+    }
+
+    /**
+     * Envelope the transaction with its previously computed hash
+     */
+    public static TransactionEnvelope of(Transaction transaction, DigestAlgorithm algorithm, Digest hash) {
+        return new TransactionEnvelope(transaction, algorithm, hash);
+    }
+
+    /**
+     * @return the serialized transaction
+     */
+    public ByteString bytes() {
+        var current = bytes;
+        if (current == null) {
+            current = transaction.toByteString();
+            bytes = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the hash of the transaction
+     */
+    public Digest hash() {
+        var current = hash;
+        if (current == null) {
+            current = hashOf(transaction, algorithm);
+            hash = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the serialized size of the transaction
+     */
+    public int size() {
+        return bytes().size();
+    }
+
+    public Transaction transaction() {
+        return transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionEnvelope[" + hash() + "]";
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+/**
+ * The stages of the lifecycle of a transaction, in order. The latency of a stage is the interval from the previous
+ * stage of the transaction observed by the same node. A node only observes the stages it takes part in: the committee
+ * members observe the stages up to the production of the block, while every node observes the certification,
+ * persistence and execution of the block.
+ *
+ * @author hal.hildebrand
+ */
+public enum TransactionStage {
+    /**
+     * The transaction was created by the Session of the submitting node
+     */
+    CREATED,
+    /**
+     * The transaction was accepted by a committee member for inclusion in a unit
+     */
+    SUBMITTED,
+    /**
+     * The transaction was batched into the data of a new Ethereal unit. Unit creation immediately follows the batching
+     * of its data
+     */
+    BATCHED,
+    /**
+     * The unit containing the transaction was ordered by Ethereal consensus into a preblock
+     */
+    PREBLOCK,
+    /**
+     * The block containing the transaction was produced by the committee member
+     */
+    PRODUCED,
+    /**
+     * The block containing the transaction was certified by a majority of the committee and validated
+     */
+    CERTIFIED,
+    /**
+     * The block containing the transaction was persisted in the Store
+     */
+    PERSISTED,
+    /**
+     * The block containing the transaction was executed. The transactions of a block may execute concurrently,
+     * completing only when the block ends, so the stage is reached by all the transactions of the block at its end
+     */
+    EXECUTED
+}
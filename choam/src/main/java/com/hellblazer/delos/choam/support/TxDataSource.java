@@ -7,8 +7,8 @@
 package com.hellblazer.delos.choam.support;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.hellblazer.delos.choam.proto.Assemblies;
-import com.hellblazer.delos.choam.proto.Transaction;
 import com.hellblazer.delos.choam.proto.UnitData;
 import com.hellblazer.delos.choam.proto.Validate;
 import com.hellblazer.delos.ethereal.DataSource;
@@ -16,8 +16,10 @@ import com.hellblazer.delos.membership.Member;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -28,6 +30,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * available data. Each time the data is pulled from the receiver, the remaining capacity is reduced by the max buffer
  * size. The receiver will not accept any more data after the capacity has been used, regardless of whether there is
  * space available.
+ * <p>
+ * Transactions are held as TransactionEnvelopes, and the unit data is assembled directly from their serialized bytes,
+ * so transactions are not reserialized when sized or batched.
  *
  * @author hal.hildebrand
  */
@@ -35,20 +40,19 @@ public class TxDataSource implements DataSource {
 
     private final static Logger log = LoggerFactory.getLogger(TxDataSource.class);
 
-    private final Duration                   batchInterval;
-    private final AtomicBoolean              draining    = new AtomicBoolean();
-    private final Member                     member;
-    private final ChoamMetrics               metrics;
-    private final BatchingQueue<Transaction> processing;
-    private final BlockingQueue<Assemblies>  assemblies  = new LinkedBlockingQueue<>();
-    private final BlockingQueue<Validate>    validations = new LinkedBlockingQueue<>();
+    private final Duration                           batchInterval;
+    private final AtomicBoolean                      draining    = new AtomicBoolean();
+    private final Member                             member;
+    private final ChoamMetrics                       metrics;
+    private final BatchingQueue<TransactionEnvelope> processing;
+    private final BlockingQueue<Assemblies>          assemblies  = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Validate>            validations = new LinkedBlockingQueue<>();
 
     public TxDataSource(Member member, int maxElements, ChoamMetrics metrics, int maxBatchByteSize,
                         Duration batchInterval, int maxBatchCount) {
         this.member = member;
         this.batchInterval = batchInterval;
-        processing = new BatchingQueue<Transaction>(maxElements, maxBatchCount, tx -> tx.toByteString().size(),
-                                                    maxBatchByteSize);
+        processing = new BatchingQueue<>(maxElements, maxBatchCount, TransactionEnvelope::size, maxBatchByteSize);
         this.metrics = metrics;
     }
 
@@ -69,11 +73,19 @@ public class TxDataSource implements DataSource {
     @Override
     public ByteString getData() {
         var builder = UnitData.newBuilder();
+        var transactions = ByteString.EMPTY;
+        var transactionCount = 0;
         if (!draining.get()) {
             try {
                 var batch = processing.take(batchInterval);
                 if (batch != null) {
-                    builder.addAllTransactions(batch);
+                    transactions = encode(batch);
+                    transactionCount = batch.size();
+                    if (metrics != null) {
+                        for (var txn : batch) {
+                            metrics.transactionStage(TransactionStage.BATCHED, txn.hash());
+                        }
+                    }
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -105,14 +117,14 @@ public class TxDataSource implements DataSource {
             }
         }
 
-        ByteString bs = builder.build().toByteString();
+        // Repeated fields may be concatenated in any order, so the pre-serialized transactions are simply prepended
+        ByteString bs = transactions.concat(builder.build().toByteString());
         if (metrics != null) {
-            metrics.publishedBatch(builder.getTransactionsCount(), bs.size(), builder.getValidationsCount(),
+            metrics.publishedBatch(transactionCount, bs.size(), builder.getValidationsCount(),
                                    builder.getAssembliesCount());
         }
-        log.trace("Unit data: {} txns, {} validations, {} assemblies totalling: {} bytes  on: {}",
-                  builder.getTransactionsCount(), builder.getValidationsCount(), builder.getAssembliesCount(),
-                  bs.size(), member.getId());
+        log.trace("Unit data: {} txns, {} validations, {} assemblies totalling: {} bytes  on: {}", transactionCount,
+                  builder.getValidationsCount(), builder.getAssembliesCount(), bs.size(), member.getId());
         return bs;
     }
 
@@ -132,9 +144,15 @@ public class TxDataSource implements DataSource {
         return this.assemblies.offer(assemblies);
     }
 
-    public boolean offer(Transaction txn) {
+    public boolean offer(TransactionEnvelope txn) {
         if (!draining.get()) {
-            return processing.offer(txn);
+            if (!processing.offer(txn)) {
+                return false;
+            }
+            if (metrics != null) {
+                metrics.transactionStage(TransactionStage.SUBMITTED, txn.hash());
+            }
+            return true;
         } else {
             log.trace("Rejecting txn: {} on: {}", txn, member.getId());
             return false;
@@ -150,4 +168,25 @@ public class TxDataSource implements DataSource {
                   processing.added(), processing.taken(), validations.size(), assemblies.size(), member.getId());
         processing.clear();
     }
+
+    /**
+     * Encode the transactions as the repeated transactions field of UnitData, using the envelopes' serialized bytes
+     */
+    private ByteString encode(List<TransactionEnvelope> batch) {
+        int size = 0;
+        for (var txn : batch) {
+            size += CodedOutputStream.computeBytesSize(UnitData.TRANSACTIONS_FIELD_NUMBER, txn.bytes());
+        }
+        var out = ByteString.newOutput(size);
+        var coded = CodedOutputStream.newInstance(out, size);
+        try {
+            for (var txn : batch) {
+                coded.writeBytes(UnitData.TRANSACTIONS_FIELD_NUMBER, txn.bytes());
+            }
+            coded.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode transactions", e);
+        }
+        return out.toByteString();
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.google.protobuf.ByteString;
+import com.hellblazer.delos.choam.proto.Block;
+import com.hellblazer.delos.choam.proto.Certification;
+import com.hellblazer.delos.choam.proto.CertifiedBlock;
+import com.hellblazer.delos.choam.proto.Header;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.cryptography.proto.Sig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author hal.hildebrand
+ */
+public class CertificateValidatorTest {
+
+    @Test
+    public void earlyExitAndMemoization() {
+        var block = block(7);
+        var validator = new CertificateValidator();
+        var verified = new AtomicInteger();
+        var headers = ConcurrentHashMap.newKeySet();
+
+        assertTrue(validator.validate(block, 2, (c, header) -> {
+            headers.add(header);
+            verified.incrementAndGet();
+            return true;
+        }));
+        assertEquals(1, headers.size());
+        assertEquals(block.block.getHeader().toByteString(), headers.iterator().next());
+        assertTrue(verified.get() >= 3);
+
+        // The verified witnesses are remembered
+        verified.set(0);
+        assertTrue(validator.validate(block, 2, (c, header) -> {
+            verified.incrementAndGet();
+            return true;
+        }));
+        assertEquals(0, verified.get());
+    }
+
+    @Test
+    public void tamperedSignatures() {
+        var block = block(4);
+        var validator = new CertificateValidator();
+        var genuine = ByteString.copyFromUtf8("genuine");
+        BiPredicate<Certification, ByteString> verifier = (c, header) -> c.getSignature()
+                                                                          .getSignaturesList()
+                                                                          .equals(List.of(genuine));
+        assertTrue(validator.validate(signed(block, genuine), 2, verifier));
+
+        // The same block and witnesses with forged signatures are verified - and rejected - rather than remembered
+        var tampered = signed(block, ByteString.copyFromUtf8("forged"));
+        assertEquals(block.hash, tampered.hash);
+        var verified = new AtomicInteger();
+        assertFalse(validator.validate(tampered, 2, (c, header) -> {
+            verified.incrementAndGet();
+            return verifier.test(c, header);
+        }));
+        assertTrue(verified.get() > 0);
+    }
+
+    @Test
+    public void threshold() {
+        var block = block(4);
+        var validator = new CertificateValidator();
+        Set<Digest> valid = ConcurrentHashMap.newKeySet();
+        block.certifiedBlock.getCertificationsList()
+                            .stream()
+                            .limit(2)
+                            .forEach(c -> valid.add(Digest.from(c.getId())));
+
+        assertFalse(validator.validate(block, 2, (c, header) -> valid.contains(Digest.from(c.getId()))));
+        assertTrue(validator.validate(block, 1, (c, header) -> valid.contains(Digest.from(c.getId()))));
+
+        // Duplicate witnesses are counted once
+        var duplicated = CertifiedBlock.newBuilder(block.certifiedBlock)
+                                       .addCertifications(block.certifiedBlock.getCertifications(0))
+                                       .addCertifications(block.certifiedBlock.getCertifications(0))
+                                       .build();
+        assertFalse(new CertificateValidator().validate(new HashedCertifiedBlock(DigestAlgorithm.DEFAULT, duplicated),
+                                                        2, (c, header) -> valid.contains(Digest.from(c.getId()))));
+    }
+
+    private HashedCertifiedBlock block(int witnesses) {
+        var builder = CertifiedBlock.newBuilder()
+                                    .setBlock(Block.newBuilder()
+                                                   .setHeader(Header.newBuilder()
+                                                                    .setHeight(1)
+                                                                    .setPrevious(
+                                                                    DigestAlgorithm.DEFAULT.random().toDigeste())));
+        IntStream.range(0, witnesses)
+                 .forEach(i -> builder.addCertifications(
+                 Certification.newBuilder().setId(DigestAlgorithm.DEFAULT.random().toDigeste())));
+        return new HashedCertifiedBlock(DigestAlgorithm.DEFAULT, builder.build());
+    }
+
+    private HashedCertifiedBlock signed(HashedCertifiedBlock block, ByteString signature) {
+        var builder = CertifiedBlock.newBuilder(block.certifiedBlock).clearCertifications();
+        block.certifiedBlock.getCertificationsList()
+                            .forEach(c -> builder.addCertifications(Certification.newBuilder(c)
+                                                                                 .setSignature(Sig.newBuilder()
+                                                                                                  .addSignatures(
+                                                                                                  signature))));
+        return new HashedCertifiedBlock(DigestAlgorithm.DEFAULT, builder.build());
+    }
+}
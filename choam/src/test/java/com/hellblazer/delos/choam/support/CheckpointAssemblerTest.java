@@ -65,6 +65,15 @@ public class CheckpointAssemblerTest {
 
     @Test
     public void functional() throws Exception {
+        assemble(1);
+    }
+
+    @Test
+    public void swarm() throws Exception {
+        assemble(3);
+    }
+
+    private void assemble(int parallelism) throws Exception {
         File checkpointDir = new File("target/checkpoint");
         Utils.clean(checkpointDir);
         checkpointDir.mkdirs();
@@ -120,7 +129,8 @@ public class CheckpointAssemblerTest {
             @Override
             public CheckpointSegments answer(InvocationOnMock invocation) throws Throwable {
                 CheckpointReplication rep = invocation.getArgument(0, CheckpointReplication.class);
-                List<Slice> fetched = state.fetchSegments(BloomFilter.from(rep.getCheckpointSegments()), 2);
+                List<Slice> fetched = state.fetchSegments(BloomFilter.from(rep.getCheckpointSegments()), rep.getFrom(),
+                                                             rep.getTo(), 2);
                 System.out.println("Fetched: " + fetched.size());
                 return CheckpointSegments.newBuilder().addAllSegments(fetched).build();
             }
@@ -138,7 +148,7 @@ public class CheckpointAssemblerTest {
         Store store2 = new Store(DigestAlgorithm.DEFAULT, new MVStore.Builder().open());
         CheckpointAssembler boot = new CheckpointAssembler(members, Duration.ofMillis(10), ULong.valueOf(0), checkpoint,
                                                            bootstrapping, store2, comm, context, 0.00125,
-                                                           DigestAlgorithm.DEFAULT);
+                                                           DigestAlgorithm.DEFAULT, parallelism);
         ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory());
 
         assembled = boot.assemble(scheduler, Duration.ofMillis(10));
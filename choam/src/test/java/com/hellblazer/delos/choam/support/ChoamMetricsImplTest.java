@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.choam.support;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author hal.hildebrand
+ */
+public class ChoamMetricsImplTest {
+
+    @Test
+    public void transactionStages() {
+        var metrics = new ChoamMetricsImpl(DigestAlgorithm.DEFAULT.random(), new MetricRegistry());
+        assertNull(metrics.transactionStageLatency(TransactionStage.CREATED));
+
+        var local = DigestAlgorithm.DEFAULT.random();
+        var remote = DigestAlgorithm.DEFAULT.random();
+
+        metrics.transactionStage(TransactionStage.CREATED, local);
+        metrics.transactionStage(TransactionStage.SUBMITTED, local);
+        // Stages already passed are ignored
+        metrics.transactionStage(TransactionStage.SUBMITTED, local);
+        metrics.transactionStage(TransactionStage.CREATED, local);
+        // The first stage observed for a transaction has no latency
+        metrics.transactionStage(TransactionStage.CERTIFIED, remote);
+        metrics.transactionStage(TransactionStage.PERSISTED, List.of(local, remote));
+        metrics.transactionStage(TransactionStage.EXECUTED, local);
+        metrics.transactionStage(TransactionStage.EXECUTED, remote);
+
+        assertEquals(1, metrics.transactionStageLatency(TransactionStage.SUBMITTED).getCount());
+        assertEquals(0, metrics.transactionStageLatency(TransactionStage.CERTIFIED).getCount());
+        assertEquals(2, metrics.transactionStageLatency(TransactionStage.PERSISTED).getCount());
+        assertEquals(2, metrics.transactionStageLatency(TransactionStage.EXECUTED).getCount());
+
+        // Executed transactions are no longer tracked
+        metrics.transactionStage(TransactionStage.EXECUTED, local);
+        assertEquals(2, metrics.transactionStageLatency(TransactionStage.EXECUTED).getCount());
+    }
+}
@@ -8,6 +8,7 @@ package com.hellblazer.delos.choam.support;
 
 import com.google.protobuf.ByteString;
 import com.hellblazer.delos.choam.proto.Transaction;
+import com.hellblazer.delos.choam.proto.UnitData;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.membership.stereotomy.ControlledIdentifierMember;
 import com.hellblazer.delos.stereotomy.StereotomyImpl;
@@ -35,8 +36,9 @@ public class TxDataSourceTest {
         Transaction tx = Transaction.newBuilder()
                                     .setContent(ByteString.copyFromUtf8("Give me food or give me slack or kill me"))
                                     .build();
+        var envelope = TransactionEnvelope.of(tx, DigestAlgorithm.DEFAULT);
         int count = 0;
-        while (ds.offer(tx)) {
+        while (ds.offer(envelope)) {
             count++;
         }
         assertEquals(2400, count);
@@ -45,8 +47,11 @@ public class TxDataSourceTest {
         var data = ds.getData();
         assertNotNull(data);
         assertEquals(1056, data.size());
+        var unit = UnitData.parseFrom(data);
+        assertFalse(unit.getTransactionsList().isEmpty());
+        unit.getTransactionsList().forEach(t -> assertEquals(tx, t));
 
-        assertFalse(ds.offer(tx));
+        assertFalse(ds.offer(envelope));
 
         data = ds.getData();
         assertNotNull(data);
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.hellblazer.delos.kairos;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Models the directed links between simulated endpoints: the latency,
+ * bandwidth and loss of the messages sent on a link. Models draw any
+ * randomness from the supplied entropy, which is the simulation's seeded
+ * entropy, so that simulated runs are reproducible.
+ *
+ * @author hal.hildebrand
+ *
+ */
+public interface NetworkModel {
+    /**
+     * A uniform model of all links
+     *
+     * @param latency   - the minimum propagation latency of a message
+     * @param jitter    - the maximum additional latency of a message, drawn
+     *                  uniformly
+     * @param bandwidth - the bandwidth of a link in bytes per second, or <= 0 if
+     *                  unlimited
+     * @param loss      - the probability a message is lost
+     */
+    record Uniform(Duration latency, Duration jitter, long bandwidth, double loss) implements NetworkModel {
+
+        @Override
+        public long bandwidth(String from, String to) {
+            return bandwidth;
+        }
+
+        @Override
+        public Duration latency(String from, String to, Random entropy) {
+            if (jitter.isZero()) {
+                return latency;
+            }
+            return latency.plusNanos((long) (entropy.nextDouble() * jitter.toNanos()));
+        }
+
+        @Override
+        public boolean lost(String from, String to, Random entropy) {
+            return loss > 0.0 && entropy.nextDouble() < loss;
+        }
+    }
+
+    /**
+     * Instantaneous, unlimited and lossless links
+     */
+    NetworkModel IDEAL = new Uniform(Duration.ZERO, Duration.ZERO, 0, 0.0);
+
+    /**
+     * @return a model of lossless links of unlimited bandwidth with the fixed
+     *         latency
+     */
+    static NetworkModel uniform(Duration latency) {
+        return new Uniform(latency, Duration.ZERO, 0, 0.0);
+    }
+
+    /**
+     * @return the bandwidth of the link in bytes per second, or <= 0 if
+     *         unlimited
+     */
+    long bandwidth(String from, String to);
+
+    /**
+     * @return the propagation latency of a message sent on the link
+     */
+    Duration latency(String from, String to, Random entropy);
+
+    /**
+     * @return true if a message sent on the link is lost
+     */
+    boolean lost(String from, String to, Random entropy);
+}
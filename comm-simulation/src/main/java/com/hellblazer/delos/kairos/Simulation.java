@@ -12,6 +12,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -20,7 +21,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A simple event driven simulator for generic simulated actions
+ * A simple event driven simulator for generic simulated actions. Events are
+ * evaluated in order of their scheduled instant, ties broken by the order in
+ * which they were scheduled. Driven from a single thread, the simulation is
+ * deterministic: the simulation's entropy is seeded, so models drawing their
+ * randomness from the simulation reproduce the same run for the same seed.
  * 
  * @author hal.hildebrand
  *
@@ -43,10 +48,11 @@ public class Simulation {
 
     // geesh
     private static boolean positive(Duration d) {
-        return !d.isNegative() && d.isZero();
+        return !d.isNegative() && !d.isZero();
     }
 
     private final Kairos                       clock;
+    private final Random                       entropy;
     private final KairosInstanceSource         instant;
     private final PriorityBlockingQueue<Event> schedule = new PriorityBlockingQueue<>();
     private final KairosScheduler              scheduler;
@@ -58,6 +64,15 @@ public class Simulation {
     }
 
     public Simulation(Instant start) {
+        this(start, 0L);
+    }
+
+    /**
+     * @param start - the initial instant of the simulation
+     * @param seed  - the seed of the simulation's entropy
+     */
+    public Simulation(Instant start, long seed) {
+        entropy = new Random(seed);
         instant = new KairosInstanceSource(start);
         clock = new Kairos(instant, ZoneId.of("UTC"));
         scheduler = new KairosScheduler(this);
@@ -76,6 +91,9 @@ public class Simulation {
         Instant limit = clock.instant().plus(duration);
         while (advance(limit)) {
         }
+        if (limit.isAfter(clock.instant())) {
+            instant.advance(limit);
+        }
     }
 
     public boolean cancel(Event event) {
@@ -87,6 +105,13 @@ public class Simulation {
         return clock;
     }
 
+    /**
+     * @return the seeded source of randomness for simulated models
+     */
+    public Random entropy() {
+        return entropy;
+    }
+
     public KairosScheduler getScheduler() {
         return scheduler;
     }
@@ -157,6 +182,7 @@ public class Simulation {
         }
 
         if (limit != null && next.scheduled.isAfter(limit)) {
+            schedule.add(next);
             return false;
         }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.hellblazer.delos.kairos.grpc;
+
+import java.util.concurrent.Callable;
+
+import com.hellblazer.delos.kairos.KairosFuture;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+
+/**
+ * A channel whose calls are transmitted on a simulated network
+ *
+ * @author hal.hildebrand
+ *
+ */
+final class NetworkChannel extends SimulatedManagedChannel {
+    private final String           from;
+    private final SimulatedNetwork network;
+    private final String           to;
+
+    NetworkChannel(ManagedChannel concrete, SimulatedNetwork network, String from, String to) {
+        super(concrete);
+        this.network = network;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkChannel[" + from + " -> " + to + "]";
+    }
+
+    @Override
+    protected <RequestT, ResponseT> ClientCall<RequestT, ResponseT> createNewCall(MethodDescriptor<RequestT, ResponseT> methodDescriptor,
+                                                                                  CallOptions callOptions) {
+        return new NetworkClientCall<>(concrete.newCall(methodDescriptor, callOptions), methodDescriptor, network,
+                                       from, to);
+    }
+
+    /**
+     * Shutdown is local to the channel, and so takes effect immediately rather
+     * than blocking on the simulation
+     */
+    @Override
+    protected KairosFuture<ManagedChannel> scheduleShutdown() {
+        return completed(concrete::shutdown);
+    }
+
+    @Override
+    protected KairosFuture<ManagedChannel> scheduleShutdownNow() {
+        return completed(concrete::shutdownNow);
+    }
+
+    private KairosFuture<ManagedChannel> completed(Callable<ManagedChannel> action) {
+        var future = new KairosFuture<>(action, network.getSimulation());
+        future.run();
+        return future;
+    }
+}
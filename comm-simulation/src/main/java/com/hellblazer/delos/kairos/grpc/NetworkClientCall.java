@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.hellblazer.delos.kairos.grpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.grpc.ClientCall;
+import io.grpc.KnownLength;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * A client call transmitting its events to the server, and the server's
+ * response events back to the client, on the simulated network.
+ *
+ * @author hal.hildebrand
+ *
+ */
+final class NetworkClientCall<ReqT, RespT> extends SimulatedClientCall<ReqT, RespT> {
+    private class NetworkListener extends Listener<RespT> {
+        @Override
+        public void onClose(Status status, Metadata trailers) {
+            network.transmit(to, from, 0, () -> {
+                if (!closed) {
+                    closed = true;
+                    listener.onClose(status, trailers);
+                }
+            }, NetworkClientCall.this::lost);
+        }
+
+        @Override
+        public void onHeaders(Metadata headers) {
+            network.transmit(to, from, 0, () -> {
+                if (!closed) {
+                    listener.onHeaders(headers);
+                }
+            }, NetworkClientCall.this::lost);
+        }
+
+        @Override
+        public void onMessage(RespT message) {
+            network.transmit(to, from, sizeOf(method.streamResponse(message)), () -> {
+                if (!closed) {
+                    listener.onMessage(message);
+                }
+            }, NetworkClientCall.this::lost);
+        }
+
+        @Override
+        public void onReady() {
+            if (!closed) {
+                listener.onReady();
+            }
+        }
+    }
+
+    private static int sizeOf(InputStream stream) {
+        try (stream) {
+            if (stream instanceof KnownLength) {
+                return stream.available();
+            }
+            return (int) stream.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to size message", e);
+        }
+    }
+
+    private boolean                             closed;
+    private Boolean                             compression;
+    private final String                        from;
+    private Listener<RespT>                     listener;
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final SimulatedNetwork              network;
+    private boolean                             started;
+    private final String                        to;
+
+    NetworkClientCall(ClientCall<ReqT, RespT> delegate, MethodDescriptor<ReqT, RespT> method,
+                      SimulatedNetwork network, String from, String to) {
+        super(delegate);
+        this.method = method;
+        this.network = network;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Cancellation is local to the client, and so closes the call immediately
+     */
+    @Override
+    public void cancel(String message, Throwable cause) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        delegate.cancel(message, cause);
+        if (listener != null) {
+            listener.onClose(Status.CANCELLED.withDescription(message).withCause(cause), new Metadata());
+        }
+    }
+
+    @Override
+    public void halfClose() {
+        network.transmit(from, to, 0, () -> {
+            if (started && !closed) {
+                delegate.halfClose();
+            }
+        }, this::lost);
+    }
+
+    @Override
+    public boolean isReady() {
+        return started && !closed && delegate.isReady();
+    }
+
+    @Override
+    public void setMessageCompression(boolean enabled) {
+        if (started) {
+            delegate.setMessageCompression(enabled);
+        } else {
+            compression = enabled;
+        }
+    }
+
+    @Override
+    protected void scheduleMessage(ReqT message) {
+        network.transmit(from, to, sizeOf(method.streamRequest(message)), () -> {
+            if (started && !closed) {
+                delegate.sendMessage(message);
+            }
+        }, this::lost);
+    }
+
+    @Override
+    protected void scheduleRequest(int numMessages) {
+        network.transmit(from, to, 0, () -> {
+            if (started && !closed) {
+                delegate.request(numMessages);
+            }
+        }, this::lost);
+    }
+
+    @Override
+    protected void scheduleStart(Listener<RespT> responseListener, Metadata headers) {
+        listener = responseListener;
+        network.transmit(from, to, 0, () -> {
+            if (closed) {
+                return;
+            }
+            delegate.start(new NetworkListener(), headers);
+            started = true;
+            if (compression != null) {
+                delegate.setMessageCompression(compression);
+            }
+        }, this::lost);
+    }
+
+    /**
+     * A message of the call has been lost on the network; fail the call
+     */
+    private void lost() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        delegate.cancel("Simulated message loss", null);
+        listener.onClose(Status.UNAVAILABLE.withDescription("Simulated message loss"), new Metadata());
+    }
+}
@@ -81,8 +81,6 @@ abstract public class SimulatedManagedChannel extends ManagedChannel {
     protected abstract <RequestT, ResponseT> ClientCall<RequestT, ResponseT> createNewCall(MethodDescriptor<RequestT, ResponseT> methodDescriptor,
                                                                                            CallOptions callOptions);
 
-    protected abstract KairosFuture<ClientCall<?, ?>> scheduleNewCall();
-
     protected abstract KairosFuture<ManagedChannel> scheduleShutdown();
 
     protected abstract KairosFuture<ManagedChannel> scheduleShutdownNow();
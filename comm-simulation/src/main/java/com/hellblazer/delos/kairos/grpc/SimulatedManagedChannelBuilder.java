@@ -26,6 +26,7 @@ import io.grpc.ClientInterceptor;
 import io.grpc.CompressorRegistry;
 import io.grpc.DecompressorRegistry;
 import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
 import io.grpc.NameResolver.Factory;
 import io.grpc.ProxyDetector;
 import io.grpc.inprocess.InProcessChannelBuilder;
@@ -89,7 +90,7 @@ public class SimulatedManagedChannelBuilder extends AbstractManagedChannelImplBu
     }
 
     private SimulatedManagedChannelBuilder(@Nullable SocketAddress directAddress, @Nullable String target) {
-        concrete = directAddress == null ? InProcessChannelBuilder.forAddress(directAddress)
+        concrete = directAddress != null ? InProcessChannelBuilder.forAddress(directAddress)
                                          : InProcessChannelBuilder.forTarget(target);
     }
 
@@ -99,7 +100,7 @@ public class SimulatedManagedChannelBuilder extends AbstractManagedChannelImplBu
         concrete.executor(simulation.getScheduler());
         concrete.scheduledExecutorService(simulation.getScheduler());
         concrete.offloadExecutor(simulation.getScheduler());
-        return super.build();
+        return concrete.build();
     }
 
     @Override
@@ -297,8 +298,8 @@ public class SimulatedManagedChannelBuilder extends AbstractManagedChannelImplBu
     }
 
     @Override
-    protected SimulatedManagedChannelBuilder delegate() {
-        return this;
+    protected ManagedChannelBuilder<?> delegate() {
+        return concrete;
     }
 
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.hellblazer.delos.kairos.grpc;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hellblazer.delos.kairos.NetworkModel;
+import com.hellblazer.delos.kairos.Simulation;
+
+import io.grpc.ManagedChannel;
+
+/**
+ * A discrete event network of simulated gRPC endpoints. Servers are in process
+ * servers and channels are in process channels, with all executors of both
+ * driven by the simulation. Every client call event - start, flow control,
+ * messages, half close - and every server response event - headers, messages,
+ * close - is transmitted on the directed link between the endpoints and
+ * delivered in simulated time according to the network model:
+ * <ul>
+ * <li>a message occupies its link for its size divided by the link's
+ * bandwidth, so messages queue behind one another on a congested link</li>
+ * <li>a message then arrives after the link's propagation latency</li>
+ * <li>messages on a link are delivered in the order sent, as on a
+ * stream</li>
+ * <li>a lost message fails its call with UNAVAILABLE, as a dropped connection
+ * would</li>
+ * </ul>
+ * The network is not thread safe; it must be driven by the single thread
+ * advancing the simulation. Stubs must be asynchronous, as blocking on a
+ * response blocks the simulation.
+ *
+ * @author hal.hildebrand
+ *
+ */
+public class SimulatedNetwork {
+    private static class LinkState {
+        private Instant busyUntil   = Instant.MIN;
+        private Instant lastArrival = Instant.MIN;
+    }
+
+    private record Link(String from, String to) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedNetwork.class);
+
+    private long                       delivered;
+    private final Map<Link, LinkState> links = new HashMap<>();
+    private long                       lost;
+    private final NetworkModel         model;
+    private final Simulation           simulation;
+
+    public SimulatedNetwork(Simulation simulation, NetworkModel model) {
+        this.simulation = simulation;
+        this.model = model;
+    }
+
+    /**
+     * Answer a channel from the endpoint to the named server
+     *
+     * @param from - the name of the connecting endpoint
+     * @param to   - the name of the server
+     */
+    public ManagedChannel connect(String from, String to) {
+        var channel = SimulatedManagedChannelBuilder.forName(to).simulation(simulation).build();
+        return new NetworkChannel(channel, this, from, to);
+    }
+
+    /**
+     * @return the number of messages delivered
+     */
+    public long delivered() {
+        return delivered;
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * @return the number of messages lost
+     */
+    public long lost() {
+        return lost;
+    }
+
+    /**
+     * Answer the builder for the named server on the network
+     */
+    public SimulatedServerBuilder serve(String name) {
+        return SimulatedServerBuilder.forName(name).simulation(simulation);
+    }
+
+    /**
+     * Transmit a message on the link from -> to.
+     *
+     * @param from     - the sending endpoint
+     * @param to       - the receiving endpoint
+     * @param bytes    - the size of the message
+     * @param delivery - the action evaluated on delivery of the message
+     * @param loss     - the action evaluated if the message is lost
+     */
+    void transmit(String from, String to, int bytes, Runnable delivery, Runnable loss) {
+        var link = links.computeIfAbsent(new Link(from, to), l -> new LinkState());
+        var now = simulation.clock().instant();
+        var start = link.busyUntil.isAfter(now) ? link.busyUntil : now;
+        var bandwidth = model.bandwidth(from, to);
+        var sent = bandwidth <= 0 || bytes == 0 ? start : start.plusNanos(bytes * 1_000_000_000L / bandwidth);
+        link.busyUntil = sent;
+
+        if (model.lost(from, to, simulation.entropy())) {
+            lost++;
+            log.trace("Lost: {} bytes {} -> {} at: {}", bytes, from, to, sent);
+            simulation.scheduleAt(sent, loss, "Lost message");
+            return;
+        }
+
+        var arrival = sent.plus(model.latency(from, to, simulation.entropy()));
+        if (arrival.isBefore(link.lastArrival)) {
+            arrival = link.lastArrival;
+        }
+        link.lastArrival = arrival;
+        delivered++;
+        simulation.scheduleAt(arrival, delivery, "Message delivery");
+    }
+}
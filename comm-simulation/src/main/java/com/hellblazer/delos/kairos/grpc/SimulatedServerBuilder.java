@@ -26,6 +26,7 @@ import io.grpc.DecompressorRegistry;
 import io.grpc.HandlerRegistry;
 import io.grpc.Metadata;
 import io.grpc.Server;
+import io.grpc.ServerBuilder;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallExecutorSupplier;
 import io.grpc.ServerInterceptor;
@@ -33,6 +34,7 @@ import io.grpc.ServerServiceDefinition;
 import io.grpc.ServerStreamTracer.Factory;
 import io.grpc.ServerTransportFilter;
 import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessSocketAddress;
 import io.grpc.internal.AbstractServerImplBuilder;
 
 /**
@@ -40,6 +42,20 @@ import io.grpc.internal.AbstractServerImplBuilder;
  *
  */
 public class SimulatedServerBuilder extends AbstractServerImplBuilder<SimulatedServerBuilder> {
+    /**
+     * Create a server builder listening on the given address
+     */
+    public static SimulatedServerBuilder forAddress(SocketAddress listenAddress) {
+        return new SimulatedServerBuilder(checkNotNull(listenAddress, "listenAddress"));
+    }
+
+    /**
+     * Create a server builder identified by the given name
+     */
+    public static SimulatedServerBuilder forName(String name) {
+        return forAddress(new InProcessSocketAddress(checkNotNull(name, "name")));
+    }
+
     private final InProcessServerBuilder concrete;
     private Simulation                   simulation;
 
@@ -176,8 +192,8 @@ public class SimulatedServerBuilder extends AbstractServerImplBuilder<SimulatedS
     }
 
     @Override
-    protected SimulatedServerBuilder delegate() {
-        return this;
+    protected ServerBuilder<?> delegate() {
+        return concrete;
     }
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.hellblazer.delos.kairos.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.hellblazer.delos.kairos.NetworkModel;
+import com.hellblazer.delos.kairos.Simulation;
+
+import io.grpc.CallOptions;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.Marshaller;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * @author hal.hildebrand
+ *
+ */
+public class SimulatedNetworkTest {
+    private static final Marshaller<String> STRING = new Marshaller<>() {
+        @Override
+        public String parse(InputStream stream) {
+            try {
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    private static final MethodDescriptor<String, String> ECHO = MethodDescriptor.<String, String>newBuilder()
+                                                                                 .setType(MethodType.UNARY)
+                                                                                 .setFullMethodName(MethodDescriptor.generateFullMethodName("test.Echo",
+                                                                                                                                            "echo"))
+                                                                                 .setRequestMarshaller(STRING)
+                                                                                 .setResponseMarshaller(STRING)
+                                                                                 .build();
+
+    @Test
+    public void latencyAndBandwidth() throws Exception {
+        var sim = new Simulation();
+        var network = new SimulatedNetwork(sim, new NetworkModel.Uniform(Duration.ofMillis(10), Duration.ZERO, 1_000,
+                                                                         0.0));
+        var server = network.serve("server").addService(echo()).build().start();
+        var channel = network.connect("client", "server");
+        try {
+            var observer = new Observer(sim);
+            ClientCalls.asyncUnaryCall(channel.newCall(ECHO, CallOptions.DEFAULT), "x".repeat(100), observer);
+            sim.advanceTo(Duration.ofSeconds(10));
+
+            assertNull(observer.error.get());
+            assertEquals("x".repeat(100), observer.response.get());
+            // 100 bytes at 1000 bytes/sec takes 100ms on each link, plus 10ms latency each way
+            assertEquals(Instant.EPOCH.plusMillis(220), observer.arrived.get());
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    public void loss() throws Exception {
+        var sim = new Simulation();
+        var network = new SimulatedNetwork(sim, new NetworkModel.Uniform(Duration.ofMillis(10), Duration.ZERO, 0,
+                                                                         1.0));
+        var server = network.serve("lossy").addService(echo()).build().start();
+        var channel = network.connect("client", "lossy");
+        try {
+            var observer = new Observer(sim);
+            ClientCalls.asyncUnaryCall(channel.newCall(ECHO, CallOptions.DEFAULT), "hello", observer);
+            sim.advanceTo(Duration.ofSeconds(10));
+
+            assertNull(observer.response.get());
+            assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(observer.error.get()).getCode());
+            assertEquals(0, network.delivered());
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private ServerServiceDefinition echo() {
+        return ServerServiceDefinition.builder("test.Echo")
+                                      .addMethod(ECHO, ServerCalls.asyncUnaryCall((request, responseObserver) -> {
+                                          responseObserver.onNext(request);
+                                          responseObserver.onCompleted();
+                                      }))
+                                      .build();
+    }
+
+    private static class Observer implements StreamObserver<String> {
+        private final AtomicReference<Instant>   arrived  = new AtomicReference<>();
+        private final AtomicReference<Throwable> error    = new AtomicReference<>();
+        private final AtomicReference<String>    response = new AtomicReference<>();
+        private final Simulation                 sim;
+
+        private Observer(Simulation sim) {
+            this.sim = sim;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+        }
+
+        @Override
+        public void onNext(String value) {
+            response.set(value);
+            arrived.set(sim.clock().instant());
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Multithreaded BLAKE3 tree hashing of large inputs. BLAKE3 hashes 1KB chunks independently, combining their chaining
+ * values in a binary tree, so the subtrees of a large input are hashed concurrently in the common fork join pool. The
+ * result is identical to the sequential BLAKE3 digest of the input.
+ *
+ * @author hal.hildebrand
+ */
+final class Blake3 {
+    /**
+     * The input size, in bytes, at and above which hashing is multithreaded
+     */
+    static final int PARALLEL_THRESHOLD = 256 * 1024;
+
+    private static final int     BLOCK_LEN            = 64;
+    private static final int     CHUNK_END            = 1 << 1;
+    private static final int     CHUNK_LEN            = 1024;
+    private static final int     CHUNK_START          = 1;
+    private static final int[]   IV                   = { 0x6A09E667, 0xBB67AE85, 0x3C6EF372, 0xA54FF53A, 0x510E527F,
+                                                          0x9B05688C, 0x1F83D9AB, 0x5BE0CD19 };
+    private static final int     PARENT               = 1 << 2;
+    private static final int     ROOT                 = 1 << 3;
+    private static final int[][] SCHEDULE             = schedule();
+    /**
+     * The subtree size, in bytes, hashed by a single thread
+     */
+    private static final int     SEQUENTIAL_THRESHOLD = 64 * 1024;
+
+    private Blake3() {
+    }
+
+    /**
+     * @return the first length bytes - at most 64 - of the BLAKE3 digest of the concatenated buffers
+     */
+    static byte[] hashOf(List<ByteBuffer> buffers, int length) {
+        assert length <= BLOCK_LEN : "Unsupported digest length: " + length;
+        var input = new Input(buffers);
+        var scratch = new Scratch();
+        if (input.length <= CHUNK_LEN) {
+            chunk(input, 0, (int) input.length, 0, ROOT, scratch);
+        } else {
+            long left = leftLength(input.length);
+            var l = new Subtree(input, 0, left, 0);
+            var r = new Subtree(input, left, input.length - left, left / CHUNK_LEN);
+            var pool = ForkJoinPool.commonPool();
+            l.fork();
+            var rightCv = pool.invoke(r);
+            parent(l.join(), rightCv, ROOT, scratch);
+        }
+        var digest = new byte[length];
+        for (int i = 0; i < length; i++) {
+            digest[i] = (byte) (scratch.state[i >> 2] >>> ((i & 3) << 3));
+        }
+        return digest;
+    }
+
+    /**
+     * Compress the block into the scratch state
+     */
+    private static void compress(int[] cv, int[] m, long counter, int blockLen, int flags, int[] s) {
+        System.arraycopy(cv, 0, s, 0, 8);
+        s[8] = IV[0];
+        s[9] = IV[1];
+        s[10] = IV[2];
+        s[11] = IV[3];
+        s[12] = (int) counter;
+        s[13] = (int) (counter >>> 32);
+        s[14] = blockLen;
+        s[15] = flags;
+        for (var r : SCHEDULE) {
+            g(s, 0, 4, 8, 12, m[r[0]], m[r[1]]);
+            g(s, 1, 5, 9, 13, m[r[2]], m[r[3]]);
+            g(s, 2, 6, 10, 14, m[r[4]], m[r[5]]);
+            g(s, 3, 7, 11, 15, m[r[6]], m[r[7]]);
+            g(s, 0, 5, 10, 15, m[r[8]], m[r[9]]);
+            g(s, 1, 6, 11, 12, m[r[10]], m[r[11]]);
+            g(s, 2, 7, 8, 13, m[r[12]], m[r[13]]);
+            g(s, 3, 4, 9, 14, m[r[14]], m[r[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            s[i] ^= s[i + 8];
+            s[i + 8] ^= cv[i];
+        }
+    }
+
+    /**
+     * Hash the chunk, leaving its final compression in the scratch state
+     */
+    private static void chunk(Input input, long offset, int len, long counter, int flags, Scratch scratch) {
+        var cv = scratch.cv;
+        System.arraycopy(IV, 0, cv, 0, 8);
+        int blocks = Math.max(1, (len + BLOCK_LEN - 1) / BLOCK_LEN);
+        for (int b = 0; b < blocks; b++) {
+            int blockLen = Math.min(BLOCK_LEN, len - b * BLOCK_LEN);
+            input.read(offset + (long) b * BLOCK_LEN, blockLen, scratch);
+            int blockFlags = b == 0 ? CHUNK_START : 0;
+            if (b == blocks - 1) {
+                blockFlags |= CHUNK_END | flags;
+            }
+            compress(cv, scratch.block, counter, blockLen, blockFlags, scratch.state);
+            System.arraycopy(scratch.state, 0, cv, 0, 8);
+        }
+    }
+
+    private static void g(int[] s, int a, int b, int c, int d, int mx, int my) {
+        s[a] += s[b] + mx;
+        s[d] = Integer.rotateRight(s[d] ^ s[a], 16);
+        s[c] += s[d];
+        s[b] = Integer.rotateRight(s[b] ^ s[c], 12);
+        s[a] += s[b] + my;
+        s[d] = Integer.rotateRight(s[d] ^ s[a], 8);
+        s[c] += s[d];
+        s[b] = Integer.rotateRight(s[b] ^ s[c], 7);
+    }
+
+    /**
+     * @return the length of the left subtree of an input of the given length: the largest power of two chunks
+     * leaving at least one byte for the right subtree
+     */
+    private static long leftLength(long len) {
+        return Long.highestOneBit((len - 1) / CHUNK_LEN) * CHUNK_LEN;
+    }
+
+    /**
+     * Compress the parent node of the chaining values, leaving the compression in the scratch state
+     */
+    private static void parent(int[] left, int[] right, int flags, Scratch scratch) {
+        System.arraycopy(left, 0, scratch.block, 0, 8);
+        System.arraycopy(right, 0, scratch.block, 8, 8);
+        compress(IV, scratch.block, 0, BLOCK_LEN, PARENT | flags, scratch.state);
+    }
+
+    private static int[][] schedule() {
+        int[] permutation = { 2, 6, 3, 10, 7, 0, 4, 13, 1, 11, 12, 5, 9, 14, 15, 8 };
+        var schedule = new int[7][];
+        var current = new int[16];
+        Arrays.setAll(current, i -> i);
+        for (int r = 0; r < schedule.length; r++) {
+            schedule[r] = current.clone();
+            var next = new int[16];
+            for (int i = 0; i < 16; i++) {
+                next[i] = current[permutation[i]];
+            }
+            current = next;
+        }
+        return schedule;
+    }
+
+    /**
+     * @return the chaining value of the subtree of the input
+     */
+    private static int[] subtree(Input input, long offset, long len, long counter, Scratch scratch) {
+        if (len <= CHUNK_LEN) {
+            chunk(input, offset, (int) len, counter, 0, scratch);
+        } else {
+            long left = leftLength(len);
+            var leftCv = subtree(input, offset, left, counter, scratch);
+            var rightCv = subtree(input, offset + left, len - left, counter + left / CHUNK_LEN, scratch);
+            parent(leftCv, rightCv, 0, scratch);
+        }
+        return Arrays.copyOf(scratch.state, 8);
+    }
+
+    /**
+     * Random access to the concatenated buffers, read as little endian words
+     */
+    private static final class Input {
+        private final long         length;
+        private final ByteBuffer[] segments;
+        private final long[]       starts;
+
+        private Input(List<ByteBuffer> buffers) {
+            segments = new ByteBuffer[buffers.size()];
+            starts = new long[buffers.size()];
+            long total = 0;
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = buffers.get(i).slice().order(ByteOrder.LITTLE_ENDIAN);
+                starts[i] = total;
+                total += segments[i].remaining();
+            }
+            length = total;
+        }
+
+        /**
+         * Read the block at the offset into the scratch block, zero padded
+         */
+        private void read(long offset, int len, Scratch scratch) {
+            var block = scratch.block;
+            if (len == 0) {
+                Arrays.fill(block, 0);
+                return;
+            }
+            int s = segment(offset);
+            int position = (int) (offset - starts[s]);
+            var segment = segments[s];
+            if (len == BLOCK_LEN && segment.limit() - position >= BLOCK_LEN) {
+                for (int i = 0; i < 16; i++) {
+                    block[i] = segment.getInt(position + (i << 2));
+                }
+                return;
+            }
+            var bytes = scratch.bytes;
+            Arrays.fill(bytes, (byte) 0);
+            int read = 0;
+            while (read < len) {
+                segment = segments[s];
+                int n = Math.min(len - read, segment.limit() - position);
+                segment.get(position, bytes, read, n);
+                read += n;
+                s++;
+                position = 0;
+            }
+            for (int i = 0; i < 16; i++) {
+                int j = i << 2;
+                block[i] = (bytes[j] & 0xFF) | (bytes[j + 1] & 0xFF) << 8 | (bytes[j + 2] & 0xFF) << 16
+                | (bytes[j + 3] & 0xFF) << 24;
+            }
+        }
+
+        /**
+         * @return the index of the non empty segment containing the offset
+         */
+        private int segment(long offset) {
+            int i = Arrays.binarySearch(starts, offset);
+            if (i < 0) {
+                i = -i - 2;
+            }
+            while (segments[i].limit() == 0 || offset >= starts[i] + segments[i].limit()) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static final class Scratch {
+        private final int[]  block = new int[16];
+        private final byte[] bytes = new byte[BLOCK_LEN];
+        private final int[]  cv    = new int[8];
+        private final int[]  state = new int[16];
+    }
+
+    private static final class Subtree extends RecursiveTask<int[]> {
+        private final long  counter;
+        private final Input input;
+        private final long  len;
+        private final long  offset;
+
+        private Subtree(Input input, long offset, long len, long counter) {
+            this.input = input;
+            this.offset = offset;
+            this.len = len;
+            this.counter = counter;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (len <= SEQUENTIAL_THRESHOLD) {
+                return subtree(input, offset, len, counter, new Scratch());
+            }
+            long left = leftLength(len);
+            var l = new Subtree(input, offset, left, counter);
+            var r = new Subtree(input, offset + left, len - left, counter + left / CHUNK_LEN);
+            l.fork();
+            var rightCv = r.compute();
+            var leftCv = l.join();
+            var scratch = new Scratch();
+            parent(leftCv, rightCv, 0, scratch);
+            return Arrays.copyOf(scratch.state, 8);
+        }
+    }
+}
@@ -6,9 +6,11 @@
  */
 package com.hellblazer.delos.cryptography;
 
+import com.google.protobuf.ByteOutput;
 import com.google.protobuf.ByteString;
-import com.hellblazer.delos.utils.BbBackedInputStream;
+import com.google.protobuf.UnsafeByteOperations;
 import com.hellblazer.delos.utils.Entropy;
+import org.bouncycastle.crypto.ExtendedDigest;
 import org.bouncycastle.crypto.digests.Blake2bDigest;
 import org.bouncycastle.crypto.digests.Blake2sDigest;
 import org.bouncycastle.crypto.digests.Blake3Digest;
@@ -39,30 +41,8 @@ public enum DigestAlgorithm {
         }
 
         @Override
-        public byte[] hashOf(byte[] bytes, int len) {
-            final int dl = digestLength();
-            Blake2bDigest digester = new Blake2bDigest(dl * 8);
-            digester.update(bytes, 0, len);
-            byte[] digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
-        }
-
-        @Override
-        public byte[] hashOf(InputStream is) {
-            final int dl = digestLength();
-            Blake2bDigest digester = new Blake2bDigest(dl * 8);
-            byte[] digest = new byte[dl];
-            byte[] buf = new byte[dl];
-            try {
-                for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                    digester.update(buf, 0, read);
-                }
-            } catch (IOException e) {
-                throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
-            }
-            digester.doFinal(digest, 0);
-            return digest;
+        protected ExtendedDigest digester() {
+            return new Blake2bDigest(digestLength() * 8);
         }
 
     }, BLAKE2B_512 {
@@ -77,30 +57,8 @@ public enum DigestAlgorithm {
         }
 
         @Override
-        public byte[] hashOf(byte[] bytes, int len) {
-            final int dl = digestLength();
-            Blake2bDigest digester = new Blake2bDigest(dl * 8);
-            digester.update(bytes, 0, len);
-            byte[] digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
-        }
-
-        @Override
-        public byte[] hashOf(InputStream is) {
-            final int dl = digestLength();
-            Blake2bDigest digester = new Blake2bDigest(dl * 8);
-            byte[] digest = new byte[dl];
-            byte[] buf = new byte[dl];
-            try {
-                for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                    digester.update(buf, 0, read);
-                }
-            } catch (IOException e) {
-                throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
-            }
-            digester.doFinal(digest, 0);
-            return digest;
+        protected ExtendedDigest digester() {
+            return new Blake2bDigest(digestLength() * 8);
         }
     }, BLAKE2S_256 {
         @Override
@@ -114,30 +72,8 @@ public enum DigestAlgorithm {
         }
 
         @Override
-        public byte[] hashOf(byte[] bytes, int len) {
-            final int dl = digestLength();
-            Blake2sDigest digester = new Blake2sDigest(dl * 8);
-            digester.update(bytes, 0, len);
-            byte[] digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
-        }
-
-        @Override
-        public byte[] hashOf(InputStream is) {
-            final int dl = digestLength();
-            Blake2sDigest digester = new Blake2sDigest(dl * 8);
-            byte[] digest = new byte[dl];
-            byte[] buf = new byte[dl];
-            try {
-                for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                    digester.update(buf, 0, read);
-                }
-            } catch (IOException e) {
-                throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
-            }
-            digester.doFinal(digest, 0);
-            return digest;
+        protected ExtendedDigest digester() {
+            return new Blake2sDigest(digestLength() * 8);
         }
 
     }, BLAKE3_256 {
@@ -152,30 +88,16 @@ public enum DigestAlgorithm {
         }
 
         @Override
-        public byte[] hashOf(byte[] bytes, int len) {
-            final int dl = digestLength();
-            Blake3Digest digester = new Blake3Digest(dl);
-            digester.update(bytes, 0, len);
-            byte[] digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
+        public byte[] hashOf(List<ByteBuffer> buffers) {
+            if (size(buffers) >= Blake3.PARALLEL_THRESHOLD) {
+                return Blake3.hashOf(buffers, digestLength());
+            }
+            return super.hashOf(buffers);
         }
 
         @Override
-        public byte[] hashOf(InputStream is) {
-            final int dl = digestLength();
-            Blake3Digest digester = new Blake3Digest(dl);
-            byte[] digest = new byte[dl];
-            byte[] buf = new byte[dl];
-            try {
-                for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                    digester.update(buf, 0, read);
-                }
-            } catch (IOException e) {
-                throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
-            }
-            digester.doFinal(digest, 0);
-            return digest;
+        protected ExtendedDigest digester() {
+            return new Blake3Digest(digestLength());
         }
     }, BLAKE3_512 {
         @Override
@@ -189,30 +111,16 @@ public enum DigestAlgorithm {
         }
 
         @Override
-        public byte[] hashOf(byte[] bytes, int len) {
-            final int dl = digestLength();
-            Blake3Digest digester = new Blake3Digest(dl * 8);
-            digester.update(bytes, 0, len);
-            var digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
+        public byte[] hashOf(List<ByteBuffer> buffers) {
+            if (size(buffers) >= Blake3.PARALLEL_THRESHOLD) {
+                return Blake3.hashOf(buffers, digestLength());
+            }
+            return super.hashOf(buffers);
         }
 
         @Override
-        public byte[] hashOf(InputStream is) {
-            final int dl = digestLength();
-            Blake3Digest digester = new Blake3Digest(dl * 8);
-            byte[] buf = new byte[dl];
-            try {
-                for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                    digester.update(buf, 0, read);
-                }
-            } catch (IOException e) {
-                throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
-            }
-            var digest = new byte[dl];
-            digester.doFinal(digest, 0);
-            return digest;
+        protected ExtendedDigest digester() {
+            return new Blake3Digest(digestLength() * 8);
         }
     }, NONE {
         @Override
@@ -249,6 +157,11 @@ public enum DigestAlgorithm {
         public byte[] hashOf(InputStream is) {
             return EMPTY_BYTES;
         }
+
+        @Override
+        public byte[] hashOf(List<ByteBuffer> buffers) {
+            return EMPTY_BYTES;
+        }
     }, SHA2_256 {
         @Override
         public String algorithmName() {
@@ -323,6 +236,7 @@ public enum DigestAlgorithm {
     public static final  long                     MAX_UNSIGNED_LONG = -1L;
     public static final  long[]                   EMPTY             = new long[] { 0L };
     public static final  byte[]                   EMPTY_BYTES       = new byte[] { 0, 0, 0, 0, 0, 0, 0, 0 };
+    private static final int                      BUFFER_SIZE       = 8 * 1024;
     private static final long[]                   LAST_32           = new long[4];
     private static final long[]                   LAST_64           = new long[8];
     private static final ThreadLocal<DigestCache> MESSAGE_DIGEST    = ThreadLocal.withInitial(() -> new DigestCache());
@@ -361,6 +275,57 @@ public enum DigestAlgorithm {
         };
     }
 
+    /**
+     * @return the segments of the ByteStrings, wrapping their backing arrays without copying
+     */
+    static List<ByteBuffer> segments(ByteString... byteStrings) {
+        var segments = new ArrayList<ByteBuffer>();
+        var output = new ByteOutput() {
+            @Override
+            public void write(byte value) {
+                segments.add(ByteBuffer.wrap(new byte[] { value }));
+            }
+
+            @Override
+            public void write(byte[] value, int offset, int length) {
+                segments.add(ByteBuffer.wrap(Arrays.copyOfRange(value, offset, offset + length)));
+            }
+
+            @Override
+            public void write(ByteBuffer value) {
+                var copy = ByteBuffer.allocate(value.remaining());
+                copy.put(value).flip();
+                segments.add(copy);
+            }
+
+            @Override
+            public void writeLazy(byte[] value, int offset, int length) {
+                segments.add(ByteBuffer.wrap(value, offset, length));
+            }
+
+            @Override
+            public void writeLazy(ByteBuffer value) {
+                segments.add(value);
+            }
+        };
+        try {
+            for (var byteString : byteStrings) {
+                UnsafeByteOperations.unsafeWriteTo(byteString, output);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the segments of a ByteString", e);
+        }
+        return segments;
+    }
+
+    static long size(List<ByteBuffer> buffers) {
+        long size = 0;
+        for (var buffer : buffers) {
+            size += buffer.remaining();
+        }
+        return size;
+    }
+
     public String algorithmName() {
         return name();
     }
@@ -390,7 +355,7 @@ public enum DigestAlgorithm {
     }
 
     public Digest digest(List<ByteBuffer> buffers) {
-        return digest(BbBackedInputStream.aggregate(buffers));
+        return new Digest(this, hashOf(buffers));
     }
 
     public Digest digest(String key) {
@@ -410,44 +375,79 @@ public enum DigestAlgorithm {
     }
 
     public byte[] hashOf(byte[]... buffers) {
-        InputStream is = BbBackedInputStream.aggregate(buffers);
-        return hashOf(is);
+        var wrapped = new ArrayList<ByteBuffer>(buffers.length);
+        for (var buffer : buffers) {
+            wrapped.add(ByteBuffer.wrap(buffer));
+        }
+        return hashOf(wrapped);
     }
 
     public byte[] hashOf(byte[] bytes, int len) {
-        MessageDigest md = lookupJCA();
-        md.reset();
-        md.update(bytes, 0, len);
-        return md.digest();
+        return hashOf(Collections.singletonList(ByteBuffer.wrap(bytes, 0, len)));
     }
 
     public byte[] hashOf(ByteBuffer... buffers) {
-        InputStream is = BbBackedInputStream.aggregate(buffers);
-        return hashOf(is);
+        return hashOf(Arrays.asList(buffers));
     }
 
     public byte[] hashOf(ByteString... byteString) {
-        InputStream is = BbBackedInputStream.aggregate(byteString);
-        return hashOf(is);
+        return hashOf(segments(byteString));
     }
 
     public byte[] hashOf(InputStream is) {
-        MessageDigest md = lookupJCA();
-        md.reset();
-        byte[] buf = new byte[md.getDigestLength()];
+        var digester = digester();
+        MessageDigest md = null;
+        if (digester == null) {
+            md = lookupJCA();
+            md.reset();
+        }
+        byte[] buf = new byte[BUFFER_SIZE];
         try {
             for (int read = is.read(buf); read >= 0; read = is.read(buf)) {
-                md.update(buf, 0, read);
+                if (md == null) {
+                    digester.update(buf, 0, read);
+                } else {
+                    md.update(buf, 0, read);
+                }
             }
         } catch (IOException e) {
             throw new IllegalStateException("Error reading from buffers, cannot generate hash", e);
         }
-        return md.digest();
+        return md == null ? doFinal(digester) : md.digest();
     }
 
+    /**
+     * Hash the remaining content of the buffers in place, without consuming them. Heap buffers are hashed directly
+     * from their backing arrays, and JCA algorithms hash direct buffers directly from native memory.
+     */
     public byte[] hashOf(List<ByteBuffer> buffers) {
-        InputStream is = BbBackedInputStream.aggregate(buffers);
-        return hashOf(is);
+        var digester = digester();
+        if (digester == null) {
+            MessageDigest md = lookupJCA();
+            md.reset();
+            for (var buffer : buffers) {
+                md.update(buffer.duplicate());
+            }
+            return md.digest();
+        }
+        byte[] scratch = null;
+        for (var buffer : buffers) {
+            if (buffer.hasArray()) {
+                digester.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                continue;
+            }
+            // Direct and read only buffers are staged through the scratch array
+            if (scratch == null) {
+                scratch = new byte[BUFFER_SIZE];
+            }
+            var source = buffer.duplicate();
+            while (source.hasRemaining()) {
+                int n = Math.min(scratch.length, source.remaining());
+                source.get(scratch, 0, n);
+                digester.update(scratch, 0, n);
+            }
+        }
+        return doFinal(digester);
     }
 
     public int longLength() {
@@ -488,6 +488,13 @@ public enum DigestAlgorithm {
         };
     }
 
+    /**
+     * @return the BouncyCastle digester of the algorithm, or null if the algorithm is provided by the JCA
+     */
+    protected ExtendedDigest digester() {
+        return null;
+    }
+
     protected MessageDigest createJCA() {
         try {
             return MessageDigest.getInstance(algorithmName());
@@ -497,6 +504,12 @@ public enum DigestAlgorithm {
         }
     }
 
+    private byte[] doFinal(ExtendedDigest digester) {
+        var digest = new byte[digestLength()];
+        digester.doFinal(digest, 0);
+        return digest;
+    }
+
     private MessageDigest lookupJCA() {
         return MESSAGE_DIGEST.get().lookup(this);
     }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * An open addressing hash map keyed by Digests. The keys are stored flat in a single long array, with no per entry
+ * objects, and are probed linearly from the bits of the digest - which are uniformly distributed - so lookups neither
+ * allocate nor chase pointers. The map is keyed by the digests of a single DigestAlgorithm, established by the first
+ * key put into the map. Digest keys are only materialized when iterating the keys or entries of the map.
+ * <p>
+ * This map is not thread safe.
+ *
+ * @author hal.hildebrand
+ */
+public class DigestMap<V> extends AbstractMap<Digest, V> {
+    private static final int  DEFAULT_CAPACITY = 16;
+    private static final byte DELETED          = 2;
+    private static final byte EMPTY            = 0;
+    private static final byte FULL             = 1;
+
+    private DigestAlgorithm       algorithm;
+    private int                   deleted;
+    private Set<Entry<Digest, V>> entrySet;
+    private long[]                keys;
+    private int                   mask;
+    private int                   modCount;
+    private int                   size;
+    private byte[]                states;
+    private Object[]              values;
+    private Collection<V>         valuesView;
+    private int                   width;
+
+    public DigestMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expected - the expected number of entries of the map
+     */
+    public DigestMap(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Invalid expected size: " + expected);
+        }
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expected * 3 / 2));
+        if (capacity < expected * 3 / 2) {
+            capacity <<= 1;
+        }
+        states = new byte[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int spread(long[] key) {
+        long h = key[0] * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(states, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+        deleted = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    public Set<Entry<Digest, V>> entrySet() {
+        var current = entrySet;
+        if (current == null) {
+            current = new EntrySet();
+            entrySet = current;
+        }
+        return current;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Digest, ? super V> action) {
+        final int expected = modCount;
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == FULL) {
+                action.accept(keyAt(i), (V) values[i]);
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(Digest key, V value) {
+        var longs = validate(key);
+        int slot = slotOf(longs);
+        if (slot >= 0) {
+            var previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if ((size + deleted + 1) * 3L > states.length * 2L) {
+            resize(size + 1 > states.length / 2 ? states.length << 1 : states.length);
+        }
+        insert(longs, value);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        var previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the values of the map, iterated without materializing the keys
+     */
+    @Override
+    public Collection<V> values() {
+        var current = valuesView;
+        if (current == null) {
+            current = new Values();
+            valuesView = current;
+        }
+        return current;
+    }
+
+    private void insert(long[] key, Object value) {
+        int i = spread(key) & mask;
+        while (states[i] == FULL) {
+            i = (i + 1) & mask;
+        }
+        if (states[i] == DELETED) {
+            deleted--;
+        }
+        states[i] = FULL;
+        System.arraycopy(key, 0, keys, i * width, width);
+        values[i] = value;
+    }
+
+    private Digest keyAt(int slot) {
+        return new Digest(algorithm, Arrays.copyOfRange(keys, slot * width, slot * width + width));
+    }
+
+    private boolean matches(int slot, long[] key) {
+        int offset = slot * width;
+        for (int i = 0; i < width; i++) {
+            if (keys[offset + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeAt(int slot) {
+        states[slot] = DELETED;
+        values[slot] = null;
+        size--;
+        deleted++;
+        modCount++;
+    }
+
+    private void resize(int capacity) {
+        var oldKeys = keys;
+        var oldStates = states;
+        var oldValues = values;
+        keys = new long[capacity * width];
+        states = new byte[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        deleted = 0;
+        var key = new long[width];
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == FULL) {
+                System.arraycopy(oldKeys, i * width, key, 0, width);
+                insert(key, oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the slot of the key, or -1 if the key is not present
+     */
+    private int slotOf(Object key) {
+        if (!(key instanceof Digest d) || d.getAlgorithm() != algorithm) {
+            return -1;
+        }
+        return slotOf(d.getLongs());
+    }
+
+    private int slotOf(long[] key) {
+        if (algorithm == null) {
+            return -1;
+        }
+        int i = spread(key) & mask;
+        while (states[i] != EMPTY) {
+            if (states[i] == FULL && matches(i, key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private long[] validate(Digest key) {
+        Objects.requireNonNull(key, "Null keys are not supported");
+        var longs = key.getLongs();
+        if (longs.length == 0) {
+            throw new IllegalArgumentException("Cannot key by empty digests: " + key);
+        }
+        if (algorithm == null) {
+            algorithm = key.getAlgorithm();
+            width = longs.length;
+            keys = new long[states.length * width];
+        } else if (key.getAlgorithm() != algorithm) {
+            throw new IllegalArgumentException(
+            "Map is keyed by: " + algorithm + " digests, cannot key by: " + key.getAlgorithm());
+        }
+        return longs;
+    }
+
+    private class EntryIterator extends SlotIterator<Entry<Digest, V>> {
+        @Override
+        public Entry<Digest, V> next() {
+            return new SlotEntry(nextSlot());
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Digest, V>> {
+        @Override
+        public void clear() {
+            DigestMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<Digest, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private int expected = modCount;
+        private int last     = -1;
+        private int next     = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < states.length;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expected = modCount;
+        }
+
+        protected int nextSlot() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= states.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return last;
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < states.length && states[i] != FULL) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private class SlotEntry extends SimpleEntry<Digest, V> {
+        private final int expected = modCount;
+        private final int slot;
+
+        @SuppressWarnings("unchecked")
+        private SlotEntry(int slot) {
+            super(keyAt(slot), (V) values[slot]);
+            this.slot = slot;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            values[slot] = value;
+            return super.setValue(value);
+        }
+    }
+
+    private class ValueIterator extends SlotIterator<V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            return (V) values[nextSlot()];
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+        @Override
+        public void clear() {
+            DigestMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
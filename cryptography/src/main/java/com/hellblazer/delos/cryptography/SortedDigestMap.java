@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A map keyed by Digests, iterated in Digest order - the ring order. The keys are stored flat and sorted in a single
+ * long array, with no per entry objects, and are found by binary search without allocation. Insertion and removal
+ * shift the arrays, so the map suits the small to medium sized and read mostly indexes otherwise held in a TreeMap. The
+ * map is keyed by the digests of a single DigestAlgorithm, established by the first key put into the map. Digest keys
+ * are only materialized when iterating the keys or entries of the map.
+ * <p>
+ * This map is not thread safe.
+ *
+ * @author hal.hildebrand
+ */
+public class SortedDigestMap<V> extends AbstractMap<Digest, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private DigestAlgorithm       algorithm;
+    private Set<Entry<Digest, V>> entrySet;
+    private long[]                keys;
+    private int                   modCount;
+    private int                   size;
+    private Object[]              values;
+    private Collection<V>         valuesView;
+    private int                   width;
+
+    public SortedDigestMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expected - the expected number of entries of the map
+     */
+    public SortedDigestMap(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Invalid expected size: " + expected);
+        }
+        values = new Object[Math.max(1, expected)];
+    }
+
+    /**
+     * @return the least key greater than or equal to the key, or null if there is no such key
+     */
+    public Digest ceilingKey(Digest key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < size ? keyAt(index) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public Set<Entry<Digest, V>> entrySet() {
+        var current = entrySet;
+        if (current == null) {
+            current = new EntrySet();
+            entrySet = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the least key in the map
+     * @throws NoSuchElementException if the map is empty
+     */
+    public Digest firstKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keyAt(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Digest, ? super V> action) {
+        final int expected = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(keyAt(i), (V) values[i]);
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * @return the least key strictly greater than the key, or null if there is no such key
+     */
+    public Digest higherKey(Digest key) {
+        int index = indexOf(key);
+        index = index < 0 ? -index - 1 : index + 1;
+        return index < size ? keyAt(index) : null;
+    }
+
+    /**
+     * @return the greatest key in the map
+     * @throws NoSuchElementException if the map is empty
+     */
+    public Digest lastKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keyAt(size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(Digest key, V value) {
+        var longs = validate(key);
+        int index = indexOf(longs);
+        if (index >= 0) {
+            var previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+        index = -index - 1;
+        if (size == values.length) {
+            int capacity = size + Math.max(1, size >> 1);
+            keys = Arrays.copyOf(keys, capacity * width);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index * width, keys, (index + 1) * width, (size - index) * width);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        System.arraycopy(longs, 0, keys, index * width, width);
+        values[index] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        var previous = (V) values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the values of the map in key order, iterated without materializing the keys
+     */
+    @Override
+    public Collection<V> values() {
+        var current = valuesView;
+        if (current == null) {
+            current = new Values();
+            valuesView = current;
+        }
+        return current;
+    }
+
+    private int compare(int index, long[] key) {
+        int offset = index * width;
+        for (int i = 0; i < width; i++) {
+            int compare = Long.compareUnsigned(keys[offset + i], key[i]);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the index of the key, or -1 if the key is not present
+     */
+    private int find(Object key) {
+        if (!(key instanceof Digest d) || d.getAlgorithm() != algorithm) {
+            return -1;
+        }
+        return Math.max(-1, indexOf(d.getLongs()));
+    }
+
+    /**
+     * @return the index of the key, or (-(insertion point) - 1) if the key is not present
+     */
+    private int indexOf(Digest key) {
+        if (algorithm == null) {
+            return -1;
+        }
+        if (key.getAlgorithm() != algorithm) {
+            throw new IllegalArgumentException(
+            "Map is keyed by: " + algorithm + " digests, cannot search by: " + key.getAlgorithm());
+        }
+        return indexOf(key.getLongs());
+    }
+
+    private int indexOf(long[] key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = compare(mid, key);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private Digest keyAt(int index) {
+        return new Digest(algorithm, Arrays.copyOfRange(keys, index * width, index * width + width));
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, (index + 1) * width, keys, index * width, (size - index - 1) * width);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+        modCount++;
+    }
+
+    private long[] validate(Digest key) {
+        Objects.requireNonNull(key, "Null keys are not supported");
+        var longs = key.getLongs();
+        if (longs.length == 0) {
+            throw new IllegalArgumentException("Cannot key by empty digests: " + key);
+        }
+        if (algorithm == null) {
+            algorithm = key.getAlgorithm();
+            width = longs.length;
+            keys = new long[values.length * width];
+        } else if (key.getAlgorithm() != algorithm) {
+            throw new IllegalArgumentException(
+            "Map is keyed by: " + algorithm + " digests, cannot key by: " + key.getAlgorithm());
+        }
+        return longs;
+    }
+
+    private class EntryIterator extends IndexIterator<Entry<Digest, V>> {
+        @Override
+        public Entry<Digest, V> next() {
+            return new IndexEntry(nextIndex());
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Digest, V>> {
+        @Override
+        public void clear() {
+            SortedDigestMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<Digest, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private abstract class IndexIterator<T> implements Iterator<T> {
+        private int expected = modCount;
+        private int last     = -1;
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expected = modCount;
+        }
+
+        protected int nextIndex() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return last;
+        }
+    }
+
+    private class IndexEntry extends SimpleEntry<Digest, V> {
+        private final int expected = modCount;
+        private final int index;
+
+        @SuppressWarnings("unchecked")
+        private IndexEntry(int index) {
+            super(keyAt(index), (V) values[index]);
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            values[index] = value;
+            return super.setValue(value);
+        }
+    }
+
+    private class ValueIterator extends IndexIterator<V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            return (V) values[nextIndex()];
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+        @Override
+        public void clear() {
+            SortedDigestMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
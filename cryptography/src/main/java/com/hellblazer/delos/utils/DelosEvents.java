@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.utils;
+
+/**
+ * The common category of the JDK Flight Recorder events of Delos, each module's events declaring their own category
+ * within it.
+ * <p>
+ * Events are begun unconditionally - a no op when recording is off - and their fields are only computed and set when
+ * the event is to be committed, i.e. <code>if (event.shouldCommit()) {...}</code>, so the events cost next to nothing
+ * unless enabled in a recording. Each event carries the fields correlating it with the other events of the protocol.
+ *
+ * @author hal.hildebrand
+ */
+public final class DelosEvents {
+    public static final String DELOS = "Delos";
+
+    private DelosEvents() {
+    }
+}
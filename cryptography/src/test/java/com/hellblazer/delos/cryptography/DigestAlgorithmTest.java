@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author hal.hildebrand
+ */
+public class DigestAlgorithmTest {
+
+    @Test
+    public void blake3Tree() {
+        var entropy = new Random(0x1638);
+        // Sizes straddling the tree hashing threshold and the chunk and subtree boundaries
+        for (int size : new int[] { Blake3.PARALLEL_THRESHOLD - 1, Blake3.PARALLEL_THRESHOLD,
+                                    Blake3.PARALLEL_THRESHOLD + 1, 1024 * 1024, 3 * 1024 * 1024 + 7 }) {
+            var bytes = new byte[size];
+            entropy.nextBytes(bytes);
+            for (var algorithm : List.of(DigestAlgorithm.BLAKE3_256, DigestAlgorithm.BLAKE3_512)) {
+                // The stream is hashed sequentially
+                var expected = algorithm.hashOf(new ByteArrayInputStream(bytes));
+                assertEquals(algorithm.digestLength(), expected.length);
+                assertArrayEquals(expected, algorithm.hashOf(bytes), algorithm + ": " + size);
+                int cut = size / 3;
+                assertArrayEquals(expected, algorithm.hashOf(ByteBuffer.wrap(bytes, 0, cut),
+                                                             ByteBuffer.allocateDirect(size - cut)
+                                                                       .put(bytes, cut, size - cut)
+                                                                       .flip()), algorithm + ": " + size);
+            }
+        }
+    }
+
+    @Test
+    public void consistentInputs() {
+        var entropy = new Random(0x1638);
+        for (int size : new int[] { 0, 1, 64, 1000, 8192, 70_000 }) {
+            var bytes = new byte[size];
+            entropy.nextBytes(bytes);
+            int cut = size / 3;
+            var first = Arrays.copyOf(bytes, cut);
+            var second = Arrays.copyOfRange(bytes, cut, size);
+            for (var algorithm : DigestAlgorithm.values()) {
+                var expected = algorithm.hashOf(new ByteArrayInputStream(bytes));
+                assertArrayEquals(expected, algorithm.hashOf(bytes), algorithm + ": " + size);
+                assertArrayEquals(expected, algorithm.hashOf(first, second), algorithm + ": " + size);
+                assertArrayEquals(expected, algorithm.hashOf(ByteString.copyFrom(first).concat(
+                ByteString.copyFrom(second))), algorithm + ": " + size);
+                assertArrayEquals(expected, algorithm.hashOf(ByteString.copyFrom(first), ByteString.copyFrom(second)),
+                                  algorithm + ": " + size);
+                var direct = ByteBuffer.allocateDirect(size).put(bytes).flip();
+                assertArrayEquals(expected, algorithm.hashOf(direct.asReadOnlyBuffer()), algorithm + ": " + size);
+                // Hashing does not consume the buffers
+                assertArrayEquals(expected, algorithm.hashOf(direct), algorithm + ": " + size);
+                assertEquals(size, direct.remaining());
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.cryptography;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author hal.hildebrand
+ */
+public class DigestMapTest {
+
+    @Test
+    public void algorithms() {
+        var map = new DigestMap<Integer>();
+        var sorted = new SortedDigestMap<Integer>();
+        var key = DigestAlgorithm.SHA2_256.random();
+        var foreign = DigestAlgorithm.SHA2_512.random();
+        assertNull(map.get(key));
+        assertNull(sorted.get(key));
+        assertNull(sorted.ceilingKey(key));
+
+        map.put(key, 1);
+        sorted.put(key, 1);
+        assertNull(map.get(foreign));
+        assertNull(sorted.get(foreign));
+        assertFalse(map.containsKey(foreign));
+        assertFalse(sorted.containsKey(foreign));
+        assertNull(map.remove(foreign));
+        assertNull(sorted.remove(foreign));
+        assertThrows(IllegalArgumentException.class, () -> map.put(foreign, 2));
+        assertThrows(IllegalArgumentException.class, () -> sorted.put(foreign, 2));
+        assertThrows(IllegalArgumentException.class, () -> sorted.ceilingKey(foreign));
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    }
+
+    @Test
+    public void hashed() {
+        var entropy = new Random(0x1638);
+        var keys = keys(entropy, 512);
+        var expected = new HashMap<Digest, Integer>();
+        var map = new DigestMap<Integer>();
+        for (int i = 0; i < 20_000; i++) {
+            var key = keys.get(entropy.nextInt(keys.size()));
+            switch (entropy.nextInt(4)) {
+            case 0, 1 -> assertEquals(expected.put(key, i), map.put(key, i));
+            case 2 -> assertEquals(expected.remove(key), map.remove(key));
+            default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+
+        map.values().removeIf(v -> v % 2 == 0);
+        expected.values().removeIf(v -> v % 2 == 0);
+        assertEquals(expected, map);
+
+        var iterator = map.entrySet().iterator();
+        var entry = iterator.next();
+        entry.setValue(-1);
+        assertEquals(-1, map.get(entry.getKey()));
+        map.put(DigestAlgorithm.DEFAULT.random(entropy), 0);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.values().iterator().hasNext());
+    }
+
+    @Test
+    public void sorted() {
+        var entropy = new Random(0x1638);
+        var keys = keys(entropy, 512);
+        var expected = new TreeMap<Digest, Integer>();
+        var map = new SortedDigestMap<Integer>();
+        for (int i = 0; i < 20_000; i++) {
+            var key = keys.get(entropy.nextInt(keys.size()));
+            switch (entropy.nextInt(4)) {
+            case 0, 1 -> assertEquals(expected.put(key, i), map.put(key, i));
+            case 2 -> assertEquals(expected.remove(key), map.remove(key));
+            default -> {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+                assertEquals(expected.higherKey(key), map.higherKey(key));
+            }
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        assertEquals(expected.firstKey(), map.firstKey());
+        assertEquals(expected.lastKey(), map.lastKey());
+
+        map.values().removeIf(v -> v % 2 == 0);
+        expected.values().removeIf(v -> v % 2 == 0);
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+
+        map.clear();
+        assertThrows(NoSuchElementException.class, map::firstKey);
+        assertNull(map.ceilingKey(keys.get(0)));
+    }
+
+    private List<Digest> keys(Random entropy, int count) {
+        var keys = new ArrayList<Digest>();
+        for (int i = 0; i < count; i++) {
+            keys.add(DigestAlgorithm.DEFAULT.random(entropy));
+        }
+        return keys;
+    }
+}
@@ -16,12 +16,14 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static com.hellblazer.delos.delphinius.schema.tables.Assertion.ASSERTION;
 import static com.hellblazer.delos.delphinius.schema.tables.Edge.EDGE;
+import static com.hellblazer.delos.delphinius.schema.tables.GraphVersion.GRAPH_VERSION;
 import static com.hellblazer.delos.delphinius.schema.tables.Namespace.NAMESPACE;
 import static com.hellblazer.delos.delphinius.schema.tables.Object.OBJECT;
 import static com.hellblazer.delos.delphinius.schema.tables.Relation.RELATION;
@@ -214,6 +216,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     public static boolean add(DSLContext context, Assertion assertion) throws SQLException {
+        modified(context);
         var s = resolveAdd(context, assertion.subject());
         var o = resolveAdd(context, assertion.object());
         return addAssert(context, s.id(), o.id());
@@ -354,6 +357,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void delete(DSLContext context, Assertion assertion) throws SQLException {
+        modified(context);
         var s = resolve(context, assertion.subject());
         var o = resolve(context, assertion.object());
         if (s == null || o == null) {
@@ -363,6 +367,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void delete(DSLContext context, Namespace namespace) throws SQLException {
+        modified(context);
         var resolved = resolve(context, namespace);
         if (resolved == null) {
             return;
@@ -371,6 +376,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void delete(DSLContext context, Object object) throws SQLException {
+        modified(context);
         var resolved = resolve(context, object);
         if (resolved == null) {
             return;
@@ -379,6 +385,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void delete(DSLContext context, Relation relation) throws SQLException {
+        modified(context);
         var resolved = resolve(context, relation);
         if (resolved == null) {
             return;
@@ -387,6 +394,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void delete(DSLContext context, Subject subject) throws SQLException {
+        modified(context);
         var resolved = resolve(context, subject);
         if (resolved == null) {
             return;
@@ -487,18 +495,31 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void map(Object parent, DSLContext context, Object child) throws SQLException {
+        modified(context);
         addEdge(context, resolveAdd(context, parent).id(), OBJECT_TYPE, resolveAdd(context, child).id());
     }
 
     static void map(Relation parent, DSLContext context, Relation child) throws SQLException {
+        modified(context);
         addEdge(context, resolveAdd(context, parent).id(), RELATION_TYPE, resolveAdd(context, child).id());
     }
 
     static void map(Subject parent, DSLContext context, Subject child) throws SQLException {
+        modified(context);
         addEdge(context, resolveAdd(context, parent).id(), SUBJECT_TYPE, resolveAdd(context, child).id());
     }
 
+    /**
+     * Bump the version of the graph of assertions and edges. Every operation that may change the graph bumps the
+     * version exactly once, whether or not it actually changes the graph, so that graph caches over the tables can
+     * tell their own mutations from those of other writers of the database
+     */
+    static void modified(DSLContext context) {
+        context.update(GRAPH_VERSION).set(GRAPH_VERSION.VERSION, GRAPH_VERSION.VERSION.plus(1)).execute();
+    }
+
     static void remove(Object parent, DSLContext context, Object child) throws SQLException {
+        modified(context);
         var a = resolve(context, parent);
         if (a == null) {
             return;
@@ -511,6 +532,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void remove(Relation parent, DSLContext context, Relation child) throws SQLException {
+        modified(context);
         var a = resolve(context, parent);
         if (a == null) {
             return;
@@ -523,6 +545,7 @@ abstract public class AbstractOracle implements Oracle {
     }
 
     static void remove(Subject parent, DSLContext context, Subject child) throws SQLException {
+        modified(context);
         var a = resolve(context, parent);
         if (a == null) {
             return;
@@ -618,6 +641,89 @@ abstract public class AbstractOracle implements Oracle {
                       .fetchOne();
     }
 
+    /**
+     * Resolve the ids of the subjects and objects of the assertions in a single query
+     *
+     * @return the {subject id, object id} pair for each assertion, in order, with null ids if unresolved
+     */
+    public static Long[][] resolveAssertions(DSLContext context, List<Assertion> assertions) {
+        var resolved = new Long[assertions.size()][2];
+        var queries = new ArrayList<Row6<Integer, String, String, String, String, String>>(assertions.size() * 2);
+        for (int i = 0; i < assertions.size(); i++) {
+            var subject = assertions.get(i).subject();
+            var object = assertions.get(i).object();
+            queries.add(DSL.row(i, SUBJECT_TYPE, subject.namespace().name(), subject.name(),
+                                subject.relation().namespace().name(), subject.relation().name()));
+            queries.add(DSL.row(i, OBJECT_TYPE, object.namespace().name(), object.name(),
+                                object.relation().namespace().name(), object.relation().name()));
+        }
+        resolveIds(context, queries, (index, type, id) -> resolved[index][SUBJECT_TYPE.equals(type) ? 0 : 1] = id);
+        return resolved;
+    }
+
+    /**
+     * Resolve the ids of the objects in a single query
+     *
+     * @return the id of each object, in order, null if unresolved
+     */
+    public static Long[] resolveObjects(DSLContext context, List<Object> objects) {
+        var resolved = new Long[objects.size()];
+        var queries = new ArrayList<Row6<Integer, String, String, String, String, String>>(objects.size());
+        for (int i = 0; i < objects.size(); i++) {
+            var object = objects.get(i);
+            queries.add(DSL.row(i, OBJECT_TYPE, object.namespace().name(), object.name(),
+                                object.relation().namespace().name(), object.relation().name()));
+        }
+        resolveIds(context, queries, (index, type, id) -> resolved[index] = id);
+        return resolved;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void resolveIds(DSLContext context,
+                                   List<Row6<Integer, String, String, String, String, String>> queries,
+                                   ResolvedId resolved) {
+        if (queries.isEmpty()) {
+            return;
+        }
+        Table<Record6<Integer, String, String, String, String, String>> q = DSL.values(
+        queries.toArray(new Row6[0])).as("Q", "IDX", "TYPE", "NS", "NAME", "REL_NS", "REL_NAME");
+        var qIndex = q.field("IDX", Integer.class);
+        var qType = q.field("TYPE", String.class);
+        var qNs = q.field("NS", String.class);
+        var qName = q.field("NAME", String.class);
+        var qRelNs = q.field("REL_NS", String.class);
+        var qRelName = q.field("REL_NAME", String.class);
+
+        var ns = NAMESPACE.as("N");
+        var relNs = NAMESPACE.as("RN");
+        context.select(qIndex, qType, SUBJECT.ID, OBJECT.ID)
+               .from(q)
+               .join(ns)
+               .on(ns.NAME.eq(qNs))
+               .join(relNs)
+               .on(relNs.NAME.eq(qRelNs))
+               .join(RELATION)
+               .on(RELATION.NAMESPACE.eq(relNs.ID))
+               .and(RELATION.NAME.eq(qRelName))
+               .leftJoin(SUBJECT)
+               .on(qType.eq(SUBJECT_TYPE))
+               .and(SUBJECT.NAMESPACE.eq(ns.ID))
+               .and(SUBJECT.NAME.eq(qName))
+               .and(SUBJECT.RELATION.eq(RELATION.ID))
+               .leftJoin(OBJECT)
+               .on(qType.eq(OBJECT_TYPE))
+               .and(OBJECT.NAMESPACE.eq(ns.ID))
+               .and(OBJECT.NAME.eq(qName))
+               .and(OBJECT.RELATION.eq(RELATION.ID))
+               .fetch()
+               .forEach(r -> {
+                   var id = r.value3() != null ? r.value3() : r.value4();
+                   if (id != null) {
+                       resolved.resolved(r.value1(), r.value2(), id);
+                   }
+               });
+    }
+
     public static Long resolveAdd(DSLContext context, Namespace namespace) throws SQLException {
         add(context, namespace);
         var resolved = context.select(NAMESPACE.ID)
@@ -691,6 +797,13 @@ abstract public class AbstractOracle implements Oracle {
         return new NamespacedId(namespace, resolved.value1(), relation.id());
     }
 
+    /**
+     * @return the current version of the graph of assertions and edges
+     */
+    static long version(DSLContext context) {
+        return context.select(GRAPH_VERSION.VERSION).from(GRAPH_VERSION).fetchSingle().value1();
+    }
+
     /**
      * Check the assertion.
      *
@@ -705,6 +818,67 @@ abstract public class AbstractOracle implements Oracle {
         return dslCtx.fetchExists(dslCtx.selectOne().from(grants(s.id(), dslCtx, o.id())));
     }
 
+    /**
+     * Check the assertions. The subjects and objects of the assertions are resolved in a single query, and the grants
+     * of all the assertions are evaluated in a single query.
+     *
+     * @return the list of check results, in the order of the supplied assertions
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Boolean> checkAll(List<Assertion> assertions) throws SQLException {
+        var resolved = resolveAssertions(dslCtx, assertions);
+        var granted = new boolean[assertions.size()];
+        var rows = new ArrayList<Row3<Integer, Long, Long>>(assertions.size());
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i][0] != null && resolved[i][1] != null) {
+                rows.add(DSL.row(i, resolved[i][0], resolved[i][1]));
+            }
+        }
+        if (!rows.isEmpty()) {
+            Table<Record3<Integer, Long, Long>> r = DSL.values(rows.toArray(new Row3[0]))
+                                                       .as("R", "IDX", "SUBJECT_ID", "OBJECT_ID");
+            var rIndex = r.field("IDX", Integer.class);
+            var rSubject = r.field("SUBJECT_ID", Long.class);
+            var rObject = r.field("OBJECT_ID", Long.class);
+
+            var subject = dslCtx.select(rIndex.as("IDX"), EDGE.CHILD.as("SUBJECT_ID"))
+                                .from(r)
+                                .join(EDGE)
+                                .on(EDGE.PARENT.eq(rSubject))
+                                .and(EDGE.TYPE.eq(SUBJECT_TYPE))
+                                .unionAll(dslCtx.select(rIndex, rSubject).from(r))
+                                .asTable("SC");
+            var subjectIndex = subject.field("IDX", Integer.class);
+            var subjectId = subject.field("SUBJECT_ID", Long.class);
+
+            var object = dslCtx.select(rIndex.as("IDX"), EDGE.CHILD.as("OBJECT_ID"))
+                               .from(r)
+                               .join(EDGE)
+                               .on(EDGE.PARENT.eq(rObject))
+                               .and(EDGE.TYPE.eq(OBJECT_TYPE))
+                               .unionAll(dslCtx.select(rIndex, rObject).from(r))
+                               .asTable("OC");
+            var objectIndex = object.field("IDX", Integer.class);
+            var objectId = object.field("OBJECT_ID", Long.class);
+
+            dslCtx.selectDistinct(subjectIndex)
+                  .from(subject)
+                  .join(object)
+                  .on(objectIndex.eq(subjectIndex))
+                  .join(ASSERTION)
+                  .on(ASSERTION.SUBJECT.eq(subjectId))
+                  .and(ASSERTION.OBJECT.eq(objectId))
+                  .fetch(subjectIndex)
+                  .forEach(i -> granted[i] = true);
+        }
+        var results = new ArrayList<Boolean>(granted.length);
+        for (var g : granted) {
+            results.add(g);
+        }
+        return results;
+    }
+
     /**
      * Answer the list of direct and transitive Subjects that map to the supplied object. The query only considers
      * subjects with assertions that match the object completely - i.e. {namespace, name, relation}
@@ -749,6 +923,103 @@ abstract public class AbstractOracle implements Oracle {
         return objects(null, subject).toList();
     }
 
+    /**
+     * Answer the list of direct and transitive Subjects that map to each of the supplied objects. The objects are
+     * resolved in a single query, and the subjects of all the objects are expanded in a single query.
+     *
+     * @return the list of expanded Subjects for each object, in the order of the supplied objects
+     * @throws SQLException
+     */
+    @Override
+    public List<List<Subject>> expandAll(List<Object> objects) throws SQLException {
+        return expandAll(null, objects);
+    }
+
+    /**
+     * Answer the list of direct and transitive Subjects that map to each of the supplied objects from subjects that
+     * have the supplied predicate as their relation. The objects are resolved in a single query, and the subjects of
+     * all the objects are expanded in a single query.
+     *
+     * @return the list of expanded Subjects for each object, in the order of the supplied objects
+     * @throws SQLException
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<List<Subject>> expandAll(Relation predicate, List<Object> objects) throws SQLException {
+        var results = new ArrayList<List<Subject>>(objects.size());
+        objects.forEach(o -> results.add(new ArrayList<>()));
+
+        NamespacedId relation = null;
+        if (predicate != null) {
+            relation = resolve(dslCtx, predicate);
+            if (relation == null) {
+                return results;
+            }
+        }
+
+        var resolved = resolveObjects(dslCtx, objects);
+        var rows = new ArrayList<Row2<Integer, Long>>(objects.size());
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i] != null) {
+                rows.add(DSL.row(i, resolved[i]));
+            }
+        }
+        if (rows.isEmpty()) {
+            return results;
+        }
+        Table<Record2<Integer, Long>> r = DSL.values(rows.toArray(new Row2[0])).as("R", "IDX", "OBJECT_ID");
+        var rIndex = r.field("IDX", Integer.class);
+        var rObject = r.field("OBJECT_ID", Long.class);
+
+        var subject = dslCtx.select(EDGE.PARENT.as("INFERRED"), EDGE.CHILD.as("DIRECT"))
+                            .from(EDGE)
+                            .where(EDGE.TYPE.eq(SUBJECT_TYPE))
+                            .asTable("S");
+        var direct = subject.field("DIRECT", Long.class);
+        var inferred = subject.field("INFERRED", Long.class);
+
+        var o = dslCtx.select(rIndex.as("IDX"), EDGE.CHILD.as("OBJECT_ID"))
+                      .from(r)
+                      .join(EDGE)
+                      .on(EDGE.PARENT.eq(rObject))
+                      .and(EDGE.TYPE.eq(OBJECT_TYPE))
+                      .union(dslCtx.select(rIndex, rObject).from(r))
+                      .asTable("OC");
+        var objectIndex = o.field("IDX", Integer.class);
+        var objectId = o.field("OBJECT_ID", Long.class);
+
+        var granted = dslCtx.select(objectIndex, inferred, direct)
+                            .from(subject.crossJoin(o)
+                                         .innerJoin(ASSERTION)
+                                         .on(direct.eq(ASSERTION.SUBJECT).or(inferred.eq(ASSERTION.SUBJECT)))
+                                         .and(objectId.eq(ASSERTION.OBJECT)))
+                            .asTable("G");
+        var grantedIndex = granted.field("IDX", Integer.class);
+        var grantedDirect = granted.field("DIRECT", Long.class);
+        var grantedInferred = granted.field("INFERRED", Long.class);
+
+        var relNs = NAMESPACE.as("REL_NS");
+        var subNs = NAMESPACE.as("SUB_NS");
+
+        var base = dslCtx.selectDistinct(grantedIndex, subNs.NAME, SUBJECT.NAME, relNs.NAME, RELATION.NAME)
+                         .from(SUBJECT)
+                         .join(subNs)
+                         .on(subNs.ID.eq(SUBJECT.NAMESPACE))
+                         .join(RELATION)
+                         .on(RELATION.ID.eq(SUBJECT.RELATION))
+                         .join(relNs)
+                         .on(relNs.ID.eq(RELATION.NAMESPACE))
+                         .join(granted)
+                         .on(SUBJECT.ID.eq(grantedDirect))
+                         .or(SUBJECT.ID.eq(grantedInferred));
+        var query = relation == null ? base : base.where(SUBJECT.RELATION.eq(relation.id()));
+        query.fetch()
+             .forEach(rec -> results.get(rec.value1())
+                                    .add(new Subject(new Namespace(rec.value2()), rec.value3(),
+                                                     new Relation(new Namespace(rec.value4()), rec.value5()))));
+        return results;
+    }
+
     /**
      * Answer the list of direct Subjects that map to the supplied objects. The query only considers subjects with
      * assertions that match the objects completely - i.e. {namespace, name, relation}
@@ -975,4 +1246,9 @@ abstract public class AbstractOracle implements Oracle {
 
         return Stream.empty(); // my brain hurts too much currently to construct the sql
     }
+
+    @FunctionalInterface
+    private interface ResolvedId {
+        void resolved(int index, String type, Long id);
+    }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.delphinius;
+
+import org.jooq.DSLContext;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import static com.hellblazer.delos.delphinius.Oracle.*;
+import static com.hellblazer.delos.delphinius.schema.tables.Assertion.ASSERTION;
+import static com.hellblazer.delos.delphinius.schema.tables.Edge.EDGE;
+
+/**
+ * In memory graph of the direct mappings and assertions of the Delphinius domains, using primitive long ids and
+ * compressed bitmap adjacency sets. Rather than materializing the transitive closure, as the EDGE table does,
+ * reachability is computed by bitmap frontier expansion over the direct edges, so edge additions and removals are
+ * applied incrementally in constant time.
+ * <p>
+ * The graph mirrors the ASSERTION table and the direct (non-transitive) rows of the EDGE table, and can be rebuilt
+ * from these tables at any time.
+ *
+ * @author hal.hildebrand
+ */
+public class AdjacencyGraph {
+
+    private final Map<Long, Roaring64NavigableMap> assertedObjects  = new HashMap<>();
+    private final Map<Long, Roaring64NavigableMap> assertedSubjects = new HashMap<>();
+    private final ReadWriteLock                    lock             = new ReentrantReadWriteLock();
+    private final Map<String, Adjacency>           mappings         = new HashMap<>();
+
+    public AdjacencyGraph() {
+        mappings.put(OBJECT_TYPE, new Adjacency());
+        mappings.put(RELATION_TYPE, new Adjacency());
+        mappings.put(SUBJECT_TYPE, new Adjacency());
+    }
+
+    private static void add(Map<Long, Roaring64NavigableMap> index, long key, long value) {
+        index.computeIfAbsent(key, k -> new Roaring64NavigableMap()).addLong(value);
+    }
+
+    private static boolean intersects(Roaring64NavigableMap a, Roaring64NavigableMap b) {
+        var smaller = a.getLongCardinality() <= b.getLongCardinality() ? a : b;
+        var larger = smaller == a ? b : a;
+        var it = smaller.getLongIterator();
+        while (it.hasNext()) {
+            if (larger.contains(it.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void remove(Map<Long, Roaring64NavigableMap> index, long key, long value) {
+        var values = index.get(key);
+        if (values == null) {
+            return;
+        }
+        values.removeLong(value);
+        if (values.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static void removeAll(Map<Long, Roaring64NavigableMap> index, Map<Long, Roaring64NavigableMap> inverse,
+                                  long key) {
+        var values = index.remove(key);
+        if (values == null) {
+            return;
+        }
+        var it = values.getLongIterator();
+        while (it.hasNext()) {
+            remove(inverse, it.next(), key);
+        }
+    }
+
+    public void addAssertion(long subject, long object) {
+        write(() -> {
+            add(assertedObjects, subject, object);
+            add(assertedSubjects, object, subject);
+            return null;
+        });
+    }
+
+    public void addEdge(String type, long parent, long child) {
+        write(() -> {
+            mappings.get(type).add(parent, child);
+            return null;
+        });
+    }
+
+    /**
+     * Answer true if the subject, or any subject it is transitively mapped to, is asserted on the object or any
+     * object it is transitively mapped to
+     */
+    public boolean check(long subject, long object) {
+        return read(() -> {
+            var objects = mappings.get(OBJECT_TYPE).descendants(object);
+            var subjects = mappings.get(SUBJECT_TYPE).descendants(subject);
+            var it = subjects.getLongIterator();
+            while (it.hasNext()) {
+                var asserted = assertedObjects.get(it.next());
+                if (asserted != null && intersects(asserted, objects)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    public void clear() {
+        write(() -> {
+            assertedObjects.clear();
+            assertedSubjects.clear();
+            mappings.values().forEach(Adjacency::clear);
+            return null;
+        });
+    }
+
+    /**
+     * @return the objects directly asserted for the subject
+     */
+    public Roaring64NavigableMap directObjects(long subject) {
+        return read(() -> copyOf(assertedObjects.get(subject)));
+    }
+
+    /**
+     * @return the subjects directly asserted on the object
+     */
+    public Roaring64NavigableMap directSubjects(long object) {
+        return read(() -> copyOf(assertedSubjects.get(object)));
+    }
+
+    /**
+     * Rebuild the graph from the ASSERTION and direct EDGE tables
+     */
+    public void load(DSLContext dslCtx) {
+        write(() -> {
+            assertedObjects.clear();
+            assertedSubjects.clear();
+            mappings.values().forEach(Adjacency::clear);
+            dslCtx.select(ASSERTION.SUBJECT, ASSERTION.OBJECT).from(ASSERTION).fetch().forEach(r -> {
+                add(assertedObjects, r.value1(), r.value2());
+                add(assertedSubjects, r.value2(), r.value1());
+            });
+            dslCtx.select(EDGE.TYPE, EDGE.PARENT, EDGE.CHILD)
+                  .from(EDGE)
+                  .where(EDGE.TRANSITIVE.isFalse())
+                  .fetch()
+                  .forEach(r -> {
+                      var adjacency = mappings.get(r.value1());
+                      if (adjacency != null) {
+                          adjacency.add(r.value2(), r.value3());
+                      }
+                  });
+            return null;
+        });
+    }
+
+    /**
+     * @return the objects the subject is granted, directly or transitively
+     */
+    public Roaring64NavigableMap objects(long subject) {
+        return read(() -> {
+            var asserted = new Roaring64NavigableMap();
+            var it = mappings.get(SUBJECT_TYPE).descendants(subject).getLongIterator();
+            while (it.hasNext()) {
+                var objects = assertedObjects.get(it.next());
+                if (objects != null) {
+                    asserted.or(objects);
+                }
+            }
+            return mappings.get(OBJECT_TYPE).ancestors(asserted);
+        });
+    }
+
+    public void removeAssertion(long subject, long object) {
+        write(() -> {
+            remove(assertedObjects, subject, object);
+            remove(assertedSubjects, object, subject);
+            return null;
+        });
+    }
+
+    public void removeEdge(String type, long parent, long child) {
+        write(() -> {
+            mappings.get(type).remove(parent, child);
+            return null;
+        });
+    }
+
+    /**
+     * Remove the object, its assertions and its mappings
+     */
+    public void removeObject(long object) {
+        write(() -> {
+            removeAll(assertedSubjects, assertedObjects, object);
+            mappings.get(OBJECT_TYPE).remove(object);
+            return null;
+        });
+    }
+
+    /**
+     * Remove the subject, its assertions and its mappings
+     */
+    public void removeSubject(long subject) {
+        write(() -> {
+            removeAll(assertedObjects, assertedSubjects, subject);
+            mappings.get(SUBJECT_TYPE).remove(subject);
+            return null;
+        });
+    }
+
+    /**
+     * @return the subjects granted the object, directly or transitively
+     */
+    public Roaring64NavigableMap subjects(long object) {
+        return read(() -> {
+            var asserted = new Roaring64NavigableMap();
+            var it = mappings.get(OBJECT_TYPE).descendants(object).getLongIterator();
+            while (it.hasNext()) {
+                var subjects = assertedSubjects.get(it.next());
+                if (subjects != null) {
+                    asserted.or(subjects);
+                }
+            }
+            return mappings.get(SUBJECT_TYPE).ancestors(asserted);
+        });
+    }
+
+    private Roaring64NavigableMap copyOf(Roaring64NavigableMap bitmap) {
+        var copy = new Roaring64NavigableMap();
+        if (bitmap != null) {
+            copy.or(bitmap);
+        }
+        return copy;
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        final var l = lock.readLock();
+        l.lock();
+        try {
+            return reader.get();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> writer) {
+        final var l = lock.writeLock();
+        l.lock();
+        try {
+            return writer.get();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * The direct parent/child mappings of a domain, indexed in both directions
+     */
+    private static class Adjacency {
+        private final Map<Long, Roaring64NavigableMap> children = new HashMap<>();
+        private final Map<Long, Roaring64NavigableMap> parents  = new HashMap<>();
+
+        private static Roaring64NavigableMap reach(Map<Long, Roaring64NavigableMap> edges,
+                                                   Roaring64NavigableMap start) {
+            var reached = new Roaring64NavigableMap();
+            reached.or(start);
+            var frontier = start;
+            while (!frontier.isEmpty()) {
+                var next = new Roaring64NavigableMap();
+                var it = frontier.getLongIterator();
+                while (it.hasNext()) {
+                    var adjacent = edges.get(it.next());
+                    if (adjacent != null) {
+                        next.or(adjacent);
+                    }
+                }
+                next.andNot(reached);
+                reached.or(next);
+                frontier = next;
+            }
+            return reached;
+        }
+
+        void add(long parent, long child) {
+            AdjacencyGraph.add(children, parent, child);
+            AdjacencyGraph.add(parents, child, parent);
+        }
+
+        /**
+         * @return the start ids and all their transitive parents
+         */
+        Roaring64NavigableMap ancestors(Roaring64NavigableMap start) {
+            return reach(parents, start);
+        }
+
+        void clear() {
+            children.clear();
+            parents.clear();
+        }
+
+        /**
+         * @return the id and all its transitive children
+         */
+        Roaring64NavigableMap descendants(long id) {
+            return reach(children, Roaring64NavigableMap.bitmapOf(id));
+        }
+
+        void remove(long parent, long child) {
+            AdjacencyGraph.remove(children, parent, child);
+            AdjacencyGraph.remove(parents, child, parent);
+        }
+
+        void remove(long id) {
+            removeAll(children, parents, id);
+            removeAll(parents, children, id);
+        }
+    }
+}
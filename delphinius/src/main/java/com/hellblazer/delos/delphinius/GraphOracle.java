@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.delphinius;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.joou.ULong;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.hellblazer.delos.delphinius.schema.tables.Namespace.NAMESPACE;
+import static com.hellblazer.delos.delphinius.schema.tables.Object.OBJECT;
+import static com.hellblazer.delos.delphinius.schema.tables.Relation.RELATION;
+import static com.hellblazer.delos.delphinius.schema.tables.Subject.SUBJECT;
+
+/**
+ * A DirectOracle that answers check, expand and read queries from an in memory AdjacencyGraph rather than the
+ * materialized transitive closure of the EDGE table. The SQL tables remain the system of record; the graph is loaded
+ * from them on construction and kept in sync incrementally as this oracle mutates them. Mutations that cascade
+ * through the schema - deleting namespaces and relations - rebuild the graph from the tables, as does any failure to
+ * incrementally update the graph.
+ * <p>
+ * The database may have other writers - replication of the state machine, the stored procedures of a ShardedOracle,
+ * other oracles on the same database - that this oracle does not see. Every mutation of the assertions and edges bumps
+ * the version in the GRAPH_VERSION table, and this oracle rebuilds the graph from the tables whenever that version is
+ * not the one the graph reflects, checking before each query and around each of its own mutations.
+ *
+ * @author hal.hildebrand
+ */
+public class GraphOracle extends DirectOracle {
+
+    private final    DSLContext     dslCtx;
+    private final    AdjacencyGraph graph = new AdjacencyGraph();
+    private volatile long           version;
+
+    public GraphOracle(Connection connection) {
+        this(connection, () -> ULong.valueOf(System.currentTimeMillis()));
+    }
+
+    public GraphOracle(Connection connection, Supplier<ULong> clock) {
+        this(DSL.using(connection, SQLDialect.H2), clock);
+    }
+
+    public GraphOracle(DSLContext dslCtx, Supplier<ULong> clock) {
+        super(dslCtx, clock);
+        this.dslCtx = dslCtx;
+        rebuild();
+    }
+
+    @Override
+    public CompletableFuture<Asserted> add(Assertion assertion) {
+        return mutate(() -> super.add(assertion), () -> {
+            var s = resolve(dslCtx, assertion.subject());
+            var o = resolve(dslCtx, assertion.object());
+            if (s == null || o == null) {
+                throw new SQLException("Unable to resolve added: " + assertion);
+            }
+            graph.addAssertion(s.id(), o.id());
+        });
+    }
+
+    @Override
+    public boolean check(Assertion assertion) throws SQLException {
+        current();
+        var s = resolve(dslCtx, assertion.subject());
+        var o = resolve(dslCtx, assertion.object());
+        if (s == null || o == null) {
+            return false;
+        }
+        return graph.check(s.id(), o.id());
+    }
+
+    @Override
+    public List<Boolean> checkAll(List<Assertion> assertions) throws SQLException {
+        current();
+        var resolved = resolveAssertions(dslCtx, assertions);
+        var results = new ArrayList<Boolean>(resolved.length);
+        for (var ids : resolved) {
+            results.add(ids[0] != null && ids[1] != null && graph.check(ids[0], ids[1]));
+        }
+        return results;
+    }
+
+    @Override
+    public CompletableFuture<ULong> delete(Assertion assertion) {
+        var s = resolved(() -> resolve(dslCtx, assertion.subject()));
+        var o = resolved(() -> resolve(dslCtx, assertion.object()));
+        return mutate(() -> super.delete(assertion), () -> {
+            if (s != null && o != null) {
+                graph.removeAssertion(s.id(), o.id());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ULong> delete(Namespace namespace) {
+        var deleted = super.delete(namespace);
+        rebuild();
+        return deleted;
+    }
+
+    @Override
+    public CompletableFuture<ULong> delete(Object object) {
+        var o = resolved(() -> resolve(dslCtx, object));
+        return mutate(() -> super.delete(object), () -> {
+            if (o != null) {
+                graph.removeObject(o.id());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ULong> delete(Relation relation) {
+        var deleted = super.delete(relation);
+        rebuild();
+        return deleted;
+    }
+
+    @Override
+    public CompletableFuture<ULong> delete(Subject subject) {
+        var s = resolved(() -> resolve(dslCtx, subject));
+        return mutate(() -> super.delete(subject), () -> {
+            if (s != null) {
+                graph.removeSubject(s.id());
+            }
+        });
+    }
+
+    @Override
+    public List<Object> expand(Relation predicate, Subject subject) throws SQLException {
+        return objects(predicate, subject).toList();
+    }
+
+    @Override
+    public List<Object> expand(Subject subject) throws SQLException {
+        return objects(null, subject).toList();
+    }
+
+    @Override
+    public List<List<Subject>> expandAll(Relation predicate, List<Object> objects) throws SQLException {
+        current();
+        var relation = predicate == null ? null : resolve(dslCtx, predicate);
+        var results = new ArrayList<List<Subject>>(objects.size());
+        for (var id : resolveObjects(dslCtx, objects)) {
+            if (id == null || (predicate != null && relation == null)) {
+                results.add(new ArrayList<>());
+            } else {
+                results.add(subjects(graph.subjects(id), relation).toList());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the graph backing the queries of this oracle
+     */
+    public AdjacencyGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public CompletableFuture<ULong> map(Object parent, Object child) {
+        return mutate(() -> super.map(parent, child),
+                      () -> graph.addEdge(OBJECT_TYPE, id(resolve(dslCtx, parent)), id(resolve(dslCtx, child))));
+    }
+
+    @Override
+    public CompletableFuture<ULong> map(Relation parent, Relation child) {
+        return mutate(() -> super.map(parent, child),
+                      () -> graph.addEdge(RELATION_TYPE, id(resolve(dslCtx, parent)), id(resolve(dslCtx, child))));
+    }
+
+    @Override
+    public CompletableFuture<ULong> map(Subject parent, Subject child) {
+        return mutate(() -> super.map(parent, child),
+                      () -> graph.addEdge(SUBJECT_TYPE, id(resolve(dslCtx, parent)), id(resolve(dslCtx, child))));
+    }
+
+    @Override
+    public List<Subject> read(Object... objects) throws SQLException {
+        return read(null, objects);
+    }
+
+    @Override
+    public List<Subject> read(Relation predicate, Object... objects) throws SQLException {
+        current();
+        var relation = predicate == null ? null : resolve(dslCtx, predicate);
+        if (predicate != null && relation == null) {
+            return List.of();
+        }
+        var result = new ArrayList<Subject>();
+        for (var object : objects) {
+            var o = resolve(dslCtx, object);
+            if (o != null) {
+                subjects(graph.directSubjects(o.id()), relation).forEach(result::add);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Object> read(Relation predicate, Subject... subjects) throws SQLException {
+        current();
+        var relation = predicate == null ? null : resolve(dslCtx, predicate);
+        if (predicate != null && relation == null) {
+            return List.of();
+        }
+        var result = new ArrayList<Object>();
+        for (var subject : subjects) {
+            var s = resolve(dslCtx, subject);
+            if (s != null) {
+                objects(graph.directObjects(s.id()), relation).forEach(result::add);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Object> read(Subject... subjects) throws SQLException {
+        return read(null, subjects);
+    }
+
+    /**
+     * Rebuild the graph from the SQL tables
+     */
+    public void rebuild() {
+        // Read the version first, so that a concurrent mutation leaves the version stale and triggers another rebuild
+        version = version(dslCtx);
+        graph.load(dslCtx);
+    }
+
+    @Override
+    public CompletableFuture<ULong> remove(Object parent, Object child) {
+        var a = resolved(() -> resolve(dslCtx, parent));
+        var b = resolved(() -> resolve(dslCtx, child));
+        return mutate(() -> super.remove(parent, child), () -> {
+            if (a != null && b != null) {
+                graph.removeEdge(OBJECT_TYPE, a.id(), b.id());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ULong> remove(Relation parent, Relation child) {
+        var a = resolved(() -> resolve(dslCtx, parent));
+        var b = resolved(() -> resolve(dslCtx, child));
+        return mutate(() -> super.remove(parent, child), () -> {
+            if (a != null && b != null) {
+                graph.removeEdge(RELATION_TYPE, a.id(), b.id());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ULong> remove(Subject parent, Subject child) {
+        var a = resolved(() -> resolve(dslCtx, parent));
+        var b = resolved(() -> resolve(dslCtx, child));
+        return mutate(() -> super.remove(parent, child), () -> {
+            if (a != null && b != null) {
+                graph.removeEdge(SUBJECT_TYPE, a.id(), b.id());
+            }
+        });
+    }
+
+    @Override
+    public Stream<Subject> subjects(Relation predicate, Object object) throws SQLException {
+        current();
+        var resolved = resolve(dslCtx, object);
+        if (resolved == null) {
+            return Stream.empty();
+        }
+        var relation = predicate == null ? null : resolve(dslCtx, predicate);
+        if (predicate != null && relation == null) {
+            return Stream.empty();
+        }
+        return subjects(graph.subjects(resolved.id()), relation);
+    }
+
+    /**
+     * Rebuild the graph if the tables have been mutated by another writer since the graph was last brought up to date
+     */
+    private void current() {
+        if (version(dslCtx) != version) {
+            log.debug("Graph version changed by another writer, rebuilding");
+            rebuild();
+        }
+    }
+
+    private Long id(NamespacedId resolved) throws SQLException {
+        if (resolved == null) {
+            throw new SQLException("Unable to resolve mapped id");
+        }
+        return resolved.id();
+    }
+
+    private List<Long> ids(Roaring64NavigableMap bitmap) {
+        var ids = new ArrayList<Long>((int) bitmap.getLongCardinality());
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    /**
+     * Apply the mutation to the tables and then incrementally to the graph. The mutation bumps the version exactly
+     * once, so any other change of the version means another writer has mutated the tables, and the graph is rebuilt
+     * from them instead
+     */
+    private <T> T mutate(Supplier<T> mutation, Update update) {
+        current();
+        var expected = version + 1;
+        var result = mutation.get();
+        if (version(dslCtx) == expected) {
+            version = expected;
+            sync(update);
+        } else {
+            rebuild();
+        }
+        return result;
+    }
+
+    private Stream<Object> objects(Relation predicate, Subject subject) throws SQLException {
+        current();
+        var resolved = resolve(dslCtx, subject);
+        if (resolved == null) {
+            return Stream.empty();
+        }
+        var relation = predicate == null ? null : resolve(dslCtx, predicate);
+        if (predicate != null && relation == null) {
+            return Stream.empty();
+        }
+        return objects(graph.objects(resolved.id()), relation);
+    }
+
+    /**
+     * Resolve the Objects of the ids in a single query, optionally filtered by relation
+     */
+    private Stream<Object> objects(Roaring64NavigableMap ids, NamespacedId relation) {
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        var relNs = NAMESPACE.as("REL_NS");
+        var objNs = NAMESPACE.as("OBJ_NS");
+        var base = dslCtx.select(objNs.NAME, OBJECT.NAME, relNs.NAME, RELATION.NAME)
+                         .from(OBJECT)
+                         .join(objNs)
+                         .on(objNs.ID.eq(OBJECT.NAMESPACE))
+                         .join(RELATION)
+                         .on(RELATION.ID.eq(OBJECT.RELATION))
+                         .join(relNs)
+                         .on(relNs.ID.eq(RELATION.NAMESPACE))
+                         .where(OBJECT.ID.in(ids(ids)));
+        var query = relation == null ? base : base.and(OBJECT.RELATION.eq(relation.id()));
+        return query.stream()
+                    .map(r -> new Object(new Namespace(r.value1()), r.value2(),
+                                         new Relation(new Namespace(r.value3()), r.value4())));
+    }
+
+    private NamespacedId resolved(Resolver resolver) {
+        try {
+            return resolver.resolve();
+        } catch (SQLException | DataAccessException e) {
+            log.warn("Unable to resolve", e);
+            return null;
+        }
+    }
+
+    /**
+     * Resolve the Subjects of the ids in a single query, optionally filtered by relation
+     */
+    private Stream<Subject> subjects(Roaring64NavigableMap ids, NamespacedId relation) {
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        var relNs = NAMESPACE.as("REL_NS");
+        var subNs = NAMESPACE.as("SUB_NS");
+        var base = dslCtx.select(subNs.NAME, SUBJECT.NAME, relNs.NAME, RELATION.NAME)
+                         .from(SUBJECT)
+                         .join(subNs)
+                         .on(subNs.ID.eq(SUBJECT.NAMESPACE))
+                         .join(RELATION)
+                         .on(RELATION.ID.eq(SUBJECT.RELATION))
+                         .join(relNs)
+                         .on(relNs.ID.eq(RELATION.NAMESPACE))
+                         .where(SUBJECT.ID.in(ids(ids)));
+        var query = relation == null ? base : base.and(SUBJECT.RELATION.eq(relation.id()));
+        return query.stream()
+                    .map(r -> new Subject(new Namespace(r.value1()), r.value2(),
+                                          new Relation(new Namespace(r.value3()), r.value4())));
+    }
+
+    /**
+     * Apply the incremental update to the graph, rebuilding the graph from the tables if the update fails
+     */
+    private void sync(Update update) {
+        try {
+            update.apply();
+        } catch (SQLException | DataAccessException e) {
+            log.warn("Unable to incrementally update graph, rebuilding", e);
+            rebuild();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Resolver {
+        NamespacedId resolve() throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Update {
+        void apply() throws SQLException;
+    }
+}
@@ -78,6 +78,14 @@ public interface Oracle {
      */
     boolean check(Assertion assertion) throws SQLException;
 
+    /**
+     * Check the assertions are true at the current time. The subjects and objects of all the assertions are resolved
+     * together and the grants evaluated as a set, rather than one assertion at a time
+     *
+     * @return the list of check results, in the order of the supplied assertions
+     */
+    List<Boolean> checkAll(List<Assertion> assertions) throws SQLException;
+
     /**
      * Delete an assertion. Only the assertion is deleted, not the subject nor object of the assertion.
      *
@@ -149,6 +157,25 @@ public interface Oracle {
      */
     List<Object> expand(Subject subject) throws SQLException;
 
+    /**
+     * Answer the direct and transitive Subjects that map to each of the supplied objects. The objects are resolved and
+     * expanded together, rather than one object at a time
+     *
+     * @return the list of expanded Subjects for each object, in the order of the supplied objects
+     * @throws SQLException
+     */
+    List<List<Subject>> expandAll(List<Object> objects) throws SQLException;
+
+    /**
+     * Answer the direct and transitive Subjects that map to each of the supplied objects from subjects that have the
+     * supplied predicate as their relation. The objects are resolved and expanded together, rather than one object at
+     * a time
+     *
+     * @return the list of expanded Subjects for each object, in the order of the supplied objects
+     * @throws SQLException
+     */
+    List<List<Subject>> expandAll(Relation predicate, List<Object> objects) throws SQLException;
+
     /**
      * Map the parent object to the child
      *
@@ -14,6 +14,7 @@ import org.h2.jdbc.JdbcConnection;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.Random;
 
@@ -60,6 +61,84 @@ public class Questions3Test {
         smoke(oracle);
     }
 
+    @Test
+    public void graphSharedDatabase() throws Exception {
+        final var url = String.format("jdbc:h2:mem:test_engine-graph-shared-%s;DB_CLOSE_DELAY=3",
+                                      new Random().nextLong());
+        var connection = new JdbcConnection(url, new Properties(), "", "", false);
+
+        var database = new H2Database();
+        database.setConnection(new liquibase.database.jvm.JdbcConnection(connection));
+        try (Liquibase liquibase = new Liquibase("/delphinius/initialize.xml", new ClassLoaderResourceAccessor(),
+                                                 database)) {
+            liquibase.update((String) null);
+        }
+        var oracle = new GraphOracle(new JdbcConnection(url, new Properties(), "", "", false));
+        var direct = new DirectOracle(new JdbcConnection(url, new Properties(), "", "", false));
+        var call = new CallOracle(new JdbcConnection(url, new Properties(), "", "", false));
+
+        var ns = Oracle.namespace("my-org");
+        var docNs = Oracle.namespace("Document");
+        var object123View = docNs.object("123", docNs.relation("View"));
+        var users = ns.subject("Users", ns.relation("member"));
+        var burcu = ns.subject("Burcu");
+        var can = ns.subject("Can");
+
+        // Mutations of the database by the other oracles are reflected in the graph
+        direct.add(users.assertion(object123View)).get();
+        direct.map(burcu, users).get();
+        assertTrue(oracle.check(object123View.assertion(burcu)));
+        assertEquals(List.of(users), oracle.read(object123View));
+        assertTrue(oracle.expand(object123View).contains(burcu));
+
+        // As are the graph oracle's own mutations
+        oracle.map(can, users).get();
+        assertTrue(oracle.check(object123View.assertion(can)));
+        assertEquals(1, oracle.expand(can).size());
+
+        // Mutations through the stored procedures, as the ShardedOracle and replication apply them
+        call.remove(burcu, users).get();
+        assertFalse(oracle.check(object123View.assertion(burcu)));
+        assertTrue(oracle.check(object123View.assertion(can)));
+
+        direct.delete(users.assertion(object123View)).get();
+        assertFalse(oracle.check(object123View.assertion(can)));
+        assertTrue(oracle.read(object123View).isEmpty());
+        assertTrue(oracle.expand(object123View).isEmpty());
+    }
+
+    @Test
+    public void graphSmokin() throws Exception {
+        final var url = String.format("jdbc:h2:mem:test_engine-graph-smoke-%s;DB_CLOSE_DELAY=3",
+                                      new Random().nextLong());
+        var connection = new JdbcConnection(url, new Properties(), "", "", false);
+
+        var database = new H2Database();
+        database.setConnection(new liquibase.database.jvm.JdbcConnection(connection));
+        try (Liquibase liquibase = new Liquibase("/delphinius/initialize.xml", new ClassLoaderResourceAccessor(),
+                                                 database)) {
+            liquibase.update((String) null);
+        }
+        connection = new JdbcConnection(url, new Properties(), "", "", false);
+        var oracle = new GraphOracle(connection);
+
+        smoke(oracle);
+
+        // Rebuilding from the tables yields the same answers as the incrementally maintained graph
+        var ns = Oracle.namespace("my-org");
+        var docNs = Oracle.namespace("Document");
+        var object123View = docNs.object("123", docNs.relation("View"));
+        var users = ns.subject("Users", ns.relation("member"));
+        var burcu = ns.subject("Burcu");
+        oracle.add(users.assertion(object123View)).get();
+        assertTrue(oracle.check(object123View.assertion(burcu)));
+        var expanded = oracle.expand(object123View);
+        oracle.rebuild();
+        assertTrue(oracle.check(object123View.assertion(burcu)));
+        assertEquals(expanded.size(), oracle.expand(object123View).size());
+        assertEquals(1, oracle.expand(burcu).size());
+    }
+
     private void smoke(Oracle oracle) throws Exception {
         // Namespace
         var ns = Oracle.namespace("my-org");
@@ -176,6 +255,21 @@ public class Questions3Test {
         assertTrue(oracle.check(object123View.assertion(egin)));
         assertFalse(oracle.check(object123View.assertion(helpDeskMembers)));
 
+        // Batch check, results in order
+        assertEquals(List.of(true, true, false), oracle.checkAll(
+        List.of(object123View.assertion(jale), object123View.assertion(egin),
+                object123View.assertion(helpDeskMembers))));
+
+        // Batch expand, results in order
+        var unknown = docNs.object("456", view);
+        var expanded = oracle.expandAll(List.of(unknown, object123View));
+        assertEquals(2, expanded.size());
+        assertTrue(expanded.get(0).isEmpty());
+        assertEquals(14, expanded.get(1).size());
+        var expandedFlagged = oracle.expandAll(flag, List.of(object123View));
+        assertEquals(1, expandedFlagged.size());
+        assertEquals(5, expandedFlagged.get(0).size());
+
         // Remove them
         oracle.remove(abcTechMembers, technicianMembers).get();
 
@@ -10,9 +10,12 @@ import com.hellblazer.delos.bloomFilters.BloomFilter;
 import com.hellblazer.delos.bloomFilters.BloomFilter.DigestBloomFilter;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.cryptography.DigestMap;
 import com.hellblazer.delos.cryptography.JohnHancock;
 import com.hellblazer.delos.cryptography.Signer;
+import com.hellblazer.delos.cryptography.SortedDigestMap;
 import com.hellblazer.delos.cryptography.proto.Biff;
+import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetrics;
 import com.hellblazer.delos.ethereal.proto.*;
 import com.hellblazer.delos.utils.Entropy;
 import org.slf4j.Logger;
@@ -36,31 +39,40 @@ import static com.hellblazer.delos.ethereal.PreUnit.id;
  */
 public class Adder {
 
-    private static final Logger                     log             = LoggerFactory.getLogger(Adder.class);
-    private final        Map<Digest, Set<Short>>    commits         = new TreeMap<>();
-    private final        Config                     conf;
-    private final        Dag                        dag;
-    private final        int                        epoch;
-    private final        Set<Digest>                failed;
-    private final        ReentrantLock              lock            = new ReentrantLock(true);
-    private final        int                        maxSize;
-    private final        Map<Long, List<Waiting>>   missing         = new TreeMap<>();
-    private final        Map<Digest, Set<Short>>    prevotes        = new TreeMap<>();
-    private final        Map<Digest, SignedCommit>  signedCommits   = new TreeMap<>();
-    private final        Map<Digest, SignedPreVote> signedPrevotes  = new TreeMap<>();
-    private final        int                        threshold;
-    private final        Map<Digest, Waiting>       waiting         = new TreeMap<>();
-    private final        Map<Long, Waiting>         waitingById     = new TreeMap<>();
-    private final        Map<Digest, Waiting>       waitingForRound = new TreeMap<>();
-    private volatile     int                        round           = 0;
+    private static final Logger                             log             = LoggerFactory.getLogger(Adder.class);
+    private final        Map<Digest, Set<Short>>            commits         = new DigestMap<>();
+    private final        Config                             conf;
+    private final        Dag                                dag;
+    private final        int                                epoch;
+    private final        Set<Digest>                        failed;
+    private final        SignatureFilter                    knownCommits    = new SignatureFilter();
+    private final        SignatureFilter                    knownPrevotes   = new SignatureFilter();
+    private final        SignatureFilter                    knownUnits      = new SignatureFilter();
+    private final        ReentrantLock                      lock            = new ReentrantLock(true);
+    private final        int                                maxSize;
+    private final        EtherealMetrics                    metrics;
+    private final        Map<Long, List<Waiting>>           missing         = new TreeMap<>();
+    private final        Map<Digest, Set<Short>>            prevotes        = new DigestMap<>();
+    private final        Map<Digest, Signed<SignedCommit>>  signedCommits   = new DigestMap<>();
+    private final        Map<Digest, Signed<SignedPreVote>> signedPrevotes  = new DigestMap<>();
+    private final        int                                threshold;
+    private final        Map<Digest, Waiting>               waiting         = new SortedDigestMap<>();
+    private final        Map<Long, Waiting>                 waitingById     = new TreeMap<>();
+    private final        Map<Digest, Waiting>               waitingForRound = new SortedDigestMap<>();
+    private volatile     int                                round           = 0;
 
     public Adder(int epoch, Dag dag, int maxSize, Config conf, Set<Digest> failed) {
+        this(epoch, dag, maxSize, conf, failed, null);
+    }
+
+    public Adder(int epoch, Dag dag, int maxSize, Config conf, Set<Digest> failed, EtherealMetrics metrics) {
         this.epoch = epoch;
         this.dag = dag;
         this.conf = conf;
         this.failed = failed;
         this.threshold = Dag.threshold(conf.nProc());
         this.maxSize = maxSize;
+        this.metrics = metrics;
     }
 
     public static Signed<SignedCommit> commit(final Long id, final Digest hash, final short pid, Signer signer,
@@ -91,6 +103,9 @@ public class Adder {
             signedPrevotes.clear();
             prevotes.clear();
             missing.clear();
+            knownUnits.clear();
+            knownPrevotes.clear();
+            knownCommits.clear();
         });
     }
 
@@ -171,26 +186,36 @@ public class Adder {
      * Produce a Unit on this node.
      *
      * @param u - the Unit to produce
+     * @return the Missing eagerly pushing the unit, with our prevote and commit, to the other nodes, or null if the unit
+     * is a duplicate
      */
-    public void produce(Unit u) {
+    public Missing produce(Unit u) {
         if (u.epoch() != epoch) {
             throw new IllegalStateException("incorrect epoch: " + u + " only accepting: " + epoch);
         }
         if (dag.contains(u.hash())) {
             log.trace("Produced duplicated unit: {} on: {}", u, conf.logLabel());
-            return;
+            return null;
         }
-        locked(() -> {
+        return locked(() -> {
             assert u.creator() == conf.pid();
             round = u.height();
             log.trace("Producing unit: {}:{} on: {}", u.hash(), u, conf.logLabel());
             final var wpu = new Waiting(u.toPreUnit(), u.toPreUnit_s());
             waiting.put(wpu.hash(), wpu);
             checkIfMissing(wpu);
-            prevote(wpu);
-            commit(wpu);
+            final var push = Missing.newBuilder().setEpoch(epoch).addUnits(wpu.serialized());
+            final var prevote = prevote(wpu);
+            final var commit = commit(wpu);
+            if (prevote != null) {
+                push.addPrevotes(prevote);
+            }
+            if (commit != null) {
+                push.addCommits(commit);
+            }
             output(wpu);
             advance();
+            return push.build();
         });
     }
 
@@ -212,40 +237,73 @@ public class Adder {
     }
 
     /**
-     * Update the commit, prevote and unit state from the supplied update
+     * Update the commit, prevote and unit state from the supplied update. Units, prevotes and commits already known to
+     * the receiver are dropped by their signature before any further processing, and the update only takes the lock if
+     * anything remains.
      */
     public void updateFrom(Missing update) {
         assert update.getEpoch() == epoch : "Update from incorrect epoch: " + update.getEpoch() + " expected: " + epoch
         + " on: " + conf.logLabel();
+        final var units = update.getUnitsList()
+                                .stream()
+                                .filter(u -> !knownUnits.contains(u.getSignature()))
+                                .toList();
+        final var pvs = update.getPrevotesList()
+                              .stream()
+                              .filter(pv -> !knownPrevotes.contains(pv.getSignature()))
+                              .toList();
+        final var cs = update.getCommitsList()
+                             .stream()
+                             .filter(c -> !knownCommits.contains(c.getSignature()))
+                             .toList();
+        if (metrics != null) {
+            metrics.inboundUnits().mark(update.getUnitsCount());
+            metrics.duplicateUnits().mark(update.getUnitsCount() - units.size());
+            metrics.inboundPrevotes().mark(update.getPrevotesCount());
+            metrics.duplicatePrevotes().mark(update.getPrevotesCount() - pvs.size());
+            metrics.inboundCommits().mark(update.getCommitsCount());
+            metrics.duplicateCommits().mark(update.getCommitsCount() - cs.size());
+        }
+        if (units.isEmpty() && pvs.isEmpty() && cs.isEmpty()) {
+            return;
+        }
         locked(() -> {
-            update.getUnitsList().forEach(u -> {
+            units.forEach(u -> {
                 final var signature = JohnHancock.from(u.getSignature());
                 final var digest = signature.toDigest(conf.digestAlgorithm());
                 if (!failed.contains(digest)) {
                     log.trace("propose: {} : {} on: {}", digest, PreUnit.decode(u.getId()), conf.logLabel());
                     propose(digest, u);
                 }
+                // Known once the digest is failed, waiting or output, as the Adder then ignores any unit of the digest
+                if (failed.contains(digest) || waiting.containsKey(digest) || dag.contains(digest)) {
+                    knownUnits.add(u.getSignature());
+                }
             });
-            update.getPrevotesList().forEach(pv -> {
+            pvs.forEach(pv -> {
                 final var hash = Digest.from(pv.getVote().getHash());
                 if (failed.contains(hash)) {
                     return;
                 }
                 final var signature = JohnHancock.from(pv.getSignature());
+                final var digest = signature.toDigest(conf.digestAlgorithm());
                 var validated = new AtomicBoolean();
-                signedPrevotes.computeIfAbsent(signature.toDigest(conf.digestAlgorithm()), h -> {
+                signedPrevotes.computeIfAbsent(digest, h -> {
                     validated.set(validate(pv));
                     if (validated.get()) {
-                        return pv;
+                        return new Signed<>(h, pv);
                     } else {
                         return null;
                     }
                 });
+                if (signedPrevotes.containsKey(digest)) {
+                    knownPrevotes.add(pv.getSignature());
+                }
                 if (validated.get()) {
                     prevote(Digest.from(pv.getVote().getHash()), (short) pv.getVote().getSource());
                 }
             });
-            update.getCommitsList().forEach(c -> {
+            cs.forEach(c -> {
                 final var hash = Digest.from(c.getCommit().getHash());
                 if (failed.contains(hash)) {
                     return;
@@ -256,11 +314,14 @@ public class Adder {
                 signedCommits.computeIfAbsent(digest, h -> {
                     validated.set(validate(c));
                     if (validated.get()) {
-                        return c;
+                        return new Signed<>(h, c);
                     } else {
                         return null;
                     }
                 });
+                if (signedCommits.containsKey(digest)) {
+                    knownCommits.add(c.getSignature());
+                }
                 if (validated.get()) {
                     commit(Digest.from(c.getCommit().getHash()), (short) c.getCommit().getSource());
                 }
@@ -335,11 +396,11 @@ public class Adder {
         return prevotes;
     }
 
-    Map<Digest, SignedCommit> getSignedCommits() {
+    Map<Digest, Signed<SignedCommit>> getSignedCommits() {
         return signedCommits;
     }
 
-    Map<Digest, SignedPreVote> getSignedPrevotes() {
+    Map<Digest, Signed<SignedPreVote>> getSignedPrevotes() {
         return signedPrevotes;
     }
 
@@ -476,13 +537,11 @@ public class Adder {
     // Advance the state of the RBC by one round
     private void advance() {
         var ready = new ArrayList<Waiting>();
-        var iterator = waitingForRound.entrySet().iterator();
-        while (iterator.hasNext()) {
-            var e = iterator.next();
-            if (e.getValue().height() - 1 <= round) {
-                ready.add(e.getValue());
+        for (var w : waitingForRound.values()) {
+            if (w.height() - 1 <= round) {
+                ready.add(w);
             } else {
-                log.trace("Waiting for round: {} current: {} on: {}", e.getValue(), round, conf.logLabel());
+                log.trace("Waiting for round: {} current: {} on: {}", w, round, conf.logLabel());
             }
         }
         ready.forEach(w -> {
@@ -541,15 +600,17 @@ public class Adder {
         return maxHeights;
     }
 
-    private void commit(Waiting wpu) {
+    private SignedCommit commit(Waiting wpu) {
         try {
             wpu.setState(State.COMMITTED);
             Signed<SignedCommit> sc = commit(wpu.id(), wpu.hash(), conf.pid(), conf.signer(), conf.digestAlgorithm());
-            signedCommits.put(sc.hash(), sc.signed());
+            signedCommits.put(sc.hash(), sc);
             log.trace("Committing unit: {} on: {}", wpu, conf.logLabel());
             commit(wpu.hash(), conf.pid());
+            return sc.signed();
         } catch (Throwable e) {
             e.printStackTrace();
+            return null;
         }
     }
 
@@ -602,7 +663,7 @@ public class Adder {
     private Biff haveCommits() {
         var n = conf.epochLength() * conf.nProc() * 4;
         var bff = new DigestBloomFilter(Entropy.nextBitsStreamLong(), n, 1.0 / ((double) n * 2.0));
-        signedCommits.keySet().forEach(d -> bff.add(d));
+        signedCommits.values().forEach(sc -> bff.add(sc.hash()));
         return bff.toBff();
     }
 
@@ -612,7 +673,7 @@ public class Adder {
     private Biff havePreVotes() {
         var n = conf.epochLength() * conf.nProc() * 4;
         var bff = new DigestBloomFilter(Entropy.nextBitsStreamLong(), n, 1.0 / ((double) n * 2));
-        signedPrevotes.keySet().forEach(d -> bff.add(d));
+        signedPrevotes.values().forEach(spv -> bff.add(spv.hash()));
         return bff.toBff();
     }
 
@@ -622,7 +683,7 @@ public class Adder {
     private Biff haveUnits() {
         var n = conf.epochLength() * conf.nProc() * 4;
         var bff = new DigestBloomFilter(Entropy.nextBitsStreamLong(), n, 1.0 / ((double) n * 2));
-        waiting.keySet().forEach(d -> bff.add(d));
+        waiting.values().forEach(w -> bff.add(w.hash()));
         dag.have(bff);
         return bff.toBff();
     }
@@ -664,13 +725,13 @@ public class Adder {
      * known
      */
     private void missing(BloomFilter<Digest> have, Missing.Builder builder) {
-        var pus = new TreeMap<Digest, PreUnit_s>();
+        var pus = new SortedDigestMap<PreUnit_s>();
         dag.missing(have, pus);
-        waiting.entrySet()
+        waiting.values()
                .stream()
-               .filter(e -> !have.contains(e.getKey()))
-               .filter(e -> !failed.contains(e.getKey()))
-               .forEach(e -> pus.putIfAbsent(e.getKey(), e.getValue().serialized()));
+               .filter(w -> !have.contains(w.hash()))
+               .filter(w -> !failed.contains(w.hash()))
+               .forEach(w -> pus.putIfAbsent(w.hash(), w.serialized()));
         pus.values().forEach(pu -> builder.addUnits(pu));
     }
 
@@ -705,12 +766,13 @@ public class Adder {
         remove(wpu);
     }
 
-    private void prevote(Waiting wpu) {
+    private SignedPreVote prevote(Waiting wpu) {
         wpu.setState(State.PREVOTED);
         Signed<SignedPreVote> spv = prevote(wpu.id(), wpu.hash(), conf.pid(), conf.signer(), conf.digestAlgorithm());
-        signedPrevotes.put(spv.hash(), spv.signed());
+        signedPrevotes.put(spv.hash(), spv);
         log.trace("Prevoting unit: {} on: {}", wpu, conf.logLabel());
         prevote(wpu.hash(), conf.pid());
+        return spv.signed();
     }
 
     /**
@@ -754,15 +816,15 @@ public class Adder {
      */
     private void update(Have have, Missing.Builder builder) {
         final var cbf = BloomFilter.from(have.getHaveCommits());
-        signedCommits.entrySet().forEach(e -> {
-            if (!cbf.contains(e.getKey())) {
-                builder.addCommits(e.getValue());
+        signedCommits.values().forEach(sc -> {
+            if (!cbf.contains(sc.hash())) {
+                builder.addCommits(sc.signed());
             }
         });
         final var pbf = BloomFilter.from(have.getHavePreVotes());
-        signedPrevotes.entrySet().forEach(e1 -> {
-            if (!pbf.contains(e1.getKey())) {
-                builder.addPrevotes(e1.getValue());
+        signedPrevotes.values().forEach(spv -> {
+            if (!pbf.contains(spv.hash())) {
+                builder.addPrevotes(spv.signed());
             }
         });
         final BloomFilter<Digest> pubf = BloomFilter.from(have.getHaveUnits());
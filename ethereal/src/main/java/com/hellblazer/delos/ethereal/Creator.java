@@ -153,6 +153,8 @@ public class Creator {
     private void createUnit(Unit[] parents, int level, ByteString data) {
         assert parents.length == conf.nProc();
         final int e = epoch.get();
+        var event = new EtherealEvents.UnitCreate();
+        event.begin();
         Unit u = PreUnit.newFreeUnit(conf.pid(), e, parents, level, data, conf.digestAlgorithm(), conf.signer());
         assert parentsOnPreviousLevel(u) >= quorum : "Parents: " + Arrays.asList(u.parents()) + " of: " + u
         + " for level: " + (u.level() - 1) + " count: " + parentsOnPreviousLevel(u) + " quorum: " + quorum;
@@ -161,6 +163,16 @@ public class Creator {
         } else {
             log.debug("Created unit: {} on: {}", u, conf.logLabel());
         }
+        if (event.shouldCommit()) {
+            event.creator = u.creator();
+            event.data = data == null ? 0 : data.size();
+            event.epoch = e;
+            event.hash = u.hash().shortString();
+            event.height = u.height();
+            event.label = conf.label();
+            event.level = level;
+            event.commit();
+        }
         update(u);
         send.accept(u);
     }
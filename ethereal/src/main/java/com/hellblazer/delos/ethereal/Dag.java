@@ -10,6 +10,7 @@ import com.hellblazer.delos.bloomFilters.BloomFilter;
 import com.hellblazer.delos.bloomFilters.BloomFilter.DigestBloomFilter;
 import com.hellblazer.delos.context.Context;
 import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestMap;
 import com.hellblazer.delos.ethereal.PreUnit.DecodedId;
 import com.hellblazer.delos.ethereal.proto.PreUnit_s;
 import org.slf4j.Logger;
@@ -137,7 +138,7 @@ public interface Dag {
         private final List<Consumer<Unit>>                     postInsert = new ArrayList<>();
         private final List<Consumer<Unit>>                     preInsert  = new ArrayList<>();
         private final ReadWriteLock                            rwLock     = new ReentrantReadWriteLock(true);
-        private final Map<Digest, Unit>                        units      = new HashMap<>();
+        private final Map<Digest, Unit>                        units      = new DigestMap<>();
 
         /**
          * @param config
@@ -255,11 +256,7 @@ public interface Dag {
         @Override
         public void have(DigestBloomFilter biff) {
             read(() -> {
-                units.entrySet()
-                     .stream()
-                     .filter(e -> e.getValue().epoch() == epoch)
-                     .map(e -> e.getKey())
-                     .forEach(d -> biff.add(d));
+                units.values().stream().filter(u -> u.epoch() == epoch).map(Unit::hash).forEach(d -> biff.add(d));
             });
         }
 
@@ -269,6 +266,8 @@ public interface Dag {
                 throw new IllegalStateException(
                 "Invalid insert of: " + v + " into epoch: " + epoch + " on: " + config.logLabel());
             }
+            var event = new EtherealEvents.UnitInsert();
+            event.begin();
             write(() -> {
                 var unit = v.embed(this);
                 for (var hook : preInsert) {
@@ -283,6 +282,15 @@ public interface Dag {
                     hook.accept(unit);
                 }
             });
+            if (event.shouldCommit()) {
+                event.creator = v.creator();
+                event.epoch = epoch;
+                event.hash = v.hash().shortString();
+                event.height = v.height();
+                event.label = config.label();
+                event.level = v.level();
+                event.commit();
+            }
         }
 
         @Override
@@ -355,22 +363,22 @@ public interface Dag {
         @Override
         public void missing(BloomFilter<Digest> have, List<PreUnit_s> missing) {
             read(() -> {
-                units.entrySet().forEach(e -> {
-                    if (!have.contains(e.getKey())) {
-                        missing.add(e.getValue().toPreUnit_s());
+                for (var u : units.values()) {
+                    if (!have.contains(u.hash())) {
+                        missing.add(u.toPreUnit_s());
                     }
-                });
+                }
             });
         }
 
         @Override
         public void missing(BloomFilter<Digest> have, Map<Digest, PreUnit_s> missing) {
             read(() -> {
-                units.entrySet().forEach(e -> {
-                    if (e.getValue().epoch() == epoch && !have.contains(e.getKey())) {
-                        missing.computeIfAbsent(e.getKey(), h -> e.getValue().toPreUnit_s());
+                for (var u : units.values()) {
+                    if (u.epoch() == epoch && !have.contains(u.hash())) {
+                        missing.computeIfAbsent(u.hash(), h -> u.toPreUnit_s());
                     }
-                });
+                }
             });
         }
 
@@ -13,6 +13,7 @@ import com.hellblazer.delos.ethereal.EpochProofBuilder.epochProofImpl;
 import com.hellblazer.delos.ethereal.EpochProofBuilder.sharesDB;
 import com.hellblazer.delos.ethereal.linear.Extender;
 import com.hellblazer.delos.ethereal.linear.TimingRound;
+import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetrics;
 import com.hellblazer.delos.ethereal.proto.Gossip;
 import com.hellblazer.delos.ethereal.proto.Missing;
 import com.hellblazer.delos.ethereal.proto.Update;
@@ -41,18 +42,26 @@ public class Ethereal {
     private final        Set<Digest>                     failed       = new ConcurrentSkipListSet<>();
     private final        Queue<Unit>                     lastTiming;
     private final        int                             maxSerializedSize;
+    private final        EtherealMetrics                 metrics;
     private final        Consumer<Integer>               newEpochAction;
     private final        AtomicBoolean                   started      = new AtomicBoolean();
     private final        BiConsumer<Boolean, List<Unit>> toPreblock;
     private volatile     boolean                         completeIt   = false;
+    private volatile     Consumer<Update>                pusher;
 
     public Ethereal(Config config, int maxSerializedSize, DataSource ds, BiConsumer<List<ByteString>, Boolean> blocker,
                     Consumer<Integer> newEpochAction, String label) {
-        this(label, config, maxSerializedSize, ds, blocker(blocker, config), newEpochAction);
+        this(config, maxSerializedSize, ds, blocker, newEpochAction, label, null);
+    }
+
+    public Ethereal(Config config, int maxSerializedSize, DataSource ds, BiConsumer<List<ByteString>, Boolean> blocker,
+                    Consumer<Integer> newEpochAction, String label, EtherealMetrics metrics) {
+        this(label, config, maxSerializedSize, ds, blocker(blocker, config), newEpochAction, metrics);
     }
 
     private Ethereal(String label, Config conf, int maxSerializedSize, DataSource ds,
-                     BiConsumer<Boolean, List<Unit>> toPreblock, Consumer<Integer> newEpochAction) {
+                     BiConsumer<Boolean, List<Unit>> toPreblock, Consumer<Integer> newEpochAction,
+                     EtherealMetrics metrics) {
         if (!Dag.validate(conf.nProc())) {
             throw new IllegalArgumentException("Invalid # of processes, unable to build quorum: " + conf.nProc());
         }
@@ -61,6 +70,7 @@ public class Ethereal {
         this.toPreblock = toPreblock;
         this.newEpochAction = newEpochAction;
         this.maxSerializedSize = maxSerializedSize;
+        this.metrics = metrics;
         this.consumer = consumer(label);
 
         creator = new Creator(config, ds, lastTiming, u -> {
@@ -189,6 +199,11 @@ public class Ethereal {
                 return builder.build();
             }
 
+            @Override
+            public void onProduced(Consumer<Update> p) {
+                pusher = p;
+            }
+
             @Override
             public void updateFrom(Update update) {
                 final var current = currentEpoch.get();
@@ -261,7 +276,7 @@ public class Ethereal {
             }
 
         });
-        final var adder = new Adder(epoch, dg, maxSerializedSize, config, failed);
+        final var adder = new Adder(epoch, dg, maxSerializedSize, config, failed, metrics);
         return new epoch(epoch, dg, adder, new AtomicBoolean(true));
     }
 
@@ -319,8 +334,12 @@ public class Ethereal {
         }
         var ep = retrieveEpoch(unit);
         if (ep != null) {
-            ep.adder().produce(unit);
+            var push = ep.adder().produce(unit);
             log.debug("Produced: {} {}", unit, config.logLabel());
+            final var p = pusher;
+            if (push != null && p != null) {
+                p.accept(Update.newBuilder().addMissings(push).build());
+            }
         } else {
             log.trace("Unable to retrieve epic for Unit creator: {} epoch: {} height: {} level: {} on: {}",
                       unit.creator(), unit.epoch(), unit.height(), unit.level(), config.logLabel());
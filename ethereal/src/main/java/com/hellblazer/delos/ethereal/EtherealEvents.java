@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.ethereal;
+
+import com.hellblazer.delos.utils.DelosEvents;
+import jdk.jfr.*;
+
+import static com.hellblazer.delos.utils.DelosEvents.DELOS;
+
+/**
+ * The JDK Flight Recorder events of Ethereal, see {@link DelosEvents}. Units are correlated by their epoch, creator,
+ * height and hash.
+ *
+ * @author hal.hildebrand
+ */
+public final class EtherealEvents {
+    public static final String CATEGORY = "Ethereal";
+
+    private EtherealEvents() {
+    }
+
+    @Name("com.hellblazer.delos.ethereal.UnitCreate")
+    @Label("Unit Create")
+    @Category({ DELOS, CATEGORY })
+    @Description("Creation and signing of a unit by this process")
+    public static final class UnitCreate extends Event {
+        @Label("Creator")
+        public short  creator;
+        @Label("Data Size")
+        public int    data;
+        @Label("Epoch")
+        public int    epoch;
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public int    height;
+        @Label("Label")
+        public String label;
+        @Label("Level")
+        public int    level;
+    }
+
+    @Name("com.hellblazer.delos.ethereal.UnitInsert")
+    @Label("Unit Insert")
+    @Category({ DELOS, CATEGORY })
+    @Description("Insertion of a unit into the dag of an epoch")
+    public static final class UnitInsert extends Event {
+        @Label("Creator")
+        public short  creator;
+        @Label("Epoch")
+        public int    epoch;
+        @Label("Hash")
+        public String hash;
+        @Label("Height")
+        public int    height;
+        @Label("Label")
+        public String label;
+        @Label("Level")
+        public int    level;
+    }
+}
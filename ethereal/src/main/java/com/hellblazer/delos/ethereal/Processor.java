@@ -11,6 +11,8 @@ import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.ethereal.proto.Gossip;
 import com.hellblazer.delos.ethereal.proto.Update;
 
+import java.util.function.Consumer;
+
 /**
  * @author hal.hildebrand
  */
@@ -47,4 +49,14 @@ public interface Processor {
      * @param update - the Update from our partner
      */
     void updateFrom(Update update);
+
+    /**
+     * Register the consumer of the eager push of the units created by the receiver. Each created unit is supplied,
+     * with the receiver's prevote and commit, as soon as it is produced. The gossip remains the anti-entropy for the
+     * pushes that are lost
+     *
+     * @param pusher - the consumer of the eager push Update, or null to deregister
+     */
+    default void onProduced(Consumer<Update> pusher) {
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.ethereal;
+
+import com.hellblazer.delos.cryptography.proto.Sig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The signatures of the units, prevotes or commits already known to the Adder of an epoch. The same items arrive from
+ * many gossip partners, and the filter recognizes the duplicates from the raw signature bytes alone - without
+ * converting the signature, computing its digest or taking the Adder's lock. Signatures are indexed by a cheap
+ * fingerprint, and a duplicate is only recognized if its signature is identical to the known signature, so a collision
+ * of fingerprints never drops an item.
+ * <p>
+ * The Adder identifies units, prevotes and commits by the digest of their signature, so an item carrying a known
+ * signature is already a no op for the Adder, which the filter merely short circuits.
+ *
+ * @author hal.hildebrand
+ */
+class SignatureFilter {
+    private final Map<Long, Sig> known = new ConcurrentHashMap<>();
+
+    /**
+     * @return a fingerprint of the signature, computed from the raw signature bytes
+     */
+    static long fingerprint(Sig signature) {
+        long h = signature.getCode() * 31L + signature.getSequenceNumber();
+        for (int i = 0; i < signature.getSignaturesCount(); i++) {
+            h = h * 31L + signature.getSignatures(i).hashCode();
+        }
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Record the signature as known
+     */
+    void add(Sig signature) {
+        known.putIfAbsent(fingerprint(signature), signature);
+    }
+
+    void clear() {
+        known.clear();
+    }
+
+    /**
+     * @return true if the signature is known
+     */
+    boolean contains(Sig signature) {
+        var existing = known.get(fingerprint(signature));
+        return existing != null && existing.equals(signature);
+    }
+}
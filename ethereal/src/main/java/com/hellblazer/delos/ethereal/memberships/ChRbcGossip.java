@@ -27,12 +27,18 @@ import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
@@ -42,11 +48,18 @@ import static com.hellblazer.delos.ethereal.memberships.comm.GossiperClient.getC
 /**
  * Handles the gossip propagation of proposals, the commits and preVotes from this node, and the notification of the
  * Adder of such events from other nodes.
+ * <p>
+ * The units created by this node are eagerly pushed, with this node's prevote and commit, to the ring successors of
+ * this node as soon as they are produced. The pushes fan out to the first f + 1 successors on the ring of the member
+ * ids - f being the byzantine tolerance of the membership - so that at least one correct member receives each push,
+ * and are sent by a bounded executor, dropping the pushes that exceed its backlog. The pull gossip is the
+ * anti-entropy for the pushes that are lost.
  *
  * @author hal.hildebrand
  */
 public class ChRbcGossip {
-    private static final Logger log = LoggerFactory.getLogger(ChRbcGossip.class);
+    private static final Logger log          = LoggerFactory.getLogger(ChRbcGossip.class);
+    private static final int    PUSH_BACKLOG = 16;
 
     private final    CommonCommunications<Gossiper, GossiperService> comm;
     private final    Digest                                          id;
@@ -54,9 +67,11 @@ public class ChRbcGossip {
     private final    EtherealMetrics                                 metrics;
     private final    Processor                                       processor;
     private final    SliceIterator<Gossiper>                         ring;
+    private final    List<Member>                                    successors;
     private final    AtomicBoolean                                   started  = new AtomicBoolean();
     private final    Terminal                                        terminal = new Terminal();
     private final    ScheduledExecutorService                        scheduler;
+    private volatile ThreadPoolExecutor                              pushes;
     private volatile ScheduledFuture<?>                              scheduled;
 
     public ChRbcGossip(Digest id, SigningMember member, Collection<Member> membership, Processor processor,
@@ -71,6 +86,7 @@ public class ChRbcGossip {
                                      getCreate(metrics), Gossiper.getLocalLoopback(member));
         ring = new SliceIterator<>("ChRbcGossip[%s on: %s]".formatted(id, member.getId()), member, membership, comm,
                                    scheduler);
+        successors = successors(member, membership);
     }
 
     /**
@@ -90,6 +106,8 @@ public class ChRbcGossip {
         Duration initialDelay = duration.plusMillis(Entropy.nextBitsStreamLong(duration.toMillis()));
         log.trace("Starting GossipService[{}] on: {}", id, member.getId());
         comm.register(id, terminal, validator);
+        pushes = pushes("%s on: %s".formatted(id, member.getId()), successors.size());
+        processor.onProduced(this::push);
         try {
             scheduler.schedule(() -> Thread.ofVirtual().start(Utils.wrapped(() -> {
                 try {
@@ -113,6 +131,12 @@ public class ChRbcGossip {
             return;
         }
         log.trace("Stopping GossipService [{}] for {}", id, member.getId());
+        processor.onProduced(null);
+        final var executor = pushes;
+        pushes = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         comm.deregister(id);
         final var current = scheduled;
         scheduled = null;
@@ -121,6 +145,39 @@ public class ChRbcGossip {
         }
     }
 
+    /**
+     * @return the bounded executor of the pushes to the successors, dropping the pushes that exceed its backlog
+     */
+    private static ThreadPoolExecutor pushes(String label, int fanout) {
+        var threads = Math.max(1, fanout);
+        var executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                                              new ArrayBlockingQueue<>(threads * PUSH_BACKLOG),
+                                              Thread.ofVirtual().name("ChRbcGossip push[" + label + "]").factory(),
+                                              (r, t) -> log.trace("Push backlog full, dropping push: {}", label));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return the first f + 1 of the other members of the membership, in ring order of their ids following the member,
+     * where f is the byzantine tolerance of the membership
+     */
+    private static List<Member> successors(Member member, Collection<Member> membership) {
+        var sorted = membership.stream()
+                               .filter(m -> !m.getId().equals(member.getId()))
+                               .sorted(Comparator.comparing(Member::getId))
+                               .toList();
+        int start = 0;
+        while (start < sorted.size() && sorted.get(start).getId().compareTo(member.getId()) < 0) {
+            start++;
+        }
+        var successors = new ArrayList<Member>(sorted.size());
+        successors.addAll(sorted.subList(start, sorted.size()));
+        successors.addAll(sorted.subList(0, start));
+        var fanout = Math.min(successors.size(), (membership.size() - 1) / 3 + 1);
+        return List.copyOf(successors.subList(0, fanout));
+    }
+
     private void gossip(Duration frequency, ScheduledExecutorService scheduler) {
         if (!started.get()) {
             return;
@@ -197,6 +254,40 @@ public class ChRbcGossip {
         }
     }
 
+    /**
+     * Eagerly push the update of a unit produced by this node to the ring successors, using the final phase of the
+     * gossip
+     */
+    private void push(Update update) {
+        final var executor = pushes;
+        if (!started.get() || executor == null) {
+            return;
+        }
+        var push = ContextUpdate.newBuilder().setUpdate(update).build();
+        for (var successor : successors) {
+            executor.execute(Utils.wrapped(() -> push(successor, push), log));
+        }
+    }
+
+    private void push(Member successor, ContextUpdate push) {
+        if (!started.get()) {
+            return;
+        }
+        try (var link = comm.connect(successor)) {
+            if (link == null) {
+                return;
+            }
+            log.trace("pushing[{}] to: {} on: {}", id, successor.getId(), member.getId());
+            link.update(push);
+        } catch (StatusRuntimeException e) {
+            log.debug("pushing[{}] failed: {} to: {} on: {}", id, e.getMessage(), successor.getId(), member.getId());
+        } catch (IOException e) {
+            log.debug("Error closing", e);
+        } catch (Throwable e) {
+            log.warn("pushing[{}] to: {} failed on: {}", id, successor.getId(), member.getId(), e);
+        }
+    }
+
     /**
      * The Service implementing the 3-phase gossip
      */
@@ -7,6 +7,7 @@
 package com.hellblazer.delos.ethereal.memberships.comm;
 
 import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.hellblazer.delos.protocols.EndpointMetrics;
 
@@ -16,6 +17,21 @@ import com.hellblazer.delos.protocols.EndpointMetrics;
  */
 public interface EtherealMetrics extends EndpointMetrics {
 
+    /**
+     * Commits received in updates that were dropped as duplicates of known commits
+     */
+    Meter duplicateCommits();
+
+    /**
+     * Prevotes received in updates that were dropped as duplicates of known prevotes
+     */
+    Meter duplicatePrevotes();
+
+    /**
+     * Units received in updates that were dropped as duplicates of known units
+     */
+    Meter duplicateUnits();
+
     Histogram gossipReply();
 
     Histogram gossipResponse();
@@ -26,6 +42,21 @@ public interface EtherealMetrics extends EndpointMetrics {
 
     Timer inboundGossipTimer();
 
+    /**
+     * Commits received in updates
+     */
+    Meter inboundCommits();
+
+    /**
+     * Prevotes received in updates
+     */
+    Meter inboundPrevotes();
+
+    /**
+     * Units received in updates
+     */
+    Meter inboundUnits();
+
     Histogram inboundUpdate();
 
     Timer inboundUpdateTimer();
@@ -9,7 +9,9 @@ package com.hellblazer.delos.ethereal.memberships.comm;
 import static com.codahale.metrics.MetricRegistry.name;
 
 import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.Timer;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.protocols.EndpointMetrics;
@@ -20,11 +22,17 @@ import com.hellblazer.delos.protocols.EndpointMetricsImpl;
  *
  */
 public class EtherealMetricsImpl extends EndpointMetricsImpl implements EtherealMetrics, EndpointMetrics {
+    private final Meter     duplicateCommits;
+    private final Meter     duplicatePrevotes;
+    private final Meter     duplicateUnits;
     private final Histogram gossipReply;
     private final Histogram gossipResponse;
     private final Timer     gossipRoundDuration;
+    private final Meter     inboundCommits;
     private final Histogram inboundGossip;
     private final Timer     inboundGossipTimer;
+    private final Meter     inboundPrevotes;
+    private final Meter     inboundUnits;
     private final Histogram inboundUpdate;
     private final Timer     inboundUpdateTimer;
     private final Histogram outboundGossip;
@@ -50,6 +58,47 @@ public class EtherealMetricsImpl extends EndpointMetricsImpl implements Ethereal
 
         gossipRoundDuration = registry.timer(name(context.shortString(), system, "ethereal.gossip.round.duration"));
 
+        inboundUnits = registry.meter(name(context.shortString(), system, "ethereal.update.units.inbound"));
+        duplicateUnits = registry.meter(name(context.shortString(), system, "ethereal.update.units.duplicate"));
+        registry.gauge(name(context.shortString(), system, "ethereal.update.units.duplicate.ratio"),
+                       () -> ratio(duplicateUnits, inboundUnits));
+
+        inboundPrevotes = registry.meter(name(context.shortString(), system, "ethereal.update.prevotes.inbound"));
+        duplicatePrevotes = registry.meter(name(context.shortString(), system, "ethereal.update.prevotes.duplicate"));
+        registry.gauge(name(context.shortString(), system, "ethereal.update.prevotes.duplicate.ratio"),
+                       () -> ratio(duplicatePrevotes, inboundPrevotes));
+
+        inboundCommits = registry.meter(name(context.shortString(), system, "ethereal.update.commits.inbound"));
+        duplicateCommits = registry.meter(name(context.shortString(), system, "ethereal.update.commits.duplicate"));
+        registry.gauge(name(context.shortString(), system, "ethereal.update.commits.duplicate.ratio"),
+                       () -> ratio(duplicateCommits, inboundCommits));
+    }
+
+    /**
+     * @return the gauge of the fraction of the inbound items dropped as duplicates over the last minute
+     */
+    private static RatioGauge ratio(Meter duplicates, Meter inbound) {
+        return new RatioGauge() {
+            @Override
+            protected Ratio getRatio() {
+                return Ratio.of(duplicates.getOneMinuteRate(), inbound.getOneMinuteRate());
+            }
+        };
+    }
+
+    @Override
+    public Meter duplicateCommits() {
+        return duplicateCommits;
+    }
+
+    @Override
+    public Meter duplicatePrevotes() {
+        return duplicatePrevotes;
+    }
+
+    @Override
+    public Meter duplicateUnits() {
+        return duplicateUnits;
     }
 
     @Override
@@ -77,6 +126,21 @@ public class EtherealMetricsImpl extends EndpointMetricsImpl implements Ethereal
         return inboundGossipTimer;
     }
 
+    @Override
+    public Meter inboundCommits() {
+        return inboundCommits;
+    }
+
+    @Override
+    public Meter inboundPrevotes() {
+        return inboundPrevotes;
+    }
+
+    @Override
+    public Meter inboundUnits() {
+        return inboundUnits;
+    }
+
     @Override
     public Histogram inboundUpdate() {
         return inboundUpdate;
@@ -14,10 +14,14 @@ import com.hellblazer.delos.archipelago.LocalServer;
 import com.hellblazer.delos.archipelago.Router;
 import com.hellblazer.delos.archipelago.ServerConnectionCache;
 import com.hellblazer.delos.context.DynamicContext;
+import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.cryptography.Signer;
 import com.hellblazer.delos.ethereal.memberships.ChRbcGossip;
 import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetricsImpl;
+import com.hellblazer.delos.ethereal.proto.Gossip;
+import com.hellblazer.delos.ethereal.proto.PreUnit_s;
+import com.hellblazer.delos.ethereal.proto.Update;
 import com.hellblazer.delos.membership.Member;
 import com.hellblazer.delos.membership.SigningMember;
 import com.hellblazer.delos.membership.stereotomy.ControlledIdentifierMember;
@@ -37,10 +41,11 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author hal.hildebrand
@@ -76,6 +81,86 @@ public class EtherealTest {
         }
     }
 
+    @Test
+    public void push() throws Exception {
+        var entropy = SecureRandom.getInstance("SHA1PRNG");
+        entropy.setSeed(new byte[] { 6, 6, 6 });
+        var stereotomy = new StereotomyImpl(new MemKeyStore(), new MemKERL(DigestAlgorithm.DEFAULT), entropy);
+        List<Member> members = IntStream.range(0, (short) NPROC)
+                                        .mapToObj(i -> stereotomy.newIdentifier())
+                                        .map(ControlledIdentifierMember::new)
+                                        .map(e -> (Member) e)
+                                        .toList();
+        var contextId = DigestAlgorithm.DEFAULT.getOrigin();
+        var prefix = UUID.randomUUID().toString();
+
+        // The f + 1 ring successors of the pushing member receive the push
+        var fanout = (NPROC - 1) / 3 + 1;
+        var received = new CountDownLatch(fanout);
+        var receivers = new CopyOnWriteArrayList<Member>();
+        var updates = new CopyOnWriteArrayList<Update>();
+        var pusher = new AtomicReference<Consumer<Update>>();
+
+        List<ChRbcGossip> gossipers = new ArrayList<>();
+        List<Router> comms = new ArrayList<>();
+        for (var member : members) {
+            var com = new LocalServer(prefix, member).router(ServerConnectionCache.newBuilder());
+            comms.add(com);
+            var processor = new Processor() {
+                @Override
+                public Gossip gossip(Digest context) {
+                    return Gossip.getDefaultInstance();
+                }
+
+                @Override
+                public Update gossip(Gossip gossip) {
+                    return Update.getDefaultInstance();
+                }
+
+                @Override
+                public void onProduced(Consumer<Update> p) {
+                    if (member == members.get(0) && p != null) {
+                        pusher.set(p);
+                    }
+                }
+
+                @Override
+                public Update update(Update update) {
+                    return Update.getDefaultInstance();
+                }
+
+                @Override
+                public void updateFrom(Update update) {
+                    receivers.add(member);
+                    updates.add(update);
+                    received.countDown();
+                }
+            };
+            gossipers.add(new ChRbcGossip(contextId, (SigningMember) member, members, processor, com, null,
+                                          Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory())));
+        }
+        try {
+            comms.forEach(Router::start);
+            // Pull gossip is not reached within the test
+            gossipers.forEach(e -> e.start(Duration.ofHours(1)));
+
+            var update = Update.newBuilder()
+                               .addMissing(PreUnit_s.newBuilder().setId(1).setData(ByteString.copyFromUtf8("pushed")))
+                               .build();
+            assertNotNull(pusher.get());
+            pusher.get().accept(update);
+
+            assertTrue(received.await(10, TimeUnit.SECONDS), "Push not received");
+            Thread.sleep(100);
+            assertEquals(fanout, receivers.size(), "Push not bounded to the fanout: " + receivers);
+            assertFalse(receivers.contains(members.get(0)));
+            updates.forEach(u -> assertEquals(update, u));
+        } finally {
+            gossipers.forEach(ChRbcGossip::stop);
+            comms.forEach(e -> e.close(Duration.ofSeconds(0)));
+        }
+    }
+
     @Test
     public void unbounded() throws NoSuchAlgorithmException, InterruptedException, InvalidProtocolBufferException {
         final var gossipPeriod = Duration.ofMillis(5);
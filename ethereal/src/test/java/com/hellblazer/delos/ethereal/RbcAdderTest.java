@@ -6,10 +6,13 @@
  */
 package com.hellblazer.delos.ethereal;
 
+import com.codahale.metrics.MetricRegistry;
 import com.hellblazer.delos.context.DynamicContext;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.ethereal.Adder.State;
 import com.hellblazer.delos.ethereal.Dag.DagImpl;
+import com.hellblazer.delos.ethereal.memberships.comm.EtherealMetricsImpl;
+import com.hellblazer.delos.ethereal.proto.Missing;
 import com.hellblazer.delos.membership.SigningMember;
 import com.hellblazer.delos.membership.stereotomy.ControlledIdentifierMember;
 import com.hellblazer.delos.stereotomy.StereotomyImpl;
@@ -73,7 +76,13 @@ public class RbcAdderTest {
 
         // PID 0
         var u = unit(0, 0);
-        adder.produce(u);
+        var push = adder.produce(u);
+        assertNotNull(push);
+        assertEquals(0, push.getEpoch());
+        assertEquals(1, push.getUnitsCount());
+        assertEquals(u.toPreUnit_s(), push.getUnits(0));
+        assertEquals(1, push.getPrevotesCount());
+        assertEquals(1, push.getCommitsCount());
         adder.prevote(u.hash(), (short) 1);
         adder.prevote(u.hash(), (short) 2);
         adder.prevote(u.hash(), (short) 3);
@@ -82,6 +91,8 @@ public class RbcAdderTest {
 
         assertEquals(0, adder.getPrevotes().size());
         assertEquals(0, adder.getCommits().size());
+        assertNotNull(dag.get(u.hash()));
+        assertNull(adder.produce(u), "Duplicate units are not pushed");
 
         // PID 1
         u = unit(1, 0);
@@ -233,6 +244,32 @@ public class RbcAdderTest {
         assertNotNull(dag.get(prime.hash()));
     }
 
+    @Test
+    public void duplicateUpdates() throws Exception {
+        final var dag = new DagImpl(config, 0);
+        var metrics = new EtherealMetricsImpl(DigestAlgorithm.DEFAULT.getOrigin(), "test", new MetricRegistry());
+        var adder = new Adder(0, dag, 1024 * 1024, config, new ConcurrentSkipListSet<>(), metrics);
+
+        var u = unit(1, 0);
+        var prevote = Adder.prevote(u.id(), u.hash(), (short) 1, members.get(1), config.digestAlgorithm());
+        var update = Missing.newBuilder().setEpoch(0).addUnits(u.toPreUnit_s()).addPrevotes(prevote.signed()).build();
+
+        adder.updateFrom(update);
+        assertEquals(State.PREVOTED, adder.getWaiting().get(u.hash()).state());
+        assertEquals(2, adder.getPrevotes().get(u.hash()).size());
+        assertEquals(0, metrics.duplicateUnits().getCount());
+        assertEquals(0, metrics.duplicatePrevotes().getCount());
+
+        // The same update from another gossip partner
+        adder.updateFrom(update);
+        assertEquals(1, adder.getWaiting().size());
+        assertEquals(2, adder.getPrevotes().get(u.hash()).size());
+        assertEquals(2, metrics.inboundUnits().getCount());
+        assertEquals(1, metrics.duplicateUnits().getCount());
+        assertEquals(2, metrics.inboundPrevotes().getCount());
+        assertEquals(1, metrics.duplicatePrevotes().getCount());
+    }
+
     @Test
     public void round3() throws Exception {
         final var dag = new DagImpl(config, 0);
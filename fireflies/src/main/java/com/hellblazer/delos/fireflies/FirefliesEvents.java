@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.fireflies;
+
+import com.hellblazer.delos.utils.DelosEvents;
+import jdk.jfr.*;
+
+import static com.hellblazer.delos.utils.DelosEvents.DELOS;
+
+/**
+ * The JDK Flight Recorder events of Fireflies, see {@link DelosEvents}. Gossip is correlated by the view id and ring.
+ *
+ * @author hal.hildebrand
+ */
+public final class FirefliesEvents {
+    public static final String CATEGORY = "Fireflies";
+
+    private FirefliesEvents() {
+    }
+
+    @Name("com.hellblazer.delos.fireflies.GossipRound")
+    @Label("Gossip Round")
+    @Category({ DELOS, CATEGORY })
+    @Description("A round of gossip with the successor on a ring, including the processing of the reply")
+    public static final class GossipRound extends Event {
+        @Label("Member")
+        public String  member;
+        @Label("Replied")
+        public boolean replied;
+        @Label("Ring")
+        public int     ring;
+        @Label("Successor")
+        public String  successor;
+        @Label("View")
+        public String  view;
+    }
+}
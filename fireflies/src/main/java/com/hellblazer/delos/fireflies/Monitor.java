@@ -41,9 +41,9 @@ public class Monitor {
         try {
             resynchronize();
             monitorOnce();
-            var now = System.currentTimeMillis();
+            var phis = PhiAccrualFailureDetector.phi(monitored, State::fd, System.currentTimeMillis());
             for (var e : monitored.entrySet()) {
-                if (!e.getValue().fd.isAvailable(now)) {
+                if (phis.get(e.getKey()) >= e.getValue().fd.getThreshold()) {
                     view.accuse(e.getKey(), e.getValue().ring, new Phailure(e.getKey().getId()));
                 }
             }
@@ -52,6 +52,18 @@ public class Monitor {
         }
     }
 
+    /**
+     * @return the phi of all the monitored members, computed at the same instant
+     */
+    public Map<View.Participant, Double> phi() {
+        cycleLock.lock();
+        try {
+            return PhiAccrualFailureDetector.phi(monitored, State::fd, System.currentTimeMillis());
+        } finally {
+            cycleLock.unlock();
+        }
+    }
+
     private void handleSre(int ring, StatusRuntimeException sre, View.Participant p) {
         switch (sre.getStatus().getCode()) {
         case PERMISSION_DENIED:
@@ -16,11 +16,10 @@
 
 package com.hellblazer.delos.fireflies;
 
-import java.util.LinkedList;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 /**
  * This is a port of <a
@@ -36,14 +35,17 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *
  * {{{ φ = -log10(1 - F(timeSinceLastHeartbeat) }}} where F is the cumulative distribution function of a normal
  * distribution with mean and standard deviation estimated from historical heartbeat inter-arrival times.
+ *
+ * The detector is lock free. The heartbeat history is held in an immutable Snapshot, which maintains the running sum
+ * and sum of squares of the inter-arrival times in primitive fields and precomputes the mean and standard deviation.
+ * Heartbeats publish a new Snapshot by compare and set, so computing phi is a single volatile read and no
+ * allocation.
  */
 public class PhiAccrualFailureDetector {
-    private final ReadWriteLock         lock                = new ReentrantReadWriteLock();
-    private final double                threshold;
-    private final double                minStdDeviationMillis;
-    private final long                  acceptableHeartbeatPauseMillis;
-    private final HeartbeatHistory      heartbeatHistory;
-    private final AtomicReference<Long> lastTimestampMillis = new AtomicReference<Long>();
+    private final long                      acceptableHeartbeatPauseMillis;
+    private final AtomicReference<Snapshot> history;
+    private final double                    minStdDeviationMillis;
+    private final double                    threshold;
 
     /**
      * @param threshold                      A low threshold is prone to generate many wrong suspicions but ensures a
@@ -87,24 +89,37 @@ public class PhiAccrualFailureDetector {
         this.acceptableHeartbeatPauseMillis = acceptableHeartbeatPauseMillis;
 
         long stdDeviationMillis = firstHeartbeatEstimateMillis / 4;
-        heartbeatHistory = new HeartbeatHistory(maxSampleSize);
-        heartbeatHistory.add(firstHeartbeatEstimateMillis - stdDeviationMillis)
-                        .add(firstHeartbeatEstimateMillis + stdDeviationMillis);
+        history = new AtomicReference<>(
+        new Snapshot(this, maxSampleSize).add(firstHeartbeatEstimateMillis - stdDeviationMillis)
+                                         .add(firstHeartbeatEstimateMillis + stdDeviationMillis));
+    }
+
+    /**
+     * Compute phi of all the monitored members at the same instant
+     *
+     * @param monitored       - the monitored members
+     * @param detector        - the failure detector of a monitored member
+     * @param timestampMillis - the instant to compute phi
+     * @return the phi of each monitored member
+     */
+    public static <K, V> Map<K, Double> phi(Map<K, V> monitored,
+                                            Function<? super V, PhiAccrualFailureDetector> detector,
+                                            long timestampMillis) {
+        var phis = new HashMap<K, Double>((int) (monitored.size() / 0.75f) + 1);
+        monitored.forEach((k, v) -> phis.put(k, detector.apply(v).phi(timestampMillis)));
+        return phis;
+    }
+
+    public double getThreshold() {
+        return threshold;
     }
 
     public void heartbeat(long timestampMillis) {
-        final var lock = this.lock.writeLock();
-        lock.lock();
-        try {
-            Long lastTimestampMillis = this.lastTimestampMillis.getAndSet(timestampMillis);
-            if (lastTimestampMillis != null) {
-                long interval = timestampMillis - lastTimestampMillis;
-                if (isAvailable(timestampMillis)) {
-                    heartbeatHistory.add(interval);
-                }
+        while (true) {
+            var current = history.get();
+            if (history.compareAndSet(current, current.heartbeat(timestampMillis))) {
+                return;
             }
-        } finally {
-            lock.unlock();
         }
     }
 
@@ -121,42 +136,18 @@ public class PhiAccrualFailureDetector {
     }
 
     public double phi(long timestampMillis) {
-        final var lock = this.lock.readLock();
-        lock.lock();
-        try {
-            Long lastTimestampMillis = this.lastTimestampMillis.get();
-            if (lastTimestampMillis == null) {
-                return 0.0;
-            }
-
-            long timeDiffMillis = timestampMillis - lastTimestampMillis;
-            double meanMillis = heartbeatHistory.mean() + acceptableHeartbeatPauseMillis;
-            double stdDeviationMillis = ensureValidStdDeviation(heartbeatHistory.stdDeviation());
-
-            double y = (timeDiffMillis - meanMillis) / stdDeviationMillis;
-            double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
-            if (timeDiffMillis > meanMillis) {
-                return -Math.log10(e / (1.0 + e));
-            } else {
-                return -Math.log10(1.0 - 1.0 / (1.0 + e));
-            }
-        } finally {
-            lock.unlock();
-        }
+        return history.get().phi(timestampMillis);
     }
 
     public double phi() {
-        var lock = this.lock.readLock();
-        lock.lock();
-        try {
-            return phi(System.currentTimeMillis());
-        } finally {
-            lock.unlock();
-        }
+        return phi(System.currentTimeMillis());
     }
 
-    private double ensureValidStdDeviation(double stdDeviationMillis) {
-        return Math.max(stdDeviationMillis, minStdDeviationMillis);
+    /**
+     * @return the current immutable snapshot of the heartbeat history
+     */
+    public Snapshot snapshot() {
+        return history.get();
     }
 
     public static class Builder {
@@ -197,45 +188,114 @@ public class PhiAccrualFailureDetector {
         }
     }
 
-    private static class HeartbeatHistory {
-        private final int              maxSampleSize;
-        private final LinkedList<Long> intervals          = new LinkedList<Long>();
-        private final AtomicLong       intervalSum        = new AtomicLong();
-        private final AtomicLong       squaredIntervalSum = new AtomicLong();
+    /**
+     * An immutable snapshot of the heartbeat history: the last heartbeat and a bounded window of inter-arrival times,
+     * with their running sums and the derived mean and standard deviation
+     */
+    public static final class Snapshot {
+        private static final long NONE = Long.MIN_VALUE;
+
+        private final PhiAccrualFailureDetector detector;
+        private final int                       count;
+        private final int                       head;
+        private final long[]                    intervals;
+        private final long                      intervalSum;
+        private final long                      lastTimestampMillis;
+        private final double                    meanMillis;
+        private final long                      squaredIntervalSum;
+        private final double                    stdDeviationMillis;
 
-        public HeartbeatHistory(int maxSampleSize) {
-            if (maxSampleSize < 1) {
-                throw new IllegalArgumentException("maxSampleSize must be >= 1, got " + maxSampleSize);
-            }
-            this.maxSampleSize = maxSampleSize;
+        private Snapshot(PhiAccrualFailureDetector detector, int maxSampleSize) {
+            this(detector, new long[maxSampleSize], 0, 0, 0, 0, NONE);
         }
 
-        public HeartbeatHistory add(long interval) {
-            if (intervals.size() >= maxSampleSize) {
-                Long dropped = intervals.pollFirst();
-                intervalSum.addAndGet(-dropped);
-                squaredIntervalSum.addAndGet(-pow2(dropped));
+        private Snapshot(PhiAccrualFailureDetector detector, long[] intervals, int head, int count, long intervalSum,
+                         long squaredIntervalSum, long lastTimestampMillis) {
+            this.detector = detector;
+            this.intervals = intervals;
+            this.head = head;
+            this.count = count;
+            this.intervalSum = intervalSum;
+            this.squaredIntervalSum = squaredIntervalSum;
+            this.lastTimestampMillis = lastTimestampMillis;
+            if (count == 0) {
+                meanMillis = 0.0;
+                stdDeviationMillis = detector.minStdDeviationMillis;
+            } else {
+                double mean = (double) intervalSum / count;
+                double variance = ((double) squaredIntervalSum / count) - (mean * mean);
+                meanMillis = mean + detector.acceptableHeartbeatPauseMillis;
+                stdDeviationMillis = Math.max(Math.sqrt(variance), detector.minStdDeviationMillis);
             }
-            intervals.add(interval);
-            intervalSum.addAndGet(interval);
-            squaredIntervalSum.addAndGet(pow2(interval));
-            return this;
         }
 
-        public double mean() {
-            return (double) intervalSum.get() / intervals.size();
+        public boolean isAvailable(long timestampMillis) {
+            return phi(timestampMillis) < detector.threshold;
         }
 
-        public double stdDeviation() {
-            return Math.sqrt(variance());
+        /**
+         * @return the timestamp of the last heartbeat, or Long.MIN_VALUE if none
+         */
+        public long lastTimestampMillis() {
+            return lastTimestampMillis;
         }
 
-        public double variance() {
-            return ((double) squaredIntervalSum.get() / intervals.size()) - (mean() * mean());
+        /**
+         * @return the mean inter-arrival time, including the acceptable heartbeat pause
+         */
+        public double meanMillis() {
+            return meanMillis;
         }
 
-        private long pow2(long x) {
-            return x * x;
+        public double phi(long timestampMillis) {
+            if (lastTimestampMillis == NONE) {
+                return 0.0;
+            }
+
+            long timeDiffMillis = timestampMillis - lastTimestampMillis;
+            double y = (timeDiffMillis - meanMillis) / stdDeviationMillis;
+            double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+            if (timeDiffMillis > meanMillis) {
+                return -Math.log10(e / (1.0 + e));
+            } else {
+                return -Math.log10(1.0 - 1.0 / (1.0 + e));
+            }
+        }
+
+        /**
+         * @return the standard deviation of the inter-arrival times, bounded below by the minimum standard deviation
+         */
+        public double stdDeviationMillis() {
+            return stdDeviationMillis;
+        }
+
+        private Snapshot add(long interval) {
+            var next = intervals.clone();
+            var nextHead = head;
+            var nextCount = count;
+            var sum = intervalSum;
+            var squaredSum = squaredIntervalSum;
+            if (count == next.length) {
+                long dropped = next[head];
+                sum -= dropped;
+                squaredSum -= dropped * dropped;
+                next[head] = interval;
+                nextHead = (head + 1) % next.length;
+            } else {
+                next[(head + count) % next.length] = interval;
+                nextCount++;
+            }
+            return new Snapshot(detector, next, nextHead, nextCount, sum + interval, squaredSum + interval * interval,
+                                lastTimestampMillis);
+        }
+
+        private Snapshot heartbeat(long timestampMillis) {
+            var next = new Snapshot(detector, intervals, head, count, intervalSum, squaredIntervalSum,
+                                    timestampMillis);
+            if (lastTimestampMillis != NONE && next.isAvailable(timestampMillis)) {
+                return next.add(timestampMillis - lastTimestampMillis);
+            }
+            return next;
         }
     }
 }
@@ -1050,9 +1050,21 @@ public class View {
             var successors = context.successors(getNodeId(), context::isActive, getNode());
             Collections.shuffle(successors);
             successors.forEach(i -> {
+                var event = new FirefliesEvents.GossipRound();
+                event.begin();
                 var link = comm.connect(i.m());
+                Gossip reply = null;
                 if (link != null) {
-                    gossip(gossip(link, i.ring()), i.m(), link, i.ring());
+                    reply = gossip(link, i.ring());
+                    gossip(reply, i.m(), link, i.ring());
+                }
+                if (event.shouldCommit()) {
+                    event.member = node.getId().shortString();
+                    event.replied = reply != null;
+                    event.ring = i.ring();
+                    event.successor = i.m().getId().shortString();
+                    event.view = currentView().shortString();
+                    event.commit();
                 }
                 try {
                     Thread.sleep(duration.toMillis());
@@ -18,6 +18,10 @@ package com.hellblazer.delos.fireflies;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -70,4 +74,24 @@ public class PhiAccrualFailureDetectorTest {
             assertTrue(failureDetector.isAvailable(timestampMillis));
         }
     }
+
+    @Test
+    public void bulkPhi() {
+        long now = 1420070400000L;
+        var detectors = new HashMap<String, PhiAccrualFailureDetector>();
+        for (int i = 0; i < 10; i++) {
+            var fd = new PhiAccrualFailureDetector.Builder().build();
+            for (int j = 0; j < 20; j++) {
+                fd.heartbeat(now + j * (1000 + i * 100));
+            }
+            detectors.put("member-" + i, fd);
+        }
+        long timestampMillis = now + 25_000;
+        var phis = PhiAccrualFailureDetector.phi(detectors, Function.identity(), timestampMillis);
+        assertEquals(detectors.size(), phis.size());
+        detectors.forEach((member, fd) -> {
+            assertEquals(fd.phi(timestampMillis), phis.get(member));
+            assertEquals(fd.snapshot().phi(timestampMillis), phis.get(member));
+        });
+    }
 }
@@ -31,6 +31,16 @@ public class BlockClock extends Clock {
         this.zoneId = zoneId;
     }
 
+    /**
+     * @return a new clock at the current height and transaction of this clock
+     */
+    public BlockClock copy() {
+        final var copy = new BlockClock(zoneId);
+        copy.height = height;
+        copy.txn = txn;
+        return copy;
+    }
+
     @Override
     public ZoneId getZone() {
         return zoneId;
@@ -11,6 +11,7 @@ import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.leyden.proto.Interval;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -74,6 +75,20 @@ public class CombinedIntervals implements Predicate<Digest> {
                         .collect(Collectors.toList());
     }
 
+    /**
+     * @param summarizer - the function providing the content summary of an interval
+     * @return the intervals, each including the summary of its contents
+     */
+    public List<Interval> toIntervals(Function<KeyInterval, Digest> summarizer) {
+        return intervals.stream()
+                        .map(e -> Interval.newBuilder()
+                                          .setStart(e.getBegin().toDigeste())
+                                          .setEnd(e.getEnd().toDigeste())
+                                          .setSummary(summarizer.apply(e).toDigeste())
+                                          .build())
+                        .collect(Collectors.toList());
+    }
+
     @Override
     public String toString() {
         return "CombinedIntervals [intervals=" + intervals + "]";
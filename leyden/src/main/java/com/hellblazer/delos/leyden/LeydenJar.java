@@ -36,8 +36,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * @author hal.hildebrand
@@ -55,6 +53,7 @@ public class LeydenJar {
     private final SigningMember                                                                member;
     private final MVMap<Digest, Bound>                                                         bottled;
     private final MVMap<Digest, Digest>                                                        digests;
+    private final RangeSummary                                                                 summary;
     private final AtomicBoolean                                                                started   = new AtomicBoolean();
     private final NavigableMap<Digest, List<ConsensusState>>                                   pending   = new ConcurrentSkipListMap<>();
     private final Borders                                                                      borders;
@@ -92,6 +91,7 @@ public class LeydenJar {
                                                                               .valueType(new BoundDatatype()));
         digests = store.openMap(DIGESTS, new MVMap.Builder<Digest, Digest>().keyType(new DigestDatatype(algorithm))
                                                                             .valueType(new DigestDatatype(algorithm)));
+        summary = new RangeSummary(algorithm, digests);
     }
 
     public void bind(Binding bound) {
@@ -216,51 +216,11 @@ public class LeydenJar {
     private void add(Digest hash, Bound bound, Digest digest) {
         var existing = digests.get(hash);
         if (existing == null || !existing.equals(digest)) {
-            bottled.put(hash, bound);
-            digests.put(hash, digest);
+            store(hash, bound, digest);
             log.info("Add: <{}> on: {}", bound.getKey().toStringUtf8(), member.getId());
         }
     }
 
-    private Stream<Digest> bindingsIn(KeyInterval i) {
-        Iterator<Digest> it = new Iterator<Digest>() {
-            private final Iterator<Digest> iterate = bottled.keyIterator(i.getBegin());
-            private       Digest           next;
-
-            {
-                if (iterate.hasNext()) {
-                    next = iterate.next();
-                    if (next.compareTo(i.getEnd()) > 0) {
-                        next = null; // got nothing
-                    }
-                }
-            }
-
-            @Override
-            public boolean hasNext() {
-                return next != null;
-            }
-
-            @Override
-            public Digest next() {
-                var returned = next;
-                next = null;
-                if (returned == null) {
-                    throw new NoSuchElementException();
-                }
-                if (iterate.hasNext()) {
-                    next = iterate.next();
-                    if (next.compareTo(i.getEnd()) > 0) {
-                        next = null; // got nothing
-                    }
-                }
-                return returned;
-            }
-        };
-        Iterable<Digest> iterable = () -> it;
-        return StreamSupport.stream(iterable.spliterator(), false);
-    }
-
     private void failedMajority(CompletableFuture<?> result, int maxAgree) {
         result.completeExceptionally(new NoSuchElementException(
         "Unable to achieve majority read, max: %s required: %s on: %s".formatted(maxAgree, context.majority(),
@@ -312,15 +272,17 @@ public class LeydenJar {
         return max.isEmpty() ? 0 : max.get().getCount();
     }
 
+    /**
+     * Populate the Bloom filter with the cached content digests of the bindings within the key intervals. Only the key
+     * ranges of the intervals are visited, and no binding is rehashed.
+     */
     private Biff populate(long seed, CombinedIntervals keyIntervals) {
-        BloomFilter.DigestBloomFilter bff = new BloomFilter.DigestBloomFilter(seed, Math.max(bottled.size(), 100), fpr);
-        bottled.keyIterator(algorithm.getOrigin()).forEachRemaining(d -> {
-            if (keyIntervals.test(d)) {
-                var bound = bottled.get(d);
-                if (bound != null) {
-                    var digest = algorithm.digest(bound.toByteString());
-                    bff.add(digest);
-                }
+        BloomFilter.DigestBloomFilter bff = new BloomFilter.DigestBloomFilter(seed, Math.max(digests.size(), 100), fpr);
+        keyIntervals.intervals().forEach(i -> {
+            var cursor = digests.cursor(i.getBegin(), i.getEnd(), false);
+            while (cursor.hasNext()) {
+                cursor.next();
+                bff.add(cursor.getValue());
             }
         });
         return bff.toBff();
@@ -357,7 +319,7 @@ public class LeydenJar {
                   keyIntervals, member.getId());
         return link.reconcile(Intervals.newBuilder()
                                        .setRing(ring)
-                                       .addAllIntervals(keyIntervals.toIntervals())
+                                       .addAllIntervals(keyIntervals.toIntervals(summary::summarize))
                                        .setHave(populate(Entropy.nextBitsStreamLong(), keyIntervals))
                                        .build());
     }
@@ -411,26 +373,45 @@ public class LeydenJar {
      * @return the Update.Builder of missing keys, based on the supplied intervals
      */
     private Update.Builder reconcile(Intervals intervals) {
-        var biff = BloomFilter.from(intervals.getHave());
+        BloomFilter<Digest> biff = BloomFilter.from(intervals.getHave());
         var update = Update.newBuilder();
-        intervals.getIntervalsList()
-                 .stream()
-                 .map(KeyInterval::new)
-                 .flatMap(this::bindingsIn)
-                 .peek(d -> log.debug("reconcile digest: {} on: {}", d, member.getId()))
-                 .filter(d -> !biff.contains(d))
-                 .peek(d -> log.debug("filtered reconcile digest: {} on: {}", d, member.getId()))
-                 .map(d1 -> bottled.get(d1))
-                 .filter(Objects::nonNull)
-                 .forEach(update::addBindings);
+        for (var interval : intervals.getIntervalsList()) {
+            var keyInterval = new KeyInterval(interval);
+            if (interval.hasSummary() && Digest.from(interval.getSummary()).equals(summary.summarize(keyInterval))) {
+                log.trace("Skipping matching: {} on: {}", keyInterval, member.getId());
+                continue;
+            }
+            var cursor = digests.cursor(keyInterval.getBegin(), keyInterval.getEnd(), false);
+            while (cursor.hasNext()) {
+                var d = cursor.next();
+                if (biff.contains(cursor.getValue())) {
+                    continue;
+                }
+                log.debug("reconcile digest: {} on: {}", d, member.getId());
+                var bound = bottled.get(d);
+                if (bound != null) {
+                    update.addBindings(bound);
+                }
+            }
+        }
         return update;
     }
 
+    private void remove(Digest hash) {
+        bottled.remove(hash);
+        summary.remove(hash, digests.remove(hash));
+    }
+
     private void schedule(Duration duration, ScheduledExecutorService scheduler) {
         scheduler.schedule(Utils.wrapped(() -> reconcile(scheduler, duration), log), duration.toNanos(),
                            TimeUnit.NANOSECONDS);
     }
 
+    private void store(Digest hash, Bound bound, Digest digest) {
+        bottled.put(hash, bound);
+        summary.update(hash, digests.put(hash, digest), digest);
+    }
+
     private void update(List<Bound> bindings, Digest from) {
         if (bindings.isEmpty()) {
             log.trace("No bindings to update: {} on: {}", from, member.getId());
@@ -542,7 +523,7 @@ public class LeydenJar {
             log.trace("Reconcile from: {} ring: {} on: {}", from, ring, member.getId());
             var builder = LeydenJar.this.reconcile(intervals);
             CombinedIntervals keyIntervals = keyIntervals();
-            builder.addAllIntervals(keyIntervals.toIntervals())
+            builder.addAllIntervals(keyIntervals.toIntervals(summary::summarize))
                    .setHave(populate(Entropy.nextBitsStreamLong(), keyIntervals));
             log.trace("Reconcile for: {} ring: {} count: {} on: {}", from, ring, builder.getBindingsCount(),
                       member.getId());
@@ -571,9 +552,7 @@ public class LeydenJar {
             }
             var hash = algorithm.digest(bound.getKey());
             log.debug("Bind: {} on: {}", hash, member.getId());
-            bottled.put(hash, bound);
-            var digest = algorithm.digest(bound.toByteString());
-            digests.put(hash, digest);
+            store(hash, bound, algorithm.digest(bound.toByteString()));
         }
 
         @Override
@@ -596,8 +575,7 @@ public class LeydenJar {
             }
             var hash = algorithm.digest(request.getKey());
             log.debug("Remove: {} on: {}", hash, member.getId());
-            bottled.remove(hash);
-            digests.remove(hash);
+            remove(hash);
         }
     }
 }
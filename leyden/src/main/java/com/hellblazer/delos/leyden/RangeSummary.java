@@ -0,0 +1,150 @@
+package com.hellblazer.delos.leyden;
+
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import org.h2.mvstore.MVMap;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintained XOR summary of the content digests of the bindings, bucketed by the leading bits of the
+ * binding's key hash. Since the buckets follow the ring order of the keys, the summary of a key interval is the
+ * combination of the fully covered buckets plus a cursor scan of the two partially covered boundary buckets. Two
+ * replicas with the same bindings in an interval compute the same summary, allowing reconciliation to skip the
+ * interval entirely.
+ *
+ * @author hal.hildebrand
+ **/
+public class RangeSummary {
+    public static final  int DEFAULT_BUCKET_BITS = 10;
+    private static final int MAX_BUCKET_BITS     = 20;
+
+    private final DigestAlgorithm       algorithm;
+    private final int                   bucketBits;
+    private final long[]                buckets;
+    private final MVMap<Digest, Digest> digests;
+    private final int                   width;
+
+    public RangeSummary(DigestAlgorithm algorithm, MVMap<Digest, Digest> digests) {
+        this(algorithm, digests, DEFAULT_BUCKET_BITS);
+    }
+
+    /**
+     * @param algorithm  - the digest algorithm of the keys and content digests
+     * @param digests    - the map of key hash -> content digest summarized
+     * @param bucketBits - the number of leading key bits used to bucket the summary
+     */
+    public RangeSummary(DigestAlgorithm algorithm, MVMap<Digest, Digest> digests, int bucketBits) {
+        if (bucketBits < 1 || bucketBits > MAX_BUCKET_BITS) {
+            throw new IllegalArgumentException("Bucket bits must be in [1, %s]: %s".formatted(MAX_BUCKET_BITS,
+                                                                                                bucketBits));
+        }
+        this.algorithm = algorithm;
+        this.digests = digests;
+        this.bucketBits = bucketBits;
+        this.width = algorithm.longLength();
+        this.buckets = new long[(1 << bucketBits) * width];
+        rebuild();
+    }
+
+    /**
+     * Record the removal of the content digest for the key
+     */
+    public void remove(Digest key, Digest content) {
+        if (content != null) {
+            accumulate(key, content);
+        }
+    }
+
+    /**
+     * Rebuild the summary from the underlying digests
+     */
+    public synchronized void rebuild() {
+        Arrays.fill(buckets, 0L);
+        var cursor = digests.cursor(null);
+        while (cursor.hasNext()) {
+            var key = cursor.next();
+            accumulate(key, cursor.getValue());
+        }
+    }
+
+    /**
+     * @return the summary of the content digests for keys in the inclusive interval [begin, end]
+     */
+    public Digest summarize(KeyInterval interval) {
+        return summarize(interval.getBegin(), interval.getEnd());
+    }
+
+    /**
+     * @return the summary of the content digests for keys in the inclusive interval [begin, end]
+     */
+    public Digest summarize(Digest begin, Digest end) {
+        var summary = new long[width];
+        if (begin.compareTo(end) > 0) {
+            return new Digest(algorithm, summary);
+        }
+        int first = bucketOf(begin);
+        int last = bucketOf(end);
+        if (first == last) {
+            scan(begin, end, summary);
+            return new Digest(algorithm, summary);
+        }
+        scan(begin, lastOf(first), summary);
+        synchronized (this) {
+            for (int b = first + 1; b < last; b++) {
+                int offset = b * width;
+                for (int i = 0; i < width; i++) {
+                    summary[i] ^= buckets[offset + i];
+                }
+            }
+        }
+        scan(firstOf(last), end, summary);
+        return new Digest(algorithm, summary);
+    }
+
+    /**
+     * Record the replacement of the previous content digest for the key, if any, with the supplied content digest
+     */
+    public void update(Digest key, Digest previous, Digest content) {
+        if (previous != null) {
+            accumulate(key, previous);
+        }
+        accumulate(key, content);
+    }
+
+    private synchronized void accumulate(Digest key, Digest content) {
+        int offset = bucketOf(key) * width;
+        var longs = content.getLongs();
+        for (int i = 0; i < width; i++) {
+            buckets[offset + i] ^= longs[i];
+        }
+    }
+
+    private int bucketOf(Digest key) {
+        return (int) (key.getLongs()[0] >>> (Long.SIZE - bucketBits));
+    }
+
+    private Digest firstOf(int bucket) {
+        var longs = new long[width];
+        longs[0] = ((long) bucket) << (Long.SIZE - bucketBits);
+        return new Digest(algorithm, longs);
+    }
+
+    private Digest lastOf(int bucket) {
+        var longs = new long[width];
+        Arrays.fill(longs, -1L);
+        longs[0] = (((long) bucket) << (Long.SIZE - bucketBits)) | (-1L >>> bucketBits);
+        return new Digest(algorithm, longs);
+    }
+
+    private void scan(Digest from, Digest to, long[] summary) {
+        var cursor = digests.cursor(from, to, false);
+        while (cursor.hasNext()) {
+            cursor.next();
+            var longs = cursor.getValue().getLongs();
+            for (int i = 0; i < width; i++) {
+                summary[i] ^= longs[i];
+            }
+        }
+    }
+}
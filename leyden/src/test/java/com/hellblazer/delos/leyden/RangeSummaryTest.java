@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.leyden;
+
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * @author hal.hildebrand
+ **/
+public class RangeSummaryTest {
+
+    @Test
+    public void smoke() {
+        var algorithm = DigestAlgorithm.DEFAULT;
+        var a = open(algorithm);
+        var b = open(algorithm);
+        var summaryA = new RangeSummary(algorithm, a, 4);
+        var summaryB = new RangeSummary(algorithm, b, 4);
+
+        List<Digest> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            var key = algorithm.digest("key-%s".formatted(i).getBytes());
+            var content = algorithm.digest("content-%s".formatted(i).getBytes());
+            keys.add(key);
+            summaryA.update(key, a.put(key, content), content);
+            summaryB.update(key, b.put(key, content), content);
+        }
+        var full = new KeyInterval(algorithm.getOrigin(), algorithm.getLast());
+        assertEquals(summaryA.summarize(full), summaryB.summarize(full));
+
+        var key = keys.get(500);
+        var content = algorithm.digest("changed".getBytes());
+        summaryB.update(key, b.put(key, content), content);
+        assertNotEquals(summaryA.summarize(full), summaryB.summarize(full));
+
+        var before = new KeyInterval(algorithm.getOrigin(), a.lowerKey(key));
+        assertEquals(summaryA.summarize(before), summaryB.summarize(before));
+        var after = new KeyInterval(a.higherKey(key), algorithm.getLast());
+        assertEquals(summaryA.summarize(after), summaryB.summarize(after));
+
+        summaryB.remove(key, b.remove(key));
+        assertNotEquals(summaryA.summarize(full), summaryB.summarize(full));
+        summaryA.remove(key, a.remove(key));
+        assertEquals(summaryA.summarize(full), summaryB.summarize(full));
+
+        // Incremental summary matches a full rebuild
+        var expected = summaryB.summarize(full);
+        summaryB.rebuild();
+        assertEquals(expected, summaryB.summarize(full));
+    }
+
+    private MVMap<Digest, Digest> open(DigestAlgorithm algorithm) {
+        return MVStore.open(null)
+                      .openMap("digests", new MVMap.Builder<Digest, Digest>().keyType(new DigestDatatype(algorithm))
+                                                                             .valueType(
+                                                                             new DigestDatatype(algorithm)));
+    }
+}
@@ -17,6 +17,7 @@ import io.grpc.Status;
 import io.grpc.netty.NettyChannelBuilder;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.SslContext;
 
 import java.net.SocketAddress;
 
@@ -29,12 +30,20 @@ public class MtlsClient {
 
     public MtlsClient(SocketAddress address, ClientAuth clientAuth, String alias, ClientContextSupplier supplier,
                       CertificateValidator validator) {
+        this(address, supplier.forClient(clientAuth, alias, validator, MtlsServer.TL_SV1_3));
+    }
+
+    /**
+     * Connect using the supplied SslContext. Clients sharing an SslContext share its TLS session cache, and so resume
+     * sessions previously established with the same address rather than performing a full handshake.
+     */
+    public MtlsClient(SocketAddress address, SslContext sslContext) {
 
         Limiter<GrpcClientRequestContext> limiter = new GrpcClientLimiterBuilder().blockOnLimit(false).build();
         channel = NettyChannelBuilder.forAddress(address)
                                      //                                     .executor(executor)
                                      .withOption(ChannelOption.TCP_NODELAY, true)
-                                     .sslContext(supplier.forClient(clientAuth, alias, validator, MtlsServer.TL_SV1_3))
+                                     .sslContext(sslContext)
                                      .intercept(new ConcurrencyLimitClientInterceptor(limiter,
                                                                                       () -> Status.RESOURCE_EXHAUSTED.withDescription(
                                                                                       "Client side concurrency limit exceeded")))
@@ -52,16 +52,26 @@ import java.util.function.Supplier;
  * @author hal.hildebrand
  */
 public class MtlsServer implements RouterSupplier {
-    static final         String   TL_SV1_3      = "TLSv1.3";
-    private static final Provider PROVIDER_JSSE = Security.getProvider("SunJSSE");
-    private static final Logger   log           = LoggerFactory.getLogger(MtlsServer.class);
+    /**
+     * The number of TLS sessions retained for resumption
+     */
+    public static final  long     SESSION_CACHE_SIZE = 4096;
+    /**
+     * The lifetime, in seconds, of a resumable TLS session. Resumed sessions do not revalidate the peer's certificate,
+     * so this bounds how long a session survives the key rotation of the peer's identifier
+     */
+    public static final  long     SESSION_TIMEOUT    = 600;
+    static final         String   TL_SV1_3           = "TLSv1.3";
+    private static final Provider PROVIDER_JSSE      = Security.getProvider("SunJSSE");
+    private static final Logger   log                = LoggerFactory.getLogger(MtlsServer.class);
 
-    private final LoadingCache<X509Certificate, Digest>   cachedMembership;
-    private final Function<Member, ClientContextSupplier> contextSupplier;
-    private final EndpointProvider                        epProvider;
-    private final Member                                  from;
-    private final Context.Key<SSLSession>                 sslSessionContext = Context.key("SSLSession");
-    private final ServerContextSupplier                   supplier;
+    private final    LoadingCache<X509Certificate, Digest>   cachedMembership;
+    private volatile SslContext                              clientContext;
+    private final    Function<Member, ClientContextSupplier> contextSupplier;
+    private final    EndpointProvider                        epProvider;
+    private final    Member                                  from;
+    private final    Context.Key<SSLSession>                 sslSessionContext = Context.key("SSLSession");
+    private final    ServerContextSupplier                   supplier;
 
     public MtlsServer(Member from, EndpointProvider epProvider, Function<Member, ClientContextSupplier> contextSupplier,
                       ServerContextSupplier supplier) {
@@ -89,6 +99,8 @@ public class MtlsServer implements RouterSupplier {
                .sslContextProvider(PROVIDER_JSSE)
                .trustManager(new NodeTrustManagerFactory(validator, PROVIDER_JSSE))
                .clientAuth(clientAuth)
+               .sessionCacheSize(SESSION_CACHE_SIZE)
+               .sessionTimeout(SESSION_TIMEOUT)
                .applicationProtocolConfig(new ApplicationProtocolConfig(Protocol.ALPN,
                                                                         // NO_ADVERTISE is currently the only mode
                                                                         // supported by both OpenSsl and JDK
@@ -117,6 +129,8 @@ public class MtlsServer implements RouterSupplier {
                .sslContextProvider(PROVIDER_JSSE)
                .trustManager(new NodeTrustManagerFactory(validator, PROVIDER_JSSE))
                .clientAuth(clientAuth)
+               .sessionCacheSize(SESSION_CACHE_SIZE)
+               .sessionTimeout(SESSION_TIMEOUT)
                .applicationProtocolConfig(new ApplicationProtocolConfig(Protocol.ALPN,
                                                                         // NO_ADVERTISE is currently the only mode
                                                                         // supported by both OpenSsl and JDK
@@ -180,8 +194,28 @@ public class MtlsServer implements RouterSupplier {
     private ManagedChannel connectTo(Member to) {
         var address = epProvider.addressFor(to);
         log.debug("Connecting to: {} address: {} on: {}", to.getId(), address, from.getId());
-        return new MtlsClient(address, epProvider.getClientAuth(), epProvider.getAlias(), contextSupplier.apply(from),
-                              epProvider.getValidator()).getChannel();
+        return new MtlsClient(address, clientContext()).getChannel();
+    }
+
+    /**
+     * The client SslContext is shared by all outbound connections, as the context holds the TLS session cache.
+     * Reconnecting to a member after its connection has been evicted from the ServerConnectionCache then resumes the
+     * previous session rather than performing a full handshake.
+     */
+    private SslContext clientContext() {
+        var current = clientContext;
+        if (current == null) {
+            synchronized (this) {
+                current = clientContext;
+                if (current == null) {
+                    current = contextSupplier.apply(from)
+                                             .forClient(epProvider.getClientAuth(), epProvider.getAlias(),
+                                                        epProvider.getValidator(), TL_SV1_3);
+                    clientContext = current;
+                }
+            }
+        }
+        return current;
     }
 
     private X509Certificate getCert() {
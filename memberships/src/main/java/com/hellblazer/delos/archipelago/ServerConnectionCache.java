@@ -19,11 +19,12 @@ import org.slf4j.LoggerFactory;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Supplier;
 
 /**
  * Privides a safe mechanism for caching expensive connections to a server. We use MTLS, so we want to make good use of
@@ -37,9 +38,12 @@ import java.util.function.Supplier;
  * total limit, which does not have to be the target number of open + idle connections. ManagedChannels in the cache
  * keep track of their overall usage count by client stubs - each borrow increments this usage count.
  * <p>
- * When ManagedChannels are closed, they are closed in the order of least usage count. ManagedChannels may also have a
- * minimum idle duration, to prevent cache thrashing. When this duration is > 0, the connection will not be closed,
- * potentially overshooting target cache counts
+ * When ManagedChannels are closed, idle channels are closed in the order they were released. ManagedChannels may also
+ * have a minimum idle duration, to prevent cache thrashing. When this duration is > 0, the connection will not be
+ * closed, potentially overshooting target cache counts
+ * <p>
+ * The cache holds no global lock. Connections are established outside of any lock, at most once per member via a
+ * per-member future, and idle eviction is performed by a single non-blocking manager
  *
  * @author hal.hildebrand
  */
@@ -47,17 +51,18 @@ public class ServerConnectionCache {
 
     private final static Logger log = LoggerFactory.getLogger(ServerConnectionCache.class);
 
-    private final Map<Member, ReleasableManagedChannel>   cache = new HashMap<>();
-    private final Clock                                   clock;
-    private final ServerConnectionFactory                 factory;
-    private final ReentrantLock                           lock  = new ReentrantLock(true);
-    private final ServerConnectionCacheMetrics            metrics;
-    private final Duration                                minIdle;
-    private final PriorityQueue<ReleasableManagedChannel> queue = new PriorityQueue<>();
-    private final int                                     target;
-    private final Digest                                  member;
-    private final CallCredentials                         credentials;
-    private final AtomicBoolean                           open  = new AtomicBoolean(true);
+    private final ConcurrentMap<Member, CompletableFuture<ReleasableManagedChannel>> cache    = new ConcurrentHashMap<>();
+    private final Clock                                                              clock;
+    private final ServerConnectionFactory                                            factory;
+    private final Queue<ReleasableManagedChannel>                                    idle     = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean                                                      managing = new AtomicBoolean();
+    private final ServerConnectionCacheMetrics                                       metrics;
+    private final Duration                                                           minIdle;
+    private final int                                                                target;
+    private final Digest                                                             member;
+    private final CallCredentials                                                    credentials;
+    private final AtomicBoolean                                                      open     = new AtomicBoolean(
+    true);
 
     public ServerConnectionCache(Digest member, CallCredentials credentials, ServerConnectionFactory factory,
                                  int target, Duration minIdle, Clock clock, ServerConnectionCacheMetrics metrics) {
@@ -75,43 +80,56 @@ public class ServerConnectionCache {
         return new Builder();
     }
 
+    /**
+     * Borrow a channel to the member. No global lock is held: the channel to a member is established at most once, by
+     * the first borrower, and concurrent borrowers of the same member wait only on that member's pending connection.
+     */
     public ManagedServerChannel borrow(Digest context, Member to) {
         if (!open.get()) {
             throw new IllegalStateException("not open on: " + member);
         }
-        return lock(() -> {
-            if (cache.size() >= target) {
-                log.debug("Cache target open connections exceeded: {}, opening to: {} on: {}", target, to.getId(),
-                          member);
-            }
-            ReleasableManagedChannel connection = cache.computeIfAbsent(to, m -> {
-                log.debug("Creating new channel to: {} on: {}", to.getId(), m.getId());
-                ManagedChannel channel;
-                try {
-                    channel = factory.connectTo(to);
-                } catch (Throwable t) {
-                    log.error("Cannot connect to: {} on: {}", to.getId(), member, t);
-                    return null;
+        final var start = System.nanoTime();
+        while (true) {
+            var pending = cache.get(to);
+            if (pending == null) {
+                if (cache.size() >= target) {
+                    log.debug("Cache target open connections exceeded: {}, opening to: {} on: {}", target, to.getId(),
+                              member);
                 }
-                ReleasableManagedChannel conn = new ReleasableManagedChannel(to, channel, member);
-                if (metrics != null) {
-                    metrics.createConnection().inc();
-                    metrics.openConnections().inc();
+                var created = new CompletableFuture<ReleasableManagedChannel>();
+                pending = cache.putIfAbsent(to, created);
+                if (pending == null) {
+                    pending = created;
+                    connect(to, created);
                 }
-                return conn;
-            });
-            if (connection.incrementBorrow()) {
-                log.debug("Increment borrow to: {} channel to: {} on: {}", connection.borrowed,
-                          connection.member.getId(), member);
+            }
+            ReleasableManagedChannel connection;
+            try {
+                connection = pending.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Cannot connect to: %s on: %s".formatted(to.getId(), member),
+                                                e.getCause());
+            }
+            var borrowed = connection.incrementBorrow();
+            if (borrowed < 0) {
+                // Lost the race with idle eviction, retry with a fresh connection
+                cache.remove(to, pending);
+                continue;
+            }
+            if (borrowed == 1) {
+                log.debug("Increment borrow to: {} channel to: {} on: {}", borrowed, connection.member.getId(), member);
                 if (metrics != null) {
                     metrics.borrowRate().mark();
                 }
-                queue.remove(connection);
+                idle.remove(connection);
+            }
+            if (metrics != null) {
+                metrics.borrowLatency().update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
             log.trace("Borrowed channel to: {}, borrowed: {} on: {}", connection.member.getId(), connection.borrowed,
                       member);
             return new ManagedServerChannel(context, connection, credentials);
-        });
+        }
     }
 
     public <T> T borrow(Digest context, Member to, CreateClientCommunications<T> createFunction) {
@@ -125,51 +143,41 @@ public class ServerConnectionCache {
         if (!open.compareAndSet(true, false)) {
             return;
         }
-        lock(() -> {
-            log.info("Closing connection cache on: {}", member);
-            for (ReleasableManagedChannel conn : new ArrayList<>(cache.values())) {
-                try {
-                    conn.channel.shutdown();
-                    if (metrics != null) {
-                        metrics.channelOpenDuration().update(Duration.between(conn.created, Instant.now(clock)));
-                        metrics.openConnections().dec();
-                    }
-                } catch (Throwable e) {
-                    log.debug("Error closing connection to: {} on: {}", conn.member.getId(), member);
-                }
-            }
-            cache.clear();
-            queue.clear();
-            return null;
-        });
+        log.info("Closing connection cache on: {}", member);
+        // Connections still being established are shut down as they complete
+        for (var pending : new ArrayList<>(cache.values())) {
+            pending.thenAccept(this::shutdown);
+        }
+        cache.clear();
+        idle.clear();
     }
 
     public void release(ReleasableManagedChannel connection) {
         if (!open.get()) {
             return;
         }
-        lock(() -> {
-            if (connection.decrementBorrow()) {
-                log.debug("Releasing connection to: {} on: {}", connection.member.getId(), member);
-                queue.add(connection);
-                if (metrics != null) {
-                    metrics.releaseRate().mark();
-                }
-                manageConnections();
+        if (connection.decrementBorrow()) {
+            log.debug("Releasing connection to: {} on: {}", connection.member.getId(), member);
+            idle.add(connection);
+            if (metrics != null) {
+                metrics.releaseRate().mark();
             }
-            return null;
-        });
+            manageConnections();
+        }
     }
 
     private boolean close(ReleasableManagedChannel connection) {
-        if (connection.isCloseable()) {
+        if (connection.isCloseable() && connection.retire()) {
             try {
                 connection.channel.shutdown();
             } catch (Throwable t) {
                 log.debug("Error closing connection to: {} on: {}", connection.member.getId(), connection.member);
             }
             log.debug("connection to: {} is closed on: {}", connection.member.getId(), member);
-            cache.remove(connection.member);
+            cache.computeIfPresent(connection.member, (m, pending) -> pending.isDone()
+                                                                      && !pending.isCompletedExceptionally()
+                                                                      && pending.join() == connection ? null
+                                                                                                      : pending);
             if (metrics != null) {
                 metrics.openConnections().dec();
                 metrics.closeConnectionRate().mark();
@@ -180,22 +188,63 @@ public class ServerConnectionCache {
         return false;
     }
 
-    private <T> T lock(Supplier<T> supplier) {
-        lock.lock();
+    private void connect(Member to, CompletableFuture<ReleasableManagedChannel> pending) {
+        log.debug("Creating new channel to: {} on: {}", to.getId(), member);
+        final var start = System.nanoTime();
+        ManagedChannel channel;
         try {
-            return supplier.get();
-        } finally {
-            lock.unlock();
+            channel = factory.connectTo(to);
+        } catch (Throwable t) {
+            log.error("Cannot connect to: {} on: {}", to.getId(), member, t);
+            if (metrics != null) {
+                metrics.failedOpenConnection().inc();
+                metrics.failedConnectionRate().mark();
+            }
+            cache.remove(to, pending);
+            pending.completeExceptionally(t);
+            return;
+        }
+        if (metrics != null) {
+            metrics.connectLatency().update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.createConnection().inc();
+            metrics.openConnections().inc();
         }
+        pending.complete(new ReleasableManagedChannel(to, channel, member));
     }
 
+    /**
+     * Close idle connections while the cache exceeds its target. Only one thread evicts at a time; concurrent releases
+     * do not wait, as the active manager observes their idle connections.
+     */
     private void manageConnections() {
-        log.debug("Managing connections: {} idle: {} on: {}", cache.size(), queue.size(), member);
-        Iterator<ReleasableManagedChannel> connections = queue.iterator();
-        while (connections.hasNext() && cache.size() > target) {
-            if (close(connections.next())) {
-                connections.remove();
+        while (cache.size() > target && !idle.isEmpty() && managing.compareAndSet(false, true)) {
+            try {
+                log.debug("Managing connections: {} idle: {} on: {}", cache.size(), idle.size(), member);
+                Iterator<ReleasableManagedChannel> connections = idle.iterator();
+                while (connections.hasNext() && cache.size() > target) {
+                    var connection = connections.next();
+                    if (connection.borrowed.get() != 0 || close(connection)) {
+                        connections.remove();
+                    }
+                }
+            } finally {
+                managing.set(false);
+            }
+            if (idle.stream().noneMatch(ReleasableManagedChannel::isCloseable)) {
+                break;
+            }
+        }
+    }
+
+    private void shutdown(ReleasableManagedChannel conn) {
+        try {
+            conn.channel.shutdown();
+            if (metrics != null) {
+                metrics.channelOpenDuration().update(Duration.between(conn.created, Instant.now(clock)));
+                metrics.openConnections().dec();
             }
+        } catch (Throwable e) {
+            log.debug("Error closing connection to: {} on: {}", conn.member.getId(), member);
         }
     }
 
@@ -206,12 +255,16 @@ public class ServerConnectionCache {
 
     public interface ServerConnectionCacheMetrics {
 
+        Timer borrowLatency();
+
         Meter borrowRate();
 
         Timer channelOpenDuration();
 
         Meter closeConnectionRate();
 
+        Timer connectLatency();
+
         Counter createConnection();
 
         Meter failedConnectionRate();
@@ -314,7 +367,9 @@ public class ServerConnectionCache {
         }
     }
 
-    class ReleasableManagedChannel implements Comparable<ReleasableManagedChannel>, Releasable {
+    class ReleasableManagedChannel implements Releasable {
+        private static final int RETIRED = -1;
+
         private final    AtomicInteger  borrowed = new AtomicInteger();
         private final    ManagedChannel channel;
         private final    Instant        created;
@@ -330,11 +385,6 @@ public class ServerConnectionCache {
             this.from = from;
         }
 
-        @Override
-        public int compareTo(ReleasableManagedChannel o) {
-            return Integer.compare(borrowed.get(), o.borrowed.get());
-        }
-
         @Override
         public boolean equals(Object obj) {
             if (this == obj)
@@ -392,8 +442,26 @@ public class ServerConnectionCache {
             return false;
         }
 
-        private boolean incrementBorrow() {
-            return borrowed.incrementAndGet() == 1;
+        /**
+         * @return the new borrow count, or RETIRED if the channel has been closed
+         */
+        private int incrementBorrow() {
+            while (true) {
+                var current = borrowed.get();
+                if (current == RETIRED) {
+                    return RETIRED;
+                }
+                if (borrowed.compareAndSet(current, current + 1)) {
+                    return current + 1;
+                }
+            }
+        }
+
+        /**
+         * @return true if the idle channel has been retired and can no longer be borrowed
+         */
+        private boolean retire() {
+            return borrowed.compareAndSet(0, RETIRED);
         }
     }
 }
@@ -17,9 +17,11 @@ import com.hellblazer.delos.archipelago.ServerConnectionCache.ServerConnectionCa
  *
  */
 public class ServerConnectionCacheMetricsImpl implements ServerConnectionCacheMetrics {
+    private final Timer   borrowLatency;
     private final Meter   borrowRate;
     private final Timer   channelOpenDuration;
     private final Meter   closeConnectionRate;
+    private final Timer   connectLatency;
     private final Counter createConnection;
     private final Meter   failedConnectionRate;
     private final Counter failedOpenConnection;
@@ -35,6 +37,13 @@ public class ServerConnectionCacheMetricsImpl implements ServerConnectionCacheMe
         borrowRate = registry.meter("client.connection.borrow");
         releaseRate = registry.meter("client.connection.release");
         channelOpenDuration = registry.timer("client.connection.open.duration");
+        borrowLatency = registry.timer("client.connection.borrow.latency");
+        connectLatency = registry.timer("client.connection.connect.latency");
+    }
+
+    @Override
+    public Timer borrowLatency() {
+        return borrowLatency;
     }
 
     @Override
@@ -52,6 +61,11 @@ public class ServerConnectionCacheMetricsImpl implements ServerConnectionCacheMe
         return closeConnectionRate;
     }
 
+    @Override
+    public Timer connectLatency() {
+        return connectLatency;
+    }
+
     @Override
     public Counter createConnection() {
         return createConnection;
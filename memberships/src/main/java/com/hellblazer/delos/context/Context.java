@@ -123,6 +123,16 @@ public interface Context<T extends Member> {
         return collector;
     }
 
+    /**
+     * Route many keys at once. Implementations sweep each ring once for all the keys, rather than once per key
+     *
+     * @param hashes - the points on the rings to determine successors
+     * @return the bftSubset of each of the supplied hashes, in the order of the hashes
+     */
+    default List<SequencedSet<T>> bftSubsets(List<Digest> hashes) {
+        return hashes.stream().map(this::bftSubset).toList();
+    }
+
     /**
      * Maximum cardinality of this context
      */
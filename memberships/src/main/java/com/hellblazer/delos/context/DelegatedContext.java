@@ -6,6 +6,7 @@ import com.hellblazer.delos.utils.Entropy;
 import org.apache.commons.math3.random.BitsStreamGenerator;
 
 import java.util.List;
+import java.util.SequencedSet;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -37,6 +38,21 @@ public class DelegatedContext<T extends Member> implements Context<T> {
         return delegate.betweenSuccessor(ring, start, stop);
     }
 
+    @Override
+    public SequencedSet<T> bftSubset(Digest hash) {
+        return delegate.bftSubset(hash);
+    }
+
+    @Override
+    public SequencedSet<T> bftSubset(Digest hash, Predicate<T> filter) {
+        return delegate.bftSubset(hash, filter);
+    }
+
+    @Override
+    public List<SequencedSet<T>> bftSubsets(List<Digest> hashes) {
+        return delegate.bftSubsets(hashes);
+    }
+
     @Override
     public int cardinality() {
         return delegate.cardinality();
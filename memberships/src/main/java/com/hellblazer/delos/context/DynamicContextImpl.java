@@ -43,6 +43,7 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
     private final    Map<UUID, MembershipListener<T>> membershipListeners = new ConcurrentHashMap<>();
     private final    double                           pByz;
     private final    List<Ring<T>>                    rings               = new CopyOnWriteArrayList<>();
+    private final    RoutingCache<T>                  routing             = new RoutingCache<>();
     private volatile int                              cardinality;
 
     public DynamicContextImpl(Digest id, int cardinality, double pbyz, int bias) {
@@ -174,6 +175,20 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
         return ring(ring).betweenSuccessor(start, stop);
     }
 
+    @Override
+    public SequencedSet<T> bftSubset(Digest hash) {
+        return routing.bftSubset(hash, key -> {
+            var collector = new LinkedHashSet<T>();
+            uniqueSuccessors(key, m -> true, collector);
+            return collector;
+        });
+    }
+
+    @Override
+    public List<SequencedSet<T>> bftSubsets(List<Digest> hashes) {
+        return routing.bftSubsets(hashes, this::route);
+    }
+
     @Override
     public int cardinality() {
         final var c = cardinality;
@@ -186,6 +201,7 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
             ring.clear();
         }
         members.clear();
+        routing.invalidate();
     }
 
     @Override
@@ -534,6 +550,7 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
             });
         }
         assert rings.size() == ringCount : "Ring count: " + rings.size() + " does not match: " + ringCount;
+        routing.invalidate();
         log.debug("Rebalanced: {} from: {} to: {} tolerance: {}", id, currentCount, rings.size(), toleranceLevel());
     }
 
@@ -556,6 +573,7 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
             for (Ring<T> ring : rings) {
                 ring.delete(removed.member);
             }
+            routing.invalidate();
         }
     }
 
@@ -762,11 +780,35 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
         return rings.get(index);
     }
 
+    /**
+     * Route the keys, sweeping each ring once in the order of the keys
+     */
+    private List<SequencedSet<T>> route(List<Digest> keys) {
+        var order = new Integer[keys.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(keys::get));
+        var locations = new Digest[order.length];
+        var collectors = new ArrayList<SequencedSet<T>>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            locations[i] = keys.get(order[i]);
+            collectors.add(new LinkedHashSet<>());
+        }
+        for (var ring : rings) {
+            ring.uniqueSuccessors(locations, collectors);
+        }
+        var routed = new ArrayList<SequencedSet<T>>(Collections.nCopies(order.length, null));
+        for (int i = 0; i < order.length; i++) {
+            routed.set(order[i], collectors.get(i));
+        }
+        return routed;
+    }
+
     private Tracked<T> tracking(T m) {
         return members.computeIfAbsent(m.getId(), id1 -> {
             for (var ring : rings) {
                 ring.insert(m);
             }
+            routing.invalidate();
             return new Tracked<>(m, () -> hashesFor(m));
         });
     }
@@ -1459,5 +1501,37 @@ public class DynamicContextImpl<T extends Member> implements DynamicContext<T> {
             };
         }
 
+        /**
+         * Collect the unique successor of each of the sorted locations into its collector, sweeping the ring once
+         */
+        private void uniqueSuccessors(Digest[] locations, List<? extends Set<T>> collectors) {
+            var entries = new ArrayList<>(ring.entrySet());
+            int position = 0;
+            for (int i = 0; i < locations.length; i++) {
+                var location = locations[i];
+                while (position < entries.size() && entries.get(position).getKey().compareTo(location) < 0) {
+                    position++;
+                }
+                var start = position < entries.size() && entries.get(position).getKey().equals(location) ? position + 1
+                                                                                                          : position;
+                var collector = collectors.get(i);
+                T successor = null;
+                for (int j = start; successor == null && j < entries.size(); j++) {
+                    var member = entries.get(j).getValue();
+                    if (!collector.contains(member)) {
+                        successor = member;
+                    }
+                }
+                for (int j = 0; successor == null && j < position; j++) {
+                    var member = entries.get(j).getValue();
+                    if (!collector.contains(member)) {
+                        successor = member;
+                    }
+                }
+                if (successor != null) {
+                    collector.add(successor);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.membership.Member;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * The routing table of a view of a Context, memoizing the per ring hashes of hot keys and the bftSubset of hot keys.
+ * The per ring hash of a key depends only on the Context id and the ring, and so survives membership changes. The
+ * subsets depend on the membership of the view, and are invalidated by replacing the subset cache, so that routes
+ * computed concurrently against the prior view are never cached in the new view.
+ *
+ * @author hal.hildebrand
+ */
+final class RoutingCache<T extends Member> {
+    static final int DEFAULT_CAPACITY = 4_096;
+
+    private final    int                            capacity;
+    private final    Cache<Digest, Digest[]>        hashes;
+    private volatile Cache<Digest, SequencedSet<T>> subsets;
+
+    RoutingCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    RoutingCache(int capacity) {
+        this.capacity = capacity;
+        hashes = Caffeine.newBuilder().maximumSize(capacity).build();
+        subsets = newSubsets();
+    }
+
+    /**
+     * @return the bftSubset of the key, computed by the route function if not cached in the current view
+     */
+    SequencedSet<T> bftSubset(Digest key, Function<Digest, SequencedSet<T>> route) {
+        var current = subsets;
+        return new LinkedHashSet<>(current.get(key, route));
+    }
+
+    /**
+     * @return the bftSubset of each of the keys, in the order of the keys. The keys not cached in the current view are
+     * routed together by the route function
+     */
+    List<SequencedSet<T>> bftSubsets(List<Digest> keys, Function<List<Digest>, List<SequencedSet<T>>> route) {
+        var current = subsets;
+        var result = new ArrayList<SequencedSet<T>>(keys.size());
+        var misses = new ArrayList<Digest>();
+        var missing = new ArrayList<Integer>();
+        for (int i = 0; i < keys.size(); i++) {
+            var cached = current.getIfPresent(keys.get(i));
+            if (cached == null) {
+                misses.add(keys.get(i));
+                missing.add(i);
+                result.add(null);
+            } else {
+                result.add(new LinkedHashSet<>(cached));
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        var routed = route.apply(misses);
+        for (int i = 0; i < misses.size(); i++) {
+            var subset = routed.get(i);
+            current.put(misses.get(i), subset);
+            result.set(missing.get(i), new LinkedHashSet<>(subset));
+        }
+        return result;
+    }
+
+    /**
+     * @return the hash of the key on the ring, memoized for the rings of the key
+     */
+    Digest hashFor(Digest key, int ring, int rings, IntFunction<Digest> hasher) {
+        if (ring >= rings) {
+            return hasher.apply(ring);
+        }
+        var memoized = hashes.get(key, k -> new Digest[rings]);
+        if (ring >= memoized.length) {
+            return hasher.apply(ring);
+        }
+        var hash = memoized[ring];
+        if (hash == null) {
+            hash = hasher.apply(ring);
+            memoized[ring] = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Invalidate the subsets of the view, as the membership has changed
+     */
+    void invalidate() {
+        subsets = newSubsets();
+    }
+
+    private Cache<Digest, SequencedSet<T>> newSubsets() {
+        return Caffeine.newBuilder().maximumSize(capacity).build();
+    }
+}
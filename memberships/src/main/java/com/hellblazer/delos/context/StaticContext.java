@@ -27,14 +27,15 @@ import static com.hellblazer.delos.context.Context.minMajority;
  */
 public class StaticContext<T extends Member> implements Context<T> {
 
-    private final Digest       id;
-    private final Tracked<T>[] members;
-    private final int[][]      ringMap;
-    private final Digest[][]   rings;
-    private final int          bias;
-    private final double       epsilon;
-    private final double       pByz;
-    private final int          cardinality;
+    private final Digest          id;
+    private final Tracked<T>[]    members;
+    private final int[][]         ringMap;
+    private final Digest[][]      rings;
+    private final int             bias;
+    private final double          epsilon;
+    private final double          pByz;
+    private final int             cardinality;
+    private final RoutingCache<T> routing = new RoutingCache<>();
 
     public StaticContext(Context<T> of) {
         this(of.getId(), of.getProbabilityByzantine(), of.getBias(), of.allMembers().toList(), of.getEpsilon(),
@@ -89,6 +90,20 @@ public class StaticContext<T extends Member> implements Context<T> {
         return ring(ring).betweenSuccessor(start, stop);
     }
 
+    @Override
+    public SequencedSet<T> bftSubset(Digest hash) {
+        return routing.bftSubset(hash, key -> {
+            var collector = new LinkedHashSet<T>();
+            uniqueSuccessors(key, m -> true, collector);
+            return collector;
+        });
+    }
+
+    @Override
+    public List<SequencedSet<T>> bftSubsets(List<Digest> hashes) {
+        return routing.bftSubsets(hashes, this::route);
+    }
+
     @Override
     public int cardinality() {
         return cardinality;
@@ -156,6 +171,11 @@ public class StaticContext<T extends Member> implements Context<T> {
         return (short) rings.length;
     }
 
+    @Override
+    public Digest hashFor(Digest d, int ring) {
+        return routing.hashFor(d, ring, rings.length, r -> Context.hashFor(id, r, d));
+    }
+
     @Override
     public Digest hashFor(T m, int r) {
         assert r >= 0 && r < rings.length : "Invalid ring: " + r + " max: " + (rings.length - 1);
@@ -497,6 +517,40 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
     }
 
+    /**
+     * Route the keys, sweeping each ring once in the order of the keys' hashes on that ring
+     */
+    private List<SequencedSet<T>> route(List<Digest> keys) {
+        var collectors = new ArrayList<SequencedSet<T>>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            collectors.add(new LinkedHashSet<>());
+        }
+        var located = new Digest[keys.size()];
+        var order = new Integer[keys.size()];
+        for (int r = 0; r < rings.length; r++) {
+            for (int i = 0; i < located.length; i++) {
+                located[i] = hashFor(keys.get(i), r);
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> located[i]));
+            var ring = new StaticRing(r);
+            var rehashed = rings[r];
+            int position = 0;
+            for (int i : order) {
+                while (position < rehashed.length && rehashed[position].compareTo(located[i]) < 0) {
+                    position++;
+                }
+                var found = position < rehashed.length && rehashed[position].compareTo(located[i]) == 0;
+                var collector = collectors.get(i);
+                T successor = ring.succ(found ? (short) position : -1, m -> !collector.contains(m));
+                if (successor != null) {
+                    collector.add(successor);
+                }
+            }
+        }
+        return collectors;
+    }
+
     private StaticRing ring(int index) {
         if (index < 0 || index >= rings.length) {
             throw new IndexOutOfBoundsException(index);
@@ -597,7 +651,7 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         public Digest hashFor(Digest d) {
-            return Context.hashFor(id, index, d);
+            return StaticContext.this.hashFor(d, index);
         }
 
         public Digest hashFor(T d) {
@@ -633,7 +687,7 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         public T predecessor(Digest digest) {
-            return pred(Context.hashFor(id, index, digest), (Predicate<T>) d -> true);
+            return pred(hashFor(digest), (Predicate<T>) d -> true);
         }
 
         /**
@@ -654,7 +708,7 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         public T predecessor(Digest digest, Predicate<T> test) {
-            return pred(Context.hashFor(id, index, digest), test);
+            return pred(hashFor(digest), test);
         }
 
         public Iterable<T> predecessors(Digest location) {
@@ -772,11 +826,11 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         public T successor(Digest digest) {
-            return succ(Context.hashFor(id, index, digest), (Predicate<T>) d -> true);
+            return succ(hashFor(digest), (Predicate<T>) d -> true);
         }
 
         public T successor(Digest digest, Predicate<T> test) {
-            return succ(Context.hashFor(id, index, digest), test);
+            return succ(hashFor(digest), test);
         }
 
         /**
@@ -797,7 +851,7 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         public Iterable<T> successors(Digest digest) {
-            return succs(Context.hashFor(id, index, digest), d -> true);
+            return succs(hashFor(digest), d -> true);
         }
 
         /**
@@ -931,8 +985,15 @@ public class StaticContext<T extends Member> implements Context<T> {
         }
 
         private T succ(Digest digest, Predicate<T> test) {
+            return succ((short) Arrays.binarySearch(ring().rehashed, digest), test);
+        }
+
+        /**
+         * @return the first successor of the start index for which the predicate evaluates to True, or the first member
+         * for which the predicate evaluates to True if the start index is negative
+         */
+        private T succ(int startIndex, Predicate<T> test) {
             var ring = ring();
-            short startIndex = (short) Arrays.binarySearch(ring.rehashed, digest);
             if (startIndex < 0) {
                 for (short i = 0; i < ring.rehashed.length; i++) {
                     final var tested = ring.get(i, members);
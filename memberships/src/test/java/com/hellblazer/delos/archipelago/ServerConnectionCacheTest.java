@@ -0,0 +1,158 @@
+package com.hellblazer.delos.archipelago;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import com.hellblazer.delos.membership.Member;
+import com.hellblazer.delos.membership.impl.SigningMemberImpl;
+import com.hellblazer.delos.utils.Utils;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.joou.ULong;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author hal.hildebrand
+ **/
+public class ServerConnectionCacheTest {
+
+    @Test
+    public void closeDuringConnect() throws Exception {
+        var to = new SigningMemberImpl(Utils.getMember(0), ULong.MIN);
+        var name = UUID.randomUUID().toString();
+        var connecting = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        var channel = new AtomicReference<ManagedChannel>();
+        var cache = ServerConnectionCache.newBuilder()
+                                         .setMember(DigestAlgorithm.DEFAULT.getOrigin())
+                                         .setFactory(m -> {
+                                             connecting.countDown();
+                                             try {
+                                                 proceed.await();
+                                             } catch (InterruptedException e) {
+                                                 Thread.currentThread().interrupt();
+                                             }
+                                             channel.set(InProcessChannelBuilder.forName(name).build());
+                                             return channel.get();
+                                         })
+                                         .build();
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            var borrow = exec.submit(() -> cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), to));
+            assertTrue(connecting.await(10, TimeUnit.SECONDS));
+
+            cache.close();
+            proceed.countDown();
+            borrow.get(10, TimeUnit.SECONDS).release();
+        }
+        assertNotNull(channel.get());
+        assertTrue(channel.get().isShutdown(), "Connection completed after close must be shut down");
+    }
+
+    @Test
+    public void slowConnectDoesNotBlockOthers() throws Exception {
+        var slow = new SigningMemberImpl(Utils.getMember(0), ULong.MIN);
+        var fast = new SigningMemberImpl(Utils.getMember(1), ULong.MIN);
+        var name = UUID.randomUUID().toString();
+        var connecting = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        var registry = new MetricRegistry();
+        var cache = ServerConnectionCache.newBuilder()
+                                         .setMember(DigestAlgorithm.DEFAULT.getOrigin())
+                                         .setMetrics(new ServerConnectionCacheMetricsImpl(registry))
+                                         .setFactory(to -> {
+                                             if (to.equals(slow)) {
+                                                 connecting.countDown();
+                                                 try {
+                                                     proceed.await();
+                                                 } catch (InterruptedException e) {
+                                                     Thread.currentThread().interrupt();
+                                                 }
+                                             }
+                                             return InProcessChannelBuilder.forName(name).build();
+                                         })
+                                         .build();
+        try (var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slowBorrow = exec.submit(() -> cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), slow));
+            assertTrue(connecting.await(10, TimeUnit.SECONDS));
+
+            var fastChannel = exec.submit(() -> cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), fast))
+                                  .get(10, TimeUnit.SECONDS);
+            assertNotNull(fastChannel);
+            assertFalse(slowBorrow.isDone());
+
+            proceed.countDown();
+            var slowChannel = slowBorrow.get(10, TimeUnit.SECONDS);
+            assertNotNull(slowChannel);
+            slowChannel.release();
+            fastChannel.release();
+        } finally {
+            cache.close();
+        }
+        assertEquals(2, registry.timer("client.connection.borrow.latency").getCount());
+        assertEquals(2, registry.counter("client.connection.created").getCount());
+    }
+
+    private static Clock ticking() {
+        var ticks = new AtomicLong();
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.EPOCH.plusMillis(ticks.incrementAndGet());
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+        };
+    }
+
+    @Test
+    public void sharedAndEvicted() {
+        var name = UUID.randomUUID().toString();
+        var registry = new MetricRegistry();
+        var cache = ServerConnectionCache.newBuilder()
+                                         .setMember(DigestAlgorithm.DEFAULT.getOrigin())
+                                         .setTarget(1)
+                                         .setMinIdle(Duration.ZERO)
+                                         .setClock(ticking())
+                                         .setMetrics(new ServerConnectionCacheMetricsImpl(registry))
+                                         .setFactory(to -> InProcessChannelBuilder.forName(name).build())
+                                         .build();
+        try {
+            Member a = new SigningMemberImpl(Utils.getMember(0), ULong.MIN);
+            Member b = new SigningMemberImpl(Utils.getMember(1), ULong.MIN);
+            var first = cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), a);
+            var second = cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), a);
+            assertEquals(1, registry.counter("client.connection.created").getCount());
+
+            var other = cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), b);
+            first.release();
+            second.release();
+            other.release();
+            assertEquals(1, registry.counter("client.connection.open").getCount());
+
+            assertEquals(1, registry.meter("client.connection.close").getCount());
+
+            var third = cache.borrow(DigestAlgorithm.DEFAULT.getOrigin(), a);
+            assertEquals(3, registry.counter("client.connection.created").getCount());
+            third.release();
+        } finally {
+            cache.close();
+        }
+    }
+}
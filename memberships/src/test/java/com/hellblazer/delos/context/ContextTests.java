@@ -6,6 +6,7 @@
  */
 package com.hellblazer.delos.context;
 
+import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.membership.Member;
 import com.hellblazer.delos.membership.SigningMember;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.SequencedSet;
 
@@ -51,6 +53,49 @@ public class ContextTests {
         }
     }
 
+    @Test
+    public void bftSubsets() throws Exception {
+        var context = new DynamicContextImpl<Member>(DigestAlgorithm.DEFAULT.getOrigin().prefix(1), 10, 0.2, 2);
+        var entropy = SecureRandom.getInstance("SHA1PRNG");
+        entropy.setSeed(new byte[] { 6, 6, 6 });
+        var stereotomy = new StereotomyImpl(new MemKeyStore(), new MemKERL(DigestAlgorithm.DEFAULT), entropy);
+
+        for (int i = 0; i < 20; i++) {
+            context.activate(new ControlledIdentifierMember(stereotomy.newIdentifier()));
+        }
+        var algo = DigestAlgorithm.DEFAULT;
+        var keys = new ArrayList<Digest>();
+        for (int i = 0; i < 50; i++) {
+            keys.add(algo.random(entropy));
+        }
+        keys.add(keys.getFirst());
+
+        var routed = context.bftSubsets(keys);
+        assertEquals(keys.size(), routed.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(unique(context, keys.get(i)), List.copyOf(routed.get(i)));
+            assertEquals(unique(context, keys.get(i)), List.copyOf(context.bftSubset(keys.get(i))));
+        }
+
+        var added = new ControlledIdentifierMember(stereotomy.newIdentifier());
+        context.activate(added);
+        routed = context.bftSubsets(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(unique(context, keys.get(i)), List.copyOf(routed.get(i)));
+        }
+        context.remove(added);
+        for (var key : keys) {
+            assertEquals(unique(context, key), List.copyOf(context.bftSubset(key)));
+        }
+
+        var fixed = new StaticContext<>(context);
+        routed = fixed.bftSubsets(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(unique(fixed, keys.get(i)), List.copyOf(routed.get(i)));
+            assertEquals(unique(fixed, keys.get(i)), List.copyOf(fixed.bftSubset(keys.get(i))));
+        }
+    }
+
     @Test
     public void consistency() throws Exception {
         var context = new DynamicContextImpl<>(DigestAlgorithm.DEFAULT.getOrigin().prefix(1), 10, 0.2, 2);
@@ -94,4 +139,10 @@ public class ContextTests {
         });
         assertEquals(context.getRingCount(), successors.size());
     }
+
+    private List<Member> unique(Context<Member> context, Digest key) {
+        var collector = new LinkedHashSet<Member>();
+        context.uniqueSuccessors(key, collector);
+        return List.copyOf(collector);
+    }
 }
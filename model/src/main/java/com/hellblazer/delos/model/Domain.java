@@ -97,9 +97,11 @@ abstract public class Domain {
         choam = new CHOAM(this.params);
         mutator = sqlStateMachine.getMutator(choam.getSession());
         stateConnection = sqlStateMachine.newConnection();
-        this.oracle = new ShardedOracle(stateConnection, mutator, params.getSubmitTimeout(),
+        var sharded = new ShardedOracle(stateConnection, mutator, params.getSubmitTimeout(),
                                         //                              () -> ULong.valueOf(System.currentTimeMillis()));
                                         () -> sqlStateMachine.getCurrentBlock().height());
+        sqlStateMachine.addListener(sharded.getCheckCache());
+        this.oracle = sharded;
         log.info("Domain: {} member: {} db URL: {} checkpoint base dir: {}", this.params.context().getId(),
                  member.getId(), dbURL, checkpointBaseDir);
     }
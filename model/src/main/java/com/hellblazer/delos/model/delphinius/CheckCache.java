@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.model.delphinius;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hellblazer.delos.delphinius.Oracle.Assertion;
+import com.hellblazer.delos.state.SqlStateMachine;
+import com.hellblazer.delos.state.proto.EXECUTION;
+import com.hellblazer.delos.state.proto.Txn;
+import org.joou.ULong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Cache of Oracle check results, tagged with the CHOAM block height at which each check was computed.
+ * <p>
+ * The cache listens to the transactions executed by the SqlStateMachine. Any transaction that can change assertions,
+ * mappings or edges - i.e. the delphinius stored procedure calls that the Mutator submits, as well as arbitrary
+ * statements, scripts and migrations - invalidates the cache as of the height of the block containing it. A cached
+ * result is only valid if it was computed at a height at or after the last such invalidation, and thus reflects the
+ * state of every block from its height to the current height. This allows "at least as fresh as height H" reads, in
+ * the style of Zanzibar zookies, to be answered from the cache for any H up to the current height.
+ *
+ * @author hal.hildebrand
+ **/
+public class CheckCache implements SqlStateMachine.TxnListener {
+    public static final  long   DEFAULT_MAX_SIZE = 100_000;
+    private static final Logger log              = LoggerFactory.getLogger(CheckCache.class);
+    private static final String DELPHINIUS       = "delphinius";
+
+    private final Cache<Assertion, Checked> checks;
+    private final AtomicReference<ULong>    invalidated = new AtomicReference<>(ULong.MIN);
+
+    public CheckCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public CheckCache(long maxSize) {
+        checks = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    private static boolean affects(String sql) {
+        return sql.toLowerCase().contains(DELPHINIUS);
+    }
+
+    /**
+     * Answer the check of the assertion, using the cached result if it is valid
+     *
+     * @param assertion - the assertion to check
+     * @param height    - the supplier of the current block height
+     * @param checker   - the function computing the check when the cached value is missing or invalid
+     */
+    public boolean check(Assertion assertion, Supplier<ULong> height, Checker checker) throws SQLException {
+        // Read the height before evaluation, so that the result reflects at least this height
+        var current = height.get();
+        var floor = invalidated.get();
+        var cached = checks.getIfPresent(assertion);
+        if (cached != null && cached.height.compareTo(floor) >= 0) {
+            log.trace("Cached check: {} at: {} granted: {}", assertion, cached.height, cached.granted);
+            return cached.granted;
+        }
+        var granted = checker.check();
+        if (current.compareTo(invalidated.get()) >= 0) {
+            checks.put(assertion, new Checked(granted, current));
+        }
+        return granted;
+    }
+
+    /**
+     * Answer the checks of the assertions, using the cached result of each assertion if it is valid. The assertions
+     * missing from the cache are checked together, in a single evaluation of the checker
+     *
+     * @param assertions - the assertions to check
+     * @param height     - the supplier of the current block height
+     * @param checker    - the function computing the checks of the assertions whose cached value is missing or invalid
+     */
+    public List<Boolean> checkAll(List<Assertion> assertions, Supplier<ULong> height, BatchChecker checker)
+    throws SQLException {
+        // Read the height before evaluation, so that the results reflect at least this height
+        var current = height.get();
+        var floor = invalidated.get();
+        var granted = new ArrayList<Boolean>(assertions.size());
+        var missing = new ArrayList<Assertion>();
+        var missingIndexes = new ArrayList<Integer>();
+        for (int i = 0; i < assertions.size(); i++) {
+            var cached = checks.getIfPresent(assertions.get(i));
+            if (cached != null && cached.height.compareTo(floor) >= 0) {
+                granted.add(cached.granted);
+            } else {
+                granted.add(null);
+                missing.add(assertions.get(i));
+                missingIndexes.add(i);
+            }
+        }
+        log.trace("Cached checks: {} of: {}", assertions.size() - missing.size(), assertions.size());
+        if (missing.isEmpty()) {
+            return granted;
+        }
+        var results = checker.checkAll(missing);
+        var cacheable = current.compareTo(invalidated.get()) >= 0;
+        for (int i = 0; i < missing.size(); i++) {
+            var result = results.get(i);
+            granted.set(missingIndexes.get(i), result);
+            if (cacheable) {
+                checks.put(missing.get(i), new Checked(result, current));
+            }
+        }
+        return granted;
+    }
+
+    @Override
+    public void executed(ULong height, Txn txn) {
+        if (mutates(txn)) {
+            invalidate(height);
+        }
+    }
+
+    /**
+     * Invalidate all checks computed before the supplied height
+     */
+    public void invalidate(ULong height) {
+        invalidated.accumulateAndGet(height, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        checks.invalidateAll();
+        log.trace("Invalidated checks at: {}", height);
+    }
+
+    /**
+     * @return the height of the last invalidation
+     */
+    public ULong invalidated() {
+        return invalidated.get();
+    }
+
+    private boolean mutates(Txn txn) {
+        return switch (txn.getExecutionCase()) {
+            case CALL -> affects(txn.getCall().getSql());
+            case STATEMENT ->
+            txn.getStatement().getExecution() != EXECUTION.QUERY && affects(txn.getStatement().getSql());
+            case BATCH -> txn.getBatch().getStatementsList().stream().anyMatch(CheckCache::affects);
+            case BATCHUPDATE -> affects(txn.getBatchUpdate().getSql());
+            case BATCHED -> txn.getBatched().getTransactionsList().stream().anyMatch(this::mutates);
+            case SCRIPT, MIGRATION -> true;
+            default -> false;
+        };
+    }
+
+    @FunctionalInterface
+    public interface BatchChecker {
+        List<Boolean> checkAll(List<Assertion> assertions) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface Checker {
+        boolean check() throws SQLException;
+    }
+
+    private record Checked(boolean granted, ULong height) {
+    }
+}
@@ -16,13 +16,16 @@ import java.sql.JDBCType;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import static com.hellblazer.delos.choam.Session.retryNesting;
 
 /**
- * Oracle where write ops are JDBC stored procedure calls operating on the shared sql state
+ * Oracle where write ops are JDBC stored procedure calls operating on the shared sql state. Checks are cached by the
+ * CheckCache, which is invalidated by the completion of this oracle's mutations. The CheckCache should also be
+ * registered as a listener of the SqlStateMachine to track the mutations submitted by other members
  *
  * @author hal.hildebrand
  */
@@ -31,12 +34,19 @@ public class ShardedOracle extends AbstractOracle {
     private final Mutator         mutator;
     private final Duration        timeout;
     private final Supplier<ULong> clock;
+    private final CheckCache      checks;
 
     public ShardedOracle(Connection connection, Mutator mutator, Duration timeout, Supplier<ULong> clock) {
+        this(connection, mutator, timeout, clock, new CheckCache());
+    }
+
+    public ShardedOracle(Connection connection, Mutator mutator, Duration timeout, Supplier<ULong> clock,
+                         CheckCache checks) {
         super(connection);
         this.mutator = mutator;
         this.timeout = timeout;
         this.clock = clock;
+        this.checks = checks;
     }
 
     @Override
@@ -48,8 +58,8 @@ public class ShardedOracle extends AbstractOracle {
                                 assertion.object().name(), assertion.object().relation().namespace().name(),
                                 assertion.object().relation().name());
         try {
-            return mutator.execute(call, timeout)
-                          .thenApply(r -> new Asserted(clock.get(), (Boolean) r.outValues.getFirst()));
+            return invalidating(mutator.execute(call, timeout)).thenApply(
+            r -> new Asserted(clock.get(), (Boolean) r.outValues.getFirst()));
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<Asserted>();
             f.completeExceptionally(e);
@@ -61,7 +71,7 @@ public class ShardedOracle extends AbstractOracle {
     public CompletableFuture<ULong> add(Namespace namespace) {
         var call = mutator.call("call delphinius.addNamespace(?) ", namespace.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -74,7 +84,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.addObject(?, ?, ?, ?) ", object.namespace().name(), object.name(),
                                 object.relation().namespace().name(), object.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -86,7 +96,7 @@ public class ShardedOracle extends AbstractOracle {
     public CompletableFuture<ULong> add(Relation relation) {
         var call = mutator.call("call delphinius.addRelation(?, ?) ", relation.namespace().name(), relation.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -99,7 +109,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.addSubject(?, ?, ?, ?) ", subject.namespace().name(), subject.name(),
                                 subject.relation().namespace().name(), subject.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -127,6 +137,15 @@ public class ShardedOracle extends AbstractOracle {
         return retryNesting(() -> add(subject), retries);
     }
 
+    @Override
+    public boolean check(Assertion assertion) throws SQLException {
+        return checks.check(assertion, clock, () -> super.check(assertion));
+    }
+
+    /**
+     * Check the assertion with a state at least as fresh as the valid block height. A cached result is valid for any
+     * height from when it was computed up to the current height, so the check is answered from the cache when possible
+     */
     @Override
     public boolean check(Assertion assertion, ULong valid) throws SQLException {
         if (valid.compareTo(clock.get()) > 0) {
@@ -135,6 +154,23 @@ public class ShardedOracle extends AbstractOracle {
         return check(assertion);
     }
 
+    @Override
+    public List<Boolean> checkAll(List<Assertion> assertions) throws SQLException {
+        return checks.checkAll(assertions, clock, super::checkAll);
+    }
+
+    public CheckCache getCheckCache() {
+        return checks;
+    }
+
+    /**
+     * Invalidate the cached checks when the local mutation completes. The mutation is visible to checks computed after
+     * the current height
+     */
+    private <T> CompletableFuture<T> invalidating(CompletableFuture<T> mutation) {
+        return mutation.whenComplete((r, t) -> checks.invalidate(ULong.valueOf(clock.get().longValue() + 1)));
+    }
+
     @Override
     public CompletableFuture<ULong> delete(Assertion assertion) {
         var call = mutator.call("call delphinius.deleteAssertion(?, ?, ?, ?, ?, ?, ?, ?) ",
@@ -144,7 +180,7 @@ public class ShardedOracle extends AbstractOracle {
                                 assertion.object().name(), assertion.object().relation().namespace().name(),
                                 assertion.object().relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -156,7 +192,7 @@ public class ShardedOracle extends AbstractOracle {
     public CompletableFuture<ULong> delete(Namespace namespace) {
         var call = mutator.call("call delphinius.deleteNamespace(?) ", namespace.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -169,7 +205,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.deleteObject(?, ?, ?, ?) ", object.namespace().name(), object.name(),
                                 object.relation().namespace().name(), object.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -181,7 +217,7 @@ public class ShardedOracle extends AbstractOracle {
     public CompletableFuture<ULong> delete(Relation relation) {
         var call = mutator.call("call delphinius.deleteRelation(?, ?) ", relation.namespace().name(), relation.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -194,7 +230,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.deleteSubject(?, ?, ?, ?) ", subject.namespace().name(),
                                 subject.name(), subject.relation().namespace().name(), subject.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -229,7 +265,7 @@ public class ShardedOracle extends AbstractOracle {
                                 child.namespace().name(), child.name(), child.relation().namespace().name(),
                                 child.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -242,7 +278,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.mapRelation(?, ?, ?, ?)", parent.namespace().name(), parent.name(),
                                 child.namespace().name(), child.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -257,7 +293,7 @@ public class ShardedOracle extends AbstractOracle {
                                 parent.relation().name(), child.namespace().name(), child.name(),
                                 child.relation().namespace().name(), child.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -284,7 +320,7 @@ public class ShardedOracle extends AbstractOracle {
                                 parent.relation().name(), child.namespace().name(), child.name(),
                                 child.relation().namespace().name(), child.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -297,7 +333,7 @@ public class ShardedOracle extends AbstractOracle {
         var call = mutator.call("call delphinius.removeRelation(?, ?, ?, ?) ", parent.namespace().name(), parent.name(),
                                 child.namespace().name(), child.name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
@@ -312,7 +348,7 @@ public class ShardedOracle extends AbstractOracle {
                                 parent.relation().name(), child.namespace().name(), child.name(),
                                 child.relation().namespace().name(), child.relation().name());
         try {
-            return mutator.execute(call, timeout).thenApply(r -> clock.get());
+            return invalidating(mutator.execute(call, timeout)).thenApply(r -> clock.get());
         } catch (InvalidTransaction e) {
             var f = new CompletableFuture<ULong>();
             f.completeExceptionally(e);
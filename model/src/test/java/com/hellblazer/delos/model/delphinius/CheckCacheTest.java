@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.model.delphinius;
+
+import com.hellblazer.delos.delphinius.Oracle;
+import com.hellblazer.delos.state.proto.Call;
+import com.hellblazer.delos.state.proto.Txn;
+import org.joou.ULong;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author hal.hildebrand
+ **/
+public class CheckCacheTest {
+
+    @Test
+    public void checkAll() throws Exception {
+        var cache = new CheckCache();
+        var height = new AtomicLong(1);
+        var evaluated = new AtomicInteger();
+        var ns = Oracle.namespace("my-org");
+        var view = ns.subject("jale").assertion(ns.object("object123", ns.relation("view")));
+        var edit = ns.subject("jale").assertion(ns.object("object123", ns.relation("edit")));
+
+        assertTrue(cache.check(view, () -> ULong.valueOf(height.get()), () -> true));
+
+        // Only the assertion missing from the cache is checked
+        CheckCache.BatchChecker checker = assertions -> {
+            evaluated.addAndGet(assertions.size());
+            assertEquals(List.of(edit), assertions);
+            return List.of(false);
+        };
+        assertEquals(List.of(true, false), cache.checkAll(List.of(view, edit), () -> ULong.valueOf(height.get()),
+                                                          checker));
+        assertEquals(1, evaluated.get());
+
+        // And the batch populates the cache
+        assertEquals(List.of(false, true), cache.checkAll(List.of(edit, view), () -> ULong.valueOf(height.get()),
+                                                          checker));
+        assertEquals(1, evaluated.get());
+    }
+
+    @Test
+    public void invalidation() throws Exception {
+        var cache = new CheckCache();
+        var height = new AtomicLong(1);
+        var evaluated = new AtomicInteger();
+        var ns = Oracle.namespace("my-org");
+        var assertion = ns.subject("jale").assertion(ns.object("object123", ns.relation("view")));
+
+        CheckCache.Checker checker = () -> {
+            evaluated.incrementAndGet();
+            return true;
+        };
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertEquals(1, evaluated.get());
+
+        // Unrelated transactions do not invalidate
+        cache.executed(ULong.valueOf(2), Txn.newBuilder()
+                                            .setCall(Call.newBuilder().setSql("call stereotomy_kerl.append(?)"))
+                                            .build());
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertEquals(1, evaluated.get());
+
+        // Delphinius mutations invalidate as of their block height
+        cache.executed(ULong.valueOf(2), Txn.newBuilder()
+                                            .setCall(Call.newBuilder().setSql("call delphinius.mapSubject(?)"))
+                                            .build());
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertEquals(2, evaluated.get());
+
+        // Results computed before the invalidating block completes are not cached
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertEquals(3, evaluated.get());
+
+        height.set(2);
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertTrue(cache.check(assertion, () -> ULong.valueOf(height.get()), checker));
+        assertEquals(4, evaluated.get());
+    }
+}
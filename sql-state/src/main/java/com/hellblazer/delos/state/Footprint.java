@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import com.hellblazer.delos.state.proto.Txn;
+import deterministic.org.h2.command.CommandInterface;
+import deterministic.org.h2.command.dml.DataChangeStatement;
+import deterministic.org.h2.constraint.ConstraintReferential;
+import deterministic.org.h2.engine.DbObject;
+import deterministic.org.h2.engine.SessionLocal;
+import deterministic.org.h2.table.Table;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The tables read and written by a transaction, determined by preparing its SQL against the current schema. Two
+ * transactions with disjoint footprints commute, and so may execute concurrently with the same result as executing
+ * them in order.
+ * <p>
+ * A transaction whose footprint cannot be determined is global, and conflicts with every other transaction: scripts,
+ * calls, migrations, DDL, statements depending on anything other than tables - functions, sequences, etc - and
+ * statements touching the internal schema or tables with triggers.
+ *
+ * @author hal.hildebrand
+ */
+record Footprint(Set<Table> reads, Set<Table> writes, boolean global) {
+    static final Footprint GLOBAL = new Footprint(Collections.emptySet(), Collections.emptySet(), true);
+
+    private static final String INTERNAL_SCHEMA = "DELOS_INTERNAL";
+
+    static Footprint of(SessionLocal session, Txn txn) {
+        var reads = new HashSet<Table>();
+        var writes = new HashSet<Table>();
+        try {
+            if (!add(session, txn, triggered(session), reads, writes)) {
+                return GLOBAL;
+            }
+        } catch (RuntimeException e) {
+            // Cannot prepare, so the execution will fail in order
+            return GLOBAL;
+        }
+        return new Footprint(reads, writes, false);
+    }
+
+    private static boolean add(SessionLocal session, Txn txn, Set<Table> triggered, Set<Table> reads,
+                               Set<Table> writes) {
+        return switch (txn.getExecutionCase()) {
+            case STATEMENT -> add(session, txn.getStatement().getSql(), triggered, reads, writes);
+            case BATCHUPDATE -> add(session, txn.getBatchUpdate().getSql(), triggered, reads, writes);
+            case BATCH -> txn.getBatch()
+                             .getStatementsList()
+                             .stream()
+                             .allMatch(sql -> add(session, sql, triggered, reads, writes));
+            case BATCHED -> txn.getBatched()
+                               .getTransactionsList()
+                               .stream()
+                               .allMatch(t -> add(session, t, triggered, reads, writes));
+            default -> false;
+        };
+    }
+
+    private static boolean add(SessionLocal session, String sql, Set<Table> triggered, Set<Table> reads,
+                               Set<Table> writes) {
+        var prepared = session.prepare(sql);
+        switch (prepared.getType()) {
+        case CommandInterface.SELECT, CommandInterface.INSERT, CommandInterface.UPDATE, CommandInterface.DELETE,
+             CommandInterface.MERGE:
+            break;
+        default:
+            return false;
+        }
+        var dependencies = new HashSet<DbObject>();
+        prepared.collectDependencies(dependencies);
+        for (var dependency : dependencies) {
+            if (!(dependency instanceof Table table) || internal(table)) {
+                return false;
+            }
+            reads.add(table);
+        }
+        if (prepared instanceof DataChangeStatement change) {
+            var table = change.getTable();
+            if (internal(table) || triggered.contains(table)) {
+                return false;
+            }
+            writes.add(table);
+            // Referential integrity reads the referenced tables, and cascades write the referencing tables
+            for (var constraint : table.getConstraints()) {
+                if (constraint instanceof ConstraintReferential referential) {
+                    writes.add(referential.getTable());
+                    writes.add(referential.getRefTable());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean internal(Table table) {
+        return INTERNAL_SCHEMA.equalsIgnoreCase(table.getSchema().getName());
+    }
+
+    private static boolean intersects(Set<Table> a, Set<Table> b) {
+        var smaller = a.size() <= b.size() ? a : b;
+        var larger = smaller == a ? b : a;
+        for (var table : smaller) {
+            if (larger.contains(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<Table> triggered(SessionLocal session) {
+        var triggered = new HashSet<Table>();
+        for (var schema : session.getDatabase().getAllSchemas()) {
+            for (var trigger : schema.getAllTriggers()) {
+                triggered.add(trigger.getTable());
+            }
+        }
+        return triggered;
+    }
+
+    /**
+     * @return true if the transactions of the footprints do not commute
+     */
+    boolean conflicts(Footprint other) {
+        if (global || other.global) {
+            return true;
+        }
+        return intersects(writes, other.writes) || intersects(writes, other.reads) || intersects(reads, other.writes);
+    }
+
+    /**
+     * @return the combined footprint of the transactions of the two footprints
+     */
+    Footprint union(Footprint other) {
+        if (global || other.global) {
+            return GLOBAL;
+        }
+        var reads = new HashSet<>(this.reads);
+        reads.addAll(other.reads);
+        var writes = new HashSet<>(this.writes);
+        writes.addAll(other.writes);
+        return new Footprint(reads, writes, false);
+    }
+}
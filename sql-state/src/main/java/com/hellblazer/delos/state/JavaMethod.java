@@ -23,9 +23,12 @@ import deterministic.org.h2.table.Column;
 import deterministic.org.h2.util.Utils;
 import deterministic.org.h2.value.*;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -36,16 +39,18 @@ import java.sql.SQLException;
  * however. This helper class represents one such method.
  */
 public class JavaMethod implements Comparable<JavaMethod> {
-    private final Method   method;
-    private       boolean  hasConnectionParam;
-    private       int      paramCount;
-    private       Class<?> varArgClass;
-    private boolean varArgs;
-    private boolean hasServicesParam;
+    private final Method       method;
+    private final MethodHandle invoker;
+    private       boolean      hasConnectionParam;
+    private       int          paramCount;
+    private       Class<?>     varArgClass;
+    private       boolean      varArgs;
+    private       boolean      hasServicesParam;
 
     JavaMethod(Method method) {
         assert method != null;
         this.method = method;
+        this.invoker = invoker(method);
         Class<?>[] paramClasses = method.getParameterTypes();
         paramCount = paramClasses.length;
         if (paramCount > 0) {
@@ -73,6 +78,22 @@ public class JavaMethod implements Comparable<JavaMethod> {
     }
 
 
+    /**
+     * Resolve the method handle invoking the method as (instance, Object[] params) -> Object, or null if the method is
+     * not accessible as a method handle, in which case reflective invocation is used
+     */
+    private static MethodHandle invoker(Method method) {
+        try {
+            var handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     public boolean hasServicesParam() {
         return this.hasServicesParam;
     }
@@ -221,7 +242,7 @@ public class JavaMethod implements Comparable<JavaMethod> {
                 if (defaultConnection) {
                     Driver.setDefaultConnection(session.createConnection(false));
                 }
-                returnValue = method.invoke(instance, params);
+                returnValue = invoke(instance, params);
                 if (returnValue == null) {
                     return null;
                 }
@@ -248,6 +269,17 @@ public class JavaMethod implements Comparable<JavaMethod> {
         }
     }
 
+    private Object invoke(Object instance, Object[] params) throws Exception {
+        if (invoker == null) {
+            return method.invoke(instance, params);
+        }
+        try {
+            return (Object) invoker.invokeExact(instance, params);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
     /**
      * Check if this function requires a database connection.
      *
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
+import deterministic.org.h2.api.ErrorCode;
+import deterministic.org.h2.message.DbException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded cache of the bytecode compiled from Script transactions, keyed by the digest of the script's class name and
+ * source. Compiling a script requires an invocation of javac, so the same source submitted repeatedly - e.g. a stored
+ * procedure invoked in many transactions - is compiled once per node rather than once per transaction.
+ * <p>
+ * Only the bytecode is cached. Each transaction defines the script class anew, in its own class loader, so no state -
+ * not even the static state of the script class - is carried between transactions. The result of a transaction thus
+ * does not depend on whether the script was cached or evicted, which may differ between the nodes.
+ *
+ * @author hal.hildebrand
+ */
+public class ScriptCache {
+    public static final  long   DEFAULT_MAX_SIZE = 1_000;
+    private static final Logger log              = LoggerFactory.getLogger(ScriptCache.class);
+
+    private final DigestAlgorithm         algorithm;
+    private final Cache<Digest, Compiled> compiled;
+    private final ScriptCompiler          compiler;
+    private final ClassLoader             parent;
+
+    public ScriptCache(ClassLoader parent) {
+        this(new ScriptCompiler(), parent, DigestAlgorithm.DEFAULT, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param compiler  - the compiler of script sources
+     * @param parent    - the parent class loader of the compiled scripts
+     * @param algorithm - the digest algorithm used to key the cache
+     * @param maxSize   - the maximum number of compiled scripts retained
+     */
+    public ScriptCache(ScriptCompiler compiler, ClassLoader parent, DigestAlgorithm algorithm, long maxSize) {
+        this.compiler = compiler;
+        this.parent = parent;
+        this.algorithm = algorithm;
+        this.compiled = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * @return the cache key of the script
+     */
+    public static Digest keyOf(DigestAlgorithm algorithm, String className, String source) {
+        var name = className.getBytes(StandardCharsets.UTF_8);
+        var length = ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array();
+        return algorithm.digest(length, name, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Answer the compiled script, compiling and caching the script if necessary
+     */
+    public Compiled compile(String className, String source) {
+        return compiled.get(keyOf(algorithm, className, source), k -> compileScript(className, source));
+    }
+
+    /**
+     * @return the number of compiled scripts currently cached
+     */
+    public long size() {
+        return compiled.estimatedSize();
+    }
+
+    /**
+     * Compile and cache the script ahead of its use in a transaction
+     */
+    public void warm(String className, String source) {
+        compile(className, source);
+        log.debug("Warmed script: {}", className);
+    }
+
+    private Compiled compileScript(String className, String source) {
+        var bytecode = compiler.compile(className, source);
+        log.trace("Compiled script: {}", className);
+        return new Compiled(className, source, bytecode, parent);
+    }
+
+    /**
+     * The bytecode compiled from a script
+     */
+    public static class Compiled {
+        private final byte[]      bytecode;
+        private final String      className;
+        private final ClassLoader parent;
+        private final String      source;
+
+        private Compiled(String className, String source, byte[] bytecode, ClassLoader parent) {
+            this.className = className;
+            this.source = source;
+            this.bytecode = bytecode;
+            this.parent = parent;
+        }
+
+        /**
+         * @return the script class, newly defined from the compiled bytecode in its own class loader
+         */
+        public Loaded load() {
+            try {
+                Class<?> clazz = ScriptCompiler.define(className, bytecode, parent);
+                var constructor = MethodHandles.publicLookup()
+                                               .findConstructor(clazz, MethodType.methodType(void.class))
+                                               .asType(MethodType.methodType(Object.class));
+                return new Loaded(clazz, constructor);
+            } catch (DbException e) {
+                throw e;
+            } catch (Exception e) {
+                throw DbException.get(ErrorCode.SYNTAX_ERROR_1, e, source);
+            }
+        }
+    }
+
+    /**
+     * A script class defined for a single transaction, and its resolved constructor
+     */
+    public static class Loaded {
+        private final Class<?>     clazz;
+        private final MethodHandle constructor;
+
+        private Loaded(Class<?> clazz, MethodHandle constructor) {
+            this.clazz = clazz;
+            this.constructor = constructor;
+        }
+
+        public Class<?> getClazz() {
+            return clazz;
+        }
+
+        /**
+         * @return the first declared method of the script with the supplied name, or null if none
+         */
+        public JavaMethod method(String name) {
+            for (Method m : clazz.getDeclaredMethods()) {
+                if (name.equals(m.getName())) {
+                    return new JavaMethod(m);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return a new instance of the script
+         */
+        public Object newInstance() throws InvocationTargetException {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
@@ -27,7 +27,6 @@ import java.util.Arrays;
 import javax.tools.FileObject;
 import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
-import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 import javax.tools.SimpleJavaFileObject;
@@ -256,20 +255,18 @@ public class ScriptCompiler {
     }
 
     /**
-     * Compile using the standard java compiler.
+     * Compile the source of the class to its bytecode, without defining the class
      *
-     * @param packageName the package name
-     * @param className   the class name
-     * @param source      the source code
-     * @return the class
+     * @param packageAndClassName the package and class name
+     * @param source              the source code
+     * @return the bytecode of the class
      */
-    Class<?> javaxToolsJavac(String packageName, String className, String source) {
-        String fullClassName = packageName == null ? className : packageName + "." + className;
+    public byte[] compile(String packageAndClassName, String source) {
         StringWriter writer = new StringWriter();
-        try (JavaFileManager fileManager = new ClassFileManager(JAVA_COMPILER.getStandardFileManager(null, null,
-                                                                                                     null))) {
+        try (ClassFileManager fileManager = new ClassFileManager(JAVA_COMPILER.getStandardFileManager(null, null,
+                                                                                                      null))) {
             ArrayList<JavaFileObject> compilationUnits = new ArrayList<>();
-            compilationUnits.add(new StringJavaFileObject(fullClassName, source));
+            compilationUnits.add(new StringJavaFileObject(packageAndClassName, source));
             // cannot concurrently compile
             final boolean ok;
             synchronized (JAVA_COMPILER) {
@@ -279,8 +276,47 @@ public class ScriptCompiler {
             }
             String output = writer.toString();
             handleSyntaxError(output, (ok ? 0 : 1));
-            return fileManager.getClassLoader(null).loadClass(fullClassName);
-        } catch (ClassNotFoundException | IOException e) {
+            return fileManager.classObject.getBytes();
+        } catch (IOException e) {
+            throw DbException.convert(e);
+        }
+    }
+
+    /**
+     * Define the class from its bytecode in a new class loader, so that each definition of the class has its own
+     * static state
+     *
+     * @param packageAndClassName the package and class name
+     * @param bytecode            the bytecode of the class
+     * @param parent              the parent class loader
+     * @return the class
+     */
+    public static Class<?> define(String packageAndClassName, byte[] bytecode,
+                                  ClassLoader parent) throws ClassNotFoundException {
+        return new SecureClassLoader(parent) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                if (!name.equals(packageAndClassName)) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.defineClass(name, bytecode, 0, bytecode.length);
+            }
+        }.loadClass(packageAndClassName);
+    }
+
+    /**
+     * Compile using the standard java compiler.
+     *
+     * @param packageName the package name
+     * @param className   the class name
+     * @param source      the source code
+     * @return the class
+     */
+    Class<?> javaxToolsJavac(String packageName, String className, String source) {
+        String fullClassName = packageName == null ? className : packageName + "." + className;
+        try {
+            return define(fullClassName, compile(fullClassName, source), ClassLoader.getSystemClassLoader());
+        } catch (ClassNotFoundException e) {
             throw DbException.convert(e);
         }
     }
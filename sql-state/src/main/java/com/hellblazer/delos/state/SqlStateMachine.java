@@ -54,13 +54,14 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -76,6 +77,21 @@ import java.util.zip.GZIPOutputStream;
  * <p>
  * Batch oriented, but low enough latency to make it worth the wait (with the right system wide consensus/distribution,
  * 'natch).
+ * <p>
+ * With a parallelism greater than 1, the transactions of a block are scheduled in waves of transactions with disjoint
+ * table footprints, each wave executing concurrently on separate sessions. A transaction conflicting with the current
+ * wave, or whose footprint cannot be determined, ends the wave, and global transactions execute alone, in block order.
+ * Whatever the parallelism, each transaction executes with its own clock, session random and entropy, determined by
+ * the block and the transaction's position in the block, so replicas reach identical state regardless of their
+ * parallelism.
+ * <p>
+ * The results of queries, calls and scripts are returned according to the ResultMode of the state machine. With
+ * CACHED, every replica copies the results into CachedRowSets, even though only the replica where the transaction's
+ * Session originated has a future to complete with them. With STREAMED, replicas discard the results without copying
+ * them, and the originating replica completes the future with the live, forward only ResultSets of the execution. The
+ * embedded database has already materialized the rows of these results, so STREAMED saves the copy into a
+ * CachedRowSet, not the materialization. Streamed results that arrive after their future has timed out or been
+ * cancelled are closed by the state machine, otherwise the receiver must close them.
  *
  * @author hal.hildebrand
  */
@@ -92,6 +108,7 @@ public class SqlStateMachine {
     private static final String        SELECT_FROM_DALOS_INTERNAL_TRAMPOLINE = "SELECT * FROM delos_internal.trampoline";
     private static final String        SQL_STATE_INTERNAL                     = "/sql-state/internal.xml";
     private static final String        UPDATE_CURRENT                         = "MERGE INTO delos_internal.current(_u, height, block_hash, transaction, transaction_hash) KEY(_U) VALUES(1, ?1, ?2, ?3, ?4)";
+    private static final Executor      VIRTUAL                                = task -> Thread.ofVirtual().start(task);
 
     static {
         ThreadLocalScopeManager.initialize();
@@ -108,20 +125,27 @@ public class SqlStateMachine {
 
     private final File                          checkpointDirectory;
     private final BlockClock                    clock          = new BlockClock();
-    private final ScriptCompiler                compiler       = new ScriptCompiler();
     private final JdbcConnection                connection;
     private final AtomicReference<Current>      currentBlock   = new AtomicReference<>();
     private final AtomicReference<SecureRandom> entropy        = new AtomicReference<>();
     private final AtomicReference<Current>      executingBlock = new AtomicReference<>();
     private final TxnExec                       executor       = new TxnExec();
+    private final ScriptCache                   scripts        = new ScriptCache(getClass().getClassLoader());
     private final SecureRandom                  secureEntropy;
     private final EventTrampoline               trampoline     = new EventTrampoline();
     private final String                        url;
     private final Digest                        id;
+    private final Properties                    info;
+    private final int                           parallelism;
+    private final ResultMode                    resultMode;
     private final Map<String, CallService>      services       = new HashMap<>();
+    private final List<TxnListener>             listeners      = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<JdbcConnection>   worker         = new ThreadLocal<>();
     private       PreparedStatement             deleteEvents;
     private       PreparedStatement             getEvents;
     private       PreparedStatement             updateCurrent;
+    private       Wave                          wave;
+    private       List<JdbcConnection>          workers;
 
     {
         try {
@@ -136,8 +160,32 @@ public class SqlStateMachine {
     }
 
     public SqlStateMachine(Digest id, String url, Properties info, File cpDir) {
+        this(id, url, info, cpDir, 1);
+    }
+
+    /**
+     * @param parallelism - the number of sessions concurrently executing the transactions of a block, or 1 to execute
+     *                    all transactions in order on a single session
+     */
+    public SqlStateMachine(Digest id, String url, Properties info, File cpDir, int parallelism) {
+        this(id, url, info, cpDir, parallelism, ResultMode.CACHED);
+    }
+
+    /**
+     * @param parallelism - the number of sessions concurrently executing the transactions of a block, or 1 to execute
+     *                    all transactions in order on a single session
+     * @param resultMode  - how the results of queries, calls and scripts are returned
+     */
+    public SqlStateMachine(Digest id, String url, Properties info, File cpDir, int parallelism,
+                           ResultMode resultMode) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1: " + parallelism);
+        }
         this.id = id;
         this.url = url;
+        this.info = info;
+        this.parallelism = parallelism;
+        this.resultMode = resultMode;
         this.checkpointDirectory = cpDir;
         if (checkpointDirectory.exists()) {
             if (!checkpointDirectory.isDirectory()) {
@@ -149,47 +197,7 @@ public class SqlStateMachine {
                 "Cannot create checkpoint directory: " + checkpointDirectory.getAbsolutePath());
             }
         }
-        connection = withContext(() -> {
-            JdbcConnection c;
-            try {
-                c = new JdbcConnection(url, info, "", "", false);
-            } catch (SQLException e) {
-                throw new IllegalStateException("Unable to create connection using " + url, e);
-            }
-            try {
-                c.setAutoCommit(false);
-            } catch (SQLException e) {
-                log.error("Unable to set autocommit to false on: {}", id, e);
-            }
-            ((SessionLocal) c.getSession()).setServices(new SessionServices() {
-                @Override
-                public <T> T call(String serviceName, Object... parameters) throws ServiceNotFoundException {
-                    var svc = services.get(serviceName);
-                    if (svc == null) {
-                        throw new ServiceNotFoundException(serviceName);
-                    }
-                    try {
-                        return (T) svc.call(parameters);
-                    } catch (Throwable e) {
-                        throw new IllegalStateException(e);
-                    }
-                }
-
-                @Override
-                public void run(String serviceName, Object... parameters) throws ServiceNotFoundException {
-                    var svc = services.get(serviceName);
-                    if (svc == null) {
-                        throw new ServiceNotFoundException(serviceName);
-                    }
-                    try {
-                        svc.call(parameters);
-                    } catch (Throwable e) {
-                        throw new IllegalStateException(e);
-                    }
-                }
-            });
-            return c;
-        });
+        connection = withContext(this::connect);
     }
 
     public static boolean publish(Connection connection, String channel, String jsonBody) {
@@ -213,6 +221,21 @@ public class SqlStateMachine {
             connection().close();
         } catch (SQLException e) {
         }
+        if (workers != null) {
+            for (var w : workers) {
+                try {
+                    w.close();
+                } catch (SQLException e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a listener notified after each transaction has been executed and committed
+     */
+    public void addListener(TxnListener listener) {
+        listeners.add(listener);
     }
 
     public void deregister(String serviceName) {
@@ -313,6 +336,10 @@ public class SqlStateMachine {
         return new Mutator(session, getSession());
     }
 
+    public ScriptCache getScriptCache() {
+        return scripts;
+    }
+
     public SessionServices getServices() {
         return getSession().getServices();
     }
@@ -325,6 +352,19 @@ public class SqlStateMachine {
         }
     }
 
+    /**
+     * Compile and cache the script ahead of its use in Script transactions - e.g. the stored procedure sources that
+     * accompany the Liquibase migrations of the database - so that the first transactions invoking the script do not
+     * pay for its compilation
+     */
+    public void precompile(String className, String source) {
+        scripts.warm(className, source);
+    }
+
+    public void removeListener(TxnListener listener) {
+        listeners.remove(listener);
+    }
+
     public void register(String serviceName, CallService callService) {
         services.put(serviceName, callService);
     }
@@ -346,16 +386,20 @@ public class SqlStateMachine {
 
     // Test accessible
     JdbcConnection connection() {
+        var current = worker.get();
+        if (current == null) {
+            current = connection;
+        }
         var closed = false;
         try {
-            closed = connection.isClosed();
+            closed = current.isClosed();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
         if (closed) {
             throw new AssertionError("Connection should not be closed on: " + id);
         }
-        return connection;
+        return current;
     }
 
     SessionLocal getSession() {
@@ -389,11 +433,11 @@ public class SqlStateMachine {
         }
     }
 
-    private List<Object> acceptBatchTransaction(BatchedTransaction txns) throws Exception {
+    private List<Object> acceptBatchTransaction(BatchedTransaction txns, boolean origin) throws Exception {
         List<Object> results = new ArrayList<>();
         for (int i = 0; i < txns.getTransactionsCount(); i++) {
             try {
-                results.add(SqlStateMachine.this.execute(txns.getTransactions(i)));
+                results.add(SqlStateMachine.this.execute(txns.getTransactions(i), origin));
             } catch (Throwable e) {
                 throw new Mutator.BatchedTransactionException(i, e);
             }
@@ -423,9 +467,8 @@ public class SqlStateMachine {
         });
     }
 
-    private CallResult acceptCall(Call call) throws SQLException {
+    private CallResult acceptCall(Call call, boolean origin) throws SQLException {
         return call(call.getSql(), exec -> {
-            List<ResultSet> results = new ArrayList<>();
             try {
                 int p = 1;
                 for (int t : call.getOutParametersList()) {
@@ -449,23 +492,12 @@ public class SqlStateMachine {
                     break;
                 default:
                     log.debug("Invalid statement execution enum: {} on: {}", call.getExecution(), id);
-                    return new CallResult(out, results);
+                    return new CallResult(out, new ArrayList<>());
                 }
                 for (int j = 1; j <= call.getOutParametersCount(); j++) {
                     out.add(exec.getObject(j));
                 }
-
-                CachedRowSet rowset = factory.createCachedRowSet();
-
-                rowset.populate(exec.getResultSet());
-                results.add(rowset);
-
-                while (exec.getMoreResults()) {
-                    rowset = factory.createCachedRowSet();
-                    rowset.populate(exec.getResultSet());
-                    results.add(rowset);
-                }
-                return new CallResult(out, results);
+                return new CallResult(out, results(exec, origin));
             } finally {
                 try {
                     exec.clearBatch();
@@ -508,9 +540,8 @@ public class SqlStateMachine {
         return Boolean.TRUE;
     }
 
-    private List<ResultSet> acceptPreparedStatement(Statement statement) throws SQLException {
+    private List<ResultSet> acceptPreparedStatement(Statement statement, boolean origin) throws SQLException {
         return execute(statement.getSql(), exec -> {
-            List<ResultSet> results = new ArrayList<>();
             try {
                 switch (statement.getExecution()) {
                 case EXECUTE:
@@ -526,17 +557,7 @@ public class SqlStateMachine {
                     log.debug("Invalid statement execution enum: {} on: {}", statement.getExecution(), id);
                     return Collections.emptyList();
                 }
-                CachedRowSet rowset = factory.createCachedRowSet();
-
-                rowset.populate(exec.getResultSet());
-                results.add(rowset);
-
-                while (exec.getMoreResults()) {
-                    rowset = factory.createCachedRowSet();
-                    rowset.populate(exec.getResultSet());
-                    results.add(rowset);
-                }
-                return results;
+                return results(exec, origin);
             } finally {
                 try {
                     exec.clearBatch();
@@ -548,40 +569,41 @@ public class SqlStateMachine {
         });
     }
 
-    private Object acceptScript(Script script) throws SQLException {
+    private Object acceptScript(Script script, boolean origin) throws SQLException {
 
+        ScriptCache.Loaded loaded;
         Object instance;
 
         Value[] args = new StreamTransfer(script.getArgs().getVersion(), getSession()).read(script.getArgs().getArgs());
         try {
-            Class<?> clazz = compiler.getClass(script.getClassName(), script.getSource(), getClass().getClassLoader());
-            instance = clazz.getConstructor().newInstance();
+            loaded = scripts.compile(script.getClassName(), script.getSource()).load();
+            instance = loaded.newInstance();
         } catch (DbException e) {
             throw e;
         } catch (Exception e) {
             throw DbException.get(ErrorCode.SYNTAX_ERROR_1, e, script.getSource());
         }
 
-        Method call = null;
         String callName = script.getMethod();
-        for (Method m : instance.getClass().getDeclaredMethods()) {
-            if (callName.equals(m.getName())) {
-                call = m;
-                break;
-            }
-        }
+        JavaMethod call = loaded.method(callName);
 
         if (call == null) {
             throw DbException.get(ErrorCode.SYNTAX_ERROR_1, new IllegalArgumentException(
             "Must contain invocation method named: " + callName + "(...)"), script.getSource());
         }
 
-        Object returnValue = new JavaMethod(call).getValue(instance, getSession(), args);
-        if (returnValue instanceof ResultSet) {
-            CachedRowSet rowset = factory.createCachedRowSet();
+        Object returnValue = call.getValue(instance, getSession(), args);
+        if (returnValue instanceof ResultSet resultSet) {
+            if (resultMode == ResultMode.CACHED) {
+                CachedRowSet rowset = factory.createCachedRowSet();
 
-            rowset.populate((ResultSet) returnValue);
-            return rowset;
+                rowset.populate(resultSet);
+                return rowset;
+            }
+            if (!origin) {
+                resultSet.close();
+                return null;
+            }
         }
         return returnValue;
     }
@@ -614,7 +636,9 @@ public class SqlStateMachine {
         } finally {
             if (cs != null) {
                 try {
-                    cs.close();
+                    if (!cs.isCloseOnCompletion()) {
+                        cs.close();
+                    }
                 } catch (SQLException e) {
                 }
             }
@@ -638,12 +662,84 @@ public class SqlStateMachine {
         }
     }
 
+    /**
+     * Close the live ResultSets of streamed results - and with them, their statements - which are no longer of
+     * interest to the receiver
+     */
+    private void closeStreamed(Object results) {
+        switch (results) {
+        case ResultSet resultSet -> {
+            try {
+                resultSet.close();
+            } catch (SQLException e) {
+                log.trace("Error closing streamed results on: {}", id, e);
+            }
+        }
+        case CallResult callResult -> closeStreamed(callResult.results);
+        case List<?> list -> list.forEach(this::closeStreamed);
+        case null, default -> {
+        }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void complete(@SuppressWarnings("rawtypes") CompletableFuture onCompletion, Object results) {
         if (onCompletion == null) {
             return;
         }
-        onCompletion.completeAsync(() -> results);
+        if (resultMode == ResultMode.CACHED) {
+            onCompletion.completeAsync(() -> results);
+            return;
+        }
+        // The receiver owns the streamed results only if they complete its future, otherwise the future has already
+        // timed out or been cancelled, and the results must be closed here
+        onCompletion.completeAsync(() -> results).whenComplete((r, t) -> {
+            if (r != results) {
+                closeStreamed(results);
+            }
+        });
+    }
+
+    private JdbcConnection connect() {
+        JdbcConnection c;
+        try {
+            c = new JdbcConnection(url, info, "", "", false);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to create connection using " + url, e);
+        }
+        try {
+            c.setAutoCommit(false);
+        } catch (SQLException e) {
+            log.error("Unable to set autocommit to false on: {}", id, e);
+        }
+        ((SessionLocal) c.getSession()).setServices(new SessionServices() {
+            @Override
+            public <T> T call(String serviceName, Object... parameters) throws ServiceNotFoundException {
+                var svc = services.get(serviceName);
+                if (svc == null) {
+                    throw new ServiceNotFoundException(serviceName);
+                }
+                try {
+                    return (T) svc.call(parameters);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void run(String serviceName, Object... parameters) throws ServiceNotFoundException {
+                var svc = services.get(serviceName);
+                if (svc == null) {
+                    throw new ServiceNotFoundException(serviceName);
+                }
+                try {
+                    svc.call(parameters);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        return c;
     }
 
     private void dropAll(Drop drop) throws LiquibaseException {
@@ -662,9 +758,22 @@ public class SqlStateMachine {
     }
 
     private void endBlock(ULong height, Digest blkHash) {
+        flush();
         currentBlock.set(new Current(height, blkHash));
     }
 
+    private SecureRandom entropy(Digest blkHash, int index) {
+        SecureRandom random;
+        try {
+            random = SecureRandom.getInstance("SHA1PRNG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to get SHA1PRNG secure random instance", e);
+        }
+        random.setSeed(blkHash.getBytes());
+        random.setSeed(index);
+        return random;
+    }
+
     private void exception(@SuppressWarnings("rawtypes") CompletableFuture onCompletion, Throwable e) {
         if (onCompletion != null) {
             var completed = onCompletion.completeExceptionally(e);
@@ -681,29 +790,63 @@ public class SqlStateMachine {
         clock.incrementTxn();
 
         try {
-            Object results = switch (tx.getExecutionCase()) {
-                case BATCH -> SqlStateMachine.this.acceptBatch(tx.getBatch());
-                case CALL -> acceptCall(tx.getCall());
-                case BATCHUPDATE -> SqlStateMachine.this.acceptBatchUpdate(tx.getBatchUpdate());
-                case STATEMENT -> SqlStateMachine.this.acceptPreparedStatement(tx.getStatement());
-                case SCRIPT -> SqlStateMachine.this.acceptScript(tx.getScript());
-                case BATCHED -> acceptBatchTransaction(tx.getBatched());
-                case MIGRATION -> acceptMigration(tx.getMigration());
-                default -> null;
-            };
-            this.complete(onCompletion, results);
-        } catch (JdbcSQLNonTransientConnectionException e) {
-            // ignore
-        } catch (Exception e) {
-            rollback();
-            exception(onCompletion, e);
-            if (e instanceof BatchedTransactionException bte) {
-                log.error("error executing: {}: {} on: {}", tx.getExecutionCase(), bte.getCause().getMessage(), id);
-            } else {
-                log.error("error executing: {} on: {}", tx.getExecutionCase(), id, e);
-            }
+            execute(executing.blkHash, index, tx, onCompletion, clock);
         } finally {
             commit();
+            executed(executing.height, tx);
+        }
+    }
+
+    /**
+     * Execute the transaction at the index of the block on the session of the current thread. The session random and
+     * the entropy of the transaction are determined by the block hash and the index, so the transaction's results do
+     * not depend on whether it is executed serially or in a wave
+     */
+    private void execute(Digest blkHash, int index, Txn tx,
+                         @SuppressWarnings("rawtypes") CompletableFuture onCompletion, BlockClock blockClock) {
+        getSession().getRandom().setSeed(new DigestHasher(blkHash, index).identityHash());
+        withContext(entropy(blkHash, index), blockClock, () -> {
+            try {
+                // Only the replica where the transaction originated has a future to complete
+                complete(onCompletion, execute(tx, onCompletion != null));
+            } catch (JdbcSQLNonTransientConnectionException e) {
+                // ignore
+            } catch (Exception e) {
+                rollback();
+                exception(onCompletion, e);
+                if (e instanceof BatchedTransactionException bte) {
+                    log.error("error executing: {}: {} on: {}", tx.getExecutionCase(), bte.getCause().getMessage(),
+                              id);
+                } else {
+                    log.error("error executing: {} on: {}", tx.getExecutionCase(), id, e);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void executed(ULong height, Txn tx) {
+        for (var listener : listeners) {
+            try {
+                listener.executed(height, tx);
+            } catch (Throwable t) {
+                log.warn("Error notifying txn listener of: {} on: {}", tx.getExecutionCase(), id, t);
+            }
+        }
+    }
+
+    /**
+     * Execute the scheduled transaction on the worker session of the current thread
+     */
+    private void execute(Digest blkHash, Scheduled scheduled) {
+        try {
+            execute(blkHash, scheduled.index, scheduled.txn, scheduled.onCompletion, scheduled.clock);
+        } finally {
+            try {
+                connection().commit();
+            } catch (SQLException e) {
+                log.trace("unable to commit worker connection on:{}", id, e);
+            }
         }
     }
 
@@ -717,26 +860,74 @@ public class SqlStateMachine {
         } finally {
             if (ps != null) {
                 try {
-                    ps.close();
+                    if (!ps.isCloseOnCompletion()) {
+                        ps.close();
+                    }
                 } catch (SQLException e) {
                 }
             }
         }
     }
 
-    private Object execute(Txn txn) throws Exception {
+    /**
+     * @return the results of executing the transaction, the single dispatch of the transaction's execution case
+     */
+    private Object execute(Txn txn, boolean origin) throws Exception {
         return switch (txn.getExecutionCase()) {
             case BATCH -> acceptBatch(txn.getBatch());
             case BATCHUPDATE -> acceptBatchUpdate(txn.getBatchUpdate());
-            case CALL -> acceptCall(txn.getCall());
-            case SCRIPT -> acceptScript(txn.getScript());
-            case STATEMENT -> acceptPreparedStatement(txn.getStatement());
-            case BATCHED -> acceptBatchTransaction(txn.getBatched());
+            case CALL -> acceptCall(txn.getCall(), origin);
+            case SCRIPT -> acceptScript(txn.getScript(), origin);
+            case STATEMENT -> acceptPreparedStatement(txn.getStatement(), origin);
+            case BATCHED -> acceptBatchTransaction(txn.getBatched(), origin);
             case MIGRATION -> acceptMigration(txn.getMigration());
             default -> null;
         };
     }
 
+    /**
+     * Execute the current wave of transactions concurrently, each worker session executing every nth transaction of
+     * the wave
+     */
+    private void flush() {
+        final var executing = wave;
+        if (executing == null) {
+            return;
+        }
+        wave = null;
+        if (workers == null) {
+            workers = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(withContext(this::connect));
+            }
+        }
+        var block = executingBlock.get();
+        var scheduled = executing.scheduled;
+        var n = Math.min(workers.size(), scheduled.size());
+        var tasks = new CompletableFuture[n];
+        for (int i = 0; i < n; i++) {
+            final var w = i;
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                worker.set(workers.get(w));
+                try {
+                    for (int j = w; j < scheduled.size(); j += n) {
+                        execute(block.blkHash, scheduled.get(j));
+                    }
+                } finally {
+                    worker.remove();
+                }
+            }, VIRTUAL);
+        }
+        CompletableFuture.allOf(tasks).join();
+        log.trace("Executed wave of: {} txns on: {}", scheduled.size(), id);
+
+        var last = scheduled.getLast();
+        updateCurrent(block.height, block.blkHash, last.index, last.txnHash);
+        for (var s : scheduled) {
+            executed(block.height, s.txn);
+        }
+    }
+
     private void initializeStatements() throws SQLException {
         deleteEvents = connection.prepareStatement(DELETE_FROM_DALOS_INTERNAL_TRAMPOLINE);
         getEvents = connection.prepareStatement(SELECT_FROM_DALOS_INTERNAL_TRAMPOLINE);
@@ -786,6 +977,42 @@ public class SqlStateMachine {
 
     }
 
+    /**
+     * @return the results of the executed statement, according to the result mode. Streamed results are handed off to
+     * the originating replica, the statement closing when its results have been closed
+     */
+    private List<ResultSet> results(java.sql.Statement exec, boolean origin) throws SQLException {
+        List<ResultSet> results = new ArrayList<>();
+        if (resultMode == ResultMode.CACHED) {
+            CachedRowSet rowset = factory.createCachedRowSet();
+
+            rowset.populate(exec.getResultSet());
+            results.add(rowset);
+
+            while (exec.getMoreResults()) {
+                rowset = factory.createCachedRowSet();
+                rowset.populate(exec.getResultSet());
+                results.add(rowset);
+            }
+            return results;
+        }
+        if (!origin) {
+            // The results are only of interest to the originating replica
+            return results;
+        }
+        var resultSet = exec.getResultSet();
+        if (resultSet != null) {
+            results.add(resultSet);
+        }
+        while (exec.getMoreResults(java.sql.Statement.KEEP_CURRENT_RESULT)) {
+            results.add(exec.getResultSet());
+        }
+        if (!results.isEmpty()) {
+            exec.closeOnCompletion();
+        }
+        return results;
+    }
+
     private void rollback() {
         try {
             if (connection().isClosed()) {
@@ -868,11 +1095,40 @@ public class SqlStateMachine {
         commit();
     }
 
+    /**
+     * Schedule the transaction in the current wave, if it commutes with the wave's transactions. Otherwise, execute the
+     * wave, and then either start the next wave with the transaction or, if the transaction is global, execute it
+     * alone
+     */
+    private void schedule(int index, Digest txnHash, Txn txn,
+                          @SuppressWarnings("rawtypes") CompletableFuture onCompletion) {
+        var footprint = Footprint.of(getSession(), txn);
+        if (wave != null && wave.footprint.conflicts(footprint)) {
+            flush();
+        }
+        if (footprint.global()) {
+            execute(index, txnHash, txn, onCompletion);
+            return;
+        }
+        clock.incrementTxn();
+        var scheduled = new Scheduled(index, txnHash, txn, onCompletion, clock.copy());
+        if (wave == null) {
+            wave = new Wave(footprint);
+        } else {
+            wave.footprint = wave.footprint.union(footprint);
+        }
+        wave.scheduled.add(scheduled);
+    }
+
     private <T> T withContext(Callable<T> action) {
+        return withContext(entropy.get(), clock, action);
+    }
+
+    private <T> T withContext(SecureRandom random, BlockClock blockClock, Callable<T> action) {
         SecureRandom prev = MathUtils.SECURE_RANDOM.get();
-        MathUtils.SECURE_RANDOM.set(entropy.get());
+        MathUtils.SECURE_RANDOM.set(random);
         BlockClock prevClock = DateTimeUtils.CLOCK.get();
-        DateTimeUtils.CLOCK.set(clock);
+        DateTimeUtils.CLOCK.set(blockClock);
         try {
             return action.call();
         } catch (Exception e) {
@@ -890,10 +1146,38 @@ public class SqlStateMachine {
         }, log));
     }
 
+    /**
+     * How the results of queries, calls and scripts are returned to the Session where the transaction originated
+     */
+    public enum ResultMode {
+        /**
+         * Every replica copies the results into CachedRowSets
+         */
+        CACHED,
+        /**
+         * Replicas discard the results, and the originating replica receives the live, forward only ResultSets of the
+         * execution, which must be closed by the receiver. Results for a future that has already timed out or been
+         * cancelled are closed by the state machine
+         */
+        STREAMED
+    }
+
     public interface CallService {
         Object call(Object... params) throws Exception;
     }
 
+    /**
+     * Listener notified of the execution of each transaction, in block order
+     */
+    @FunctionalInterface
+    public interface TxnListener {
+        /**
+         * @param height - the height of the block containing the transaction
+         * @param txn    - the executed transaction
+         */
+        void executed(ULong height, Txn txn);
+    }
+
     @FunctionalInterface
     private interface CheckedFunction<A, B> {
         B apply(A a) throws SQLException;
@@ -918,6 +1202,22 @@ public class SqlStateMachine {
     public record Current(ULong height, Digest blkHash) {
     }
 
+    private record Scheduled(int index, Digest txnHash, Txn txn,
+                             @SuppressWarnings("rawtypes") CompletableFuture onCompletion, BlockClock clock) {
+    }
+
+    /**
+     * Transactions with disjoint footprints, executed concurrently
+     */
+    private static class Wave {
+        private final List<Scheduled> scheduled = new ArrayList<>();
+        private       Footprint       footprint;
+
+        private Wave(Footprint footprint) {
+            this.footprint = footprint;
+        }
+    }
+
     public record Event(String discriminator, JsonNode body) {
     }
 
@@ -1043,7 +1343,11 @@ public class SqlStateMachine {
                 return;
             }
             withContext(() -> {
-                SqlStateMachine.this.execute(index, txnHash, txn, onComplete);
+                if (parallelism == 1) {
+                    SqlStateMachine.this.execute(index, txnHash, txn, onComplete);
+                } else {
+                    schedule(index, txnHash, txn, onComplete);
+                }
             });
         }
 
@@ -1056,8 +1360,9 @@ public class SqlStateMachine {
             });
             int i = 0;
             for (Transaction txn : initialization) {
-                execute(i, Digest.NONE, txn, null);
+                execute(i++, Digest.NONE, txn, null);
             }
+            flush();
             log.debug("Genesis executed on: {}", id);
         }
     }
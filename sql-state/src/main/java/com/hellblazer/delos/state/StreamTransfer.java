@@ -5,9 +5,6 @@
  */
 package com.hellblazer.delos.state;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -19,7 +16,6 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import com.google.protobuf.ByteString;
-import com.hellblazer.delos.utils.BbBackedInputStream;
 import com.hellblazer.delos.utils.Entropy;
 
 import deterministic.org.h2.api.ErrorCode;
@@ -77,7 +73,8 @@ import deterministic.org.h2.value.lob.LobDataDatabase;
 import deterministic.org.h2.value.lob.LobDataFetchOnDemand;
 
 /**
- * The stream transfer class is used to read and write Value objects to streams
+ * The stream transfer class is used to read and write Value objects to streams. Values are encoded directly into
+ * pooled ByteBuffers and decoded directly from the segments of the encoding, without intermediate streams or copies.
  */
 public class StreamTransfer {
 
@@ -193,7 +190,7 @@ public class StreamTransfer {
     }
 
     public Value[] read(ByteString bs) {
-        try (var in = new DataInputStream(BbBackedInputStream.aggregate(bs.asReadOnlyByteBufferList()))) {
+        try (var in = ValueInput.of(bs)) {
             int len = readInt(in);
             return readArrayElements(len, null, in);
         } catch (IOException e) {
@@ -208,7 +205,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    public Value readValue(TypeInfo columnType, DataInputStream in) throws IOException {
+    public Value readValue(TypeInfo columnType, ValueInput in) throws IOException {
         int type = readInt(in);
         switch (type) {
         case NULL:
@@ -386,17 +383,12 @@ public class StreamTransfer {
     }
 
     public ByteString write(List<Value> values) {
-        var baos = new ByteArrayOutputStream();
-        try (var out = new DataOutputStream(baos)) {
-            int len = values == null ? 0 : values.size();
-            writeInt(len, out);
-            for (Value value : values) {
-                writeValue(value, out);
-            }
+        try (var out = new ValueOutput()) {
+            writeValues(values, out);
+            return out.toByteString();
         } catch (IOException e) {
-            throw new IllegalStateException("Should nver have happened", e);
+            throw new IllegalStateException("Should never have happened", e);
         }
-        return ByteString.copyFrom(baos.toByteArray());
     }
 
     /**
@@ -405,7 +397,7 @@ public class StreamTransfer {
      * @param v the value
      * @throws IOException on failure
      */
-    public void writeValue(Value v, DataOutputStream out) throws IOException {
+    public void writeValue(Value v, ValueOutput out) throws IOException {
         int type = v.getValueType();
         switch (type) {
         case Value.NULL:
@@ -676,7 +668,7 @@ public class StreamTransfer {
         return SHA256.getHashWithSalt(data, lobMacSalt);
     }
 
-    private Value[] readArrayElements(int len, TypeInfo elementType, DataInputStream in) throws IOException {
+    private Value[] readArrayElements(int len, TypeInfo elementType, ValueInput in) throws IOException {
         Value[] list = new Value[len];
         for (int i = 0; i < len; i++) {
             list[i] = readValue(elementType, in);
@@ -690,7 +682,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private boolean readBoolean(DataInputStream in) throws IOException {
+    private boolean readBoolean(ValueInput in) throws IOException {
         return in.readByte() != 0;
     }
 
@@ -700,7 +692,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private byte readByte(DataInputStream in) throws IOException {
+    private byte readByte(ValueInput in) throws IOException {
         return in.readByte();
     }
 
@@ -710,7 +702,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private byte[] readBytes(DataInputStream in) throws IOException {
+    private byte[] readBytes(ValueInput in) throws IOException {
         int len = readInt(in);
         if (len == -1) {
             return null;
@@ -726,7 +718,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private double readDouble(DataInputStream in) throws IOException {
+    private double readDouble(ValueInput in) throws IOException {
         return in.readDouble();
     }
 
@@ -736,7 +728,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private float readFloat(DataInputStream in) throws IOException {
+    private float readFloat(ValueInput in) throws IOException {
         return in.readFloat();
     }
 
@@ -746,7 +738,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private int readInt(DataInputStream in) throws IOException {
+    private int readInt(ValueInput in) throws IOException {
         return in.readInt();
     }
 
@@ -756,7 +748,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private long readLong(DataInputStream in) throws IOException {
+    private long readLong(ValueInput in) throws IOException {
         return in.readLong();
     }
 
@@ -766,7 +758,7 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private short readShort(DataInputStream in) throws IOException {
+    private short readShort(ValueInput in) throws IOException {
         return in.readShort();
     }
 
@@ -776,18 +768,12 @@ public class StreamTransfer {
      * @return the value
      * @throws IOException on failure
      */
-    private String readString(DataInputStream in) throws IOException {
+    private String readString(ValueInput in) throws IOException {
         int len = in.readInt();
         if (len == -1) {
             return null;
         }
-        StringBuilder buff = new StringBuilder(len);
-        for (int i = 0; i < len; i++) {
-            buff.append(in.readChar());
-        }
-        String s = buff.toString();
-        s = StringUtils.cache(s);
-        return s;
+        return StringUtils.cache(in.readChars(len));
     }
 
     /**
@@ -796,7 +782,7 @@ public class StreamTransfer {
      * @return the type information
      * @throws IOException on failure
      */
-    private TypeInfo readTypeInfo(DataInputStream in) throws IOException {
+    private TypeInfo readTypeInfo(ValueInput in) throws IOException {
         if (version >= Constants.TCP_PROTOCOL_VERSION_20) {
             return readTypeInfo20(in);
         } else {
@@ -804,11 +790,11 @@ public class StreamTransfer {
         }
     }
 
-    private TypeInfo readTypeInfo19(DataInputStream in) throws IOException {
+    private TypeInfo readTypeInfo19(ValueInput in) throws IOException {
         return TypeInfo.getTypeInfo(TI_TO_VALUE[readInt(in) + 1], readLong(in), readInt(in), null);
     }
 
-    private TypeInfo readTypeInfo20(DataInputStream in) throws IOException {
+    private TypeInfo readTypeInfo20(ValueInput in) throws IOException {
         int valueType = TI_TO_VALUE[readInt(in) + 1];
         long precision = -1L;
         int scale = -1;
@@ -890,7 +876,7 @@ public class StreamTransfer {
         return TypeInfo.getTypeInfo(valueType, precision, scale, ext);
     }
 
-    private ExtTypeInfo readTypeInfoEnum(DataInputStream in) throws IOException {
+    private ExtTypeInfo readTypeInfoEnum(ValueInput in) throws IOException {
         ExtTypeInfo ext;
         int c = readInt(in);
         if (c > 0) {
@@ -905,7 +891,7 @@ public class StreamTransfer {
         return ext;
     }
 
-    private ExtTypeInfo readTypeInfoGeometry(DataInputStream in) throws IOException {
+    private ExtTypeInfo readTypeInfoGeometry(ValueInput in) throws IOException {
         ExtTypeInfo ext;
         int e = readByte(in);
         switch (e) {
@@ -927,7 +913,7 @@ public class StreamTransfer {
         return ext;
     }
 
-    private ExtTypeInfo readTypeInfoRow(DataInputStream in) throws IOException {
+    private ExtTypeInfo readTypeInfoRow(ValueInput in) throws IOException {
         LinkedHashMap<String, TypeInfo> fields = new LinkedHashMap<>();
         for (int i = 0, l = readInt(in); i < l; i++) {
             String name = readString(in);
@@ -945,7 +931,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeBoolean(boolean x, DataOutputStream out) throws IOException {
+    private StreamTransfer writeBoolean(boolean x, ValueOutput out) throws IOException {
         out.writeByte((byte) (x ? 1 : 0));
         return this;
     }
@@ -957,12 +943,12 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeByte(byte x, DataOutputStream out) throws IOException {
+    private StreamTransfer writeByte(byte x, ValueOutput out) throws IOException {
         out.writeByte(x);
         return this;
     }
 
-    private void writeBytePrecisionWithDefault(long precision, DataOutputStream out) throws IOException {
+    private void writeBytePrecisionWithDefault(long precision, ValueOutput out) throws IOException {
         writeByte(precision >= 0 ? (byte) precision : -1, out);
     }
 
@@ -973,7 +959,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeBytes(byte[] data, DataOutputStream out) throws IOException {
+    private StreamTransfer writeBytes(byte[] data, ValueOutput out) throws IOException {
         if (data == null) {
             writeInt(-1, out);
         } else {
@@ -983,7 +969,7 @@ public class StreamTransfer {
         return this;
     }
 
-    private void writeByteScaleWithDefault(int scale, DataOutputStream out) throws IOException {
+    private void writeByteScaleWithDefault(int scale, ValueOutput out) throws IOException {
         writeByte(scale >= 0 ? (byte) scale : -1, out);
     }
 
@@ -994,7 +980,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeDouble(double i, DataOutputStream out) throws IOException {
+    private StreamTransfer writeDouble(double i, ValueOutput out) throws IOException {
         out.writeDouble(i);
         return this;
     }
@@ -1005,7 +991,7 @@ public class StreamTransfer {
      * @param i the value
      * @return itself
      */
-    private StreamTransfer writeFloat(float i, DataOutputStream out) throws IOException {
+    private StreamTransfer writeFloat(float i, ValueOutput out) throws IOException {
         out.writeFloat(i);
         return this;
     }
@@ -1017,7 +1003,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeInt(int x, DataOutputStream out) throws IOException {
+    private StreamTransfer writeInt(int x, ValueOutput out) throws IOException {
         out.writeInt(x);
         return this;
     }
@@ -1029,7 +1015,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeLong(long x, DataOutputStream out) throws IOException {
+    private StreamTransfer writeLong(long x, ValueOutput out) throws IOException {
         out.writeLong(x);
         return this;
     }
@@ -1041,7 +1027,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeShort(short x, DataOutputStream out) throws IOException {
+    private StreamTransfer writeShort(short x, ValueOutput out) throws IOException {
         out.writeShort(x);
         return this;
     }
@@ -1053,7 +1039,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeString(String s, DataOutputStream out) throws IOException {
+    private StreamTransfer writeString(String s, ValueOutput out) throws IOException {
         if (s == null) {
             out.writeInt(-1);
         } else {
@@ -1070,7 +1056,7 @@ public class StreamTransfer {
      * @return itself
      * @throws IOException on failure
      */
-    private StreamTransfer writeTypeInfo(TypeInfo type, DataOutputStream out) throws IOException {
+    private StreamTransfer writeTypeInfo(TypeInfo type, ValueOutput out) throws IOException {
         if (version >= Constants.TCP_PROTOCOL_VERSION_20) {
             writeTypeInfo20(type, out);
         } else {
@@ -1079,7 +1065,7 @@ public class StreamTransfer {
         return this;
     }
 
-    private void writeTypeInfo19(TypeInfo type, DataOutputStream out) throws IOException {
+    private void writeTypeInfo19(TypeInfo type, ValueOutput out) throws IOException {
         int valueType = type.getValueType();
         switch (valueType) {
         case Value.BINARY:
@@ -1092,7 +1078,7 @@ public class StreamTransfer {
         writeInt(VALUE_TO_TI[valueType + 1], out).writeLong(type.getPrecision(), out).writeInt(type.getScale(), out);
     }
 
-    private void writeTypeInfo20(TypeInfo type, DataOutputStream out) throws IOException {
+    private void writeTypeInfo20(TypeInfo type, ValueOutput out) throws IOException {
         int valueType = type.getValueType();
         writeInt(VALUE_TO_TI[valueType + 1], out);
         switch (valueType) {
@@ -1169,7 +1155,7 @@ public class StreamTransfer {
         }
     }
 
-    private void writeTypeInfoEnum(TypeInfo type, DataOutputStream out) throws IOException {
+    private void writeTypeInfoEnum(TypeInfo type, ValueOutput out) throws IOException {
         ExtTypeInfoEnum ext = (ExtTypeInfoEnum) type.getExtTypeInfo();
         if (ext != null) {
             int c = ext.getCount();
@@ -1182,7 +1168,7 @@ public class StreamTransfer {
         }
     }
 
-    private void writeTypeInfoGeometry(TypeInfo type, DataOutputStream out) throws IOException {
+    private void writeTypeInfoGeometry(TypeInfo type, ValueOutput out) throws IOException {
         ExtTypeInfoGeometry ext = (ExtTypeInfoGeometry) type.getExtTypeInfo();
         if (ext == null) {
             writeByte((byte) 0, out);
@@ -1209,7 +1195,7 @@ public class StreamTransfer {
         }
     }
 
-    private void writeTypeInfoRow(TypeInfo type, DataOutputStream out) throws IOException {
+    private void writeTypeInfoRow(TypeInfo type, ValueOutput out) throws IOException {
         Set<Map.Entry<String, TypeInfo>> fields = ((ExtTypeInfoRow) type.getExtTypeInfo()).getFields();
         writeInt(fields.size(), out);
         for (Map.Entry<String, TypeInfo> field : fields) {
@@ -1217,4 +1203,13 @@ public class StreamTransfer {
         }
     }
 
+    private void writeValues(List<Value> values, ValueOutput out) throws IOException {
+        int len = values == null ? 0 : values.size();
+        writeInt(len, out);
+        if (values != null) {
+            for (Value value : values) {
+                writeValue(value, out);
+            }
+        }
+    }
 }
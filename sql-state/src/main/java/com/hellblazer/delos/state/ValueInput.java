@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import com.google.protobuf.ByteString;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * The DataInput of the StreamTransfer encoding, reading big endian primitives directly from a sequence of ByteBuffer
+ * segments. The segments of a ByteString are read in place, without aggregating or copying the ByteString.
+ *
+ * @author hal.hildebrand
+ */
+final class ValueInput extends InputStream implements DataInput {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final Iterator<ByteBuffer> segments;
+    private final byte[]               scratch = new byte[8];
+    private       ByteBuffer           current = EMPTY;
+
+    private ValueInput(Iterator<ByteBuffer> segments) {
+        this.segments = segments;
+    }
+
+    static ValueInput of(ByteString bytes) {
+        return new ValueInput(bytes.asReadOnlyByteBufferList().iterator());
+    }
+
+    @Override
+    public int available() {
+        return current.remaining();
+    }
+
+    @Override
+    public void close() {
+        current = EMPTY;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!advance()) {
+            return -1;
+        }
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!advance()) {
+            return -1;
+        }
+        int n = Math.min(len, current.remaining());
+        current.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        if (!advance()) {
+            throw new EOFException();
+        }
+        return current.get();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        if (current.remaining() >= 2) {
+            return current.getChar();
+        }
+        readFully(scratch, 0, 2);
+        return (char) (((scratch[0] & 0xFF) << 8) | (scratch[1] & 0xFF));
+    }
+
+    /**
+     * Read the string of len chars, as written by writeChars()
+     */
+    String readChars(int len) throws IOException {
+        var chars = new char[len];
+        int i = 0;
+        while (i < len) {
+            if (current.remaining() >= 2) {
+                int n = Math.min(len - i, current.remaining() / 2);
+                current.asCharBuffer().get(chars, i, n);
+                current.position(current.position() + n * 2);
+                i += n;
+            } else {
+                chars[i++] = readChar();
+            }
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = read(b, off, len);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        if (current.remaining() >= 4) {
+            return current.getInt();
+        }
+        readFully(scratch, 0, 4);
+        int v = 0;
+        for (int i = 0; i < 4; i++) {
+            v = (v << 8) | (scratch[i] & 0xFF);
+        }
+        return v;
+    }
+
+    /**
+     * Read the line of bytes, each byte taken as a char, terminated by '\n', '\r' or "\r\n" - as in
+     * DataInputStream.readLine()
+     *
+     * @return the line, without its terminator, or null if the input is exhausted
+     */
+    @Override
+    public String readLine() throws IOException {
+        if (!advance()) {
+            return null;
+        }
+        var line = new StringBuilder();
+        while (advance()) {
+            char c = (char) (current.get() & 0xFF);
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                if (advance() && current.get(current.position()) == '\n') {
+                    current.get();
+                }
+                break;
+            }
+            line.append(c);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        if (current.remaining() >= 8) {
+            return current.getLong();
+        }
+        readFully(scratch, 0, 8);
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (scratch[i] & 0xFF);
+        }
+        return v;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return (short) readChar();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readChar();
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skipped = 0;
+        while (skipped < n && advance()) {
+            int s = Math.min(n - skipped, current.remaining());
+            current.position(current.position() + s);
+            skipped += s;
+        }
+        return skipped;
+    }
+
+    private boolean advance() {
+        while (!current.hasRemaining()) {
+            if (!segments.hasNext()) {
+                return false;
+            }
+            current = segments.next();
+        }
+        return true;
+    }
+}
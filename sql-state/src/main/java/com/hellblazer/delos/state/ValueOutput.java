@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import com.google.protobuf.ByteString;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The DataOutput of the StreamTransfer encoding, writing big endian primitives directly into a heap ByteBuffer drawn
+ * from a small pool shared by all threads - the encodings run on virtual threads, so a per thread pool would rarely be
+ * reused. The pool is bounded in both the number and the capacity of the buffers it retains. The buffer grows to hold
+ * the entire encoding.
+ *
+ * @author hal.hildebrand
+ */
+final class ValueOutput extends OutputStream implements DataOutput {
+    static final         int                       INITIAL_CAPACITY = 8 * 1024;
+    private static final int                       MAX_POOLED       = 1024 * 1024;
+    private static final int                       POOL_SIZE        = 2 * Runtime.getRuntime().availableProcessors();
+    private static final BlockingQueue<ByteBuffer> POOL             = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private ByteBuffer buffer = acquire();
+
+    private static ByteBuffer acquire() {
+        var pooled = POOL.poll();
+        if (pooled == null) {
+            return ByteBuffer.allocate(INITIAL_CAPACITY);
+        }
+        return pooled.clear();
+    }
+
+    /**
+     * Return the buffer to the pool, dropping it if the buffer has grown too large or the pool is full
+     */
+    private static void release(ByteBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED) {
+            POOL.offer(buffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            release(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return the encoding written, copied once from the pooled buffer
+     */
+    ByteString toByteString() {
+        return ByteString.copyFrom(buffer.array(), buffer.arrayOffset(), buffer.position());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensure(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensure(len);
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        write(v);
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        ensure(2);
+        buffer.putChar((char) v);
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        int i = 0;
+        while (i < s.length()) {
+            ensure(2);
+            int n = Math.min(s.length() - i, buffer.remaining() / 2);
+            buffer.asCharBuffer().put(s, i, i + n);
+            buffer.position(buffer.position() + n * 2);
+            i += n;
+        }
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        ensure(4);
+        buffer.putInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        ensure(8);
+        buffer.putLong(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        ensure(2);
+        buffer.putShort((short) v);
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        new DataOutputStream(this).writeUTF(s);
+    }
+
+    /**
+     * Ensure the buffer has the required remaining capacity, growing the buffer if necessary
+     */
+    private void ensure(int required) {
+        if (buffer.remaining() >= required) {
+            return;
+        }
+        var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + required));
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+}
@@ -25,7 +25,9 @@ import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -104,6 +106,69 @@ public class ScriptTest {
         assertFalse(rs.next());
     }
 
+    @Test
+    public void compiledOnce() throws Exception {
+        SqlStateMachine machine = new SqlStateMachine("jdbc:h2:mem:test_script_cache", new Properties(),
+                                                      new File("target/chkpoints"));
+        machine.getExecutor().genesis(DigestAlgorithm.DEFAULT.getLast(), Collections.emptyList());
+        Connection connection = machine.newConnection();
+        createAndInsert(connection);
+        connection.commit();
+        var source = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream("/scripts/dbaccess.java"),
+                                                              StandardCharsets.UTF_8)).lines()
+                                                                                      .collect(Collectors.joining("\n"));
+        machine.precompile("test.DbAccess", source);
+        assertEquals(1, machine.getScriptCache().size());
+        var compiled = machine.getScriptCache().compile("test.DbAccess", source);
+
+        for (int i = 0; i < 3; i++) {
+            Txn txn = Txn.newBuilder()
+                         .setScript(new Mutator(null, machine.getSession()).callScript("test.DbAccess", "call", source))
+                         .build();
+            CompletableFuture<Object> completion = new CompletableFuture<>();
+            machine.getExecutor()
+                   .execute(i, Digest.NONE, Transaction.newBuilder().setContent(txn.toByteString()).build(),
+                            completion);
+            ResultSet rs = (ResultSet) completion.get();
+            for (int j = 0; j < 5; j++) {
+                assertTrue(rs.next());
+            }
+            assertFalse(rs.next());
+        }
+        assertEquals(1, machine.getScriptCache().size());
+        assertSame(compiled, machine.getScriptCache().compile("test.DbAccess", source));
+    }
+
+    @Test
+    public void staticStateNotCarried() throws Exception {
+        SqlStateMachine machine = new SqlStateMachine("jdbc:h2:mem:test_script_static", new Properties(),
+                                                      new File("target/chkpoints"));
+        machine.getExecutor().genesis(DigestAlgorithm.DEFAULT.getLast(), Collections.emptyList());
+        var source = """
+                     package test;
+
+                     public class Counter {
+                         private static int count;
+
+                         public int call() {
+                             return ++count;
+                         }
+                     }
+                     """;
+        for (int i = 0; i < 3; i++) {
+            Txn txn = Txn.newBuilder()
+                         .setScript(new Mutator(null, machine.getSession()).callScript("test.Counter", "call", source))
+                         .build();
+            CompletableFuture<Object> completion = new CompletableFuture<>();
+            machine.getExecutor()
+                   .execute(i, Digest.NONE, Transaction.newBuilder().setContent(txn.toByteString()).build(),
+                            completion);
+            // Each transaction starts from fresh static state, whether the script was cached or not
+            assertEquals(1, completion.get());
+        }
+        assertEquals(1, machine.getScriptCache().size());
+    }
+
     private Statement createAndInsert(Connection connection) throws SQLException {
         connection.setAutoCommit(false);
         Statement s = connection.createStatement();
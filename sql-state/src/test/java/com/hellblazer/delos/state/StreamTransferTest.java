@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.state;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+import deterministic.org.h2.engine.Session;
+import deterministic.org.h2.jdbc.JdbcConnection;
+import deterministic.org.h2.value.Value;
+import deterministic.org.h2.value.ValueBigint;
+import deterministic.org.h2.value.ValueBoolean;
+import deterministic.org.h2.value.ValueDouble;
+import deterministic.org.h2.value.ValueInteger;
+import deterministic.org.h2.value.ValueNull;
+import deterministic.org.h2.value.ValueNumeric;
+import deterministic.org.h2.value.ValueTimestamp;
+import deterministic.org.h2.value.ValueVarbinary;
+import deterministic.org.h2.value.ValueVarchar;
+
+/**
+ * @author hal.hildebrand
+ */
+public class StreamTransferTest {
+
+    static List<Value> values(int rows) {
+        var huge = new byte[ValueOutput.INITIAL_CAPACITY * 3 + 7];
+        for (int i = 0; i < huge.length; i++) {
+            huge[i] = (byte) i;
+        }
+        var values = new ArrayList<Value>();
+        for (int i = 0; i < rows; i++) {
+            values.add(ValueInteger.get(i));
+            values.add(ValueBigint.get(i * 1_000_000_007L));
+            values.add(ValueVarchar.get("Customer #" + i + " é€"));
+            values.add(ValueDouble.get(i / 3.0));
+            values.add(ValueNumeric.get(BigDecimal.valueOf(i, 2)));
+            values.add(ValueBoolean.get(i % 2 == 0));
+            values.add(ValueTimestamp.fromDateValueAndNanos(20210101 + i, i * 1_000L));
+            values.add(ValueVarbinary.get(new byte[] { (byte) i, 1, 2, 3 }));
+            values.add(ValueNull.INSTANCE);
+        }
+        values.add(ValueVarbinary.get(huge));
+        values.add(ValueVarchar.get("x".repeat(ValueOutput.INITIAL_CAPACITY)));
+        return values;
+    }
+
+    @Test
+    public void readLine() throws Exception {
+        // Lines long enough that the concatenation is a rope of the segments, with the terminators straddling them
+        var first = "first".repeat(40);
+        var second = "second".repeat(40);
+        var third = "third".repeat(40);
+        var last = "last".repeat(40);
+        var segmented = ByteString.copyFromUtf8(first + "\r")
+                                  .concat(ByteString.copyFromUtf8("\n" + second + "\n" + third + "\r"))
+                                  .concat(ByteString.copyFromUtf8("\r" + last));
+        assertEquals(3, segmented.asReadOnlyByteBufferList().size());
+        try (var in = ValueInput.of(segmented)) {
+            assertEquals(first, in.readLine());
+            assertEquals(second, in.readLine());
+            assertEquals(third, in.readLine());
+            assertEquals("", in.readLine());
+            assertEquals(last, in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        try (var connection = new JdbcConnection("jdbc:h2:mem:stream_transfer", new Properties(), "", "", false)) {
+            var transfer = new StreamTransfer((Session) connection.getSession());
+            var values = values(100);
+            var expected = values.toArray(new Value[0]);
+
+            var encoded = transfer.write(values);
+            assertArrayEquals(expected, transfer.read(encoded));
+
+            // Decoding the segments of a rope in place yields the same values
+            var split = encoded.size() / 3;
+            var rope = encoded.substring(0, split).concat(encoded.substring(split));
+            assertArrayEquals(expected, transfer.read(rope));
+        }
+    }
+}
@@ -18,15 +18,19 @@ import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.joou.ULong;
 import org.junit.jupiter.api.Test;
 
 import com.hellblazer.delos.choam.proto.Transaction;
+import com.hellblazer.delos.state.proto.EXECUTION;
 import com.hellblazer.delos.state.proto.Txn;
 import com.hellblazer.delos.cryptography.Digest;
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
@@ -96,6 +100,48 @@ public class UpdaterTest {
         assertEquals("John", result.get().get(0).body().get("customer_name").asText());
     }
 
+    @Test
+    public void parallel() throws Exception {
+        var serial = new SqlStateMachine(DigestAlgorithm.DEFAULT.getOrigin(), "jdbc:h2:mem:test_serial",
+                                         new Properties(), new File("target/chkpoints"));
+        var parallel = new SqlStateMachine(DigestAlgorithm.DEFAULT.getOrigin(), "jdbc:h2:mem:test_parallel",
+                                           new Properties(), new File("target/chkpoints"), 4);
+        for (var updater : List.of(serial, parallel)) {
+            var executor = updater.getExecutor();
+            executor.genesis(DigestAlgorithm.DEFAULT.getLast(), Collections.emptyList());
+
+            executor.beginBlock(ULong.valueOf(1), DigestAlgorithm.DEFAULT.getOrigin());
+            executor.execute(0, Digest.NONE, transaction("create table a (id int primary key, v int)",
+                                                         "create table b (id int primary key, v int)",
+                                                         "create table c (id int primary key, v varchar)"), null);
+            executor.endBlock(ULong.valueOf(1), DigestAlgorithm.DEFAULT.getOrigin());
+
+            executor.beginBlock(ULong.valueOf(2), DigestAlgorithm.DEFAULT.getLast());
+            executor.execute(0, Digest.NONE, transaction("insert into a values (1, 1)"), null);
+            executor.execute(1, Digest.NONE, transaction("insert into b values (1, 10)"), null);
+            executor.execute(2, Digest.NONE, transaction("update a set v = v + 1"), null);
+            executor.execute(3, Digest.NONE, transaction("insert into b values (2, 20)"), null);
+            executor.execute(4, Digest.NONE, transaction("update b set v = v + (select sum(v) from a)"), null);
+            // Randomness, which the parallel updater executes in waves
+            executor.execute(5, Digest.NONE, transaction("insert into c values (1, rand())"), null);
+            executor.execute(6, Digest.NONE, transaction("insert into c values (2, random_uuid())"), null);
+            executor.execute(7, Digest.NONE, transaction("insert into b values (3, rand() * 1000)"), null);
+            executor.execute(8, Digest.NONE, transaction("insert into c values (3, secure_rand(16))"), null);
+            executor.endBlock(ULong.valueOf(2), DigestAlgorithm.DEFAULT.getLast());
+        }
+
+        assertEquals(List.of("1:2"), rows(serial, "select * from a order by id"));
+        assertEquals(List.of("1:12", "2:22"), rows(serial, "select * from b where id < 3 order by id"));
+        assertEquals(3, rows(serial, "select * from c order by id").size());
+        assertEquals(rows(serial, "select * from a order by id"), rows(parallel, "select * from a order by id"));
+        assertEquals(rows(serial, "select * from b order by id"), rows(parallel, "select * from b order by id"));
+        assertEquals(rows(serial, "select * from c order by id"), rows(parallel, "select * from c order by id"));
+        assertEquals(rows(serial, "select height, transaction from delos_internal.current"),
+                     rows(parallel, "select height, transaction from delos_internal.current"));
+        serial.close();
+        parallel.close();
+    }
+
     @Test
     public void smoke() throws Exception {
         SqlStateMachine updater = new SqlStateMachine("jdbc:h2:mem:test_update", new Properties(),
@@ -128,4 +174,62 @@ public class UpdaterTest {
             assertTrue(books.next(), "Missing row: " + (i + 1));
         }
     }
+
+    @Test
+    public void streamedResults() throws Exception {
+        var updater = new SqlStateMachine(DigestAlgorithm.DEFAULT.getOrigin(), "jdbc:h2:mem:test_streamed",
+                                          new Properties(), new File("target/chkpoints"), 1,
+                                          SqlStateMachine.ResultMode.STREAMED);
+        var executor = updater.getExecutor();
+        executor.genesis(DigestAlgorithm.DEFAULT.getLast(), Collections.emptyList());
+
+        executor.beginBlock(ULong.valueOf(1), DigestAlgorithm.DEFAULT.getOrigin());
+        executor.execute(0, Digest.NONE, transaction("create table a (id int primary key, v int)",
+                                                     "insert into a values (1, 10)", "insert into a values (2, 20)"),
+                         null);
+        var query = Transaction.newBuilder()
+                               .setContent(Txn.newBuilder()
+                                              .setStatement(com.hellblazer.delos.state.proto.Statement.newBuilder()
+                                                                                                     .setExecution(
+                                                                                                     EXECUTION.QUERY)
+                                                                                                     .setSql(
+                                                                                                     "select * from a order by id"))
+                                              .build()
+                                              .toByteString())
+                               .build();
+        // A replica, discarding the results
+        executor.execute(1, Digest.NONE, query, null);
+        // The originating replica
+        var origin = new CompletableFuture<List<ResultSet>>();
+        executor.execute(2, Digest.NONE, query, origin);
+        executor.endBlock(ULong.valueOf(1), DigestAlgorithm.DEFAULT.getOrigin());
+
+        var results = origin.get(10, TimeUnit.SECONDS);
+        assertEquals(1, results.size());
+        var rows = new ArrayList<String>();
+        try (var resultSet = results.get(0)) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1) + ":" + resultSet.getString(2));
+            }
+        }
+        assertEquals(List.of("1:10", "2:20"), rows);
+        updater.close();
+    }
+
+    private List<String> rows(SqlStateMachine updater, String query) throws Exception {
+        var rows = new ArrayList<String>();
+        try (Connection connection = updater.newConnection(); Statement statement = connection.createStatement();
+             ResultSet results = statement.executeQuery(query)) {
+            while (results.next()) {
+                rows.add(results.getString(1) + ":" + results.getString(2));
+            }
+        }
+        return rows;
+    }
+
+    private Transaction transaction(String... statements) {
+        return Transaction.newBuilder()
+                          .setContent(Txn.newBuilder().setBatch(batch(statements)).build().toByteString())
+                          .build();
+    }
 }
@@ -74,6 +74,11 @@ public class CommonKERLClient implements ProtoKERLService {
                 return service.getKERL(identifier);
             }
 
+            @Override
+            public KERL_ getKERLSince(IdentAndSeq request) {
+                return service.getKERLSince(request);
+            }
+
             @Override
             public KeyEvent_ getKeyEvent(EventCoords coordinates) {
                 return service.getKeyEvent(coordinates);
@@ -268,6 +273,26 @@ public class CommonKERLClient implements ProtoKERLService {
         return kerl.equals(KERL_.getDefaultInstance()) ? null : kerl;
     }
 
+    @Override
+    public KERL_ getKERLSince(IdentAndSeq request) {
+        Context timer = metrics == null ? null : metrics.getKERLClient().time();
+        if (metrics != null) {
+            final var bsize = request.getSerializedSize();
+            metrics.outboundBandwidth().mark(bsize);
+            metrics.outboundGetKERLRequest().mark(bsize);
+        }
+        var kerl = client.getKERLSince(request);
+        if (timer != null) {
+            timer.stop();
+        }
+        final var serializedSize = kerl.getSerializedSize();
+        if (metrics != null) {
+            metrics.inboundBandwidth().mark(serializedSize);
+            metrics.inboundGetKERLResponse().mark(serializedSize);
+        }
+        return kerl.equals(KERL_.getDefaultInstance()) ? null : kerl;
+    }
+
     @Override
     public KeyEvent_ getKeyEvent(EventCoords coordinates) {
         Context timer = metrics == null ? null : metrics.getKeyEventCoordsClient().time();
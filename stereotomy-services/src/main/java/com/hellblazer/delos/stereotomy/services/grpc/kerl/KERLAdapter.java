@@ -137,4 +137,17 @@ public class KERLAdapter implements KERL.AppendKERL {
         return k == null ? Collections.emptyList()
                          : k.getEventsList().stream().map(kwa -> ProtobufEventFactory.from(kwa)).toList();
     }
+
+    @Override
+    public List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
+        if (sequenceNumber == null) {
+            return kerl(identifier);
+        }
+        var k = kerl.getKERLSince(IdentAndSeq.newBuilder()
+                                             .setIdentifier(identifier.toIdent())
+                                             .setSequenceNumber(sequenceNumber.longValue())
+                                             .build());
+        return k == null ? Collections.emptyList()
+                         : k.getEventsList().stream().map(kwa -> ProtobufEventFactory.from(kwa)).toList();
+    }
 }
@@ -26,6 +26,7 @@ import com.hellblazer.delos.stereotomy.services.grpc.kerl.KERLServer;
 import com.hellblazer.delos.stereotomy.services.grpc.kerl.KERLService;
 import com.hellblazer.delos.stereotomy.services.proto.ProtoKERLAdapter;
 import com.hellblazer.delos.stereotomy.services.proto.ProtoKERLService;
+import org.joou.ULong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author hal.hildebrand
@@ -108,6 +110,30 @@ public class TestKerlService {
         assertEquals(kel.getKeyState(i.getIdentifier()), keyState);
     }
 
+    @Test
+    public void kerlSince() throws Exception {
+        var context = DigestAlgorithm.DEFAULT.getLast().prefix("foo");
+        var client = setup(context);
+
+        var service = new KERLAdapter(client, DigestAlgorithm.DEFAULT);
+        Stereotomy controller = new StereotomyImpl(ks, service, secureRandom);
+
+        var i = controller.newIdentifier();
+        i.rotate();
+        i.seal(InteractionSpecification.newBuilder());
+        i.rotate();
+
+        var since = service.kerlSince(i.getIdentifier(), ULong.valueOf(1));
+        assertEquals(2, since.size());
+        assertEquals(ULong.valueOf(2), since.get(0).event().getSequenceNumber());
+        assertEquals(KeyEvent.INTERACTION_TYPE, since.get(0).event().getIlk());
+        assertEquals(ULong.valueOf(3), since.get(1).event().getSequenceNumber());
+        assertEquals(KeyEvent.ROTATION_TYPE, since.get(1).event().getIlk());
+
+        assertEquals(4, service.kerlSince(i.getIdentifier(), null).size());
+        assertTrue(service.kerlSince(i.getIdentifier(), ULong.valueOf(3)).isEmpty());
+    }
+
     private KERLService setup(Digest context) throws Exception {
         var prefix = UUID.randomUUID().toString();
         var entropy = SecureRandom.getInstance("SHA1PRNG");
@@ -109,4 +109,9 @@ public class DelegatedKERL implements KERL.AppendKERL {
     public List<EventWithAttachments> kerl(Identifier identifier) {
         return delegate.kerl(identifier);
     }
+
+    @Override
+    public List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
+        return delegate.kerlSince(identifier, sequenceNumber);
+    }
 }
@@ -13,6 +13,7 @@ import com.hellblazer.delos.stereotomy.event.KeyEvent;
 import com.hellblazer.delos.stereotomy.event.KeyStateWithEndorsementsAndValidations;
 import com.hellblazer.delos.stereotomy.event.proto.KeyEventWithAttachments;
 import com.hellblazer.delos.stereotomy.identifier.Identifier;
+import org.joou.ULong;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,36 +39,33 @@ public interface KERL extends KEL {
 
     Map<EventCoordinates, JohnHancock> getValidations(EventCoordinates coordinates);
 
+    /**
+     * @return the key event log of the identifier, in sequence order, ending with the current key state
+     */
     default List<EventWithAttachments> kerl(Identifier identifier) {
-        // TODO use a real DB query instead of this really expensive iterative lookup
+        return kerlSince(identifier, null);
+    }
+
+    /**
+     * @return the suffix of the key event log of the identifier, in sequence order, containing the events with a
+     * sequence number strictly greater than the supplied sequence number. A null sequence number returns the entire
+     * log
+     */
+    default List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
         var ks = getKeyState(identifier);
         if (ks == null) {
             return Collections.emptyList();
         }
-        var ke = getKeyEvent(ks.getCoordinates());
-        return kerl(ke);
-    }
-
-    private EventWithAttachments completeKerl(EventCoordinates c, List<EventWithAttachments> result) {
-        if (c == null) {
-            return null;
-        }
-        var a = getAttachment(c);
-        var e = getKeyEvent(c);
-        if (e == null) {
-            return null;
-        }
-        result.add(new EventWithAttachments(e, a));
-        return completeKerl(e.getPrevious(), result);
-    }
-
-    private List<EventWithAttachments> kerl(KeyEvent event) {
         var result = new ArrayList<EventWithAttachments>();
-        Attachment a = getAttachment(event.getCoordinates());
-
-        result.add(new EventWithAttachments(event, a));
-        var c = event.getPrevious();
-        completeKerl(c, result);
+        var c = ks.getCoordinates();
+        while (c != null && (sequenceNumber == null || c.getSequenceNumber().compareTo(sequenceNumber) > 0)) {
+            var e = getKeyEvent(c);
+            if (e == null) {
+                break;
+            }
+            result.add(new EventWithAttachments(e, getAttachment(c)));
+            c = e.getPrevious();
+        }
         Collections.reverse(result);
         return result;
     }
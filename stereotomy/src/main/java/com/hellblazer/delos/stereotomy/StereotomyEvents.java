@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+package com.hellblazer.delos.stereotomy;
+
+import com.hellblazer.delos.utils.DelosEvents;
+import jdk.jfr.*;
+
+import static com.hellblazer.delos.utils.DelosEvents.DELOS;
+
+/**
+ * The JDK Flight Recorder events of Stereotomy, see {@link DelosEvents}. Events are correlated by the identifier and
+ * sequence number of the key event.
+ *
+ * @author hal.hildebrand
+ */
+public final class StereotomyEvents {
+    public static final String CATEGORY = "Stereotomy";
+
+    private StereotomyEvents() {
+    }
+
+    @Name("com.hellblazer.delos.stereotomy.KerlAppend")
+    @Label("KERL Append")
+    @Category({ DELOS, CATEGORY })
+    @Description("Append of a key event and its resulting key state to the KERL")
+    public static final class KerlAppend extends Event {
+        @Label("Identifier")
+        public String identifier;
+        @Label("Ilk")
+        public String ilk;
+        @Label("Sequence Number")
+        public long   sequenceNumber;
+    }
+
+    @Name("com.hellblazer.delos.stereotomy.KerlResolve")
+    @Label("KERL Resolve")
+    @Category({ DELOS, CATEGORY })
+    @Description("Resolution of the key events of an identifier from the KERL")
+    public static final class KerlResolve extends Event {
+        @Label("Events")
+        public int    events;
+        @Label("Identifier")
+        public String identifier;
+        @Label("Since")
+        public long   since;
+    }
+
+    @Name("com.hellblazer.delos.stereotomy.KeyStateResolve")
+    @Label("Key State Resolve")
+    @Category({ DELOS, CATEGORY })
+    @Description("Resolution of the current key state of an identifier from the KERL")
+    public static final class KeyStateResolve extends Event {
+        @Label("Identifier")
+        public String  identifier;
+        @Label("Resolved")
+        public boolean resolved;
+        @Label("Sequence Number")
+        public long    sequenceNumber;
+    }
+}
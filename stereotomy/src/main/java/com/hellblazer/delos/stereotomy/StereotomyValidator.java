@@ -6,27 +6,126 @@
  */
 package com.hellblazer.delos.stereotomy;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.hellblazer.delos.cryptography.Digest;
+import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.cryptography.ssl.CertificateValidator;
 import com.hellblazer.delos.stereotomy.Stereotomy.Decoded;
 import com.hellblazer.delos.stereotomy.identifier.BasicIdentifier;
+import com.hellblazer.delos.stereotomy.identifier.Identifier;
 
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static com.hellblazer.delos.stereotomy.identifier.QualifiedBase64Identifier.qb64;
 
 /**
+ * Validates certificates provisioned by Stereotomy identifiers. Successfully validated certificates are cached by the
+ * digest of their encoding, so repeated handshakes with the same peer do not repeatedly decode the certificate, resolve
+ * the verifier of the controlling identifier and verify the signature.
+ * <p>
+ * Cached validations are invalidated when the controlling identifier's keys rotate. If the validator is supplied a
+ * function resolving the current establishment event of an identifier - e.g. from the KERL - the establishment event
+ * is recorded with each validation, and a cached validation is only used while it remains current. The resolved
+ * establishment events are themselves cached for a short time to live, so a rotation is observed within that time
+ * without resolving the key state on every validation. Rotations may also be signalled explicitly via
+ * invalidate(Identifier), which takes effect immediately. Regardless, cached validations expire after the configured
+ * time to live.
+ *
  * @author hal.hildebrand
  */
 public class StereotomyValidator implements CertificateValidator {
+    public static final Duration DEFAULT_KEY_STATE_TTL = Duration.ofSeconds(10);
+    public static final long     DEFAULT_MAX_SIZE      = 10_000;
+    public static final Duration DEFAULT_TTL           = Duration.ofMinutes(5);
 
-    private final Verifiers verifiers;
+    private final DigestAlgorithm                               algorithm = DigestAlgorithm.DEFAULT;
+    private final Function<Identifier, EventCoordinates>        establishment;
+    private final Cache<Identifier, Optional<EventCoordinates>> establishments;
+    private final Cache<Digest, Validated>                      validated;
+    private final Verifiers                                     verifiers;
 
+    /**
+     * Construct a validator that does not track key rotation of the controlling identifiers. Rotations must be
+     * signalled via invalidate(Identifier)
+     */
     public StereotomyValidator(Verifiers verifiers) {
+        this(verifiers, null, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * Construct a validator that tracks key rotation of the controlling identifiers using the supplied KERL
+     */
+    public StereotomyValidator(Verifiers verifiers, KERL kerl) {
+        this(verifiers, id -> {
+            var keyState = kerl.getKeyState(id);
+            return keyState == null ? null : keyState.getLastEstablishmentEvent();
+        }, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * @param verifiers     - the verifiers of the controlling identifiers
+     * @param establishment - answers the current establishment event of an identifier, or null if unknown. If null,
+     *                      key rotation is not tracked
+     * @param maxSize       - the maximum number of cached validations
+     * @param ttl           - the time to live of a cached validation
+     */
+    public StereotomyValidator(Verifiers verifiers, Function<Identifier, EventCoordinates> establishment,
+                               long maxSize, Duration ttl) {
+        this(verifiers, establishment, maxSize, ttl, DEFAULT_KEY_STATE_TTL, Ticker.systemTicker());
+    }
+
+    StereotomyValidator(Verifiers verifiers, Function<Identifier, EventCoordinates> establishment, long maxSize,
+                        Duration ttl, Duration keyStateTtl, Ticker ticker) {
         this.verifiers = verifiers;
+        this.establishment = establishment;
+        this.validated = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).ticker(ticker).build();
+        this.establishments = Caffeine.newBuilder()
+                                      .maximumSize(maxSize)
+                                      .expireAfterWrite(keyStateTtl)
+                                      .ticker(ticker)
+                                      .build();
+    }
+
+    /**
+     * Invalidate all cached validations
+     */
+    public void invalidate() {
+        validated.invalidateAll();
+        establishments.invalidateAll();
+    }
+
+    /**
+     * Invalidate the cached validations of certificates controlled by the identifier, e.g. on key rotation
+     */
+    public void invalidate(Identifier identifier) {
+        validated.asMap().values().removeIf(v -> v.identifier().equals(identifier));
+        establishments.invalidate(identifier);
+    }
+
+    /**
+     * @return the number of cached validations
+     */
+    public long size() {
+        return validated.estimatedSize();
     }
 
     public void validate(final X509Certificate cert) throws CertificateException {
+        var key = algorithm.digest(cert.getEncoded());
+        var cached = validated.getIfPresent(key);
+        if (cached != null) {
+            if (Objects.equals(cached.establishment(), establishmentOf(cached.identifier()))) {
+                return;
+            }
+            validated.invalidate(key);
+        }
+
         var publicKey = cert.getPublicKey();
         var basicId = new BasicIdentifier(publicKey);
 
@@ -36,6 +135,7 @@ public class StereotomyValidator implements CertificateValidator {
         }
         final var qb64Id = qb64(basicId);
         Decoded decoder = decoded.get();
+        var current = establishmentOf(decoder.identifier());
         var verifier = verifiers.verifierFor(decoded.get().identifier());
         if (verifier.isEmpty()) {
             throw new CertificateException(String.format("No verifier for identifier: %s", decoded.get().identifier()));
@@ -43,6 +143,7 @@ public class StereotomyValidator implements CertificateValidator {
         if (!verifier.get().verify(decoder.signature(), qb64Id)) {
             throw new CertificateException(String.format("Cannot verify cert public key signature for %s", basicId));
         }
+        validated.put(key, new Validated(decoder.identifier(), current));
     }
 
     @Override
@@ -54,4 +155,18 @@ public class StereotomyValidator implements CertificateValidator {
     public void validateServer(X509Certificate[] chain) throws CertificateException {
         validate(chain[0]);
     }
+
+    /**
+     * @return the current establishment event of the identifier, resolved at most once per key state time to live, or
+     * null if unknown or rotation is not tracked
+     */
+    private EventCoordinates establishmentOf(Identifier identifier) {
+        if (establishment == null) {
+            return null;
+        }
+        return establishments.get(identifier, id -> Optional.ofNullable(establishment.apply(id))).orElse(null);
+    }
+
+    private record Validated(Identifier identifier, EventCoordinates establishment) {
+    }
 }
@@ -83,4 +83,14 @@ public class CachingKERL extends CachingKEL<KERL.AppendKERL> implements KERL.App
             return null;
         }
     }
+
+    @Override
+    public List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
+        try {
+            return complete(kerl -> kerl.kerlSince(identifier, sequenceNumber));
+        } catch (Throwable e) {
+            log.error("Cannot complete kerlSince", e);
+            return null;
+        }
+    }
 }
@@ -14,6 +14,7 @@ import com.hellblazer.delos.cryptography.proto.Sig;
 import com.hellblazer.delos.stereotomy.DigestKERL;
 import com.hellblazer.delos.stereotomy.EventCoordinates;
 import com.hellblazer.delos.stereotomy.KeyState;
+import com.hellblazer.delos.stereotomy.StereotomyEvents;
 import com.hellblazer.delos.stereotomy.event.AttachmentEvent;
 import com.hellblazer.delos.stereotomy.event.AttachmentEvent.Attachment;
 import com.hellblazer.delos.stereotomy.event.AttachmentEvent.AttachmentImpl;
@@ -43,7 +44,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -145,6 +148,8 @@ abstract public class UniKERL implements DigestKERL {
 
     public static void append(DSLContext context, KeyEvent event, KeyState newState, DigestAlgorithm digestAlgorithm) {
         assert newState != null;
+        var jfr = new StereotomyEvents.KerlAppend();
+        jfr.begin();
         final EventCoordinates prevCoords = event.getPrevious();
         final var preIdentifier = context.select(IDENTIFIER.ID)
                                          .from(IDENTIFIER)
@@ -235,6 +240,12 @@ abstract public class UniKERL implements DigestKERL {
                .set(CURRENT_KEY_STATE.CURRENT, id)
                .execute();
         log.info("Inserted key state: {}", event);
+        if (jfr.shouldCommit()) {
+            jfr.identifier = event.getIdentifier().toString();
+            jfr.ilk = event.getIlk();
+            jfr.sequenceNumber = event.getSequenceNumber().longValue();
+            jfr.commit();
+        }
     }
 
     public static void appendAttachments(Connection connection, List<byte[]> attachments) {
@@ -400,34 +411,21 @@ abstract public class UniKERL implements DigestKERL {
                        .where(ATTACHMENT.FOR.eq(resolved.value1()))
                        .fetch()
                        .stream()
-                       .map(r -> {
-                           try {
-                               return Seal.from(Sealed.parseFrom(decompress(r.value1())));
-                           } catch (InvalidProtocolBufferException e) {
-                               log.error("Error deserializing seal: {}", e);
-                               return null;
-                           }
-                       })
+                       .map(r -> seal(r.value1()))
                        .filter(Objects::nonNull)
                        .toList();
 
-        record receipt(int witness, Sig signature) {
-        }
-        var receipts = dsl.select(RECEIPT.WITNESS, RECEIPT.SIGNATURE)
-                          .from(RECEIPT)
-                          .where(RECEIPT.FOR.eq(resolved.value1()))
-                          .fetch()
-                          .stream()
-                          .map(r -> {
-                              try {
-                                  return new receipt(r.value1(), Sig.parseFrom(decompress(r.value2())));
-                              } catch (InvalidProtocolBufferException e) {
-                                  log.error("Error deserializing signature witness: {}", e);
-                                  return null;
-                              }
-                          })
-                          .filter(Objects::nonNull)
-                          .collect(Collectors.toMap(r -> r.witness, r -> JohnHancock.from(r.signature)));
+        var receipts = new HashMap<Integer, JohnHancock>();
+        dsl.select(RECEIPT.WITNESS, RECEIPT.SIGNATURE)
+           .from(RECEIPT)
+           .where(RECEIPT.FOR.eq(resolved.value1()))
+           .fetch()
+           .forEach(r -> {
+               var signature = signature(r.value2());
+               if (signature != null) {
+                   receipts.put(r.value1(), signature);
+               }
+           });
         return new AttachmentImpl(seals, receipts);
     }
 
@@ -523,6 +521,8 @@ abstract public class UniKERL implements DigestKERL {
 
     @Override
     public KeyState getKeyState(Identifier identifier) {
+        var event = new StereotomyEvents.KeyStateResolve();
+        event.begin();
         final var identBytes = b64(identifier.toIdent());
         var result = dsl.select(EVENT.CURRENT_STATE)
                         .from(EVENT)
@@ -542,6 +542,12 @@ abstract public class UniKERL implements DigestKERL {
                         })
                         .orElse(null);
         log.info("Get key state: {} result: {}", identifier, result != null);
+        if (event.shouldCommit()) {
+            event.identifier = identifier.toString();
+            event.resolved = result != null;
+            event.sequenceNumber = result == null ? -1 : result.getSequenceNumber().longValue();
+            event.commit();
+        }
         return result;
     }
 
@@ -584,4 +590,125 @@ abstract public class UniKERL implements DigestKERL {
         log.trace("Resolve validations: {} result: {}", coordinates, validations);
         return validations;
     }
+
+    @Override
+    public List<EventWithAttachments> kerl(Identifier identifier) {
+        return scan(identifier, null);
+    }
+
+    @Override
+    public List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
+        return scan(identifier, sequenceNumber);
+    }
+
+    private static JohnHancock signature(String encoded) {
+        try {
+            return JohnHancock.from(Sig.parseFrom(decompress(encoded)));
+        } catch (InvalidProtocolBufferException e) {
+            log.error("Error deserializing signature witness: {}", e);
+            return null;
+        }
+    }
+
+    private static Seal seal(String encoded) {
+        try {
+            return Seal.from(Sealed.parseFrom(decompress(encoded)));
+        } catch (InvalidProtocolBufferException e) {
+            log.error("Error deserializing seal: {}", e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieve the events of the identifier with a sequence number greater than the supplied sequence number - all
+     * events if null - in a single range scan, with their attachments in one query each for seals and receipts. The
+     * result is the chain of events from the current key state back to the supplied sequence number, in sequence
+     * order, excluding any events not on that chain.
+     */
+    private List<EventWithAttachments> scan(Identifier identifier, ULong sequenceNumber) {
+        var resolve = new StereotomyEvents.KerlResolve();
+        resolve.begin();
+        var ks = getKeyState(identifier);
+        if (ks == null) {
+            return Collections.emptyList();
+        }
+        final var identBytes = b64(identifier.toIdent());
+        var range = COORDINATES.IDENTIFIER.eq(IDENTIFIER.ID);
+        if (sequenceNumber != null) {
+            range = range.and(COORDINATES.SEQUENCE_NUMBER.gt(sequenceNumber.toBigInteger()));
+        }
+
+        record scanned(Long id, KeyEvent event) {
+        }
+        var events = new HashMap<EventCoordinates, scanned>();
+        dsl.select(COORDINATES.ID, EVENT.CONTENT, COORDINATES.ILK)
+           .from(EVENT)
+           .join(COORDINATES)
+           .on(EVENT.COORDINATES.eq(COORDINATES.ID))
+           .join(IDENTIFIER)
+           .on(IDENTIFIER.PREFIX.eq(identBytes))
+           .where(range)
+           .orderBy(COORDINATES.SEQUENCE_NUMBER)
+           .fetch()
+           .forEach(r -> {
+               var event = toKeyEvent(decompress(r.value2()), r.value3());
+               if (event != null) {
+                   events.put(event.getCoordinates(), new scanned(r.value1(), event));
+               }
+           });
+
+        var seals = new HashMap<Long, List<Seal>>();
+        dsl.select(ATTACHMENT.FOR, ATTACHMENT.SEAL)
+           .from(ATTACHMENT)
+           .join(COORDINATES)
+           .on(ATTACHMENT.FOR.eq(COORDINATES.ID))
+           .join(IDENTIFIER)
+           .on(IDENTIFIER.PREFIX.eq(identBytes))
+           .where(range)
+           .fetch()
+           .forEach(r -> {
+               var seal = seal(r.value2());
+               if (seal != null) {
+                   seals.computeIfAbsent(r.value1(), k -> new ArrayList<>()).add(seal);
+               }
+           });
+
+        var receipts = new HashMap<Long, Map<Integer, JohnHancock>>();
+        dsl.select(RECEIPT.FOR, RECEIPT.WITNESS, RECEIPT.SIGNATURE)
+           .from(RECEIPT)
+           .join(COORDINATES)
+           .on(RECEIPT.FOR.eq(COORDINATES.ID))
+           .join(IDENTIFIER)
+           .on(IDENTIFIER.PREFIX.eq(identBytes))
+           .where(range)
+           .fetch()
+           .forEach(r -> {
+               var signature = signature(r.value3());
+               if (signature != null) {
+                   receipts.computeIfAbsent(r.value1(), k -> new HashMap<>()).put(r.value2(), signature);
+               }
+           });
+
+        var result = new ArrayList<EventWithAttachments>();
+        var c = ks.getCoordinates();
+        while (c != null) {
+            var s = events.get(c);
+            if (s == null) {
+                break;
+            }
+            result.add(new EventWithAttachments(s.event, new AttachmentImpl(seals.getOrDefault(s.id, List.of()),
+                                                                            receipts.getOrDefault(s.id,
+                                                                                                  Map.of()))));
+            c = s.event.getPrevious();
+        }
+        Collections.reverse(result);
+        log.info("Scan kerl: {} since: {} result: {}", identifier, sequenceNumber, result.size());
+        if (resolve.shouldCommit()) {
+            resolve.events = result.size();
+            resolve.identifier = identifier.toString();
+            resolve.since = sequenceNumber == null ? -1 : sequenceNumber.longValue();
+            resolve.commit();
+        }
+        return result;
+    }
 }
@@ -151,6 +151,11 @@ public class UniKERLDirectPooled {
             return kerl.kerl(identifier);
         }
 
+        @Override
+        public List<EventWithAttachments> kerlSince(Identifier identifier, ULong sequenceNumber) {
+            return kerl.kerlSince(identifier, sequenceNumber);
+        }
+
         @Override
         public KeyState getKeyState(Identifier identifier, ULong sequenceNumber) {
             return kerl.getKeyState(identifier, sequenceNumber);
@@ -121,6 +121,13 @@ public class ProtoKERLAdapter implements ProtoKERLService {
         return kerl == null ? KERL_.getDefaultInstance() : kerl(kerl);
     }
 
+    @Override
+    public KERL_ getKERLSince(IdentAndSeq request) {
+        List<EventWithAttachments> kerl = this.kerl.kerlSince(Identifier.from(request.getIdentifier()),
+                                                              ULong.valueOf(request.getSequenceNumber()));
+        return kerl == null ? KERL_.getDefaultInstance() : kerl(kerl);
+    }
+
     @Override
     public KeyEvent_ getKeyEvent(EventCoords coordinates) {
         var event = kerl.getKeyEvent(EventCoordinates.from(coordinates));
@@ -7,6 +7,7 @@
 package com.hellblazer.delos.stereotomy.services.proto;
 
 import com.hellblazer.delos.stereotomy.event.proto.*;
+import com.hellblazer.delos.stereotomy.event.protobuf.ProtobufEventFactory;
 import org.joou.ULong;
 
 /**
@@ -17,6 +18,23 @@ public interface ProtoKERLProvider {
 
     KERL_ getKERL(Ident identifier);
 
+    /**
+     * @return the events of the identifier's KERL with a sequence number greater than the requested sequence number
+     */
+    default KERL_ getKERLSince(IdentAndSeq request) {
+        var kerl = getKERL(request.getIdentifier());
+        if (kerl == null) {
+            return null;
+        }
+        var after = ULong.valueOf(request.getSequenceNumber());
+        var builder = KERL_.newBuilder();
+        kerl.getEventsList()
+            .stream()
+            .filter(ke -> ProtobufEventFactory.from(ke).event().getSequenceNumber().compareTo(after) > 0)
+            .forEach(builder::addEvents);
+        return builder.build();
+    }
+
     KeyEvent_ getKeyEvent(EventCoords coordinates);
 
     KeyState_ getKeyState(EventCoords coordinates);
@@ -34,6 +34,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hellblazer.delos.stereotomy.identifier.QualifiedBase64Identifier.qb64;
 import static org.junit.jupiter.api.Assertions.*;
@@ -81,6 +83,14 @@ public class StereotomyTests {
         assertEquals(KeyEvent.INTERACTION_TYPE, iKerl.get(4).event().getIlk());
         assertEquals(KeyEvent.ROTATION_TYPE, iKerl.get(5).event().getIlk());
         assertEquals(KeyEvent.ROTATION_TYPE, iKerl.get(6).event().getIlk());
+
+        var since = kel.kerlSince(i.getIdentifier(), ULong.valueOf(3));
+        assertNotNull(since);
+        assertEquals(3, since.size());
+        for (int j = 0; j < since.size(); j++) {
+            assertEquals(iKerl.get(j + 4).event().getCoordinates(), since.get(j).event().getCoordinates());
+        }
+        assertTrue(kel.kerlSince(i.getIdentifier(), ULong.valueOf(6)).isEmpty());
     }
 
     @Test
@@ -238,6 +248,55 @@ public class StereotomyTests {
         provision(i, controller);
     }
 
+    @Test
+    public void validatorCache() throws Exception {
+        Stereotomy controller = new StereotomyImpl(ks, kel, secureRandom);
+        var i = controller.newIdentifier();
+        var cert = i.provision(Instant.now(), Duration.ofSeconds(100), SignatureAlgorithm.DEFAULT)
+                    .getX509Certificate();
+        var lookups = new AtomicInteger();
+        var keyStates = new AtomicInteger();
+        var nanos = new AtomicLong();
+        var verifiers = Verifiers.from(kel);
+        var validator = new StereotomyValidator(new Verifiers() {
+            @Override
+            public Optional<Verifier> verifierFor(EventCoordinates coordinates) {
+                lookups.incrementAndGet();
+                return verifiers.verifierFor(coordinates);
+            }
+
+            @Override
+            public Optional<Verifier> verifierFor(Identifier identifier) {
+                lookups.incrementAndGet();
+                return verifiers.verifierFor(identifier);
+            }
+        }, id -> {
+            keyStates.incrementAndGet();
+            return kel.getKeyState(id).getLastEstablishmentEvent();
+        }, StereotomyValidator.DEFAULT_MAX_SIZE, StereotomyValidator.DEFAULT_TTL, Duration.ofSeconds(10), nanos::get);
+
+        validator.validate(cert);
+        validator.validate(cert);
+        assertEquals(1, lookups.get());
+        assertEquals(1, keyStates.get(), "Key state resolved once, not on every cache hit");
+        assertEquals(1, validator.size());
+
+        // The rotation is observed once the cached key state expires
+        i.rotate();
+        validator.validate(cert);
+        assertEquals(1, lookups.get());
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        validator.validate(cert);
+        validator.validate(cert);
+        assertEquals(2, lookups.get());
+        assertEquals(2, keyStates.get());
+
+        // Explicit invalidation takes effect immediately
+        validator.invalidate(i.getIdentifier());
+        validator.validate(cert);
+        assertEquals(3, lookups.get());
+    }
+
     void initializeKel() throws Exception {
         kel = new MemKERL(DigestAlgorithm.DEFAULT);
     }
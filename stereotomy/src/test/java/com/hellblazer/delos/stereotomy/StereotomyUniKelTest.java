@@ -6,14 +6,22 @@
  */
 package com.hellblazer.delos.stereotomy;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.Test;
 
 import com.hellblazer.delos.cryptography.DigestAlgorithm;
 import com.hellblazer.delos.stereotomy.db.UniKERLDirect;
+import com.hellblazer.delos.stereotomy.event.KeyEvent;
 
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
 import liquibase.Liquibase;
 import liquibase.database.core.H2Database;
 import liquibase.exception.LiquibaseException;
@@ -25,6 +33,24 @@ import liquibase.resource.ClassLoaderResourceAccessor;
  */
 public class StereotomyUniKelTest extends StereotomyTests {
 
+    @Test
+    public void kerlAppendEvent() throws Exception {
+        var appended = new CompletableFuture<RecordedEvent>();
+        try (var recording = new RecordingStream()) {
+            recording.enable(StereotomyEvents.KerlAppend.class);
+            recording.onEvent("com.hellblazer.delos.stereotomy.KerlAppend", appended::complete);
+            recording.startAsync();
+
+            var identifier = new StereotomyImpl(ks, kel, secureRandom).newIdentifier();
+
+            // The inception of the identifier is the first event appended
+            var event = appended.get(30, TimeUnit.SECONDS);
+            assertEquals(identifier.getIdentifier().toString(), event.getString("identifier"));
+            assertEquals(KeyEvent.INCEPTION_TYPE, event.getString("ilk"));
+            assertEquals(0, event.getLong("sequenceNumber"));
+        }
+    }
+
     void initializeKel() throws SQLException, LiquibaseException {
         final var url = String.format("jdbc:h2:mem:test_engine-%s;DB_CLOSE_DELAY=-1", Math.random());
         var connection = new JdbcConnection(url, new Properties(), "", "", false);
@@ -44,7 +44,7 @@ public class Ani {
     }
 
     public CertificateValidator certificateValidator(Duration timeout) {
-        return new StereotomyValidator(verifiers(timeout));
+        return new StereotomyValidator(verifiers(timeout), kerl);
     }
 
     public EventValidation eventValidation(Duration timeout) {
@@ -462,6 +462,45 @@ public class KerlDHT implements ProtoKERLService {
         }
     }
 
+    /**
+     * @return the events of the identifier's KERL with a sequence number greater than the requested sequence number,
+     * read from the DHT members holding the identifier, which answer from their local KERL
+     */
+    @Override
+    public KERL_ getKERLSince(IdentAndSeq request) {
+        if (request == null) {
+            return KERL_.getDefaultInstance();
+        }
+        Digest digest = digestAlgorithm().digest(request.getIdentifier().toByteString());
+        if (digest == null) {
+            return KERL_.getDefaultInstance();
+        }
+        Instant timedOut = Instant.now().plus(operationTimeout);
+        Supplier<Boolean> isTimedOut = () -> Instant.now().isAfter(timedOut);
+        var result = new CompletableFuture<KERL_>();
+        HashMultiset<KERL_> gathered = HashMultiset.create();
+        var operation = "getKerlSince(%s, %s)".formatted(Identifier.from(request.getIdentifier()),
+                                                        request.getSequenceNumber());
+        var slice = context.bftSubset(digest);
+        var iter = new SliceIterator<>(context.getId().toString(), member, slice, dhtComms, scheduler);
+        iter.iterate(link -> link.getKERLSince(request),
+                     (futureSailor, tally, destination, _) -> read(result, gathered, tally, futureSailor, digest,
+                                                                   isTimedOut, destination, operation),
+                     () -> failedMajority(result, maxCount(gathered), operation), operationsFrequency);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CompletionException ce) {
+                log.warn("error {} : {} on: {}", operation, ce.getMessage(), member.getId());
+                return KERL_.getDefaultInstance();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     @Override
     public KeyEvent_ getKeyEvent(EventCoords coordinates) {
         if (!coordinates.isInitialized()) {
@@ -1140,6 +1179,12 @@ public class KerlDHT implements ProtoKERLService {
             return complete(k -> k.getKERL(identifier));
         }
 
+        @Override
+        public KERL_ getKERLSince(IdentAndSeq request) {
+            log.trace("get kerl since sequence number for identifier on: {}", member.getId());
+            return complete(k -> k.getKERLSince(request));
+        }
+
         @Override
         public KeyEvent_ getKeyEvent(EventCoords coordinates) {
             log.trace("get key event for coordinates on: {}", member.getId());
@@ -84,6 +84,11 @@ public class DhtClient implements DhtService {
                 return service.getKERL(identifier);
             }
 
+            @Override
+            public KERL_ getKERLSince(IdentAndSeq identAndSeq) {
+                return service.getKERLSince(identAndSeq);
+            }
+
             @Override
             public KeyEvent_ getKeyEvent(EventCoords coordinates) {
                 return service.getKeyEvent(coordinates);
@@ -251,6 +256,26 @@ public class DhtClient implements DhtService {
         return complete;
     }
 
+    @Override
+    public KERL_ getKERLSince(IdentAndSeq identAndSeq) {
+        Context timer = metrics == null ? null : metrics.getKERLClient().time();
+        if (metrics != null) {
+            final var bsize = identAndSeq.getSerializedSize();
+            metrics.outboundBandwidth().mark(bsize);
+            metrics.outboundGetKERLRequest().mark(bsize);
+        }
+        KERL_ complete = client.getKERLSince(identAndSeq);
+        if (timer != null) {
+            timer.stop();
+        }
+        final var serializedSize = complete.getSerializedSize();
+        if (metrics != null) {
+            metrics.inboundBandwidth().mark(serializedSize);
+            metrics.inboundGetKERLResponse().mark(serializedSize);
+        }
+        return complete;
+    }
+
     @Override
     public KeyEvent_ getKeyEvent(EventCoords coordinates) {
         Context timer = metrics == null ? null : metrics.getKeyEventCoordsClient().time();
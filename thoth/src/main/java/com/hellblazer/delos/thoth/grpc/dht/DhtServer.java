@@ -216,6 +216,30 @@ public class DhtServer extends KerlDhtImplBase {
         });
     }
 
+    @Override
+    public void getKERLSince(IdentAndSeq request, StreamObserver<KERL_> responseObserver) {
+        Context timer = metrics != null ? metrics.getKERLService().time() : null;
+        if (metrics != null) {
+            final var serializedSize = request.getSerializedSize();
+            metrics.inboundBandwidth().mark(serializedSize);
+            metrics.inboundGetKERLRequest().mark(serializedSize);
+        }
+        routing.evaluate(responseObserver, s -> {
+            var response = s.getKERLSince(request);
+            if (timer != null) {
+                timer.stop();
+            }
+            var kerl = response == null ? KERL_.getDefaultInstance() : response;
+            responseObserver.onNext(kerl);
+            responseObserver.onCompleted();
+            if (metrics != null) {
+                final var serializedSize = kerl.getSerializedSize();
+                metrics.outboundBandwidth().mark(serializedSize);
+                metrics.outboundGetKERLResponse().mark(serializedSize);
+            }
+        });
+    }
+
     @Override
     public void getKeyEventCoords(EventCoords request, StreamObserver<KeyEvent_> responseObserver) {
         Context timer = metrics != null ? metrics.getKeyEventCoordsService().time() : null;
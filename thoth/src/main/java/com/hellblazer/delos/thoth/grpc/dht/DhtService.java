@@ -35,6 +35,8 @@ public interface DhtService extends Link {
 
     KERL_ getKERL(Ident identifier);
 
+    KERL_ getKERLSince(IdentAndSeq identAndSeq);
+
     KeyEvent_ getKeyEvent(EventCoords coordinates);
 
     KeyState_ getKeyState(EventCoords coordinates);
@@ -152,5 +152,11 @@ public class KerlTest extends AbstractDhtTest {
         assertEquals(KeyEvent.INTERACTION_TYPE, iKerl.get(4).event().getIlk());
         assertEquals(KeyEvent.ROTATION_TYPE, iKerl.get(5).event().getIlk());
         assertEquals(KeyEvent.ROTATION_TYPE, iKerl.get(6).event().getIlk());
+
+        var since = kerl.kerlSince(i.getIdentifier(), ULong.valueOf(4));
+        assertEquals(2, since.size());
+        assertEquals(ULong.valueOf(5), since.get(0).event().getSequenceNumber());
+        assertEquals(ULong.valueOf(6), since.get(1).event().getSequenceNumber());
+        assertTrue(kerl.kerlSince(i.getIdentifier(), ULong.valueOf(6)).isEmpty());
     }
 }
@@ -38,6 +38,7 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class Fsm<Context, Transitions> {
     private static final Logger                             DEFAULT_LOG = LoggerFactory.getLogger(Fsm.class);
     private static final ThreadLocal<Fsm<?, ?>>             thisFsm     = new ThreadLocal<>();
+    private final        boolean                            compiled;
     private final        Transitions                        proxy;
     private final        Deque<State<Context, Transitions>> stack       = new ArrayDeque<>();
     private final        Lock                               sync;
@@ -54,8 +55,14 @@ public final class Fsm<Context, Transitions> {
     private              String                             transition;
 
     Fsm(Context context, boolean sync, Class<Transitions> transitionsType, ClassLoader transitionsCL) {
+        this(context, sync, transitionsType, transitionsCL, false);
+    }
+
+    Fsm(Context context, boolean sync, Class<Transitions> transitionsType, ClassLoader transitionsCL,
+        boolean compiled) {
         this.setContext(context);
         this.sync = sync ? new ReentrantLock() : null;
+        this.compiled = compiled;
         this.transitionsType = transitionsType;
         this.log = DEFAULT_LOG;
         @SuppressWarnings("unchecked")
@@ -79,12 +86,34 @@ public final class Fsm<Context, Transitions> {
                                                                              Class<Transitions> transitions,
                                                                              ClassLoader transitionsCL,
                                                                              Enum<?> initialState, boolean sync) {
+        return construct(fsmContext, transitions, transitionsCL, initialState, sync, false);
+    }
+
+    /**
+     * Construct a new instance of a finite state machine.
+     *
+     * @param fsmContext    - the object used as the action context for this FSM
+     * @param transitions   - the interface class used to define the transitions for this FSM
+     * @param transitionsCL - the class loader to be used to load the transitions interface class
+     * @param initialState  - the initial state of the FSM
+     * @param sync          - true if this FSM is to synchronize state transitions. This is required for multi-threaded
+     *                      use of the FSM
+     * @param compiled      - true if this FSM dispatches transitions through precompiled per state tables of
+     *                      MethodHandles, rather than resolving and invoking the state's methods reflectively on each
+     *                      transition
+     * @return the Fsm instance
+     */
+    public static <Context, Transitions> Fsm<Context, Transitions> construct(Context fsmContext,
+                                                                             Class<Transitions> transitions,
+                                                                             ClassLoader transitionsCL,
+                                                                             Enum<?> initialState, boolean sync,
+                                                                             boolean compiled) {
         if (!transitions.isAssignableFrom(initialState.getClass())) {
             throw new IllegalArgumentException(
             String.format("Supplied initial state '%s' does not implement the transitions interface '%s'", initialState,
                           transitions));
         }
-        Fsm<Context, Transitions> fsm = new Fsm<>(fsmContext, sync, transitions, transitionsCL);
+        Fsm<Context, Transitions> fsm = new Fsm<>(fsmContext, sync, transitions, transitionsCL, compiled);
         @SuppressWarnings("unchecked")
         Transitions initial = (Transitions) initialState;
         fsm.current = initial;
@@ -100,6 +129,18 @@ public final class Fsm<Context, Transitions> {
         return construct(fsmContext, transitions, fsmContext.getClass().getClassLoader(), initialState, sync);
     }
 
+    /**
+     * Construct a new instance of a finite state machine with a default ClassLoader, optionally using precompiled
+     * transition dispatch.
+     */
+    public static <Context, Transitions> Fsm<Context, Transitions> construct(Context fsmContext,
+                                                                             Class<Transitions> transitions,
+                                                                             Enum<?> initialState, boolean sync,
+                                                                             boolean compiled) {
+        return construct(fsmContext, transitions, fsmContext.getClass().getClassLoader(), initialState, sync,
+                         compiled);
+    }
+
     /**
      * @return the Context of the currently executing Fsm
      */
@@ -298,6 +339,23 @@ public final class Fsm<Context, Transitions> {
     }
 
     private void executeEntryAction() {
+        if (compiled) {
+            var action = StateDispatch.of(current).entry;
+            if (action != null) {
+                if (log.isTraceEnabled()) {
+                    log.trace(String.format("[%s] Entry action: %s.%s", name, prettyPrint(current),
+                                            prettyPrint(action.method())));
+                }
+                try {
+                    action.invoke(current, getContext());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            }
+            return;
+        }
         for (Method action : current.getClass().getDeclaredMethods()) {
             if (action.isAnnotationPresent(Entry.class)) {
                 action.setAccessible(true);
@@ -326,6 +384,21 @@ public final class Fsm<Context, Transitions> {
     }
 
     private void executeExitAction() {
+        if (compiled) {
+            var action = StateDispatch.of(current).exit;
+            if (action != null) {
+                if (log.isTraceEnabled()) {
+                    log.trace(String.format("[%s] Exit action: %s.%s", name, prettyPrint(current),
+                                            prettyPrint(action.method())));
+                }
+                try {
+                    action.invoke(current, getContext());
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            }
+            return;
+        }
         for (Method action : current.getClass().getDeclaredMethods()) {
             if (action.isAnnotationPresent(Exit.class)) {
                 action.setAccessible(true);
@@ -362,6 +435,13 @@ public final class Fsm<Context, Transitions> {
         thisFsm.set(this);
         previous = current;
         if (!transitionsType.isAssignableFrom(t.getReturnType())) {
+            if (compiled) {
+                try {
+                    return lookupTransition(StateDispatch.of(current), t).invoke(current, arguments);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }
             try {
                 return t.invoke(current, arguments);
             } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
@@ -370,13 +450,17 @@ public final class Fsm<Context, Transitions> {
         }
 
         try {
-            transition = prettyPrint(t);
+            transition = compiled ? StateDispatch.of(current).printed(t, this::prettyPrint) : prettyPrint(t);
             Transitions nextState;
             Transitions pinned = current;
-            try {
-                nextState = fireTransition(lookupTransition(t), arguments);
-            } catch (InvalidTransition e) {
-                nextState = fireTransition(lookupDefaultTransition(e, t), arguments);
+            if (compiled) {
+                nextState = fireCompiled(t, arguments);
+            } else {
+                try {
+                    nextState = fireTransition(lookupTransition(t), arguments);
+                } catch (InvalidTransition e) {
+                    nextState = fireTransition(lookupDefaultTransition(e, t), arguments);
+                }
             }
             if (pinned == current) {
                 transitionTo(nextState);
@@ -393,6 +477,64 @@ public final class Fsm<Context, Transitions> {
         }
     }
 
+    /**
+     * Fire the transition of the current state using the state's precompiled dispatch table
+     *
+     * @param t         - the transition to fire
+     * @param arguments - the transition arguments
+     * @return the next state
+     */
+    private Transitions fireCompiled(Method t, Object[] arguments) {
+        var dispatch = StateDispatch.of(current);
+        try {
+            return fireTransition(lookupTransition(dispatch, t), arguments);
+        } catch (InvalidTransition e) {
+            if (dispatch.defaultTransition == null) {
+                throw e;
+            }
+            return fireTransition(dispatch.defaultTransition, arguments);
+        }
+    }
+
+    /**
+     * Fire the compiled transition of the current state
+     *
+     * @param stateTransition - the compiled transition to execute
+     * @param arguments       - the arguments of the transition
+     * @return the next state
+     */
+    @SuppressWarnings("unchecked")
+    private Transitions fireTransition(StateDispatch.Transition stateTransition, Object[] arguments) {
+        if (stateTransition.isDefault()) {
+            if (log.isTraceEnabled()) {
+                log.trace(String.format("[%s] Default transition: %s.%s", name, prettyPrint(current), getTransition()));
+            }
+            try {
+                return (Transitions) stateTransition.invoke(current, null);
+            } catch (Throwable e) {
+                throw new IllegalStateException(String.format("Unable to invoke transition %s,%s", prettyPrint(current),
+                                                              prettyPrint(stateTransition.method())), e);
+            }
+        }
+        if (log.isTraceEnabled()) {
+            log.trace(String.format("[%s] Transition: %s.%s", name, prettyPrint(current), getTransition()));
+        }
+        try {
+            return (Transitions) stateTransition.invoke(current, arguments);
+        } catch (InvalidTransition e) {
+            if (log.isTraceEnabled()) {
+                log.trace(String.format("[%s] Invalid transition %s.%s", name, prettyPrint(current), getTransition()));
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(
+            String.format("[%s] Unable to invoke transition %s.%s", name, prettyPrint(current),
+                          prettyPrint(stateTransition.method())), e);
+        }
+    }
+
     /**
      * Fire the concrete transition of the current state
      *
@@ -500,6 +642,23 @@ public final class Fsm<Context, Transitions> {
         return stateTransition;
     }
 
+    /**
+     * Lookup the compiled transition.
+     *
+     * @param dispatch - the dispatch table of the current state
+     * @param t        - the transition defined in the interface
+     * @return the compiled transition of the current state matching the interface definition
+     */
+    private StateDispatch.Transition lookupTransition(StateDispatch dispatch, Method t) {
+        var stateTransition = dispatch.transition(t);
+        if (stateTransition == null) {
+            throw new IllegalStateException(
+            String.format("Inconcievable!  The state %s does not implement the transition %s", prettyPrint(current),
+                          prettyPrint(t)));
+        }
+        return stateTransition;
+    }
+
     /**
      * Ye olde tyme state transition
      *
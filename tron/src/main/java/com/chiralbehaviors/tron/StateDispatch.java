@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2013 ChiralBehaviors LLC, all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.chiralbehaviors.tron;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The precompiled dispatch table of a state class. The entry, exit and default actions of the state are resolved once,
+ * and the state's implementation of each transition is resolved on first use, as MethodHandles adapted to a uniform
+ * (state, arguments) shape. The printed form of each transition is memoized alongside. Tables are computed once per
+ * state class and shared by all Fsm instances, and are released with the state class.
+ *
+ * @author hhildebrand
+ */
+final class StateDispatch {
+    private static final ClassValue<StateDispatch> TABLES = new ClassValue<>() {
+        @Override
+        protected StateDispatch computeValue(Class<?> type) {
+            return new StateDispatch(type);
+        }
+    };
+
+    final         Action                            entry;
+    final         Action                            exit;
+    final         Transition                        defaultTransition;
+    private final ConcurrentMap<Method, String>     printed     = new ConcurrentHashMap<>();
+    private final Class<?>                          stateClass;
+    private final ConcurrentMap<Method, Transition> transitions = new ConcurrentHashMap<>();
+
+    private StateDispatch(Class<?> stateClass) {
+        this.stateClass = stateClass;
+        this.entry = action(stateClass, Entry.class);
+        this.exit = action(stateClass, Exit.class);
+        this.defaultTransition = defaultTransition(stateClass);
+    }
+
+    static StateDispatch of(Object state) {
+        return TABLES.get(state.getClass());
+    }
+
+    /**
+     * The @Entry or @Exit action declared by the state. Actions with a parameter are injected with the Fsm context.
+     */
+    private static Action action(Class<?> stateClass, Class<? extends Annotation> annotation) {
+        for (Method action : stateClass.getDeclaredMethods()) {
+            if (action.isAnnotationPresent(annotation)) {
+                var handle = unreflect(action);
+                if (action.getParameterCount() == 0) {
+                    handle = MethodHandles.dropArguments(handle, 1, Object.class);
+                }
+                return new Action(action, handle.asType(MethodType.genericMethodType(2)));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The @Default transition of the state singleton, or of the enclosing enum class
+     */
+    private static Transition defaultTransition(Class<?> stateClass) {
+        for (Method defaultTransition : stateClass.getDeclaredMethods()) {
+            if (defaultTransition.isAnnotationPresent(Default.class)) {
+                return compile(defaultTransition);
+            }
+        }
+        for (Method defaultTransition : stateClass.getMethods()) {
+            if (defaultTransition.isAnnotationPresent(Default.class)) {
+                return compile(defaultTransition);
+            }
+        }
+        return null;
+    }
+
+    private static Transition compile(Method method) {
+        var parameters = method.getParameterCount();
+        var handle = unreflect(method).asFixedArity()
+                                      .asType(MethodType.genericMethodType(parameters + 1))
+                                      .asSpreader(Object[].class, parameters);
+        return new Transition(method, handle, method.isAnnotationPresent(Default.class));
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        method.setAccessible(true);
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Unable to access: %s", method.toGenericString()), e);
+        }
+    }
+
+    /**
+     * @return the memoized printed form of the transition
+     */
+    String printed(Method transition, Function<Method, String> printer) {
+        return printed.computeIfAbsent(transition, printer);
+    }
+
+    /**
+     * @param t - the transition defined in the interface
+     * @return the compiled implementation of the transition by the state
+     */
+    Transition transition(Method t) {
+        return transitions.computeIfAbsent(t, m -> {
+            try {
+                return compile(stateClass.getMethod(m.getName(), m.getParameterTypes()));
+            } catch (NoSuchMethodException | SecurityException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * A compiled entry or exit action, of the shape (state, context)Object
+     */
+    record Action(Method method, MethodHandle handle) {
+        Object invoke(Object state, Object context) throws Throwable {
+            return (Object) handle.invokeExact(state, context);
+        }
+    }
+
+    /**
+     * A compiled transition, of the shape (state, Object[] arguments)Object
+     */
+    record Transition(Method method, MethodHandle handle, boolean isDefault) {
+        Object invoke(Object state, Object[] arguments) throws Throwable {
+            return (Object) handle.invokeExact(state, arguments);
+        }
+    }
+}
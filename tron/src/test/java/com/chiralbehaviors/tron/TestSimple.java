@@ -40,6 +40,13 @@ public class TestSimple {
         verifyFsmStates(fsm, protocol);
     }
 
+    @Test
+    public void testItCompiled() {
+        SimpleProtocol protocol = new SimpleProtocolImpl();
+        Fsm<SimpleProtocol, SimpleFsm> fsm = Fsm.construct(protocol, SimpleFsm.class, Simple.INITIAL, true, true);
+        verifyFsmStates(fsm, protocol);
+    }
+
     @Test
     public void testItWithCustomClassLoader() {
         SimpleProtocol protocol = new SimpleProtocolImpl();
@@ -34,9 +34,18 @@ import com.chiralbehaviors.tron.examples.task.TaskModel;
 public class TestTask {
     @Test
     public void testIt() {
-        long timeslice = 100;
         TaskModel model = mock(TaskModel.class);
-        Fsm<TaskModel, TaskFsm> fsm = Fsm.construct(model, TaskFsm.class, Task.Suspended, false);
+        verifyFsmStates(Fsm.construct(model, TaskFsm.class, Task.Suspended, false), model);
+    }
+
+    @Test
+    public void testItCompiled() {
+        TaskModel model = mock(TaskModel.class);
+        verifyFsmStates(Fsm.construct(model, TaskFsm.class, Task.Suspended, false, true), model);
+    }
+
+    private void verifyFsmStates(Fsm<TaskModel, TaskFsm> fsm, TaskModel model) {
+        long timeslice = 100;
         TaskFsm transitions = fsm.getTransitions();
         assertEquals(Task.Suspended, fsm.getCurrentState());
         transitions.start(timeslice);